@@ -0,0 +1,69 @@
+#!/bin/bash
+# Check-in storm benchmark: creates a course with STUDENTS fingerprint-enrolled
+# students, opens a session and has every student mark attendance at once
+# (CONCURRENCY requests in flight). Reports throughput, latency percentiles
+# and how long it took until every mark was stored.
+#
+# Run it against a backend started in each ingest mode and compare:
+#   mvn spring-boot:run                                                      # direct
+#   mvn spring-boot:run -Dspring-boot.run.arguments=--app.attendance.ingest.mode=journal
+#   STUDENTS=2000 CONCURRENCY=64 ./checkin-benchmark.sh
+#
+# Each run adds its own students and course, so runs can be repeated on the same database.
+
+BASE_URL=${BASE_URL:-http://localhost:8080/api}
+STUDENTS=${STUDENTS:-500}
+CONCURRENCY=${CONCURRENCY:-32}
+LECTURER_ID=${LECTURER_ID:-2}
+RUN=$(date +%s%N)
+WORK=$(mktemp -d)
+JSON='Content-Type: application/json'
+trap 'rm -rf "$WORK"' EXIT
+
+id_of() {
+    sed -n 's/^{"id":\([0-9]*\).*/\1/p'
+}
+
+echo "Setting up $STUDENTS students (run $RUN)..."
+COURSE_ID=$(curl -s -X POST "$BASE_URL/courses" -H "$JSON" \
+    -d "{\"code\":\"BENCH-$RUN\",\"name\":\"Check-in benchmark\",\"lecturerId\":$LECTURER_ID,\"department\":\"BENCH\",\"credits\":1}" | id_of)
+[ -z "$COURSE_ID" ] && { echo "Could not create the course"; exit 1; }
+
+# Sequential: student numbers are assigned from a sequence that does not tolerate concurrent creates.
+seq 1 "$STUDENTS" | xargs -I{} sh -c "curl -s -X POST '$BASE_URL/users' -H '$JSON' \
+    -d '{\"name\":\"Bench {}\",\"email\":\"bench-$RUN-{}@example.com\",\"password\":\"bench-pass\",\"role\":\"STUDENT\",\"department\":\"BENCH\",\"fingerprintId\":\"bench-$RUN-{}\"}'; echo" \
+    | sed -n 's/^{"id":\([0-9]*\).*/\1/p' > "$WORK/students"
+[ "$(wc -l < "$WORK/students")" -ne "$STUDENTS" ] && { echo "Could not create all students"; exit 1; }
+
+xargs -P 16 -I{} curl -s -o /dev/null -X POST "$BASE_URL/biometric/enroll" -H "$JSON" \
+    -d '{"userId":{},"fingerprintEnrolled":true,"faceEnrolled":false}' < "$WORK/students"
+curl -s -o /dev/null -X POST "$BASE_URL/enrollments/bulk" -H "$JSON" \
+    -d "{\"courseId\":$COURSE_ID,\"department\":\"BENCH\"}"
+SESSION_ID=$(curl -s -X POST "$BASE_URL/sessions" -H "$JSON" \
+    -d "{\"courseId\":$COURSE_ID,\"lecturerId\":$LECTURER_ID,\"biometricEnabled\":true,\"attendanceType\":\"FINGERPRINT\"}" | id_of)
+[ -z "$SESSION_ID" ] && { echo "Could not open the session"; exit 1; }
+
+echo "Marking attendance with $CONCURRENCY concurrent clients..."
+# One X-Device-Id per student, as with real kiosks, so the per-device rate limit does not apply.
+START=$(date +%s%N)
+xargs -P "$CONCURRENCY" -I{} curl -s -o /dev/null -w '%{http_code} %{time_total}\n' \
+    -X POST "$BASE_URL/attendance" -H "$JSON" -H "X-Device-Id: bench-{}" \
+    -d "{\"studentId\":{},\"courseId\":$COURSE_ID,\"sessionId\":$SESSION_ID}" < "$WORK/students" > "$WORK/results"
+ACKED=$(date +%s%N)
+
+STORED=0
+for _ in $(seq 1 300); do
+    STORED=$(curl -s "$BASE_URL/attendance/session/$SESSION_ID" | grep -o '"id":' | wc -l)
+    [ "$STORED" -ge "$STUDENTS" ] && break
+    sleep 0.1
+done
+DONE=$(date +%s%N)
+
+echo ""
+echo "Responses:     $(cut -d' ' -f1 "$WORK/results" | sort | uniq -c | awk '{printf "%s x%s  ", $2, $1}')"
+awk -v n="$STUDENTS" -v ms=$(( (ACKED - START) / 1000000 )) \
+    'BEGIN { printf "Acknowledged:  %d marks in %d ms (%.0f marks/s)\n", n, ms, n * 1000 / ms }'
+sort -n -k2 "$WORK/results" | awk '{ t[NR] = $2 * 1000 } END {
+    printf "Latency (ms):  p50 %.1f  p95 %.1f  p99 %.1f  max %.1f\n",
+        t[int(NR * 0.50) + 1], t[int(NR * 0.95) + 1], t[int(NR * 0.99) + 1], t[NR] }'
+echo "Stored:        $STORED marks, all in the table $(( (DONE - START) / 1000000 )) ms after the first request"
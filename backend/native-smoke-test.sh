@@ -0,0 +1,77 @@
+#!/bin/bash
+# Native image smoke test: starts the backend against a throwaway H2 database,
+# checks a few endpoints and reports startup time and resident memory.
+#
+#   ./native-smoke-test.sh                                  # target/attendance-system (mvn -Pnative native:compile)
+#   ./native-smoke-test.sh java -jar target/attendance-system-1.0.0.jar   # same checks on the JVM build
+
+PORT=${PORT:-18080}
+BASE_URL="http://localhost:$PORT/api"
+DB_DIR=$(mktemp -d)
+LOG=$(mktemp)
+GREEN='\033[0;32m'
+RED='\033[0;31m'
+NC='\033[0m'
+
+if [ $# -eq 0 ]; then
+    set -- ./target/attendance-system
+fi
+
+cleanup() {
+    [ -n "$APP_PID" ] && kill "$APP_PID" 2>/dev/null
+    rm -rf "$DB_DIR"
+}
+trap cleanup EXIT
+
+START=$(date +%s%N)
+"$@" --server.port=$PORT \
+    --spring.datasource.url="jdbc:h2:file:$DB_DIR/db;DB_CLOSE_DELAY=-1" > "$LOG" 2>&1 &
+APP_PID=$!
+
+until curl -s -o /dev/null "$BASE_URL/actuator/health"; do
+    if ! kill -0 "$APP_PID" 2>/dev/null; then
+        echo -e "${RED}❌ Backend exited during startup${NC}"
+        tail -30 "$LOG"
+        exit 1
+    fi
+    sleep 0.05
+done
+READY_MS=$(( ($(date +%s%N) - START) / 1000000 ))
+
+FAILED=0
+check() {
+    local description=$1
+    local expected=$2
+    shift 2
+    local status
+    status=$(curl -s -o /dev/null -w '%{http_code}' "$@")
+    if [ "$status" = "$expected" ]; then
+        echo -e "  ${GREEN}✓${NC} $description ($status)"
+    else
+        echo -e "  ${RED}❌ $description (expected $expected, got $status)${NC}"
+        FAILED=1
+    fi
+}
+
+# Sample users are created right after startup; wait for them before logging in
+for _ in $(seq 1 100); do
+    grep -q "Backend is running" "$LOG" && break
+    sleep 0.1
+done
+
+echo "Smoke test against: $*"
+check "Health" 200 "$BASE_URL/actuator/health"
+check "List users" 200 "$BASE_URL/users"
+check "List courses" 200 "$BASE_URL/courses"
+check "Login" 200 -X POST "$BASE_URL/auth/login" -H "Content-Type: application/json" \
+    -d '{"email":"admin@biometric.com","password":"admin123"}'
+check "Create course" 200 -X POST "$BASE_URL/courses" -H "Content-Type: application/json" \
+    -d '{"code":"SMK101","name":"Smoke","lecturerId":2,"department":"CS","credits":3}'
+check "List sessions (CBOR)" 200 -H "Accept: application/cbor" "$BASE_URL/sessions"
+
+echo ""
+echo "Time to first response: ${READY_MS} ms"
+grep -o "Started BiometricAttendanceApplication in [0-9.]* seconds" "$LOG"
+echo "RSS: $(ps -o rss= -p "$APP_PID" | tr -d ' ') KB"
+
+exit $FAILED
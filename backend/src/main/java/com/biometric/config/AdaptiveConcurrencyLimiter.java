@@ -0,0 +1,104 @@
+package com.biometric.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit learned from latency, combining the gradient update with
+ * periodic re-measurement of the baseline. Once per sample window the limit grows while
+ * latency stays close to the no-load baseline and shrinks as queueing pushes
+ * latency up. Lower priority lanes may only use a fraction of the limit, so
+ * they are shed first.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final int MIN_WINDOW_SAMPLES = 10;
+    private static final int PROBE_INTERVAL_WINDOWS = 600;
+    private static final double SMOOTHING = 0.2;
+    // Latency may rise this much above baseline before the limit starts to shrink.
+    private static final double TOLERANCE = 1.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private double baselineRttNanos;
+    private int windowsSinceProbe;
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Reserves a slot when fewer than {@code limit * share} requests are in flight.
+     *
+     * @return whether the request may proceed; if so {@link #release} must follow
+     */
+    public boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long rttNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        onSample(rttNanos, inFlightBefore);
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightBefore) {
+        windowRttSum += rttNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightBefore);
+        // Roughly one round trip's worth of requests per window
+        if (windowSamples < Math.max(MIN_WINDOW_SAMPLES, limit)) {
+            return;
+        }
+        double rtt = (double) windowRttSum / windowSamples;
+        int maxInFlight = windowMaxInFlight;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+
+        if (++windowsSinceProbe >= PROBE_INTERVAL_WINDOWS) {
+            // Forget the baseline so the next window re-measures it. A baseline from a
+            // faster past (warm caches, a smaller table) would otherwise hold the limit
+            // down for good. The limit itself is left alone, so no lane is shed for it.
+            windowsSinceProbe = 0;
+            baselineRttNanos = 0;
+            return;
+        }
+        if (baselineRttNanos == 0) {
+            baselineRttNanos = rtt;
+            return;
+        }
+        baselineRttNanos = Math.min(baselineRttNanos, rtt);
+
+        // Not using the current limit, so latency says nothing about raising it.
+        if (maxInFlight < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * baselineRttNanos / rtt));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    public double getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
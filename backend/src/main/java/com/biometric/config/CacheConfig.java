@@ -0,0 +1,46 @@
+package com.biometric.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.jcache.JCacheCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.net.URI;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String COURSE_ATTENDANCE_MATRIX = "course-attendance-matrix";
+    public static final String STUDENT_DASHBOARD = "student-dashboard";
+    public static final String LECTURER_DASHBOARD = "lecturer-dashboard";
+
+    // Same provider and config URI as the Hibernate second-level cache, so every
+    // cache region is declared in caffeine-jcache.conf. A provider of its own per
+    // application context: the one from Caching is JVM-wide and hands every context
+    // the same manager, so contexts shared cached entities and closing one broke the rest.
+    @Bean(destroyMethod = "close")
+    public CacheManager jCacheManager() {
+        return new CaffeineCachingProvider()
+            .getCacheManager(URI.create("classpath:caffeine-jcache.conf"), getClass().getClassLoader());
+    }
+
+    // Hibernate gets this manager instead of resolving a "classpath:" URI itself:
+    // that only works once embedded Tomcat has registered its URL handler, so
+    // the cache failed to start without a web server (tests, batch runs).
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManager(CacheManager jCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, jCacheManager);
+    }
+
+    // Evictions issued inside a transaction are applied after commit, so a
+    // concurrent read cannot re-cache data the transaction is replacing.
+    @Bean
+    public CacheManagerCustomizer<JCacheCacheManager> transactionAwareCaches() {
+        return cacheManager -> cacheManager.setTransactionAware(true);
+    }
+}
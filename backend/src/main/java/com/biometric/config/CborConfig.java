@@ -0,0 +1,102 @@
+package com.biometric.config;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * application/cbor for the device-facing endpoints. The encoding uses the same
+ * field names and values as the JSON API, minus null fields, so clients can
+ * share one model and pick the format with Accept/Content-Type. Responses on
+ * these paths carry Vary: Accept, so a shared cache never hands a JSON body to
+ * a CBOR client under the same ETag, or the other way round.
+ */
+@Configuration
+public class CborConfig implements WebMvcConfigurer {
+    @Value("${app.http.cbor.paths:/attendance,/sessions,/biometric}")
+    private String cborPaths;
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new PathScopedCborConverter(builder.factory(new CBORFactory())
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .build(), prefixes());
+    }
+
+    // Set before the handler runs, so 304 answers and errors carry it too.
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        List<String> prefixes = prefixes();
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                if (onPaths(request, prefixes)) {
+                    response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                }
+                return true;
+            }
+        });
+    }
+
+    private List<String> prefixes() {
+        return Arrays.stream(cborPaths.split(","))
+            .map(String::trim)
+            .filter(path -> !path.isEmpty())
+            .toList();
+    }
+
+    static boolean onPaths(HttpServletRequest request, List<String> prefixes) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return prefixes.stream().anyMatch(prefix -> path.equals(prefix) || path.startsWith(prefix + "/"));
+    }
+
+    // The framework registers its own unscoped CBOR converter when the codec is on the classpath.
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter.getClass() == MappingJackson2CborHttpMessageConverter.class);
+    }
+
+    static class PathScopedCborConverter extends MappingJackson2CborHttpMessageConverter {
+        private final List<String> prefixes;
+
+        PathScopedCborConverter(ObjectMapper objectMapper, List<String> prefixes) {
+            super(objectMapper);
+            this.prefixes = prefixes;
+        }
+
+        @Override
+        protected boolean canRead(MediaType mediaType) {
+            return super.canRead(mediaType) && enabledForRequest();
+        }
+
+        @Override
+        protected boolean canWrite(MediaType mediaType) {
+            return super.canWrite(mediaType) && enabledForRequest();
+        }
+
+        private boolean enabledForRequest() {
+            if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+                return false;
+            }
+            return onPaths(attributes.getRequest(), prefixes);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.biometric.config;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of fixed-size, memory-mapped segment files. Each entry
+ * is [length][CRC32C][payload]; a zero length marks the unwritten tail of a
+ * segment. {@link #append} only copies into the mapping, {@link #awaitDurable}
+ * forces it to disk and is shared by concurrent callers, so one force covers
+ * every entry appended before it (group commit).
+ * <p>
+ * A consumer reads durable entries from its checkpoint and moves the
+ * checkpoint with {@link #commit} once they are stored elsewhere; fully
+ * consumed segments are deleted. On open the tail of the newest segment is
+ * scanned and the first torn or corrupt entry ends the journal. Entries
+ * behind it were never acknowledged, because acknowledgement waits for the force.
+ */
+public class CheckInJournal implements Closeable {
+    private static final int HEADER = 8;
+    private static final String SUFFIX = ".seg";
+    private static final String CHECKPOINT = "checkpoint";
+
+    private final Path dir;
+    private final int segmentSize;
+
+    // Writer state, guarded by this
+    private long writeSegment;
+    private MappedByteBuffer writeBuffer;
+    private int writeOffset;
+
+    private final Object forceLock = new Object();
+    private volatile Position durable;
+    private volatile Position checkpoint;
+
+    // Reader state, used by the single consumer thread
+    private long readSegment = -1;
+    private ByteBuffer readBuffer;
+
+    private CheckInJournal(Path dir, int segmentSize) {
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+    }
+
+    public static CheckInJournal open(Path dir, int segmentSize) throws IOException {
+        Files.createDirectories(dir);
+        CheckInJournal journal = new CheckInJournal(dir, segmentSize);
+        journal.recover();
+        return journal;
+    }
+
+    private void recover() throws IOException {
+        TreeSet<Long> segments = segments();
+        Path checkpointFile = dir.resolve(CHECKPOINT);
+        if (Files.exists(checkpointFile)) {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(checkpointFile));
+            checkpoint = new Position(buffer.getLong(), buffer.getInt());
+        } else {
+            checkpoint = new Position(segments.isEmpty() ? 0 : segments.first(), 0);
+        }
+
+        writeSegment = segments.isEmpty() ? checkpoint.segment() : Math.max(segments.last(), checkpoint.segment());
+        writeBuffer = map(writeSegment);
+        int offset = 0;
+        while (true) {
+            int length = entryLength(writeBuffer, offset);
+            if (length <= 0 || !checksumMatches(writeBuffer, offset, length)) {
+                break;
+            }
+            offset += HEADER + length;
+        }
+        // Clear a torn tail so later appends are never mistaken for it.
+        for (int i = offset; i < Math.min(segmentSize, offset + HEADER); i++) {
+            writeBuffer.put(i, (byte) 0);
+        }
+        writeOffset = offset;
+        durable = new Position(writeSegment, writeOffset);
+    }
+
+    /**
+     * Copies one entry into the current segment, rolling to a new segment when
+     * it does not fit. The entry is not durable until {@link #awaitDurable}.
+     *
+     * @return the position just after the entry
+     */
+    public synchronized Position append(byte[] payload) throws IOException {
+        int needed = HEADER + payload.length;
+        if (needed > segmentSize) {
+            throw new IllegalArgumentException("Entry of " + payload.length + " bytes exceeds the segment size");
+        }
+        if (writeOffset + needed > segmentSize) {
+            // Everything in a finished segment is durable before the next one starts.
+            writeBuffer.force();
+            writeSegment++;
+            writeBuffer = map(writeSegment);
+            writeOffset = 0;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        writeBuffer.putInt(writeOffset + 4, (int) crc.getValue());
+        writeBuffer.put(writeOffset + HEADER, payload);
+        // Length last: a reader never sees a length whose payload is not there yet.
+        writeBuffer.putInt(writeOffset, payload.length);
+        writeOffset += needed;
+        return new Position(writeSegment, writeOffset);
+    }
+
+    /** Blocks until the entry ending at the given position has been forced to disk. */
+    public void awaitDurable(Position position) {
+        if (durable.compareTo(position) >= 0) {
+            return;
+        }
+        synchronized (forceLock) {
+            if (durable.compareTo(position) >= 0) {
+                return;
+            }
+            MappedByteBuffer buffer;
+            Position target;
+            synchronized (this) {
+                buffer = writeBuffer;
+                target = new Position(writeSegment, writeOffset);
+            }
+            buffer.force();
+            durable = target;
+        }
+    }
+
+    /** Reads up to maxEntries durable entries from the given position. */
+    public List<Entry> read(Position from, int maxEntries) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        Position limit = durable;
+        long segment = from.segment();
+        int offset = from.offset();
+        while (entries.size() < maxEntries && new Position(segment, offset).compareTo(limit) < 0) {
+            ByteBuffer buffer = readerBuffer(segment);
+            int length = entryLength(buffer, offset);
+            if (length <= 0) {
+                // End of a finished segment.
+                segment++;
+                offset = 0;
+                continue;
+            }
+            if (!checksumMatches(buffer, offset, length)) {
+                throw new IOException("Corrupt journal entry in segment " + segment + " at offset " + offset);
+            }
+            byte[] payload = new byte[length];
+            buffer.get(offset + HEADER, payload);
+            offset += HEADER + length;
+            entries.add(new Entry(new Position(segment, offset), payload));
+        }
+        return entries;
+    }
+
+    /** Records that everything before the position has been consumed. */
+    public void commit(Position position) throws IOException {
+        Path temp = dir.resolve(CHECKPOINT + ".tmp");
+        ByteBuffer buffer = ByteBuffer.allocate(12).putLong(position.segment()).putInt(position.offset());
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(buffer.flip());
+            channel.force(true);
+        }
+        Files.move(temp, dir.resolve(CHECKPOINT), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        checkpoint = position;
+        for (long segment : segments().headSet(position.segment())) {
+            Files.deleteIfExists(segmentPath(segment));
+        }
+    }
+
+    public Position getCheckpoint() {
+        return checkpoint;
+    }
+
+    /** Bytes between the checkpoint and the last durable entry, a rough backlog size. */
+    public long backlogBytes() {
+        Position end = durable;
+        Position start = checkpoint;
+        return (end.segment() - start.segment()) * (long) segmentSize + end.offset() - start.offset();
+    }
+
+    @Override
+    public synchronized void close() {
+        writeBuffer.force();
+    }
+
+    private ByteBuffer readerBuffer(long segment) throws IOException {
+        synchronized (this) {
+            if (segment == writeSegment) {
+                return writeBuffer.duplicate();
+            }
+        }
+        if (segment != readSegment) {
+            try (FileChannel channel = FileChannel.open(segmentPath(segment), StandardOpenOption.READ)) {
+                readBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, segmentSize);
+            }
+            readSegment = segment;
+        }
+        return readBuffer;
+    }
+
+    private MappedByteBuffer map(long segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(segment),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    private int entryLength(ByteBuffer buffer, int offset) {
+        if (offset + HEADER > segmentSize) {
+            return 0;
+        }
+        int length = buffer.getInt(offset);
+        return length > 0 && offset + HEADER + length <= segmentSize ? length : 0;
+    }
+
+    private boolean checksumMatches(ByteBuffer buffer, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset + HEADER, length));
+        return (int) crc.getValue() == buffer.getInt(offset + 4);
+    }
+
+    private TreeSet<Long> segments() throws IOException {
+        TreeSet<Long> segments = new TreeSet<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.map(path -> path.getFileName().toString())
+                .filter(name -> name.endsWith(SUFFIX))
+                .forEach(name -> segments.add(Long.parseLong(name.substring(0, name.length() - SUFFIX.length()))));
+        }
+        return segments;
+    }
+
+    private Path segmentPath(long segment) {
+        return dir.resolve(String.format("%020d%s", segment, SUFFIX));
+    }
+
+    public record Position(long segment, int offset) implements Comparable<Position> {
+        @Override
+        public int compareTo(Position other) {
+            int bySegment = Long.compare(segment, other.segment);
+            return bySegment != 0 ? bySegment : Integer.compare(offset, other.offset);
+        }
+    }
+
+    public record Entry(Position next, byte[] payload) {
+    }
+}
@@ -0,0 +1,114 @@
+package com.biometric.config;
+
+import com.biometric.util.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(prefix = "app.concurrency-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+    // Full-table lists and reports: the most expensive reads, shed first.
+    private static final Set<String> BULK_LISTS = Set.of("/attendance", "/users", "/sessions", "/enrollments", "/courses");
+
+    public enum Lane {
+        CRITICAL,
+        DASHBOARD,
+        BULK
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties,
+                                                                 MeterRegistry meterRegistry) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+            properties.getInitialLimit(), properties.getMinLimit(), properties.getMaxLimit());
+        Gauge.builder("http.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+            .description("Learned in-flight request limit")
+            .register(meterRegistry);
+        Gauge.builder("http.concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+            .register(meterRegistry);
+        return limiter;
+    }
+
+    @Bean
+    public OncePerRequestFilter concurrencyLimitFilter(ConcurrencyLimitProperties properties,
+                                                       AdaptiveConcurrencyLimiter limiter,
+                                                       MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        Map<Lane, Double> shares = new EnumMap<>(Lane.class);
+        shares.put(Lane.CRITICAL, properties.getCriticalShare());
+        shares.put(Lane.DASHBOARD, properties.getDashboardShare());
+        shares.put(Lane.BULK, properties.getBulkShare());
+        Map<Lane, Counter> shed = new EnumMap<>(Lane.class);
+        for (Lane lane : Lane.values()) {
+            shed.put(lane, Counter.builder("http.concurrency.shed")
+                .tag("lane", lane.name().toLowerCase())
+                .register(meterRegistry));
+            Gauge.builder("http.concurrency.lane.limit", limiter, l -> l.getLimit() * shares.get(lane))
+                .tag("lane", lane.name().toLowerCase())
+                .register(meterRegistry);
+        }
+
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain filterChain) throws ServletException, IOException {
+                String path = request.getRequestURI().substring(request.getContextPath().length());
+                if (path.startsWith("/actuator") || "OPTIONS".equals(request.getMethod())) {
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+
+                Lane lane = classify(request.getMethod(), path);
+                if (!limiter.tryAcquire(shares.get(lane))) {
+                    shed.get(lane).increment();
+                    response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+                    response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                    objectMapper.writeValue(response.getOutputStream(), ApiResponse.error("Server busy, retry shortly"));
+                    return;
+                }
+
+                long start = System.nanoTime();
+                try {
+                    filterChain.doFilter(request, response);
+                } finally {
+                    limiter.release(System.nanoTime() - start);
+                }
+            }
+        };
+    }
+
+    static Lane classify(String method, String path) {
+        boolean read = "GET".equals(method) || "HEAD".equals(method);
+        if (path.startsWith("/auth")) {
+            return Lane.CRITICAL;
+        }
+        // Live marking and session control
+        if (!read && (path.startsWith("/attendance") || path.startsWith("/sessions") || path.startsWith("/biometric"))) {
+            return Lane.CRITICAL;
+        }
+        if ((read && (BULK_LISTS.contains(path) || path.startsWith("/reports"))) || path.equals("/enrollments/bulk")) {
+            return Lane.BULK;
+        }
+        return Lane.DASHBOARD;
+    }
+}
@@ -0,0 +1,36 @@
+package com.biometric.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public class ConcurrencyLimitProperties {
+    private boolean enabled = true;
+    private int initialLimit = 40;
+    private int minLimit = 8;
+    private int maxLimit = 400;
+    // Share of the learned limit each lane may occupy; lower lanes are shed first.
+    private double criticalShare = 1.0;
+    private double dashboardShare = 0.75;
+    private double bulkShare = 0.4;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getInitialLimit() { return initialLimit; }
+    public void setInitialLimit(int initialLimit) { this.initialLimit = initialLimit; }
+
+    public int getMinLimit() { return minLimit; }
+    public void setMinLimit(int minLimit) { this.minLimit = minLimit; }
+
+    public int getMaxLimit() { return maxLimit; }
+    public void setMaxLimit(int maxLimit) { this.maxLimit = maxLimit; }
+
+    public double getCriticalShare() { return criticalShare; }
+    public void setCriticalShare(double criticalShare) { this.criticalShare = criticalShare; }
+
+    public double getDashboardShare() { return dashboardShare; }
+    public void setDashboardShare(double dashboardShare) { this.dashboardShare = dashboardShare; }
+
+    public double getBulkShare() { return bulkShare; }
+    public void setBulkShare(double bulkShare) { this.bulkShare = bulkShare; }
+}
@@ -7,9 +7,6 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
-import java.util.Comparator;
-import java.util.List;
-
 @Configuration
 public class DataInitializer implements CommandLineRunner {
     
@@ -56,47 +53,5 @@ public class DataInitializer implements CommandLineRunner {
             
             System.out.println("Sample users initialized successfully");
         }
-
-        backfillRoleIds();
-    }
-
-    private void backfillRoleIds() {
-        List<User> students = userRepository.findByRole(User.UserRole.STUDENT).stream()
-            .sorted(Comparator.comparing(User::getId))
-            .toList();
-        long studentSeq = 1L;
-        for (User student : students) {
-            if (student.getStudentSequence() != null && student.getStudentSequence() >= studentSeq) {
-                studentSeq = student.getStudentSequence() + 1L;
-                continue;
-            }
-            if (student.getStudentSequence() == null) {
-                student.setStudentSequence(studentSeq);
-            }
-            if (student.getStudentId() == null || student.getStudentId().isBlank()) {
-                student.setStudentId(String.format("STU-%05d", studentSeq));
-            }
-            userRepository.save(student);
-            studentSeq = Math.max(studentSeq + 1L, student.getStudentSequence() + 1L);
-        }
-
-        List<User> lecturers = userRepository.findByRole(User.UserRole.LECTURER).stream()
-            .sorted(Comparator.comparing(User::getId))
-            .toList();
-        long lecturerSeq = 1L;
-        for (User lecturer : lecturers) {
-            if (lecturer.getStaffSequence() != null && lecturer.getStaffSequence() >= lecturerSeq) {
-                lecturerSeq = lecturer.getStaffSequence() + 1L;
-                continue;
-            }
-            if (lecturer.getStaffSequence() == null) {
-                lecturer.setStaffSequence(lecturerSeq);
-            }
-            if (lecturer.getStaffId() == null || lecturer.getStaffId().isBlank()) {
-                lecturer.setStaffId(String.format("LEC-%05d", lecturerSeq));
-            }
-            userRepository.save(lecturer);
-            lecturerSeq = Math.max(lecturerSeq + 1L, lecturer.getStaffSequence() + 1L);
-        }
     }
 }
@@ -0,0 +1,112 @@
+package com.biometric.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.LongSupplier;
+
+/**
+ * Hashed timing wheel: a ring of buckets, one per tick, where a timeout sits in
+ * the bucket of its deadline tick and carries the number of full turns still
+ * to go. Scheduling is O(1) from any thread (timeouts are queued and placed
+ * on the next advance); advancing only touches the buckets of elapsed ticks.
+ * The wheel has no thread of its own, so the owner calls {@link #advance()}
+ * about once per tick and a late call simply catches up. A timeout fires on
+ * the first tick at or after its deadline, never before it.
+ */
+public class HashedWheelTimer<T> {
+    private final long tickNanos;
+    private final int mask;
+    private final List<Timeout<T>>[] buckets;
+    private final Queue<Timeout<T>> pending = new ConcurrentLinkedQueue<>();
+    private final LongSupplier nanoTime;
+    private final long startNanos;
+    private long tick;
+
+    public HashedWheelTimer(Duration tickDuration, int wheelSize) {
+        this(tickDuration, wheelSize, System::nanoTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    HashedWheelTimer(Duration tickDuration, int wheelSize, LongSupplier nanoTime) {
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.tickNanos = tickDuration.toNanos();
+        this.mask = size - 1;
+        this.buckets = new List[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        this.nanoTime = nanoTime;
+        this.startNanos = nanoTime.getAsLong();
+    }
+
+    /** Arms a timeout; a delay of zero or less fires on the next tick. */
+    public Timeout<T> schedule(T item, Duration delay) {
+        Timeout<T> timeout = new Timeout<>(item, nanoTime.getAsLong() + Math.max(0, delay.toNanos()));
+        pending.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Moves the wheel up to the current time and returns the items whose
+     * deadline has passed.
+     */
+    public synchronized List<T> advance() {
+        long targetTick = (nanoTime.getAsLong() - startNanos) / tickNanos;
+        List<T> expired = new ArrayList<>();
+        while (tick <= targetTick) {
+            transferPending();
+            Iterator<Timeout<T>> it = buckets[(int) (tick & mask)].iterator();
+            while (it.hasNext()) {
+                Timeout<T> timeout = it.next();
+                if (timeout.cancelled) {
+                    it.remove();
+                } else if (timeout.remainingRounds <= 0) {
+                    expired.add(timeout.item);
+                    it.remove();
+                } else {
+                    timeout.remainingRounds--;
+                }
+            }
+            tick++;
+        }
+        return expired;
+    }
+
+    private void transferPending() {
+        Timeout<T> timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            // Rounded up, so a deadline between two ticks waits for the later one.
+            long deadlineTick = Math.max(ceilDiv(timeout.deadlineNanos - startNanos, tickNanos), tick);
+            timeout.remainingRounds = (deadlineTick - tick) / buckets.length;
+            buckets[(int) (deadlineTick & mask)].add(timeout);
+        }
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+
+    /** A scheduled timeout; cancelling it keeps it from firing and frees its slot on the next pass. */
+    public static final class Timeout<T> {
+        private final T item;
+        private final long deadlineNanos;
+        private long remainingRounds;
+        private volatile boolean cancelled;
+
+        private Timeout(T item, long deadlineNanos) {
+            this.item = item;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.biometric.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Hands out connections whose statements report every execution to
+ * {@link QueryInstrumentation}: the SQL, the rows it changed or returned and
+ * how long it ran. Everything else is passed straight through.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+    private final ObjectProvider<QueryInstrumentation> instrumentation;
+
+    public InstrumentedDataSource(DataSource target, ObjectProvider<QueryInstrumentation> instrumentation) {
+        super(target);
+        this.instrumentation = instrumentation;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        // Resolved per connection: the data source is in use (Flyway, Hibernate) before the instrumentation bean exists.
+        QueryInstrumentation listener = instrumentation.getIfAvailable();
+        if (listener == null) {
+            return connection;
+        }
+        return (Connection) proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                Class<? extends Statement> type = statement instanceof CallableStatement ? CallableStatement.class
+                    : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                return proxy(type, statement, new StatementHandler(statement, sql, listener));
+            }
+            return result;
+        });
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String preparedSql;
+        private final QueryInstrumentation listener;
+        private String lastSql;
+
+        private StatementHandler(Statement statement, String preparedSql, QueryInstrumentation listener) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+            this.listener = listener;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("addBatch") && args != null && args.length == 1) {
+                lastSql = (String) args[0];
+            }
+            if (!name.startsWith("execute")) {
+                Object result = InstrumentedDataSource.invoke(statement, method, args);
+                return name.equals("getResultSet") && result != null ? rows((ResultSet) result, proxy) : result;
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text
+                : preparedSql != null ? preparedSql : lastSql;
+            long start = System.nanoTime();
+            Object result = InstrumentedDataSource.invoke(statement, method, args);
+            long nanos = System.nanoTime() - start;
+            long rows = 0;
+            if (result instanceof Integer count && count > 0) {
+                rows = count;
+            } else if (result instanceof Long count && count > 0) {
+                rows = count;
+            } else if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    rows += Math.max(count, 0);
+                }
+            } else if (result instanceof long[] counts) {
+                for (long count : counts) {
+                    rows += Math.max(count, 0);
+                }
+            }
+            listener.executed(sql != null ? sql : "(unknown)", rows, nanos);
+            return result instanceof ResultSet resultSet ? rows(resultSet, proxy) : result;
+        }
+
+        // Counts rows as they are read; getStatement answers the wrapped statement so
+        // Hibernate finds the result set registered under the statement it ran.
+        private ResultSet rows(ResultSet resultSet, Object statementProxy) {
+            return (ResultSet) proxy(ResultSet.class, resultSet, (proxy, method, args) -> {
+                Object result = InstrumentedDataSource.invoke(resultSet, method, args);
+                if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                    listener.fetched();
+                }
+                return method.getName().equals("getStatement") && result == statement ? statementProxy : result;
+            });
+        }
+    }
+
+    private static Object proxy(Class<?> type, Object target, InvocationHandler handler) {
+        return Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(), new Class<?>[]{type},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> "Instrumented " + target;
+                default -> handler.invoke(proxy, method, args);
+            });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.biometric.config;
+
+import com.biometric.controller.KioskWebSocketHandler;
+import com.biometric.service.KioskDeviceService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
+
+import java.util.Map;
+
+@Configuration
+@EnableWebSocket
+@ConditionalOnProperty(name = "app.kiosk.enabled", havingValue = "true", matchIfMissing = true)
+public class KioskWebSocketConfig implements WebSocketConfigurer {
+    public static final String DEVICE_HEADER = "X-Device-Id";
+
+    @Autowired
+    private KioskWebSocketHandler handler;
+    @Autowired
+    private KioskDeviceService kioskDeviceService;
+
+    @Value("${cors.allowed-origins}")
+    private String[] allowedOrigins;
+    @Value("${app.kiosk.max-frame-kb:8}")
+    private int maxFrameKb;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(handler, "/ws/kiosk")
+            .addInterceptors(new KioskHandshakeInterceptor())
+            .setAllowedOriginPatterns(allowedOrigins);
+    }
+
+    // Check-in frames are small; a larger frame closes the connection.
+    @Bean
+    public ServletServerContainerFactoryBean createWebSocketContainer() {
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxTextMessageBufferSize(maxFrameKb * 1024);
+        container.setMaxBinaryMessageBufferSize(maxFrameKb * 1024);
+        return container;
+    }
+
+    // Only registered kiosks may connect. The device id may also come as a query parameter,
+    // but the token only in the Authorization header, so it stays out of URLs and access logs.
+    private class KioskHandshakeInterceptor implements HandshakeInterceptor {
+        @Override
+        public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                       WebSocketHandler wsHandler, Map<String, Object> attributes) {
+            HttpServletRequest servletRequest = ((ServletServerHttpRequest) request).getServletRequest();
+            String deviceId = servletRequest.getHeader(DEVICE_HEADER);
+            if (deviceId == null) {
+                deviceId = servletRequest.getParameter("device");
+            }
+            String authorization = servletRequest.getHeader(HttpHeaders.AUTHORIZATION);
+            String token = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7)
+                : null;
+
+            if (kioskDeviceService.authenticate(deviceId, token).isEmpty()) {
+                response.setStatusCode(HttpStatus.UNAUTHORIZED);
+                return false;
+            }
+            attributes.put(KioskWebSocketHandler.DEVICE_ATTRIBUTE, deviceId);
+            attributes.put(KioskWebSocketHandler.TENANT_ATTRIBUTE, TenantContext.current());
+            return true;
+        }
+
+        @Override
+        public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Exception exception) {
+        }
+    }
+}
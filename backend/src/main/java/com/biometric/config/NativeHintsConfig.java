@@ -0,0 +1,88 @@
+package com.biometric.config;
+
+import com.biometric.dto.CourseAttendanceMatrix;
+import com.biometric.model.ArchivedAttendanceRecord;
+import com.biometric.model.AttendanceRecord;
+import com.biometric.model.AttendanceSession;
+import com.biometric.model.BiometricEnrollment;
+import com.biometric.model.Course;
+import com.biometric.model.CourseEnrollment;
+import com.biometric.model.OutboxEvent;
+import com.biometric.model.PasswordResetToken;
+import com.biometric.model.User;
+import com.resend.services.emails.model.Attachment;
+import com.resend.services.emails.model.CreateEmailOptions;
+import com.resend.services.emails.model.CreateEmailResponse;
+import com.resend.services.emails.model.Tag;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Reflection and resource hints for the native image build (-Pnative). Only
+ * needed for what Spring AOT cannot discover on its own: entities that Jackson
+ * binds outside controller signatures, the Resend SDK's Jackson models,
+ * jjwt's reflectively loaded implementation classes and the JDBC proxies of
+ * {@link InstrumentedDataSource}.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.Hints.class)
+public class NativeHintsConfig {
+
+    static class Hints implements RuntimeHintsRegistrar {
+        private static final MemberCategory[] BINDING = {
+            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+            MemberCategory.INVOKE_DECLARED_METHODS,
+            MemberCategory.DECLARED_FIELDS
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            List.of(User.class, User.UserRole.class, Course.class, CourseEnrollment.class,
+                    AttendanceSession.class, AttendanceRecord.class, ArchivedAttendanceRecord.class,
+                    BiometricEnrollment.class, PasswordResetToken.class, CourseAttendanceMatrix.class,
+                    OutboxEvent.class)
+                .forEach(type -> hints.reflection().registerType(type, BINDING));
+
+            List.of(CreateEmailOptions.class, Attachment.class, Tag.class, CreateEmailResponse.class)
+                .forEach(type -> hints.reflection().registerType(type, BINDING));
+
+            // jjwt is a runtime-only dependency and finds its implementation by class name / ServiceLoader
+            List.of("io.jsonwebtoken.jackson.io.JacksonSerializer",
+                    "io.jsonwebtoken.jackson.io.JacksonDeserializer",
+                    "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                    "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                    "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+                    "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+                    "io.jsonwebtoken.impl.security.StandardKeyOperations",
+                    "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+                    "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+                    "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms")
+                .forEach(name -> hints.reflection().registerType(TypeReference.of(name),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS));
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+            hints.reflection().registerType(
+                TypeReference.of("com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider"),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            hints.resources().registerPattern("caffeine-jcache.conf");
+            hints.resources().registerPattern("db/migration/*/*.sql");
+
+            List.of(Connection.class, Statement.class, PreparedStatement.class, CallableStatement.class, ResultSet.class)
+                .forEach(type -> {
+                    hints.proxies().registerJdkProxy(type);
+                    hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_METHODS);
+                });
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.biometric.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.repository.Repository;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the SQL statements, rows and statement time of each thread, fed by
+ * {@link InstrumentedDataSource}, and attributes them to the repository method
+ * and the HTTP endpoint that caused them. Publishes db.repository.* and
+ * db.request.* metrics, logs slow statements with their literals redacted, and
+ * reports a request that runs the same statement app.db.instrumentation.repeat-threshold
+ * times or more as a likely N+1. Bind parameters are never read, so they cannot leak
+ * into the log.
+ * <p>
+ * Time is the time spent executing statements; reading rows from a result set
+ * is not included.
+ */
+@Aspect
+public class QueryInstrumentation implements MeterBinder {
+    private static final Logger log = LoggerFactory.getLogger(QueryInstrumentation.class);
+    private static final ThreadLocal<Frame> FRAME = ThreadLocal.withInitial(Frame::new);
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_LOGGED_SQL = 1000;
+
+    private final QueryInstrumentationProperties properties;
+    private final long slowNanos;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+    private final Map<String, Meters> repositoryMeters = new ConcurrentHashMap<>();
+    private final Map<String, Meters> requestMeters = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+    private volatile Counter slowQueries;
+
+    public QueryInstrumentation(QueryInstrumentationProperties properties) {
+        this.properties = properties;
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(properties.getSlowQueryMs());
+    }
+
+    /**
+     * Statements, rows and statement time of the current thread so far. Take
+     * one before and one after the code under test and compare them with
+     * {@link Snapshot#since}.
+     */
+    public static Snapshot snapshot() {
+        Frame frame = FRAME.get();
+        return new Snapshot(frame.statements, frame.rows, frame.nanos);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        slowQueries = Counter.builder("db.query.slow")
+            .description("Statements slower than app.db.instrumentation.slow-query-ms")
+            .register(registry);
+        this.registry = registry;
+    }
+
+    void executed(String sql, long rows, long nanos) {
+        Frame frame = FRAME.get();
+        frame.statements++;
+        frame.rows += rows;
+        frame.nanos += nanos;
+        if (nanos >= slowNanos) {
+            if (slowQueries != null) {
+                slowQueries.increment();
+            }
+            log.warn("Slow statement ({} ms, {}): {} [bind parameters redacted]",
+                TimeUnit.NANOSECONDS.toMillis(nanos), frame.repository != null ? frame.repository : "no repository",
+                redact(sql));
+        }
+        RequestScope request = frame.request;
+        if (request != null) {
+            request.repeats.computeIfAbsent(sql, key -> new Repeat(frame.repository)).count++;
+            if (properties.isEnforceBudgets()) {
+                checkBudget(request, frame.statements - request.start.statements());
+            }
+        }
+    }
+
+    void fetched() {
+        FRAME.get().rows++;
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object aroundRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        Frame frame = FRAME.get();
+        String method = repositoryName(joinPoint.getTarget()) + "." + joinPoint.getSignature().getName();
+        String previous = frame.repository;
+        long statements = frame.statements;
+        long rows = frame.rows;
+        long nanos = frame.nanos;
+        frame.repository = method;
+        try {
+            return joinPoint.proceed();
+        } finally {
+            frame.repository = previous;
+            MeterRegistry meterRegistry = registry;
+            if (meterRegistry != null) {
+                repositoryMeters.computeIfAbsent(method, key -> new Meters("db.repository", meterRegistry, false,
+                        "method", key))
+                    .record(frame.statements - statements, frame.rows - rows, frame.nanos - nanos);
+            }
+        }
+    }
+
+    /** Starts counting for an HTTP request on this thread; null when one is already being counted. */
+    RequestScope beginRequest(HttpServletRequest request) {
+        Frame frame = FRAME.get();
+        if (frame.request != null) {
+            return null;
+        }
+        frame.request = new RequestScope(request, snapshot());
+        return frame.request;
+    }
+
+    long statementsSince(RequestScope scope) {
+        return FRAME.get().statements - scope.start.statements();
+    }
+
+    void endRequest(RequestScope scope) {
+        FRAME.get().request = null;
+        Snapshot used = snapshot().since(scope.start);
+        String method = scope.request.getMethod();
+        String uri = scope.pattern();
+        MeterRegistry meterRegistry = registry;
+        Meters meters = null;
+        if (meterRegistry != null) {
+            meters = requestMeters.computeIfAbsent(method + " " + uri, key -> new Meters("db.request", meterRegistry, true,
+                "method", method, "uri", uri));
+            meters.record(used.statements(), used.rows(), used.nanos());
+        }
+
+        Map.Entry<String, Repeat> mostRepeated = null;
+        for (Map.Entry<String, Repeat> entry : scope.repeats.entrySet()) {
+            if (mostRepeated == null || entry.getValue().count > mostRepeated.getValue().count) {
+                mostRepeated = entry;
+            }
+        }
+        if (mostRepeated != null && properties.getRepeatThreshold() > 0
+                && mostRepeated.getValue().count >= properties.getRepeatThreshold()) {
+            if (meters != null) {
+                meters.repeated.increment();
+            }
+            Repeat repeat = mostRepeated.getValue();
+            log.warn("{} {} ran the same statement {} times (likely N+1, from {}): {}", method, uri, repeat.count,
+                repeat.repository != null ? repeat.repository : "no repository", redact(mostRepeated.getKey()));
+        }
+        Integer budget = properties.budgetFor(method, uri);
+        if (budget != null && used.statements() > budget) {
+            if (meters != null) {
+                meters.overBudget.increment();
+            }
+            log.warn("{} {} ran {} statements, over its budget of {}", method, uri, used.statements(), budget);
+        }
+        log.debug("{} {}: {} statements, {} rows, {} ms in the database", method, uri, used.statements(), used.rows(),
+            TimeUnit.NANOSECONDS.toMillis(used.nanos()));
+    }
+
+    // Fails the statement that goes over the budget, so the regression surfaces as a failed request.
+    private void checkBudget(RequestScope scope, long statements) {
+        if (!scope.budgetResolved) {
+            String pattern = (String) scope.request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern == null) {
+                return;
+            }
+            scope.budget = properties.budgetFor(scope.request.getMethod(), pattern);
+            scope.budgetResolved = true;
+        }
+        if (scope.budget != null && statements > scope.budget) {
+            throw new IllegalStateException("Query budget exceeded: " + scope.request.getMethod() + " "
+                + scope.pattern() + " ran " + statements + " statements, budget " + scope.budget);
+        }
+    }
+
+    private String repositoryName(Object target) {
+        return repositoryNames.computeIfAbsent(target.getClass(), type -> {
+            for (Class<?> candidate : type.getInterfaces()) {
+                if (Repository.class.isAssignableFrom(candidate)
+                        && !candidate.getName().startsWith("org.springframework.")) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        });
+    }
+
+    static String redact(String sql) {
+        String redacted = STRING_LITERAL.matcher(sql).replaceAll("'?'");
+        redacted = NUMBER_LITERAL.matcher(redacted).replaceAll("?");
+        redacted = WHITESPACE.matcher(redacted).replaceAll(" ").trim();
+        return redacted.length() > MAX_LOGGED_SQL ? redacted.substring(0, MAX_LOGGED_SQL) + "..." : redacted;
+    }
+
+    public record Snapshot(long statements, long rows, long nanos) {
+        public Snapshot since(Snapshot earlier) {
+            return new Snapshot(statements - earlier.statements, rows - earlier.rows, nanos - earlier.nanos);
+        }
+
+        /** For tests: fails with an AssertionError when more than max statements were run. */
+        public void assertStatementsAtMost(long max, String what) {
+            if (statements > max) {
+                throw new AssertionError(what + " ran " + statements + " statements, expected at most " + max);
+            }
+        }
+    }
+
+    static final class RequestScope {
+        private final HttpServletRequest request;
+        private final Snapshot start;
+        private final Map<String, Repeat> repeats = new HashMap<>();
+        private Integer budget;
+        private boolean budgetResolved;
+
+        private RequestScope(HttpServletRequest request, Snapshot start) {
+            this.request = request;
+            this.start = start;
+        }
+
+        private String pattern() {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            return pattern != null ? pattern.toString() : "UNKNOWN";
+        }
+    }
+
+    private static final class Frame {
+        private long statements;
+        private long rows;
+        private long nanos;
+        private String repository;
+        private RequestScope request;
+    }
+
+    private static final class Repeat {
+        private final String repository;
+        private int count;
+
+        private Repeat(String repository) {
+            this.repository = repository;
+        }
+    }
+
+    private static final class Meters {
+        private final DistributionSummary statements;
+        private final DistributionSummary rows;
+        private final Timer time;
+        private final Counter repeated;
+        private final Counter overBudget;
+
+        private Meters(String prefix, MeterRegistry registry, boolean request, String... tags) {
+            statements = DistributionSummary.builder(prefix + ".statements").tags(tags).register(registry);
+            rows = DistributionSummary.builder(prefix + ".rows").tags(tags).register(registry);
+            time = Timer.builder(prefix + ".time").tags(tags).register(registry);
+            repeated = request ? Counter.builder(prefix + ".repeated").tags(tags)
+                .description("Requests that ran one statement repeat-threshold times or more").register(registry) : null;
+            overBudget = request ? Counter.builder(prefix + ".over.budget").tags(tags).register(registry) : null;
+        }
+
+        private void record(long statementCount, long rowCount, long nanos) {
+            statements.record(statementCount);
+            rows.record(rowCount);
+            time.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
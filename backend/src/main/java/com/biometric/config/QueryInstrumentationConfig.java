@@ -0,0 +1,115 @@
+package com.biometric.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.db.instrumentation", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryInstrumentationConfig {
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+
+    // Bound by hand: the post-processor below needs it before configuration properties beans are processed.
+    @Bean
+    public static QueryInstrumentationProperties queryInstrumentationProperties(Environment environment) {
+        return Binder.get(environment).bindOrCreate("app.db.instrumentation", QueryInstrumentationProperties.class);
+    }
+
+    @Bean
+    public static QueryInstrumentation queryInstrumentation(QueryInstrumentationProperties properties) {
+        return new QueryInstrumentation(properties);
+    }
+
+    // Wraps the data source everything else uses ("dataSource", the routing proxy when read replicas are on);
+    // the Hikari pools behind it stay injectable by their own type.
+    @Bean
+    public static BeanPostProcessor instrumentedDataSourcePostProcessor(
+            ObjectProvider<QueryInstrumentation> instrumentation) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    return new InstrumentedDataSource(dataSource, instrumentation);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public OncePerRequestFilter queryCountFilter(QueryInstrumentation instrumentation,
+                                                 QueryInstrumentationProperties properties) {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain filterChain) throws ServletException, IOException {
+                QueryInstrumentation.RequestScope scope = instrumentation.beginRequest(request);
+                if (scope == null) {
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+                try {
+                    filterChain.doFilter(request,
+                        properties.isExposeHeader() ? new QueryCountResponse(response, instrumentation, scope) : response);
+                } finally {
+                    if (properties.isExposeHeader() && !response.isCommitted()) {
+                        response.setHeader(QUERY_COUNT_HEADER, Long.toString(instrumentation.statementsSince(scope)));
+                    }
+                    instrumentation.endRequest(scope);
+                }
+            }
+        };
+    }
+
+    // Adds the header just before the body is written, when the statements have run but headers can still be set.
+    private static class QueryCountResponse extends HttpServletResponseWrapper {
+        private final QueryInstrumentation instrumentation;
+        private final QueryInstrumentation.RequestScope scope;
+
+        QueryCountResponse(HttpServletResponse response, QueryInstrumentation instrumentation,
+                           QueryInstrumentation.RequestScope scope) {
+            super(response);
+            this.instrumentation = instrumentation;
+            this.scope = scope;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            setQueryCount();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            setQueryCount();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            setQueryCount();
+            super.flushBuffer();
+        }
+
+        private void setQueryCount() {
+            if (!isCommitted()) {
+                setHeader(QUERY_COUNT_HEADER, Long.toString(instrumentation.statementsSince(scope)));
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.biometric.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Bound from app.db.instrumentation.* by {@link QueryInstrumentationConfig}. */
+public class QueryInstrumentationProperties {
+    private boolean enabled = true;
+    private long slowQueryMs = 250;
+    // The same statement run this many times in one request is reported as a likely N+1.
+    private int repeatThreshold = 10;
+    private boolean exposeHeader = false;
+    private boolean enforceBudgets = false;
+    // HTTP method (lower case) -> endpoint pattern -> maximum statements per request
+    private Map<String, Map<String, Integer>> budgets = new LinkedHashMap<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public long getSlowQueryMs() { return slowQueryMs; }
+    public void setSlowQueryMs(long slowQueryMs) { this.slowQueryMs = slowQueryMs; }
+
+    public int getRepeatThreshold() { return repeatThreshold; }
+    public void setRepeatThreshold(int repeatThreshold) { this.repeatThreshold = repeatThreshold; }
+
+    public boolean isExposeHeader() { return exposeHeader; }
+    public void setExposeHeader(boolean exposeHeader) { this.exposeHeader = exposeHeader; }
+
+    public boolean isEnforceBudgets() { return enforceBudgets; }
+    public void setEnforceBudgets(boolean enforceBudgets) { this.enforceBudgets = enforceBudgets; }
+
+    public Map<String, Map<String, Integer>> getBudgets() { return budgets; }
+    public void setBudgets(Map<String, Map<String, Integer>> budgets) { this.budgets = budgets; }
+
+    public Integer budgetFor(String method, String pattern) {
+        Map<String, Integer> byPattern = budgets.get(method.toLowerCase());
+        return byPattern != null ? byPattern.get(pattern) : null;
+    }
+}
@@ -0,0 +1,119 @@
+package com.biometric.config;
+
+import com.biometric.util.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "enabled", havingValue = "true")
+public class RateLimitConfig {
+
+    @Bean
+    public TokenBucketRateLimiter tokenBucketRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(
+            Duration.ofSeconds(properties.getIdleExpirySeconds()), properties.getMaxKeys());
+        Gauge.builder("http.ratelimit.keys", limiter, TokenBucketRateLimiter::trackedKeys)
+            .description("Client keys with a live rate-limit bucket")
+            .register(meterRegistry);
+        return limiter;
+    }
+
+    @Bean
+    public OncePerRequestFilter rateLimitFilter(RateLimitProperties properties, TokenBucketRateLimiter limiter,
+                                                MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        List<LaneLimit> lanes = properties.getLanes().entrySet().stream()
+            .filter(entry -> entry.getValue().isEnabled())
+            .map(entry -> new LaneLimit(entry.getKey(), entry.getValue(), meterRegistry))
+            .toList();
+
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain filterChain) throws ServletException, IOException {
+                String path = request.getRequestURI().substring(request.getContextPath().length());
+                LaneLimit lane = null;
+                for (LaneLimit candidate : lanes) {
+                    if (candidate.matches(path)) {
+                        lane = candidate;
+                        break;
+                    }
+                }
+                if (lane == null || "OPTIONS".equals(request.getMethod())) {
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+
+                long waitNanos = limiter.tryAcquire(lane.name + ":" + clientKey(request, lane.keyBy),
+                    lane.capacity, lane.emissionIntervalNanos);
+                if (waitNanos == 0) {
+                    lane.allowed.increment();
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+
+                lane.rejected.increment();
+                long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                objectMapper.writeValue(response.getOutputStream(), ApiResponse.error("Too many requests"));
+            }
+        };
+    }
+
+    // Only identities the server has checked are used: the authenticated principal, else the
+    // client address (the proxy's X-Forwarded-For under server.forward-headers-strategy=native).
+    // Client-chosen headers such as X-Device-Id would let a client pick a fresh bucket per request.
+    static String clientKey(HttpServletRequest request, RateLimitProperties.KeyBy keyBy) {
+        if (keyBy == RateLimitProperties.KeyBy.USER && request.getUserPrincipal() != null) {
+            return "user:" + request.getUserPrincipal().getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static class LaneLimit {
+        private final String name;
+        private final String pathPrefix;
+        private final int capacity;
+        private final long emissionIntervalNanos;
+        private final RateLimitProperties.KeyBy keyBy;
+        private final Counter allowed;
+        private final Counter rejected;
+
+        LaneLimit(String name, RateLimitProperties.Lane lane, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.pathPrefix = lane.getPathPrefix();
+            this.capacity = lane.getCapacity();
+            this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / lane.getRefillPerSecond());
+            this.keyBy = lane.getKeyBy();
+            this.allowed = Counter.builder("http.ratelimit.requests")
+                .tag("lane", name).tag("outcome", "allowed").register(meterRegistry);
+            this.rejected = Counter.builder("http.ratelimit.requests")
+                .tag("lane", name).tag("outcome", "rejected").register(meterRegistry);
+        }
+
+        boolean matches(String path) {
+            return path.equals(pathPrefix) || path.startsWith(pathPrefix + "/");
+        }
+    }
+}
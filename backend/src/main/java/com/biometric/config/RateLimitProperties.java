@@ -0,0 +1,57 @@
+package com.biometric.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = false;
+    // Buckets untouched this long are dropped; they would be full again by then anyway.
+    private long idleExpirySeconds = 600;
+    private long maxKeys = 100_000;
+    private Map<String, Lane> lanes = new LinkedHashMap<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public long getIdleExpirySeconds() { return idleExpirySeconds; }
+    public void setIdleExpirySeconds(long idleExpirySeconds) { this.idleExpirySeconds = idleExpirySeconds; }
+
+    public long getMaxKeys() { return maxKeys; }
+    public void setMaxKeys(long maxKeys) { this.maxKeys = maxKeys; }
+
+    public Map<String, Lane> getLanes() { return lanes; }
+    public void setLanes(Map<String, Lane> lanes) { this.lanes = lanes; }
+
+    public enum KeyBy {
+        IP,
+        // The authenticated principal. Only operator requests carry one today, so every other
+        // request in a USER lane is keyed by client IP.
+        USER
+    }
+
+    public static class Lane {
+        private boolean enabled = true;
+        private String pathPrefix;
+        private int capacity = 10;
+        private double refillPerSecond = 1;
+        private KeyBy keyBy = KeyBy.IP;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public String getPathPrefix() { return pathPrefix; }
+        public void setPathPrefix(String pathPrefix) { this.pathPrefix = pathPrefix; }
+
+        public int getCapacity() { return capacity; }
+        public void setCapacity(int capacity) { this.capacity = capacity; }
+
+        public double getRefillPerSecond() { return refillPerSecond; }
+        public void setRefillPerSecond(double refillPerSecond) { this.refillPerSecond = refillPerSecond; }
+
+        public KeyBy getKeyBy() { return keyBy; }
+        public void setKeyBy(KeyBy keyBy) { this.keyBy = keyBy; }
+    }
+}
@@ -0,0 +1,102 @@
+package com.biometric.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+@ConditionalOnProperty(prefix = "app.datasource.read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+    public static final String CONSISTENCY_HEADER = "X-Read-Consistency";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaHealthMonitor replicaHealthMonitor(ReadReplicaProperties properties, DataSourceProperties primary,
+                                                     MeterRegistry meterRegistry) {
+        Map<String, DataSource> pools = new LinkedHashMap<>();
+        for (int i = 0; i < properties.getPools().size(); i++) {
+            ReadReplicaProperties.Pool pool = properties.getPools().get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setJdbcUrl(pool.getUrl());
+            dataSource.setUsername(pool.getUsername() != null ? pool.getUsername() : primary.getUsername());
+            dataSource.setPassword(pool.getPassword() != null ? pool.getPassword() : primary.getPassword());
+            dataSource.setDriverClassName(primary.getDriverClassName());
+            dataSource.setMaximumPoolSize(pool.getMaximumPoolSize());
+            dataSource.setReadOnly(true);
+            pools.put("replica-" + i, dataSource);
+        }
+        return new ReplicaHealthMonitor(pools, properties, meterRegistry);
+    }
+
+    // Hibernate asks for a connection before Spring marks the transaction
+    // read-only, so the lazy proxy defers the routing decision to the first statement.
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaHealthMonitor healthMonitor,
+                                 ReadReplicaProperties properties) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(healthMonitor);
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReplicaRoutingDataSource.PRIMARY, primaryDataSource);
+        healthMonitor.getPools().forEach(targets::put);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    // Makes each request a unit of work for the primary pin, and lets a client that
+    // has just written through another instance ask for primary reads explicitly.
+    @Bean
+    public OncePerRequestFilter readConsistencyFilter() {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain filterChain) throws ServletException, IOException {
+                ReplicaRoutingDataSource.beginUnitOfWork();
+                try {
+                    if ("primary".equalsIgnoreCase(request.getHeader(CONSISTENCY_HEADER))) {
+                        ReplicaRoutingDataSource.pinToPrimary();
+                    }
+                    filterChain.doFilter(request, response);
+                } finally {
+                    ReplicaRoutingDataSource.endUnitOfWork();
+                }
+            }
+        };
+    }
+
+    // Replaces the auto-configured scheduler, keeping its spring.task.scheduling.* settings.
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.configure(new ReplicaAwareTaskScheduler());
+    }
+}
@@ -0,0 +1,50 @@
+package com.biometric.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.datasource.read-replicas")
+public class ReadReplicaProperties {
+    private boolean enabled = false;
+    private long healthCheckIntervalMs = 5000;
+    private long maxLagSeconds = 5;
+    // Optional SQL run on each replica that returns its replication lag in seconds.
+    private String lagQuery;
+    private List<Pool> pools = new ArrayList<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public long getHealthCheckIntervalMs() { return healthCheckIntervalMs; }
+    public void setHealthCheckIntervalMs(long healthCheckIntervalMs) { this.healthCheckIntervalMs = healthCheckIntervalMs; }
+
+    public long getMaxLagSeconds() { return maxLagSeconds; }
+    public void setMaxLagSeconds(long maxLagSeconds) { this.maxLagSeconds = maxLagSeconds; }
+
+    public String getLagQuery() { return lagQuery; }
+    public void setLagQuery(String lagQuery) { this.lagQuery = lagQuery; }
+
+    public List<Pool> getPools() { return pools; }
+    public void setPools(List<Pool> pools) { this.pools = pools; }
+
+    public static class Pool {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+
+        public String getUrl() { return url; }
+        public void setUrl(String url) { this.url = url; }
+
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+
+        public int getMaximumPoolSize() { return maximumPoolSize; }
+        public void setMaximumPoolSize(int maximumPoolSize) { this.maximumPoolSize = maximumPoolSize; }
+    }
+}
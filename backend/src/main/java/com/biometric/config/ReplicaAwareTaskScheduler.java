@@ -0,0 +1,51 @@
+package com.biometric.config;
+
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Scheduler for the {@code @Scheduled} jobs when read replicas are enabled:
+ * each run of a job is one unit of work for {@link ReplicaRoutingDataSource},
+ * so it reads its own writes and the next run on the same pooled thread
+ * starts on the replicas again.
+ */
+public class ReplicaAwareTaskScheduler extends ThreadPoolTaskScheduler {
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+        return super.schedule(unitOfWork(task), trigger);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Instant startTime) {
+        return super.schedule(unitOfWork(task), startTime);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Instant startTime, Duration period) {
+        return super.scheduleAtFixedRate(unitOfWork(task), startTime, period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Duration period) {
+        return super.scheduleAtFixedRate(unitOfWork(task), period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Instant startTime, Duration delay) {
+        return super.scheduleWithFixedDelay(unitOfWork(task), startTime, delay);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Duration delay) {
+        return super.scheduleWithFixedDelay(unitOfWork(task), delay);
+    }
+
+    private static Runnable unitOfWork(Runnable task) {
+        return () -> ReplicaRoutingDataSource.runAsUnitOfWork(task);
+    }
+}
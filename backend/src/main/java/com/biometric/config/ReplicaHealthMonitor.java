@@ -0,0 +1,116 @@
+package com.biometric.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ReplicaHealthMonitor {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaHealthMonitor.class);
+
+    private final Map<String, ReplicaState> replicas = new LinkedHashMap<>();
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final long maxLagSeconds;
+    private final String lagQuery;
+    private volatile List<String> healthyKeys = List.of();
+
+    public ReplicaHealthMonitor(Map<String, DataSource> replicaPools, ReadReplicaProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.maxLagSeconds = properties.getMaxLagSeconds();
+        this.lagQuery = properties.getLagQuery();
+        replicaPools.forEach((key, dataSource) -> {
+            ReplicaState state = new ReplicaState(dataSource);
+            replicas.put(key, state);
+            Gauge.builder("datasource.replica.healthy", state, s -> s.healthy ? 1 : 0)
+                .tag("pool", key)
+                .register(meterRegistry);
+            Gauge.builder("datasource.replica.lag.seconds", state, s -> s.lagSeconds.get())
+                .tag("pool", key)
+                .register(meterRegistry);
+        });
+    }
+
+    public Map<String, DataSource> getPools() {
+        Map<String, DataSource> pools = new LinkedHashMap<>();
+        replicas.forEach((key, state) -> pools.put(key, state.dataSource));
+        return pools;
+    }
+
+    public String nextHealthyReplica() {
+        List<String> keys = healthyKeys;
+        if (keys.isEmpty()) {
+            return null;
+        }
+        return keys.get(Math.floorMod(cursor.getAndIncrement(), keys.size()));
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.datasource.read-replicas.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        replicas.forEach((key, state) -> {
+            boolean healthy = probe(key, state);
+            if (healthy != state.healthy) {
+                log.info("Read replica {} is now {}", key, healthy ? "healthy" : "out of rotation");
+            }
+            state.healthy = healthy;
+        });
+        healthyKeys = replicas.entrySet().stream()
+            .filter(entry -> entry.getValue().healthy)
+            .map(Map.Entry::getKey)
+            .toList();
+    }
+
+    public void close() {
+        replicas.values().forEach(state -> {
+            if (state.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception ex) {
+                    log.warn("Failed to close read replica pool", ex);
+                }
+            }
+        });
+    }
+
+    private boolean probe(String key, ReplicaState state) {
+        try (Connection connection = state.dataSource.getConnection()) {
+            if (!connection.isValid(2)) {
+                return false;
+            }
+            if (lagQuery == null || lagQuery.isBlank()) {
+                state.lagSeconds.set(0);
+                return true;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(lagQuery)) {
+                // No row or NULL means replication is not running: treat as unbounded lag.
+                long lag = rs.next() && rs.getObject(1) != null ? rs.getLong(1) : Long.MAX_VALUE;
+                state.lagSeconds.set(lag);
+                return lag <= maxLagSeconds;
+            }
+        } catch (Exception ex) {
+            log.warn("Health check of read replica {} failed: {}", key, ex.getMessage());
+            return false;
+        }
+    }
+
+    private static final class ReplicaState {
+        private final DataSource dataSource;
+        private final AtomicLong lagSeconds = new AtomicLong(-1);
+        private volatile boolean healthy;
+
+        private ReplicaState(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
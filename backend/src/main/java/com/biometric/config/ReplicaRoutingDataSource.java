@@ -0,0 +1,83 @@
+package com.biometric.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to a healthy replica and everything else to the
+ * primary. Once a unit of work (a request, one run of a scheduled job) has
+ * written, its later reads stay on the primary so it always sees its own
+ * writes. Outside a unit of work the pin ends with the writing transaction, so
+ * a pooled thread never carries it into its next task.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    public static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> IN_UNIT_OF_WORK = new ThreadLocal<>();
+
+    private final ReplicaHealthMonitor healthMonitor;
+
+    public ReplicaRoutingDataSource(ReplicaHealthMonitor healthMonitor) {
+        this.healthMonitor = healthMonitor;
+    }
+
+    /** Starts a unit of work on this thread; always pair with {@link #endUnitOfWork()} in a finally. */
+    public static void beginUnitOfWork() {
+        IN_UNIT_OF_WORK.set(Boolean.TRUE);
+    }
+
+    public static void endUnitOfWork() {
+        IN_UNIT_OF_WORK.remove();
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    public static void runAsUnitOfWork(Runnable task) {
+        beginUnitOfWork();
+        try {
+            task.run();
+        } finally {
+            endUnitOfWork();
+        }
+    }
+
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static void clearPin() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (!readOnly) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                pinAfterWrite();
+            }
+            return PRIMARY;
+        }
+        if (Boolean.TRUE.equals(PINNED_TO_PRIMARY.get())) {
+            return PRIMARY;
+        }
+        String replica = healthMonitor.nextHealthyReplica();
+        return replica != null ? replica : PRIMARY;
+    }
+
+    private static void pinAfterWrite() {
+        if (Boolean.TRUE.equals(IN_UNIT_OF_WORK.get())) {
+            pinToPrimary();
+        } else if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !Boolean.TRUE.equals(PINNED_TO_PRIMARY.get())) {
+            pinToPrimary();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clearPin();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.biometric.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.retry.annotation.EnableRetry;
+
+// The retry advice is ordered outside the transaction advice, so each attempt
+// runs in a fresh transaction and re-reads the current row version.
+@Configuration
+@EnableRetry
+public class RetryConfig {
+}
@@ -3,10 +3,14 @@ package com.biometric.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -21,11 +25,32 @@ public class SecurityConfig {
 
     @Value("${security.password.bcrypt-strength:12}")
     private int bcryptStrength;
+
+    @Value("${app.admin.username:admin}")
+    private String adminUsername;
+
+    @Value("${app.admin.password:}")
+    private String adminPassword;
     
     @Bean
     public BCryptPasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder(bcryptStrength);
     }
+
+    // The operator account for endpoints that reach outside the application (campus databases) or
+    // hand out credentials (kiosk device tokens).
+    // Without app.admin.password there is no account and those endpoints always answer 401.
+    @Bean
+    public UserDetailsService operatorDetailsService(BCryptPasswordEncoder passwordEncoder) {
+        InMemoryUserDetailsManager users = new InMemoryUserDetailsManager();
+        if (!adminPassword.isBlank()) {
+            users.createUser(User.withUsername(adminUsername)
+                .password(passwordEncoder.encode(adminPassword))
+                .roles("ADMIN")
+                .build());
+        }
+        return users;
+    }
     
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -33,8 +58,10 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable()) // Completely disable CSRF
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authz -> authz
-                .anyRequest().permitAll() // Allow all requests
+                .requestMatchers("/admin/tenants/**", "/admin/kiosks/**").hasRole("ADMIN")
+                .anyRequest().permitAll() // Allow all other requests
             )
+            .httpBasic(Customizer.withDefaults())
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .headers(headers -> headers.frameOptions().disable());
         return http.build();
@@ -0,0 +1,158 @@
+package com.biometric.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.hibernate.engine.jdbc.connections.spi.MultiTenantConnectionProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayProperties;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+@Configuration
+@EnableConfigurationProperties({TenancyProperties.class, FlywayProperties.class})
+@ConditionalOnProperty(prefix = "app.tenancy", name = "enabled", havingValue = "true")
+public class TenancyConfig {
+
+    public TenancyConfig(Environment environment) {
+        // Both replace the "dataSource" bean; replicas per campus are not supported.
+        if (environment.getProperty("app.datasource.read-replicas.enabled", Boolean.class, false)) {
+            throw new IllegalStateException("app.tenancy.enabled cannot be combined with read replicas");
+        }
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource defaultTenantDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("tenant-" + TenantContext.DEFAULT);
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public TenantRegistry tenantRegistry(HikariDataSource defaultTenantDataSource, TenancyProperties properties,
+                                         FlywayProperties flywayProperties, MeterRegistry meterRegistry) {
+        return new TenantRegistry(defaultTenantDataSource, properties, flywayProperties, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(TenantRegistry tenantRegistry) {
+        return new TenantRoutingDataSource(tenantRegistry);
+    }
+
+    // Hibernate includes the tenant identifier in second-level and query cache
+    // keys, so the same entity id on two campuses never shares a cache entry.
+    @Bean
+    public HibernatePropertiesCustomizer tenantHibernateProperties(DataSource dataSource) {
+        MultiTenantConnectionProvider connections = new TenantConnectionProvider(dataSource);
+        CurrentTenantIdentifierResolver tenants = new CurrentTenantIdentifierResolver() {
+            @Override
+            public String resolveCurrentTenantIdentifier() {
+                return TenantContext.current();
+            }
+
+            @Override
+            public boolean validateExistingCurrentSessions() {
+                return true;
+            }
+        };
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.MULTI_TENANT_CONNECTION_PROVIDER, connections);
+            hibernateProperties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, tenants);
+        };
+    }
+
+    @Bean
+    public TenantFilter tenantFilter(TenantRegistry tenantRegistry, TenancyProperties properties,
+                                     ObjectMapper objectMapper) {
+        return new TenantFilter(tenantRegistry, properties.getHeader(), objectMapper);
+    }
+
+    // Replaces the auto-configured scheduler, keeping its spring.task.scheduling.* settings.
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder,
+                                                 TenantRegistry tenantRegistry) {
+        return builder.configure(new TenantAwareTaskScheduler(tenantRegistry));
+    }
+
+    @Bean
+    public static BeanPostProcessor tenantCacheManagerPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof CacheManager cacheManager && "cacheManager".equals(beanName)) {
+                    return new TenantCacheManager(cacheManager);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Goes through the instrumented "dataSource" with the session's tenant set,
+    // so Hibernate's statements are counted like everyone else's.
+    private static class TenantConnectionProvider implements MultiTenantConnectionProvider {
+        private final DataSource dataSource;
+
+        private TenantConnectionProvider(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        @Override
+        public Connection getAnyConnection() throws SQLException {
+            return getConnection(TenantContext.DEFAULT);
+        }
+
+        @Override
+        public void releaseAnyConnection(Connection connection) throws SQLException {
+            connection.close();
+        }
+
+        @Override
+        public Connection getConnection(String tenantIdentifier) throws SQLException {
+            try {
+                return TenantContext.callAs(tenantIdentifier, dataSource::getConnection);
+            } catch (SQLException | RuntimeException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new SQLException(ex);
+            }
+        }
+
+        @Override
+        public void releaseConnection(String tenantIdentifier, Connection connection) throws SQLException {
+            connection.close();
+        }
+
+        @Override
+        public boolean supportsAggressiveRelease() {
+            return false;
+        }
+
+        @Override
+        public boolean isUnwrappableAs(Class<?> unwrapType) {
+            return unwrapType.isInstance(this);
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> unwrapType) {
+            return unwrapType.cast(this);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.biometric.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.tenancy")
+public class TenancyProperties {
+    private boolean enabled = false;
+    private String header = "X-Tenant-Id";
+    // Per campus added through the admin API; the default campus uses spring.datasource.hikari.*.
+    private int maximumPoolSize = 10;
+    // JDBC drivers (mysql, h2) and database hosts a campus added through the admin API may use.
+    // H2 is limited to named in-memory databases and meant for tests.
+    private List<String> allowedDrivers = new ArrayList<>(List.of("mysql"));
+    private List<String> allowedHosts = new ArrayList<>();
+    // Encrypts the campus database passwords stored in tenant_shards.
+    private String credentialsKey = "";
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public String getHeader() { return header; }
+    public void setHeader(String header) { this.header = header; }
+
+    public int getMaximumPoolSize() { return maximumPoolSize; }
+    public void setMaximumPoolSize(int maximumPoolSize) { this.maximumPoolSize = maximumPoolSize; }
+
+    public List<String> getAllowedDrivers() { return allowedDrivers; }
+    public void setAllowedDrivers(List<String> allowedDrivers) { this.allowedDrivers = allowedDrivers; }
+
+    public List<String> getAllowedHosts() { return allowedHosts; }
+    public void setAllowedHosts(List<String> allowedHosts) { this.allowedHosts = allowedHosts; }
+
+    public String getCredentialsKey() { return credentialsKey; }
+    public void setCredentialsKey(String credentialsKey) { this.credentialsKey = credentialsKey; }
+}
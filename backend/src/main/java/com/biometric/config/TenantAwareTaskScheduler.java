@@ -0,0 +1,68 @@
+package com.biometric.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Scheduler for the {@code @Scheduled} jobs when campuses are enabled: each
+ * run of a job goes through every campus in turn with {@link TenantContext}
+ * set, so leases, outboxes and caches are handled per campus database. A job
+ * failing for one campus is logged and the other campuses still run.
+ */
+public class TenantAwareTaskScheduler extends ThreadPoolTaskScheduler {
+    private static final Logger log = LoggerFactory.getLogger(TenantAwareTaskScheduler.class);
+
+    private final TenantRegistry registry;
+
+    public TenantAwareTaskScheduler(TenantRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+        return super.schedule(perTenant(task), trigger);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Instant startTime) {
+        return super.schedule(perTenant(task), startTime);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Instant startTime, Duration period) {
+        return super.scheduleAtFixedRate(perTenant(task), startTime, period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Duration period) {
+        return super.scheduleAtFixedRate(perTenant(task), period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Instant startTime, Duration delay) {
+        return super.scheduleWithFixedDelay(perTenant(task), startTime, delay);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Duration delay) {
+        return super.scheduleWithFixedDelay(perTenant(task), delay);
+    }
+
+    private Runnable perTenant(Runnable task) {
+        return () -> {
+            for (String tenant : registry.tenantIds()) {
+                try {
+                    TenantContext.runAs(tenant, task);
+                } catch (RuntimeException ex) {
+                    log.error("Scheduled task {} failed for campus {}", task, tenant, ex);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,103 @@
+package com.biometric.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.concurrent.Callable;
+
+/**
+ * Keeps the {@code @Cacheable} application caches apart per campus by
+ * prefixing every key with the current {@link TenantContext}. The caches
+ * themselves are shared, so their size limits cover all campuses together.
+ */
+public class TenantCacheManager implements CacheManager {
+    private final CacheManager delegate;
+
+    public TenantCacheManager(CacheManager delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = delegate.getCache(name);
+        return cache != null ? new TenantCache(cache) : null;
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    private static final class TenantCache implements Cache {
+        private final Cache delegate;
+
+        private TenantCache(Cache delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return delegate.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return delegate.get(key(key));
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return delegate.get(key(key), type);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return delegate.get(key(key), valueLoader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            delegate.put(key(key), value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return delegate.putIfAbsent(key(key), value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            delegate.evict(key(key));
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            return delegate.evictIfPresent(key(key));
+        }
+
+        // Clears the entries of every campus; nothing in the application clears a whole cache.
+        @Override
+        public void clear() {
+            delegate.clear();
+        }
+
+        @Override
+        public boolean invalidate() {
+            return delegate.invalidate();
+        }
+
+        private static TenantKey key(Object key) {
+            return new TenantKey(TenantContext.current(), key);
+        }
+    }
+
+    private record TenantKey(String tenant, Object key) implements Serializable {
+    }
+}
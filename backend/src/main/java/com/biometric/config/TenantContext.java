@@ -0,0 +1,70 @@
+package com.biometric.config;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * The campus (tenant) the current thread works for. Requests get it from the
+ * tenant filter, scheduled jobs run once per tenant with it set; everything
+ * else, and every thread when tenancy is off, works for {@link #DEFAULT}.
+ */
+public final class TenantContext {
+    public static final String DEFAULT = "default";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static String current() {
+        String tenant = CURRENT.get();
+        return tenant != null ? tenant : DEFAULT;
+    }
+
+    public static void runAs(String tenant, Runnable task) {
+        String previous = CURRENT.get();
+        CURRENT.set(tenant);
+        try {
+            task.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public static <T> T callAs(String tenant, Callable<T> task) throws Exception {
+        String previous = CURRENT.get();
+        CURRENT.set(tenant);
+        try {
+            return task.call();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public static <T> T supplyAs(String tenant, Supplier<T> task) {
+        String previous = CURRENT.get();
+        CURRENT.set(tenant);
+        try {
+            return task.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    // For the tenant filter, which sets the tenant around the rest of the chain.
+    static void set(String tenant) {
+        CURRENT.set(tenant);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    private static void restore(String previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.biometric.config;
+
+import com.biometric.util.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Picks the campus of a request: the campus its hostname is assigned to,
+ * otherwise the tenant header, otherwise the default campus. A header naming
+ * another campus than the hostname's is refused, so a client on one campus's
+ * hostname cannot reach another campus's data. Runs before every other
+ * filter, so nothing touches a database before the campus is known.
+ */
+public class TenantFilter extends OncePerRequestFilter implements Ordered {
+    private final TenantRegistry registry;
+    private final String header;
+    private final ObjectMapper objectMapper;
+
+    public TenantFilter(TenantRegistry registry, String header, ObjectMapper objectMapper) {
+        this.registry = registry;
+        this.header = header;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String requested = request.getHeader(header);
+        requested = requested != null && !requested.isBlank() ? requested.trim().toLowerCase(Locale.ROOT) : null;
+        String tenant = registry.tenantForHost(request.getServerName());
+        if (tenant != null && requested != null && !tenant.equals(requested)) {
+            writeError(response, HttpStatus.FORBIDDEN, "This hostname belongs to campus " + tenant);
+            return;
+        }
+        if (tenant == null) {
+            tenant = requested != null ? requested : TenantContext.DEFAULT;
+        }
+        // Responses differ per campus, so shared caches must key on the header too.
+        response.addHeader(HttpHeaders.VARY, header);
+        if (!registry.exists(tenant)) {
+            writeError(response, HttpStatus.NOT_FOUND, "Unknown campus: " + tenant);
+            return;
+        }
+
+        TenantContext.set(tenant);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(message));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,271 @@
+package com.biometric.config;
+
+import com.biometric.dto.TenantShard;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.flyway.FlywayProperties;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.encrypt.Encryptors;
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The campus databases: the default one from spring.datasource.* and one pool
+ * per shard registered in its tenant_shards table. Shards are loaded once the
+ * default database has been migrated, and a shard added at runtime is migrated
+ * with the same Flyway scripts before it takes requests. Campus database
+ * passwords are stored encrypted with app.tenancy.credentials-key.
+ */
+public class TenantRegistry implements SmartInitializingSingleton, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(TenantRegistry.class);
+    private static final Pattern TENANT_ID = Pattern.compile("[a-z0-9][a-z0-9-]{0,31}");
+    // Only a host, a port and a database name, plus connection options that cannot run code or read files.
+    private static final Pattern MYSQL_URL =
+        Pattern.compile("jdbc:mysql://([A-Za-z0-9.-]+)(?::\\d{1,5})?/[A-Za-z0-9_]+(?:\\?(.*))?");
+    private static final Pattern MYSQL_OPTION = Pattern.compile("([A-Za-z]+)=[A-Za-z0-9_./+-]*");
+    private static final Set<String> MYSQL_OPTIONS = Set.of(
+        "useSSL", "sslMode", "requireSSL", "serverTimezone", "connectionTimeZone", "characterEncoding",
+        "useUnicode", "connectTimeout", "socketTimeout");
+    // No INIT or other settings: they run scripts when the first connection opens.
+    private static final Pattern H2_URL = Pattern.compile("jdbc:h2:mem:[A-Za-z0-9_-]+(?:;DB_CLOSE_DELAY=-1)?");
+    // The secret is the key; a fixed salt only stretches it. Every value gets its own random IV.
+    private static final String CREDENTIALS_SALT = "7e3a91c45b08d2f6";
+
+    private final HikariDataSource defaultDataSource;
+    private final JdbcTemplate catalog;
+    private final TenancyProperties properties;
+    private final FlywayProperties flywayProperties;
+    private final MeterRegistry meterRegistry;
+    private final TextEncryptor credentials;
+    private final Map<String, Shard> shards = new ConcurrentHashMap<>();
+    private final Map<String, String> tenantsByHost = new ConcurrentHashMap<>();
+
+    public TenantRegistry(HikariDataSource defaultDataSource, TenancyProperties properties,
+                          FlywayProperties flywayProperties, MeterRegistry meterRegistry) {
+        this.defaultDataSource = defaultDataSource;
+        this.catalog = new JdbcTemplate(defaultDataSource);
+        this.properties = properties;
+        this.flywayProperties = flywayProperties;
+        this.meterRegistry = meterRegistry;
+        this.credentials = properties.getCredentialsKey().isBlank()
+            ? null
+            : Encryptors.delux(properties.getCredentialsKey(), CREDENTIALS_SALT);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<TenantShard> registered = catalog.query(
+            "select tenant_id, jdbc_url, username, password_encrypted, hostnames, created_at "
+                + "from tenant_shards order by tenant_id",
+            (rs, rowNum) -> {
+                TenantShard shard = new TenantShard();
+                shard.setId(rs.getString("tenant_id"));
+                shard.setJdbcUrl(rs.getString("jdbc_url"));
+                shard.setUsername(rs.getString("username"));
+                shard.setPassword(rs.getString("password_encrypted"));
+                String hostnames = rs.getString("hostnames");
+                shard.setHostnames(hostnames == null || hostnames.isBlank() ? List.of() : Arrays.asList(hostnames.split(",")));
+                shard.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+                return shard;
+            });
+        for (TenantShard shard : registered) {
+            try {
+                shard.setPassword(decrypt(shard.getPassword()));
+                register(shard);
+            } catch (RuntimeException ex) {
+                // The other campuses keep working; this one is unknown to requests until the next restart.
+                log.error("Could not open the database of campus {}", shard.getId(), ex);
+            }
+        }
+        log.info("Serving {} campuses: {}", shards.size() + 1, tenantIds());
+    }
+
+    public DataSource dataSourceFor(String tenant) {
+        if (TenantContext.DEFAULT.equals(tenant)) {
+            return defaultDataSource;
+        }
+        Shard shard = shards.get(tenant);
+        if (shard == null) {
+            throw new IllegalStateException("Unknown campus: " + tenant);
+        }
+        return shard.dataSource();
+    }
+
+    public boolean exists(String tenant) {
+        return TenantContext.DEFAULT.equals(tenant) || shards.containsKey(tenant);
+    }
+
+    /** The campus serving a hostname, or null when the hostname is not assigned. */
+    public String tenantForHost(String host) {
+        return host != null ? tenantsByHost.get(host.toLowerCase(Locale.ROOT)) : null;
+    }
+
+    public List<String> tenantIds() {
+        List<String> ids = new ArrayList<>();
+        ids.add(TenantContext.DEFAULT);
+        shards.keySet().stream().sorted().forEach(ids::add);
+        return ids;
+    }
+
+    public List<TenantShard> getShards() {
+        return shards.values().stream()
+            .map(Shard::info)
+            .sorted((a, b) -> a.getId().compareTo(b.getId()))
+            .toList();
+    }
+
+    /**
+     * Opens, migrates and registers a new campus database. Its URL must use an
+     * allowed driver and host. Synchronized so two admins cannot claim the same
+     * id or hostname at once.
+     */
+    public synchronized TenantShard add(TenantShard shard) {
+        if (shard.getId() == null || !TENANT_ID.matcher(shard.getId()).matches()) {
+            throw new RuntimeException("Campus id must be 1-32 lowercase letters, digits or dashes");
+        }
+        if (exists(shard.getId())) {
+            throw new RuntimeException("Campus already exists: " + shard.getId());
+        }
+        if (shard.getJdbcUrl() == null || shard.getJdbcUrl().isBlank()) {
+            throw new RuntimeException("JDBC URL is required");
+        }
+        checkJdbcUrl(shard.getJdbcUrl());
+        String encryptedPassword = encrypt(shard.getPassword());
+        List<String> hostnames = shard.getHostnames().stream()
+            .map(host -> host.trim().toLowerCase(Locale.ROOT))
+            .filter(host -> !host.isEmpty())
+            .toList();
+        for (String host : hostnames) {
+            if (tenantsByHost.containsKey(host)) {
+                throw new RuntimeException("Hostname already belongs to campus " + tenantsByHost.get(host));
+            }
+        }
+        shard.setHostnames(hostnames);
+        shard.setCreatedAt(LocalDateTime.now());
+
+        Shard registered = register(shard);
+        try {
+            catalog.update("insert into tenant_shards "
+                    + "(tenant_id, jdbc_url, username, password_encrypted, hostnames, created_at) "
+                    + "values (?, ?, ?, ?, ?, ?)",
+                shard.getId(), shard.getJdbcUrl(), shard.getUsername(), encryptedPassword,
+                String.join(",", hostnames), Timestamp.valueOf(shard.getCreatedAt()));
+        } catch (RuntimeException ex) {
+            unregister(registered);
+            throw ex;
+        }
+        log.info("Added campus {} at {}", shard.getId(), shard.getJdbcUrl());
+        return registered.info();
+    }
+
+    private void checkJdbcUrl(String jdbcUrl) {
+        Matcher mysql = MYSQL_URL.matcher(jdbcUrl);
+        if (mysql.matches() && properties.getAllowedDrivers().contains("mysql")) {
+            String host = mysql.group(1);
+            if (properties.getAllowedHosts().stream().noneMatch(host::equalsIgnoreCase)) {
+                throw new RuntimeException("Database host is not allowed: " + host);
+            }
+            if (mysql.group(2) != null) {
+                for (String option : mysql.group(2).split("&")) {
+                    Matcher matcher = MYSQL_OPTION.matcher(option);
+                    if (!matcher.matches() || !MYSQL_OPTIONS.contains(matcher.group(1))) {
+                        throw new RuntimeException("Connection option is not allowed: " + option);
+                    }
+                }
+            }
+            return;
+        }
+        if (H2_URL.matcher(jdbcUrl).matches() && properties.getAllowedDrivers().contains("h2")) {
+            return;
+        }
+        throw new RuntimeException("JDBC URL must be jdbc:mysql://host[:port]/database on an allowed driver and host");
+    }
+
+    private String encrypt(String password) {
+        if (password == null || password.isEmpty()) {
+            return null;
+        }
+        if (credentials == null) {
+            throw new RuntimeException("Set app.tenancy.credentials-key before adding campuses with a password");
+        }
+        return credentials.encrypt(password);
+    }
+
+    private String decrypt(String encryptedPassword) {
+        if (encryptedPassword == null) {
+            return null;
+        }
+        if (credentials == null) {
+            throw new IllegalStateException("app.tenancy.credentials-key is not set");
+        }
+        return credentials.decrypt(encryptedPassword);
+    }
+
+    private Shard register(TenantShard shard) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("tenant-" + shard.getId());
+        dataSource.setJdbcUrl(shard.getJdbcUrl());
+        dataSource.setUsername(shard.getUsername());
+        dataSource.setPassword(shard.getPassword());
+        dataSource.setMaximumPoolSize(properties.getMaximumPoolSize());
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        Shard registered = new Shard(shard, dataSource);
+        try {
+            migrate(dataSource, shard.getJdbcUrl());
+        } catch (RuntimeException ex) {
+            dataSource.close();
+            throw new RuntimeException("Could not migrate the database of campus " + shard.getId() + ": "
+                + ex.getMessage(), ex);
+        }
+        shards.put(shard.getId(), registered);
+        shard.getHostnames().forEach(host -> tenantsByHost.put(host, shard.getId()));
+        return registered;
+    }
+
+    private void unregister(Shard shard) {
+        shards.remove(shard.info().getId());
+        shard.info().getHostnames().forEach(tenantsByHost::remove);
+        shard.dataSource().close();
+    }
+
+    // Same scripts and baseline as the default database, with {vendor} resolved from the shard's URL.
+    private void migrate(DataSource dataSource, String jdbcUrl) {
+        String vendor = DatabaseDriver.fromJdbcUrl(jdbcUrl).getId();
+        Flyway.configure()
+            .dataSource(dataSource)
+            .locations(flywayProperties.getLocations().stream()
+                .map(location -> location.replace("{vendor}", vendor))
+                .toArray(String[]::new))
+            .baselineOnMigrate(flywayProperties.isBaselineOnMigrate())
+            .baselineVersion(flywayProperties.getBaselineVersion())
+            .load()
+            .migrate();
+    }
+
+    @Override
+    public void close() {
+        shards.values().forEach(shard -> shard.dataSource().close());
+        shards.clear();
+    }
+
+    private record Shard(TenantShard info, HikariDataSource dataSource) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.biometric.config;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hands out connections from the pool of the current {@link TenantContext}
+ * campus. Used by JdbcTemplate and Flyway; Hibernate asks for the campus's
+ * connection itself through its multi-tenancy support, which keeps the
+ * second-level and query caches apart per campus.
+ */
+public class TenantRoutingDataSource extends AbstractDataSource {
+    private final TenantRegistry registry;
+
+    public TenantRoutingDataSource(TenantRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return registry.dataSourceFor(TenantContext.current()).getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return registry.dataSourceFor(TenantContext.current()).getConnection(username, password);
+    }
+}
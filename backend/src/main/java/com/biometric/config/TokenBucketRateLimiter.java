@@ -0,0 +1,49 @@
+package com.biometric.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-key token buckets kept as a single "theoretical arrival time" (the GCRA
+ * form of a token bucket), so taking a token is one CAS on an AtomicLong.
+ * Buckets live in a bounded cache and are dropped after a period of idleness.
+ */
+public class TokenBucketRateLimiter {
+    private final Cache<String, AtomicLong> buckets;
+
+    public TokenBucketRateLimiter(Duration idleExpiry, long maxKeys) {
+        this.buckets = Caffeine.newBuilder()
+            .expireAfterAccess(idleExpiry)
+            .maximumSize(maxKeys)
+            .build();
+    }
+
+    /**
+     * Takes one token from the key's bucket.
+     *
+     * @return 0 when the request is allowed, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String key, int capacity, long emissionIntervalNanos) {
+        long burstTolerance = capacity * emissionIntervalNanos;
+        AtomicLong arrival = buckets.get(key, k -> new AtomicLong(System.nanoTime()));
+        while (true) {
+            long now = System.nanoTime();
+            long current = arrival.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            long excess = next - now - burstTolerance;
+            if (excess > 0) {
+                return excess;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public long trackedKeys() {
+        return buckets.estimatedSize();
+    }
+}
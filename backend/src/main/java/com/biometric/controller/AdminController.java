@@ -0,0 +1,89 @@
+package com.biometric.controller;
+
+import com.biometric.config.TenantRegistry;
+import com.biometric.dto.AdminSummary;
+import com.biometric.dto.KioskRegistration;
+import com.biometric.dto.TenantShard;
+import com.biometric.model.KioskDevice;
+import com.biometric.service.AdminSummaryService;
+import com.biometric.service.KioskChannelService;
+import com.biometric.service.KioskDeviceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin")
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000"})
+public class AdminController {
+    @Autowired
+    private AdminSummaryService adminSummaryService;
+    // Present only when app.tenancy.enabled is true
+    @Autowired(required = false)
+    private TenantRegistry tenantRegistry;
+    @Autowired
+    private KioskDeviceService kioskDeviceService;
+    // Present only when app.kiosk.enabled is true
+    @Autowired(required = false)
+    private KioskChannelService kioskChannelService;
+
+    @GetMapping("/summary")
+    public ResponseEntity<AdminSummary> getSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(adminSummaryService.getSummary(from, to));
+        } catch (RuntimeException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/tenants")
+    public ResponseEntity<List<TenantShard>> getTenants() {
+        if (tenantRegistry == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(tenantRegistry.getShards());
+    }
+
+    @PostMapping("/tenants")
+    public ResponseEntity<?> addTenant(@RequestBody TenantShard shard) {
+        if (tenantRegistry == null) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(tenantRegistry.add(shard));
+        } catch (RuntimeException ex) {
+            return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+        }
+    }
+
+    @GetMapping("/kiosks")
+    public ResponseEntity<List<KioskDevice>> getKiosks() {
+        return ResponseEntity.ok(kioskDeviceService.getAllDevices());
+    }
+
+    @PostMapping("/kiosks")
+    public ResponseEntity<?> registerKiosk(@RequestBody KioskDevice device) {
+        try {
+            KioskRegistration registration = kioskDeviceService.register(device);
+            return ResponseEntity.ok(registration);
+        } catch (RuntimeException ex) {
+            return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/kiosks/{id}")
+    public ResponseEntity<Void> deleteKiosk(@PathVariable String id) {
+        kioskDeviceService.deleteDevice(id);
+        if (kioskChannelService != null) {
+            kioskChannelService.disconnect(id);
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -2,9 +2,17 @@ package com.biometric.controller;
 
 import com.biometric.model.AttendanceRecord;
 import com.biometric.service.AttendanceRecordService;
+import com.biometric.service.IdempotencyService;
+import com.biometric.service.TableVersionService;
+import com.biometric.service.TableVersionService.Table;
+import com.biometric.util.ConditionalGet;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 
 @RestController
@@ -13,10 +21,28 @@ import java.util.List;
 public class AttendanceRecordController {
     @Autowired
     private AttendanceRecordService recordService;
+    @Autowired
+    private TableVersionService tableVersionService;
+    @Autowired
+    private IdempotencyService idempotencyService;
+    @Value("${app.http.list-max-age-seconds.attendance:0}")
+    private long listMaxAgeSeconds;
 
     @GetMapping
-    public ResponseEntity<List<AttendanceRecord>> getAllRecords() {
-        return ResponseEntity.ok(recordService.getAllRecords());
+    public ResponseEntity<List<AttendanceRecord>> getAllRecords(
+            @RequestParam(defaultValue = "false") boolean includeArchived, WebRequest request) {
+        String etag = includeArchived
+            ? tableVersionService.versionOf(Table.ATTENDANCE, Table.ATTENDANCE_ARCHIVE)
+            : tableVersionService.versionOf(Table.ATTENDANCE);
+        return ConditionalGet.respond(request, etag, ConditionalGet.listCacheControl(listMaxAgeSeconds),
+            () -> recordService.getAllRecords(includeArchived));
+    }
+
+    @GetMapping("/archive")
+    public ResponseEntity<List<AttendanceRecord>> getArchivedRecords(@RequestParam String term, WebRequest request) {
+        String etag = tableVersionService.versionOf(Table.ATTENDANCE_ARCHIVE);
+        return ConditionalGet.respond(request, etag, ConditionalGet.listCacheControl(listMaxAgeSeconds),
+            () -> recordService.getArchivedRecords(term));
     }
 
     @GetMapping("/{id}")
@@ -49,23 +75,46 @@ public class AttendanceRecordController {
     }
 
     @PostMapping
-    public ResponseEntity<AttendanceRecord> createRecord(@RequestBody AttendanceRecord record) {
-        try {
-            AttendanceRecord createdRecord = recordService.createRecord(record);
-            return ResponseEntity.ok(createdRecord);
-        } catch (RuntimeException ex) {
-            return ResponseEntity.badRequest().build();
-        }
+    public ResponseEntity<AttendanceRecord> createRecord(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestBody AttendanceRecord record) {
+        String fingerprint = record.getStudentId() + "/" + record.getCourseId() + "/" + record.getSessionId()
+            + "/" + record.getStatus() + "/" + record.getMethod();
+        return idempotencyService.execute(idempotencyKey, "POST /attendance", fingerprint, () -> {
+            try {
+                AttendanceRecord createdRecord = recordService.createRecord(record);
+                if (createdRecord.getId() == null) {
+                    // Journal ingest mode: durably accepted, stored shortly.
+                    return ResponseEntity.accepted().body(createdRecord);
+                }
+                return ResponseEntity.ok(createdRecord);
+            } catch (RuntimeException ex) {
+                if (IdempotencyService.isRetryable(ex)) {
+                    throw ex;
+                }
+                return ResponseEntity.badRequest().build();
+            }
+        });
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<AttendanceRecord> updateRecord(@PathVariable Long id, @RequestBody AttendanceRecord recordDetails) {
-        return ResponseEntity.ok(recordService.updateRecord(id, recordDetails));
+        try {
+            return ResponseEntity.ok(recordService.updateRecord(id, recordDetails));
+        } catch (OptimisticLockingFailureException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RuntimeException ex) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteRecord(@PathVariable Long id) {
-        recordService.deleteRecord(id);
-        return ResponseEntity.noContent().build();
+        try {
+            recordService.deleteRecord(id);
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException ex) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 }
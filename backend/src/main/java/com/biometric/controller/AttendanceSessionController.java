@@ -2,9 +2,18 @@ package com.biometric.controller;
 
 import com.biometric.model.AttendanceSession;
 import com.biometric.service.AttendanceSessionService;
+import com.biometric.service.TableVersionService;
+import com.biometric.service.TableVersionService.Table;
+import com.biometric.util.ConditionalGet;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -13,10 +22,15 @@ import java.util.List;
 public class AttendanceSessionController {
     @Autowired
     private AttendanceSessionService sessionService;
+    @Autowired
+    private TableVersionService tableVersionService;
+    @Value("${app.http.list-max-age-seconds.sessions:0}")
+    private long listMaxAgeSeconds;
 
     @GetMapping
-    public ResponseEntity<List<AttendanceSession>> getAllSessions() {
-        return ResponseEntity.ok(sessionService.getAllSessions());
+    public ResponseEntity<List<AttendanceSession>> getAllSessions(WebRequest request) {
+        String etag = tableVersionService.versionOf(Table.SESSIONS);
+        return ConditionalGet.respond(request, etag, ConditionalGet.listCacheControl(listMaxAgeSeconds), sessionService::getAllSessions);
     }
 
     @GetMapping("/{id}")
@@ -27,17 +41,38 @@ public class AttendanceSessionController {
     }
 
     @GetMapping("/course/{courseId}")
-    public ResponseEntity<List<AttendanceSession>> getSessionsByCourseId(@PathVariable Long courseId) {
-        return ResponseEntity.ok(sessionService.getSessionsByCourseId(courseId));
+    public ResponseEntity<List<AttendanceSession>> getSessionsByCourseId(
+            @PathVariable Long courseId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (from == null && to == null) {
+            return ResponseEntity.ok(sessionService.getSessionsByCourseId(courseId));
+        }
+        try {
+            return ResponseEntity.ok(sessionService.getSessionsByCourseId(courseId, from, to));
+        } catch (RuntimeException ex) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/lecturer/{lecturerId}")
-    public ResponseEntity<List<AttendanceSession>> getSessionsByLecturerId(@PathVariable Long lecturerId) {
-        return ResponseEntity.ok(sessionService.getSessionsByLecturerId(lecturerId));
+    public ResponseEntity<List<AttendanceSession>> getSessionsByLecturerId(
+            @PathVariable Long lecturerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (from == null && to == null) {
+            return ResponseEntity.ok(sessionService.getSessionsByLecturerId(lecturerId));
+        }
+        try {
+            return ResponseEntity.ok(sessionService.getSessionsByLecturerId(lecturerId, from, to));
+        } catch (RuntimeException ex) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/date/{date}")
-    public ResponseEntity<List<AttendanceSession>> getSessionsByDate(@PathVariable String date) {
+    public ResponseEntity<List<AttendanceSession>> getSessionsByDate(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
         return ResponseEntity.ok(sessionService.getSessionsByDate(date));
     }
 
@@ -65,6 +100,8 @@ public class AttendanceSessionController {
     public ResponseEntity<AttendanceSession> updateSession(@PathVariable Long id, @RequestBody AttendanceSession sessionDetails) {
         try {
             return ResponseEntity.ok(sessionService.updateSession(id, sessionDetails));
+        } catch (OptimisticLockingFailureException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException ex) {
             return ResponseEntity.badRequest().build();
         }
@@ -3,6 +3,8 @@ package com.biometric.controller;
 import com.biometric.model.BiometricEnrollment;
 import com.biometric.service.BiometricEnrollmentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -36,6 +38,8 @@ public class BiometricEnrollmentController {
             @RequestBody BiometricEnrollment enrollmentDetails) {
         try {
             return ResponseEntity.ok(enrollmentService.updateEnrollment(userId, enrollmentDetails));
+        } catch (OptimisticLockingFailureException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException ex) {
             return ResponseEntity.badRequest().build();
         }
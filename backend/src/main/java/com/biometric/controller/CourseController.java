@@ -1,14 +1,22 @@
 package com.biometric.controller;
 
+import com.biometric.dto.CourseSearchResult;
 import com.biometric.model.Course;
 import com.biometric.service.CourseService;
+import com.biometric.service.SearchIndexService;
+import com.biometric.service.TableVersionService;
+import com.biometric.service.TableVersionService.Table;
+import com.biometric.util.ConditionalGet;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/courses")
@@ -16,10 +24,17 @@ import java.util.List;
 public class CourseController {
     @Autowired
     private CourseService courseService;
+    @Autowired
+    private TableVersionService tableVersionService;
+    @Autowired
+    private SearchIndexService searchIndexService;
+    @Value("${app.http.list-max-age-seconds.courses:0}")
+    private long listMaxAgeSeconds;
 
     @GetMapping
-    public ResponseEntity<List<Course>> getAllCourses() {
-        return ResponseEntity.ok(courseService.getAllCourses());
+    public ResponseEntity<List<Course>> getAllCourses(WebRequest request) {
+        String etag = tableVersionService.versionOf(Table.COURSES);
+        return ConditionalGet.respond(request, etag, ConditionalGet.listCacheControl(listMaxAgeSeconds), courseService::getAllCourses);
     }
 
     @GetMapping("/page")
@@ -34,6 +49,14 @@ public class CourseController {
                 courseService.getCoursesPage(PageRequest.of(page, size, Sort.by(direction, sortBy))));
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<List<CourseSearchResult>> searchCourses(
+            @RequestParam String q,
+            @RequestParam(required = false) String department,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(searchIndexService.searchCourses(q, department, limit));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Course> getCourseById(@PathVariable Long id) {
         return courseService.getCourseById(id)
@@ -59,14 +82,23 @@ public class CourseController {
     }
 
     @PostMapping
-    public ResponseEntity<Course> createCourse(@RequestBody Course course) {
-        Course createdCourse = courseService.createCourse(course);
-        return ResponseEntity.ok(createdCourse);
+    public ResponseEntity<?> createCourse(@RequestBody Course course) {
+        try {
+            Course createdCourse = courseService.createCourse(course);
+            return ResponseEntity.ok(createdCourse);
+        } catch (RuntimeException ex) {
+            // Unreadable schedule or a room/lecturer clash
+            return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+        }
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Course> updateCourse(@PathVariable Long id, @RequestBody Course courseDetails) {
-        return ResponseEntity.ok(courseService.updateCourse(id, courseDetails));
+    public ResponseEntity<?> updateCourse(@PathVariable Long id, @RequestBody Course courseDetails) {
+        try {
+            return ResponseEntity.ok(courseService.updateCourse(id, courseDetails));
+        } catch (RuntimeException ex) {
+            return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+        }
     }
 
     @DeleteMapping("/{id}")
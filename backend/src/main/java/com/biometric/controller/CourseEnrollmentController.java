@@ -1,10 +1,20 @@
 package com.biometric.controller;
 
+import com.biometric.dto.BulkEnrollmentRequest;
+import com.biometric.dto.BulkEnrollmentResult;
 import com.biometric.model.CourseEnrollment;
 import com.biometric.service.CourseEnrollmentService;
+import com.biometric.service.IdempotencyService;
+import com.biometric.service.TableVersionService;
+import com.biometric.service.TableVersionService.Table;
+import com.biometric.util.ConditionalGet;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -14,10 +24,17 @@ import java.util.List;
 public class CourseEnrollmentController {
     @Autowired
     private CourseEnrollmentService enrollmentService;
+    @Autowired
+    private TableVersionService tableVersionService;
+    @Autowired
+    private IdempotencyService idempotencyService;
+    @Value("${app.http.list-max-age-seconds.enrollments:0}")
+    private long listMaxAgeSeconds;
 
     @GetMapping
-    public ResponseEntity<List<CourseEnrollment>> getAllEnrollments() {
-        return ResponseEntity.ok(enrollmentService.getAllEnrollments());
+    public ResponseEntity<List<CourseEnrollment>> getAllEnrollments(WebRequest request) {
+        String etag = tableVersionService.versionOf(Table.ENROLLMENTS);
+        return ConditionalGet.respond(request, etag, ConditionalGet.listCacheControl(listMaxAgeSeconds), enrollmentService::getAllEnrollments);
     }
 
     @GetMapping("/{id}")
@@ -38,8 +55,25 @@ public class CourseEnrollmentController {
     }
 
     @PostMapping
-    public ResponseEntity<CourseEnrollment> createEnrollment(@RequestBody CourseEnrollment enrollment) {
-        return ResponseEntity.ok(enrollmentService.createEnrollment(enrollment));
+    public ResponseEntity<CourseEnrollment> createEnrollment(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestBody CourseEnrollment enrollment) {
+        String fingerprint = enrollment.getStudentId() + "/" + enrollment.getCourseId();
+        return idempotencyService.execute(idempotencyKey, "POST /enrollments", fingerprint,
+            () -> ResponseEntity.ok(enrollmentService.createEnrollment(enrollment)));
+    }
+
+    // A concurrent enrollment of the same pair trips uk_student_course; the
+    // whole batch rolls back and the client can simply retry.
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkEnrollmentResult> bulkEnroll(@RequestBody BulkEnrollmentRequest request) {
+        try {
+            return ResponseEntity.ok(enrollmentService.bulkEnroll(request));
+        } catch (DataIntegrityViolationException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RuntimeException ex) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @DeleteMapping("/{id}")
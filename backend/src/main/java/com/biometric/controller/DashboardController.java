@@ -0,0 +1,41 @@
+package com.biometric.controller;
+
+import com.biometric.dto.LecturerDashboard;
+import com.biometric.dto.StudentDashboard;
+import com.biometric.service.LecturerDashboardService;
+import com.biometric.service.StudentDashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/dashboard")
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000"})
+public class DashboardController {
+    @Autowired
+    private StudentDashboardService studentDashboardService;
+    @Autowired
+    private LecturerDashboardService lecturerDashboardService;
+
+    @Value("${app.http.dashboard-max-age-seconds.lecturer:5}")
+    private long lecturerMaxAgeSeconds;
+
+    @GetMapping("/student/{id}")
+    public ResponseEntity<StudentDashboard> getStudentDashboard(@PathVariable Long id) {
+        return studentDashboardService.getDashboard(id)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/lecturer/{id}")
+    public ResponseEntity<LecturerDashboard> getLecturerDashboard(@PathVariable Long id) {
+        CacheControl cacheControl = CacheControl.maxAge(lecturerMaxAgeSeconds, TimeUnit.SECONDS).cachePrivate();
+        return lecturerDashboardService.getDashboard(id)
+            .map(dashboard -> ResponseEntity.ok().cacheControl(cacheControl).body(dashboard))
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,189 @@
+package com.biometric.controller;
+
+import com.biometric.config.TenantContext;
+import com.biometric.dto.KioskCheckIn;
+import com.biometric.dto.KioskMessage;
+import com.biometric.model.AttendanceRecord;
+import com.biometric.service.AttendanceRecordService;
+import com.biometric.service.IdempotencyService;
+import com.biometric.service.KioskChannelService;
+import com.biometric.service.RetryLaterException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PongMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The kiosk check-in WebSocket (/ws/kiosk). A kiosk may send check-in frames
+ * without waiting for the previous ack, up to the window announced in the
+ * hello frame; acks carry the frame's id and arrive in completion order. A
+ * frame beyond the window is answered with status 429 right away. Check-ins
+ * run on a worker pool shared by all kiosks, never on the container thread
+ * that read them; when its queue is full a frame is answered with status 503,
+ * which tells the kiosk to send it again.
+ */
+@Component
+@ConditionalOnProperty(name = "app.kiosk.enabled", havingValue = "true", matchIfMissing = true)
+public class KioskWebSocketHandler extends TextWebSocketHandler {
+    private static final Logger log = LoggerFactory.getLogger(KioskWebSocketHandler.class);
+    public static final String DEVICE_ATTRIBUTE = "kioskDevice";
+    public static final String TENANT_ATTRIBUTE = "kioskTenant";
+
+    @Autowired
+    private KioskChannelService channelService;
+    @Autowired
+    private AttendanceRecordService recordService;
+    @Autowired
+    private IdempotencyService idempotencyService;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.kiosk.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+    @Value("${app.kiosk.send-buffer-kb:512}")
+    private int sendBufferKb;
+
+    private final ThreadPoolExecutor workers;
+
+    public KioskWebSocketHandler(@Value("${app.kiosk.worker-threads:8}") int workerThreads,
+                                 @Value("${app.kiosk.queue-capacity:256}") int queueCapacity) {
+        this.workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("kiosk-check-in-"));
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        // A kiosk that stops reading is closed once its unsent frames exceed the limits.
+        WebSocketSession concurrent = new ConcurrentWebSocketSessionDecorator(session, sendTimeLimitMs,
+            sendBufferKb * 1024, ConcurrentWebSocketSessionDecorator.OverflowStrategy.TERMINATE);
+        TenantContext.runAs((String) session.getAttributes().get(TENANT_ATTRIBUTE),
+            () -> channelService.open(concurrent, (String) session.getAttributes().get(DEVICE_ATTRIBUTE)));
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        KioskChannelService.Connection connection = channelService.get(session.getId());
+        if (connection == null) {
+            return;
+        }
+        connection.seen();
+
+        KioskCheckIn checkIn;
+        try {
+            checkIn = objectMapper.readValue(message.getPayload(), KioskCheckIn.class);
+        } catch (JsonProcessingException ex) {
+            connection.send(KioskMessage.error("Unreadable frame"));
+            return;
+        }
+        if (!"check-in".equals(checkIn.getType()) || checkIn.getId() == null || checkIn.getId().isBlank()) {
+            connection.send(KioskMessage.error("Expected a check-in frame with an id"));
+            return;
+        }
+        if (!connection.tryAcquire(channelService.getWindow())) {
+            connection.send(KioskMessage.ack(checkIn.getId(), HttpStatus.TOO_MANY_REQUESTS.value(), null,
+                "Window full; wait for an ack"));
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    TenantContext.runAs(connection.getTenant(), () -> checkIn(connection, checkIn));
+                } finally {
+                    connection.release();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // Nothing was recorded under the frame id, so the kiosk can send the same frame again.
+            connection.release();
+            connection.send(KioskMessage.ack(checkIn.getId(), HttpStatus.SERVICE_UNAVAILABLE.value(), null,
+                workers.isShutdown() ? "Server shutting down" : "Server busy; send it again"));
+        }
+    }
+
+    // Same validation and storage as POST /attendance, with the frame id as the
+    // idempotency key (scoped to the kiosk), so a resent frame gets the original ack.
+    private void checkIn(KioskChannelService.Connection connection, KioskCheckIn checkIn) {
+        AttendanceRecord record = checkIn.toRecord();
+        String fingerprint = record.getStudentId() + "/" + record.getCourseId() + "/" + record.getSessionId()
+            + "/" + record.getStatus() + "/" + record.getMethod();
+        ResponseEntity<Object> response;
+        try {
+            response = idempotencyService.execute(checkIn.getId(), "kiosk " + connection.getDeviceId(), fingerprint, () -> {
+                try {
+                    AttendanceRecord created = recordService.createRecord(record);
+                    // Journal ingest mode: durably accepted, stored shortly.
+                    return created.getId() == null
+                        ? ResponseEntity.accepted().body(created)
+                        : ResponseEntity.ok(created);
+                } catch (RuntimeException ex) {
+                    if (IdempotencyService.isRetryable(ex)) {
+                        throw ex;
+                    }
+                    return ResponseEntity.badRequest().body(ex.getMessage());
+                }
+            });
+        } catch (RetryLaterException ex) {
+            connection.send(KioskMessage.ack(checkIn.getId(), HttpStatus.CONFLICT.value(), null, ex.getMessage()));
+            return;
+        } catch (RuntimeException ex) {
+            // The frame id was released, so the kiosk can resend the same frame.
+            log.warn("Check-in {} from kiosk {} failed", checkIn.getId(), connection.getDeviceId(), ex);
+            connection.send(KioskMessage.ack(checkIn.getId(), HttpStatus.SERVICE_UNAVAILABLE.value(), null,
+                "Could not record the check-in; send it again"));
+            return;
+        }
+        int status = response.getStatusCode().value();
+        Object body = response.getBody();
+        if (body instanceof String reason) {
+            connection.send(KioskMessage.ack(checkIn.getId(), status, null, reason));
+        } else if (body == null) {
+            // 409 (same id still running) or 422 (id reused for another check-in)
+            HttpStatus known = HttpStatus.resolve(status);
+            connection.send(KioskMessage.ack(checkIn.getId(), status, null, known != null ? known.getReasonPhrase() : null));
+        } else {
+            connection.send(KioskMessage.ack(checkIn.getId(), status, body, null));
+        }
+    }
+
+    @Override
+    protected void handlePongMessage(WebSocketSession session, PongMessage message) {
+        KioskChannelService.Connection connection = channelService.get(session.getId());
+        if (connection != null) {
+            connection.seen();
+        }
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.debug("Kiosk connection {} failed", session.getId(), exception);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        channelService.closed(session.getId());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+}
@@ -0,0 +1,20 @@
+package com.biometric.controller;
+
+import com.biometric.dto.CourseAttendanceMatrix;
+import com.biometric.service.CourseAttendanceMatrixService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/reports")
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000"})
+public class ReportController {
+    @Autowired
+    private CourseAttendanceMatrixService matrixService;
+
+    @GetMapping("/course/{courseId}/matrix")
+    public ResponseEntity<CourseAttendanceMatrix> getCourseMatrix(@PathVariable Long courseId) {
+        return ResponseEntity.ok(matrixService.getMatrix(courseId));
+    }
+}
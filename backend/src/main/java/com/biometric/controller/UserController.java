@@ -1,13 +1,20 @@
 package com.biometric.controller;
 
+import com.biometric.dto.UserSearchResult;
 import com.biometric.model.User;
+import com.biometric.service.SearchIndexService;
 import com.biometric.service.UserService;
+import com.biometric.service.TableVersionService;
+import com.biometric.service.TableVersionService.Table;
+import com.biometric.util.ConditionalGet;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 import java.util.Map;
 
@@ -17,10 +24,17 @@ import java.util.Map;
 public class UserController {
     @Autowired
     private UserService userService;
+    @Autowired
+    private TableVersionService tableVersionService;
+    @Autowired
+    private SearchIndexService searchIndexService;
+    @Value("${app.http.list-max-age-seconds.users:0}")
+    private long listMaxAgeSeconds;
 
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<List<User>> getAllUsers(WebRequest request) {
+        String etag = tableVersionService.versionOf(Table.USERS);
+        return ConditionalGet.respond(request, etag, ConditionalGet.listCacheControl(listMaxAgeSeconds), userService::getAllUsers);
     }
 
     @GetMapping("/page")
@@ -35,6 +49,20 @@ public class UserController {
                 userService.getUsersPage(PageRequest.of(page, size, Sort.by(direction, sortBy))));
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<List<UserSearchResult>> searchUsers(
+            @RequestParam String q,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String department,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            User.UserRole userRole = role != null ? User.UserRole.valueOf(role.toUpperCase()) : null;
+            return ResponseEntity.ok(searchIndexService.searchUsers(q, userRole, department, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<User> getUserById(@PathVariable Long id) {
         return userService.getUserById(id)
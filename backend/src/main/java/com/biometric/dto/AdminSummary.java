@@ -0,0 +1,60 @@
+package com.biometric.dto;
+
+import com.biometric.model.AttendanceRecord;
+import com.biometric.model.AttendanceSession;
+import com.biometric.model.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * System-wide totals for the admin dashboard. Attendance counts cover the
+ * requested date range (live and archived terms), or all time when no range
+ * was given; the attendance rate counts late arrivals as attended.
+ */
+public class AdminSummary {
+    private final Map<User.UserRole, Long> usersByRole;
+    private final long totalCourses;
+    private final Map<String, Long> coursesByDepartment;
+    private final Map<AttendanceSession.SessionStatus, Long> sessionsByStatus;
+    private final long sessionsToday;
+    private final Map<AttendanceSession.SessionStatus, Long> sessionsTodayByStatus;
+    private final LocalDate recordsFrom;
+    private final LocalDate recordsTo;
+    private final Map<AttendanceRecord.AttendanceStatus, Long> recordsByStatus;
+    private final double attendanceRate;
+    private final LocalDateTime generatedAt;
+
+    public AdminSummary(Map<User.UserRole, Long> usersByRole, long totalCourses,
+                        Map<String, Long> coursesByDepartment,
+                        Map<AttendanceSession.SessionStatus, Long> sessionsByStatus,
+                        long sessionsToday, Map<AttendanceSession.SessionStatus, Long> sessionsTodayByStatus,
+                        LocalDate recordsFrom, LocalDate recordsTo,
+                        Map<AttendanceRecord.AttendanceStatus, Long> recordsByStatus, double attendanceRate,
+                        LocalDateTime generatedAt) {
+        this.usersByRole = usersByRole;
+        this.totalCourses = totalCourses;
+        this.coursesByDepartment = coursesByDepartment;
+        this.sessionsByStatus = sessionsByStatus;
+        this.sessionsToday = sessionsToday;
+        this.sessionsTodayByStatus = sessionsTodayByStatus;
+        this.recordsFrom = recordsFrom;
+        this.recordsTo = recordsTo;
+        this.recordsByStatus = recordsByStatus;
+        this.attendanceRate = attendanceRate;
+        this.generatedAt = generatedAt;
+    }
+
+    public Map<User.UserRole, Long> getUsersByRole() { return usersByRole; }
+    public long getTotalCourses() { return totalCourses; }
+    public Map<String, Long> getCoursesByDepartment() { return coursesByDepartment; }
+    public Map<AttendanceSession.SessionStatus, Long> getSessionsByStatus() { return sessionsByStatus; }
+    public long getSessionsToday() { return sessionsToday; }
+    public Map<AttendanceSession.SessionStatus, Long> getSessionsTodayByStatus() { return sessionsTodayByStatus; }
+    public LocalDate getRecordsFrom() { return recordsFrom; }
+    public LocalDate getRecordsTo() { return recordsTo; }
+    public Map<AttendanceRecord.AttendanceStatus, Long> getRecordsByStatus() { return recordsByStatus; }
+    public double getAttendanceRate() { return attendanceRate; }
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+}
@@ -0,0 +1,20 @@
+package com.biometric.dto;
+
+import java.util.List;
+
+/**
+ * Enrolls a cohort in one course: either the listed student IDs or every
+ * student of a department. When both are given the IDs win.
+ */
+public class BulkEnrollmentRequest {
+    private Long courseId;
+    private List<Long> studentIds;
+    private String department;
+
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+    public List<Long> getStudentIds() { return studentIds; }
+    public void setStudentIds(List<Long> studentIds) { this.studentIds = studentIds; }
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+}
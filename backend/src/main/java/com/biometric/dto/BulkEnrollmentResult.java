@@ -0,0 +1,26 @@
+package com.biometric.dto;
+
+import java.util.List;
+
+/**
+ * Outcome per student: added (new enrollment), skipped (already enrolled)
+ * or invalid (no such user, or the user is not a student).
+ */
+public class BulkEnrollmentResult {
+    private final Long courseId;
+    private final List<Long> added;
+    private final List<Long> skipped;
+    private final List<Long> invalid;
+
+    public BulkEnrollmentResult(Long courseId, List<Long> added, List<Long> skipped, List<Long> invalid) {
+        this.courseId = courseId;
+        this.added = added;
+        this.skipped = skipped;
+        this.invalid = invalid;
+    }
+
+    public Long getCourseId() { return courseId; }
+    public List<Long> getAdded() { return added; }
+    public List<Long> getSkipped() { return skipped; }
+    public List<Long> getInvalid() { return invalid; }
+}
@@ -0,0 +1,84 @@
+package com.biometric.dto;
+
+import com.biometric.model.AttendanceSession;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Students x sessions grid for one course. Each row carries its cells as one
+ * string with a character per session column: P (present), L (late),
+ * A (absent) or - (not marked in a session that is still open).
+ */
+public class CourseAttendanceMatrix {
+    private final Long courseId;
+    private final List<SessionColumn> sessions;
+    private final List<StudentRow> students;
+    private final LocalDateTime generatedAt;
+
+    public CourseAttendanceMatrix(Long courseId, List<SessionColumn> sessions, List<StudentRow> students,
+                                  LocalDateTime generatedAt) {
+        this.courseId = courseId;
+        this.sessions = sessions;
+        this.students = students;
+        this.generatedAt = generatedAt;
+    }
+
+    public Long getCourseId() { return courseId; }
+    public List<SessionColumn> getSessions() { return sessions; }
+    public List<StudentRow> getStudents() { return students; }
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+
+    public static class SessionColumn {
+        private final Long sessionId;
+        private final LocalDate date;
+        @JsonFormat(pattern = "HH:mm")
+        private final LocalTime startTime;
+        private final AttendanceSession.SessionStatus status;
+
+        public SessionColumn(Long sessionId, LocalDate date, LocalTime startTime,
+                             AttendanceSession.SessionStatus status) {
+            this.sessionId = sessionId;
+            this.date = date;
+            this.startTime = startTime;
+            this.status = status;
+        }
+
+        public Long getSessionId() { return sessionId; }
+        public LocalDate getDate() { return date; }
+        public LocalTime getStartTime() { return startTime; }
+        public AttendanceSession.SessionStatus getStatus() { return status; }
+    }
+
+    public static class StudentRow {
+        private final Long studentId;
+        private final boolean enrolled;
+        private final String cells;
+        private final int present;
+        private final int late;
+        private final int absent;
+        private final double attendancePercentage;
+
+        public StudentRow(Long studentId, boolean enrolled, String cells, int present, int late, int absent,
+                          double attendancePercentage) {
+            this.studentId = studentId;
+            this.enrolled = enrolled;
+            this.cells = cells;
+            this.present = present;
+            this.late = late;
+            this.absent = absent;
+            this.attendancePercentage = attendancePercentage;
+        }
+
+        public Long getStudentId() { return studentId; }
+        public boolean isEnrolled() { return enrolled; }
+        public String getCells() { return cells; }
+        public int getPresent() { return present; }
+        public int getLate() { return late; }
+        public int getAbsent() { return absent; }
+        public double getAttendancePercentage() { return attendancePercentage; }
+    }
+}
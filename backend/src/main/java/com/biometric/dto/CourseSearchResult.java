@@ -0,0 +1,31 @@
+package com.biometric.dto;
+
+import com.biometric.model.Course;
+
+/** The fields of a course that search matches on and returns. */
+public class CourseSearchResult {
+    private final Long id;
+    private final String code;
+    private final String name;
+    private final String department;
+    private final Long lecturerId;
+
+    public CourseSearchResult(Long id, String code, String name, String department, Long lecturerId) {
+        this.id = id;
+        this.code = code;
+        this.name = name;
+        this.department = department;
+        this.lecturerId = lecturerId;
+    }
+
+    public static CourseSearchResult of(Course course) {
+        return new CourseSearchResult(course.getId(), course.getCode(), course.getName(), course.getDepartment(),
+            course.getLecturerId());
+    }
+
+    public Long getId() { return id; }
+    public String getCode() { return code; }
+    public String getName() { return name; }
+    public String getDepartment() { return department; }
+    public Long getLecturerId() { return lecturerId; }
+}
@@ -0,0 +1,47 @@
+package com.biometric.dto;
+
+import com.biometric.model.AttendanceRecord;
+
+/**
+ * A check-in frame from a kiosk: the fields of POST /attendance plus the id
+ * the kiosk correlates the ack with. The id also serves as the idempotency
+ * key, so a check-in resent after a reconnect gets the original ack.
+ */
+public class KioskCheckIn {
+    private String type;
+    private String id;
+    private Long studentId;
+    private Long courseId;
+    private Long sessionId;
+    private AttendanceRecord.MarkingMethod method;
+    private AttendanceRecord.AttendanceStatus status;
+    private Double verificationScore;
+
+    public AttendanceRecord toRecord() {
+        AttendanceRecord record = new AttendanceRecord();
+        record.setStudentId(studentId);
+        record.setCourseId(courseId);
+        record.setSessionId(sessionId);
+        record.setMethod(method);
+        record.setStatus(status);
+        record.setVerificationScore(verificationScore);
+        return record;
+    }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public Long getStudentId() { return studentId; }
+    public void setStudentId(Long studentId) { this.studentId = studentId; }
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+    public Long getSessionId() { return sessionId; }
+    public void setSessionId(Long sessionId) { this.sessionId = sessionId; }
+    public AttendanceRecord.MarkingMethod getMethod() { return method; }
+    public void setMethod(AttendanceRecord.MarkingMethod method) { this.method = method; }
+    public AttendanceRecord.AttendanceStatus getStatus() { return status; }
+    public void setStatus(AttendanceRecord.AttendanceStatus status) { this.status = status; }
+    public Double getVerificationScore() { return verificationScore; }
+    public void setVerificationScore(Double verificationScore) { this.verificationScore = verificationScore; }
+}
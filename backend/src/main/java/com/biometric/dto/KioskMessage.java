@@ -0,0 +1,55 @@
+package com.biometric.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A frame sent to a kiosk over the check-in WebSocket. {@code type} says which
+ * of the other fields are set:
+ * <ul>
+ *   <li>{@code hello}: window (check-ins a kiosk may have outstanding) and the active sessions</li>
+ *   <li>{@code ack}: id of the check-in frame, an HTTP-style status, and the record or a message</li>
+ *   <li>{@code session-opened}, {@code session-updated}, {@code session-closed}: the session</li>
+ *   <li>{@code error}: message, for a frame that could not be read</li>
+ * </ul>
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class KioskMessage {
+    private final String type;
+    private final String id;
+    private final Integer status;
+    private final String message;
+    private final Object data;
+    private final Integer window;
+
+    private KioskMessage(String type, String id, Integer status, String message, Object data, Integer window) {
+        this.type = type;
+        this.id = id;
+        this.status = status;
+        this.message = message;
+        this.data = data;
+        this.window = window;
+    }
+
+    public static KioskMessage hello(int window, Object activeSessions) {
+        return new KioskMessage("hello", null, null, null, activeSessions, window);
+    }
+
+    public static KioskMessage ack(String id, int status, Object record, String message) {
+        return new KioskMessage("ack", id, status, message, record, null);
+    }
+
+    public static KioskMessage session(String type, Object session) {
+        return new KioskMessage(type, null, null, null, session, null);
+    }
+
+    public static KioskMessage error(String message) {
+        return new KioskMessage("error", null, null, message, null, null);
+    }
+
+    public String getType() { return type; }
+    public String getId() { return id; }
+    public Integer getStatus() { return status; }
+    public String getMessage() { return message; }
+    public Object getData() { return data; }
+    public Integer getWindow() { return window; }
+}
@@ -0,0 +1,17 @@
+package com.biometric.dto;
+
+import com.biometric.model.KioskDevice;
+
+/** A newly registered kiosk with its token; the token is only ever shown here. */
+public class KioskRegistration {
+    private final KioskDevice device;
+    private final String token;
+
+    public KioskRegistration(KioskDevice device, String token) {
+        this.device = device;
+        this.token = token;
+    }
+
+    public KioskDevice getDevice() { return device; }
+    public String getToken() { return token; }
+}
@@ -0,0 +1,61 @@
+package com.biometric.dto;
+
+import com.biometric.model.AttendanceRecord;
+import com.biometric.model.AttendanceSession;
+import com.biometric.model.Course;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A lecturer's courses and live view of their open sessions: how many
+ * enrolled students have marked so far, the present/late/absent split and
+ * the most recent marks across those sessions.
+ */
+public class LecturerDashboard {
+    private final Long lecturerId;
+    private final List<Course> courses;
+    private final List<LiveSession> activeSessions;
+    private final List<AttendanceRecord> latestMarks;
+    private final LocalDateTime generatedAt;
+
+    public LecturerDashboard(Long lecturerId, List<Course> courses, List<LiveSession> activeSessions,
+                             List<AttendanceRecord> latestMarks, LocalDateTime generatedAt) {
+        this.lecturerId = lecturerId;
+        this.courses = courses;
+        this.activeSessions = activeSessions;
+        this.latestMarks = latestMarks;
+        this.generatedAt = generatedAt;
+    }
+
+    public Long getLecturerId() { return lecturerId; }
+    public List<Course> getCourses() { return courses; }
+    public List<LiveSession> getActiveSessions() { return activeSessions; }
+    public List<AttendanceRecord> getLatestMarks() { return latestMarks; }
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+
+    public static class LiveSession {
+        private final AttendanceSession session;
+        private final long enrolled;
+        private final long marked;
+        private final long present;
+        private final long late;
+        private final long absent;
+
+        public LiveSession(AttendanceSession session, long enrolled, long present, long late, long absent) {
+            this.session = session;
+            this.enrolled = enrolled;
+            this.marked = present + late + absent;
+            this.present = present;
+            this.late = late;
+            this.absent = absent;
+        }
+
+        public AttendanceSession getSession() { return session; }
+        public long getEnrolled() { return enrolled; }
+        public long getMarked() { return marked; }
+        public long getPresent() { return present; }
+        public long getLate() { return late; }
+        public long getAbsent() { return absent; }
+    }
+}
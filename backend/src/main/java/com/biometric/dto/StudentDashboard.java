@@ -0,0 +1,68 @@
+package com.biometric.dto;
+
+import com.biometric.model.AttendanceSession;
+import com.biometric.model.Course;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Everything the student home screen needs in one payload: enrolled courses,
+ * sessions currently open for them, biometric enrollment state and a
+ * per-course attendance summary.
+ */
+public class StudentDashboard {
+    private final Long studentId;
+    private final List<Course> courses;
+    private final List<AttendanceSession> activeSessions;
+    private final boolean fingerprintEnrolled;
+    private final boolean faceEnrolled;
+    private final List<CourseSummary> attendance;
+    private final LocalDateTime generatedAt;
+
+    public StudentDashboard(Long studentId, List<Course> courses, List<AttendanceSession> activeSessions,
+                            boolean fingerprintEnrolled, boolean faceEnrolled, List<CourseSummary> attendance,
+                            LocalDateTime generatedAt) {
+        this.studentId = studentId;
+        this.courses = courses;
+        this.activeSessions = activeSessions;
+        this.fingerprintEnrolled = fingerprintEnrolled;
+        this.faceEnrolled = faceEnrolled;
+        this.attendance = attendance;
+        this.generatedAt = generatedAt;
+    }
+
+    public Long getStudentId() { return studentId; }
+    public List<Course> getCourses() { return courses; }
+    public List<AttendanceSession> getActiveSessions() { return activeSessions; }
+    public boolean isFingerprintEnrolled() { return fingerprintEnrolled; }
+    public boolean isFaceEnrolled() { return faceEnrolled; }
+    public List<CourseSummary> getAttendance() { return attendance; }
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+
+    public static class CourseSummary {
+        private final Long courseId;
+        private final int totalSessions;
+        private final int present;
+        private final int late;
+        private final int absent;
+        private final double attendancePercentage;
+
+        public CourseSummary(Long courseId, int totalSessions, int present, int late, int absent,
+                             double attendancePercentage) {
+            this.courseId = courseId;
+            this.totalSessions = totalSessions;
+            this.present = present;
+            this.late = late;
+            this.absent = absent;
+            this.attendancePercentage = attendancePercentage;
+        }
+
+        public Long getCourseId() { return courseId; }
+        public int getTotalSessions() { return totalSessions; }
+        public int getPresent() { return present; }
+        public int getLate() { return late; }
+        public int getAbsent() { return absent; }
+        public double getAttendancePercentage() { return attendancePercentage; }
+    }
+}
@@ -0,0 +1,33 @@
+package com.biometric.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A campus database: its tenant id, connection and the hostnames that select
+ * it. The password is accepted when a shard is added but never returned.
+ */
+public class TenantShard {
+    private String id;
+    private String jdbcUrl;
+    private String username;
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private String password;
+    private List<String> hostnames = List.of();
+    private LocalDateTime createdAt;
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getJdbcUrl() { return jdbcUrl; }
+    public void setJdbcUrl(String jdbcUrl) { this.jdbcUrl = jdbcUrl; }
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+    public String getPassword() { return password; }
+    public void setPassword(String password) { this.password = password; }
+    public List<String> getHostnames() { return hostnames; }
+    public void setHostnames(List<String> hostnames) { this.hostnames = hostnames != null ? hostnames : List.of(); }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,38 @@
+package com.biometric.dto;
+
+import com.biometric.model.User;
+
+/** The fields of a user that search matches on and returns; no credentials or biometric ids. */
+public class UserSearchResult {
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final User.UserRole role;
+    private final String department;
+    private final String studentId;
+    private final String staffId;
+
+    public UserSearchResult(Long id, String name, String email, User.UserRole role, String department,
+                            String studentId, String staffId) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.role = role;
+        this.department = department;
+        this.studentId = studentId;
+        this.staffId = staffId;
+    }
+
+    public static UserSearchResult of(User user) {
+        return new UserSearchResult(user.getId(), user.getName(), user.getEmail(), user.getRole(),
+            user.getDepartment(), user.getStudentId(), user.getStaffId());
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public String getEmail() { return email; }
+    public User.UserRole getRole() { return role; }
+    public String getDepartment() { return department; }
+    public String getStudentId() { return studentId; }
+    public String getStaffId() { return staffId; }
+}
@@ -0,0 +1,100 @@
+package com.biometric.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(
+    name = "attendance_records_archive",
+    indexes = {
+        @Index(name = "idx_archive_term", columnList = "term"),
+        @Index(name = "idx_archive_student_id", columnList = "student_id"),
+        @Index(name = "idx_archive_course_id", columnList = "course_id"),
+        @Index(name = "idx_archive_session_id", columnList = "session_id")
+    }
+)
+public class ArchivedAttendanceRecord {
+    // Keeps the id the record had in attendance_records.
+    @Id
+    private Long id;
+
+    @Column(nullable = false, length = 16)
+    private String term;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "session_id", nullable = false)
+    private Long sessionId;
+
+    @Column(nullable = false)
+    private LocalDateTime timestamp;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private AttendanceRecord.MarkingMethod method;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private AttendanceRecord.AttendanceStatus status;
+
+    private Double verificationScore;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public AttendanceRecord toRecord() {
+        AttendanceRecord record = new AttendanceRecord();
+        record.setId(id);
+        record.setStudentId(studentId);
+        record.setCourseId(courseId);
+        record.setSessionId(sessionId);
+        record.setTimestamp(timestamp);
+        record.setMethod(method);
+        record.setStatus(status);
+        record.setVerificationScore(verificationScore);
+        record.setCreatedAt(createdAt);
+        record.setUpdatedAt(updatedAt);
+        return record;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTerm() { return term; }
+    public void setTerm(String term) { this.term = term; }
+
+    public Long getStudentId() { return studentId; }
+    public void setStudentId(Long studentId) { this.studentId = studentId; }
+
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+
+    public Long getSessionId() { return sessionId; }
+    public void setSessionId(Long sessionId) { this.sessionId = sessionId; }
+
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+
+    public AttendanceRecord.MarkingMethod getMethod() { return method; }
+    public void setMethod(AttendanceRecord.MarkingMethod method) { this.method = method; }
+
+    public AttendanceRecord.AttendanceStatus getStatus() { return status; }
+    public void setStatus(AttendanceRecord.AttendanceStatus status) { this.status = status; }
+
+    public Double getVerificationScore() { return verificationScore; }
+    public void setVerificationScore(Double verificationScore) { this.verificationScore = verificationScore; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
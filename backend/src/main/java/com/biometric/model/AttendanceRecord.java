@@ -1,6 +1,7 @@
 package com.biometric.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 
 @Entity
@@ -43,6 +44,11 @@ public class AttendanceRecord {
 
     private Double verificationScore;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -85,6 +91,9 @@ public class AttendanceRecord {
     public Double getVerificationScore() { return verificationScore; }
     public void setVerificationScore(Double verificationScore) { this.verificationScore = verificationScore; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
@@ -1,14 +1,18 @@
 package com.biometric.model;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 
 @Entity
 @Table(
     name = "attendance_sessions",
     indexes = {
-        @Index(name = "idx_session_course_id", columnList = "course_id"),
-        @Index(name = "idx_session_lecturer_id", columnList = "lecturer_id"),
+        @Index(name = "idx_session_course_date", columnList = "course_id, date"),
+        @Index(name = "idx_session_lecturer_date", columnList = "lecturer_id, date"),
         @Index(name = "idx_session_date", columnList = "date"),
         @Index(name = "idx_session_status", columnList = "status")
     }
@@ -25,12 +29,14 @@ public class AttendanceSession {
     private Long lecturerId;
 
     @Column(nullable = false)
-    private String date;
+    private LocalDate date;
 
     @Column(nullable = false)
-    private String startTime;
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime startTime;
 
-    private String endTime;
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime endTime;
 
     @Column(name = "started_at")
     private LocalDateTime startedAt;
@@ -49,6 +55,11 @@ public class AttendanceSession {
     @Enumerated(EnumType.STRING)
     private BiometricType attendanceType;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -76,14 +87,14 @@ public class AttendanceSession {
     public Long getLecturerId() { return lecturerId; }
     public void setLecturerId(Long lecturerId) { this.lecturerId = lecturerId; }
 
-    public String getDate() { return date; }
-    public void setDate(String date) { this.date = date; }
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
 
-    public String getStartTime() { return startTime; }
-    public void setStartTime(String startTime) { this.startTime = startTime; }
+    public LocalTime getStartTime() { return startTime; }
+    public void setStartTime(LocalTime startTime) { this.startTime = startTime; }
 
-    public String getEndTime() { return endTime; }
-    public void setEndTime(String endTime) { this.endTime = endTime; }
+    public LocalTime getEndTime() { return endTime; }
+    public void setEndTime(LocalTime endTime) { this.endTime = endTime; }
 
     public LocalDateTime getStartedAt() { return startedAt; }
     public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
@@ -100,6 +111,9 @@ public class AttendanceSession {
     public BiometricType getAttendanceType() { return attendanceType; }
     public void setAttendanceType(BiometricType attendanceType) { this.attendanceType = attendanceType; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
@@ -0,0 +1,51 @@
+package com.biometric.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A kiosk allowed to open the check-in WebSocket. The id is chosen when the
+ * kiosk is registered; only a digest of its token is kept.
+ */
+@Entity
+@Table(name = "kiosk_devices")
+public class KioskDevice {
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "last_connected_at")
+    private LocalDateTime lastConnectedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    @JsonIgnore
+    public String getTokenHash() { return tokenHash; }
+    public void setTokenHash(String tokenHash) { this.tokenHash = tokenHash; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getLastConnectedAt() { return lastConnectedAt; }
+    public void setLastConnectedAt(LocalDateTime lastConnectedAt) { this.lastConnectedAt = lastConnectedAt; }
+}
@@ -0,0 +1,87 @@
+package com.biometric.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A change to attendance data, written in the same transaction as the change
+ * itself and published later by the outbox relay. The payload is the JSON of
+ * the changed record, session or enrollment.
+ */
+@Entity
+@Table(
+    name = "outbox_events",
+    indexes = {
+        @Index(name = "idx_outbox_published", columnList = "published_at, id")
+    }
+)
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_type", nullable = false, length = 32)
+    @Enumerated(EnumType.STRING)
+    private EventType type;
+
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Column(name = "aggregate_id")
+    private Long aggregateId;
+
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    // Set by the relay when campuses are enabled; each campus database has its own outbox.
+    @Transient
+    private String tenant;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public EventType getType() { return type; }
+    public void setType(EventType type) { this.type = type; }
+
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+
+    public Long getAggregateId() { return aggregateId; }
+    public void setAggregateId(Long aggregateId) { this.aggregateId = aggregateId; }
+
+    @JsonRawValue
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    @JsonIgnore
+    public LocalDateTime getPublishedAt() { return publishedAt; }
+    public void setPublishedAt(LocalDateTime publishedAt) { this.publishedAt = publishedAt; }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String getTenant() { return tenant; }
+    public void setTenant(String tenant) { this.tenant = tenant; }
+
+    public enum EventType {
+        RECORD_CREATED, RECORD_UPDATED, RECORD_DELETED,
+        SESSION_OPENED, SESSION_CLOSED,
+        ENROLLMENT_CREATED, ENROLLMENT_DELETED
+    }
+}
@@ -0,0 +1,37 @@
+package com.biometric.repository;
+
+import com.biometric.model.ArchivedAttendanceRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ArchivedAttendanceRecordRepository extends JpaRepository<ArchivedAttendanceRecord, Long> {
+    List<ArchivedAttendanceRecord> findByStudentId(Long studentId);
+    List<ArchivedAttendanceRecord> findByCourseId(Long courseId);
+    List<ArchivedAttendanceRecord> findBySessionId(Long sessionId);
+    List<ArchivedAttendanceRecord> findByStudentIdAndCourseId(Long studentId, Long courseId);
+    List<ArchivedAttendanceRecord> findByTerm(String term);
+    long countByTerm(String term);
+
+    @Query("select r.status as status, count(r) as count from ArchivedAttendanceRecord r group by r.status")
+    List<AttendanceRecordRepository.StatusCount> countByStatus();
+
+    @Query("select r.status as status, count(r) as count from ArchivedAttendanceRecord r "
+        + "where r.timestamp >= :from and r.timestamp < :to group by r.status")
+    List<AttendanceRecordRepository.StatusCount> countByTimestampRangeGroupByStatus(
+        @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query("insert into ArchivedAttendanceRecord (id, term, studentId, courseId, sessionId, timestamp, method, status, "
+        + "verificationScore, createdAt, updatedAt) "
+        + "select r.id, :term, r.studentId, r.courseId, r.sessionId, r.timestamp, r.method, r.status, "
+        + "r.verificationScore, r.createdAt, r.updatedAt "
+        + "from AttendanceRecord r where r.timestamp >= :from and r.timestamp < :to")
+    int copyFromLive(@Param("term") String term, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
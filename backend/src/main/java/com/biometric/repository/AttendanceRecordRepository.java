@@ -1,8 +1,14 @@
 package com.biometric.repository;
 
 import com.biometric.model.AttendanceRecord;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,4 +18,35 @@ public interface AttendanceRecordRepository extends JpaRepository<AttendanceReco
     List<AttendanceRecord> findBySessionId(Long sessionId);
     List<AttendanceRecord> findByStudentIdAndCourseId(Long studentId, Long courseId);
     boolean existsByStudentIdAndSessionId(Long studentId, Long sessionId);
+    long countByTimestampGreaterThanEqualAndTimestampLessThan(LocalDateTime from, LocalDateTime to);
+    List<AttendanceRecord> findBySessionIdInOrderByTimestampDesc(Collection<Long> sessionIds, Limit limit);
+
+    @Query("select r.sessionId as sessionId, r.status as status, count(r) as count from AttendanceRecord r "
+        + "where r.sessionId in :sessionIds group by r.sessionId, r.status")
+    List<SessionStatusCount> countBySessionIdInGroupByStatus(@Param("sessionIds") Collection<Long> sessionIds);
+
+    @Query("select r.status as status, count(r) as count from AttendanceRecord r group by r.status")
+    List<StatusCount> countByStatus();
+
+    @Query("select r.status as status, count(r) as count from AttendanceRecord r "
+        + "where r.timestamp >= :from and r.timestamp < :to group by r.status")
+    List<StatusCount> countByTimestampRangeGroupByStatus(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select min(r.timestamp) from AttendanceRecord r")
+    LocalDateTime findOldestTimestamp();
+
+    @Modifying
+    @Query("delete from AttendanceRecord r where r.timestamp >= :from and r.timestamp < :to")
+    int deleteByTimestampRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    interface StatusCount {
+        AttendanceRecord.AttendanceStatus getStatus();
+        long getCount();
+    }
+
+    interface SessionStatusCount {
+        Long getSessionId();
+        AttendanceRecord.AttendanceStatus getStatus();
+        long getCount();
+    }
 }
@@ -0,0 +1,97 @@
+package com.biometric.repository;
+
+import com.biometric.model.ArchivedAttendanceRecord;
+import com.biometric.model.AttendanceRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads attendance across the live table (open terms) and the term archive,
+ * so callers keep one API after closed terms are moved out of
+ * attendance_records. Writes and deletes only touch the live table; archived
+ * rows are read-only. Lookups by student, course or session merge both tables;
+ * the unfiltered list and the check-in duplicate check read the live table
+ * unless asked for the archive too, and the archive is listed per term.
+ */
+@Repository
+public class AttendanceRecordRoutingRepository {
+    @Autowired
+    private AttendanceRecordRepository liveRepository;
+    @Autowired
+    private ArchivedAttendanceRecordRepository archiveRepository;
+
+    public AttendanceRecord save(AttendanceRecord record) {
+        return liveRepository.save(record);
+    }
+
+    public Optional<AttendanceRecord> findLiveById(Long id) {
+        return liveRepository.findById(id);
+    }
+
+    public Optional<AttendanceRecord> findById(Long id) {
+        Optional<AttendanceRecord> live = liveRepository.findById(id);
+        if (live.isPresent()) {
+            return live;
+        }
+        return archiveRepository.findById(id).map(ArchivedAttendanceRecord::toRecord);
+    }
+
+    public boolean isArchived(Long id) {
+        return archiveRepository.existsById(id);
+    }
+
+    public List<AttendanceRecord> findByStudentId(Long studentId) {
+        return merge(liveRepository.findByStudentId(studentId), archiveRepository.findByStudentId(studentId));
+    }
+
+    public List<AttendanceRecord> findByCourseId(Long courseId) {
+        return merge(liveRepository.findByCourseId(courseId), archiveRepository.findByCourseId(courseId));
+    }
+
+    public List<AttendanceRecord> findBySessionId(Long sessionId) {
+        return merge(liveRepository.findBySessionId(sessionId), archiveRepository.findBySessionId(sessionId));
+    }
+
+    public List<AttendanceRecord> findByStudentIdAndCourseId(Long studentId, Long courseId) {
+        return merge(
+            liveRepository.findByStudentIdAndCourseId(studentId, courseId),
+            archiveRepository.findByStudentIdAndCourseId(studentId, courseId));
+    }
+
+    // Marks are only taken for open sessions, whose term is never archived yet.
+    public boolean existsLiveByStudentIdAndSessionId(Long studentId, Long sessionId) {
+        return liveRepository.existsByStudentIdAndSessionId(studentId, sessionId);
+    }
+
+    public List<AttendanceRecord> findAllLive() {
+        return liveRepository.findAll();
+    }
+
+    public List<AttendanceRecord> findAll() {
+        return merge(liveRepository.findAll(), archiveRepository.findAll());
+    }
+
+    public List<AttendanceRecord> findArchivedByTerm(String term) {
+        return archiveRepository.findByTerm(term).stream().map(ArchivedAttendanceRecord::toRecord).toList();
+    }
+
+    public void deleteLiveById(Long id) {
+        liveRepository.deleteById(id);
+    }
+
+    private List<AttendanceRecord> merge(List<AttendanceRecord> live, List<ArchivedAttendanceRecord> archived) {
+        if (archived.isEmpty()) {
+            return live;
+        }
+        List<AttendanceRecord> merged = new ArrayList<>(archived.size() + live.size());
+        for (ArchivedAttendanceRecord record : archived) {
+            merged.add(record.toRecord());
+        }
+        merged.addAll(live);
+        return merged;
+    }
+}
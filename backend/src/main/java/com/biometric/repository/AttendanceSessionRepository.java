@@ -2,13 +2,72 @@ package com.biometric.repository;
 
 import com.biometric.model.AttendanceSession;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AttendanceSessionRepository extends JpaRepository<AttendanceSession, Long> {
     List<AttendanceSession> findByCourseId(Long courseId);
+    List<AttendanceSession> findByCourseIdOrderByDateAscStartTimeAsc(Long courseId);
     List<AttendanceSession> findByLecturerId(Long lecturerId);
-    List<AttendanceSession> findByDate(String date);
+    List<AttendanceSession> findByDate(LocalDate date);
+    List<AttendanceSession> findByCourseIdAndDateBetweenOrderByDateAscStartTimeAsc(Long courseId, LocalDate from, LocalDate to);
+    List<AttendanceSession> findByLecturerIdAndDateBetweenOrderByDateAscStartTimeAsc(Long lecturerId, LocalDate from, LocalDate to);
     List<AttendanceSession> findByStatus(AttendanceSession.SessionStatus status);
+    List<AttendanceSession> findByStatusAndStartedAtLessThanEqual(AttendanceSession.SessionStatus status, LocalDateTime now);
+    Optional<AttendanceSession> findFirstByStatusAndStartedAtAfterOrderByStartedAtAsc(
+        AttendanceSession.SessionStatus status, LocalDateTime after);
+    List<AttendanceSession> findByCourseIdIn(Collection<Long> courseIds);
+    List<AttendanceSession> findByLecturerIdAndStatusAndStartedAtLessThanEqualOrderByStartTimeAsc(
+        Long lecturerId, AttendanceSession.SessionStatus status, LocalDateTime now);
+    boolean existsByCourseIdAndDateAndStartTimeBetween(Long courseId, LocalDate date, LocalTime from, LocalTime to);
+    Optional<AttendanceSession> findFirstByCourseIdAndStatusAndStartedAtAfterOrderByStartedAtAsc(
+        Long courseId, AttendanceSession.SessionStatus status, LocalDateTime after);
+
+    @Query("select s.status as status, count(s) as count from AttendanceSession s group by s.status")
+    List<StatusCount> countByStatus();
+
+    @Query("select s.status as status, count(s) as count from AttendanceSession s where s.date = :date group by s.status")
+    List<StatusCount> countByDateGroupByStatus(@Param("date") LocalDate date);
+
+    @Query("select s.id as id, s.startedAt as startedAt, s.date as date, s.startTime as startTime "
+        + "from AttendanceSession s where s.status = :status")
+    List<SessionStart> findStartsByStatus(@Param("status") AttendanceSession.SessionStatus status);
+
+    // Locks the rows until the end of the transaction, so the caller knows exactly which
+    // sessions its following UPDATE changes.
+    @Query(value = "select id from attendance_sessions where id in (:ids) and status = :status for update",
+        nativeQuery = true)
+    List<Long> lockIdsByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("status") String status);
+
+    // Bulk close; the version bump keeps concurrent entity updates failing
+    // with an optimistic lock error instead of reopening the session.
+    @Modifying
+    @Query("update AttendanceSession s set s.status = :closed, s.endedAt = :endedAt, s.endTime = :endTime, "
+        + "s.updatedAt = :endedAt, s.version = s.version + 1 where s.id in :ids and s.status = :active")
+    int closeSessions(@Param("ids") Collection<Long> ids,
+                      @Param("endedAt") LocalDateTime endedAt,
+                      @Param("endTime") LocalTime endTime,
+                      @Param("active") AttendanceSession.SessionStatus active,
+                      @Param("closed") AttendanceSession.SessionStatus closed);
+
+    interface SessionStart {
+        Long getId();
+        LocalDateTime getStartedAt();
+        LocalDate getDate();
+        LocalTime getStartTime();
+    }
+
+    interface StatusCount {
+        AttendanceSession.SessionStatus getStatus();
+        long getCount();
+    }
 }
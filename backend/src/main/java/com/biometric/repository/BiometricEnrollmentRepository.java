@@ -1,11 +1,15 @@
 package com.biometric.repository;
 
 import com.biometric.model.BiometricEnrollment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
 public interface BiometricEnrollmentRepository extends JpaRepository<BiometricEnrollment, Long> {
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<BiometricEnrollment> findByUserId(Long userId);
 }
@@ -1,12 +1,46 @@
 package com.biometric.repository;
 
 import com.biometric.model.CourseEnrollment;
+import com.biometric.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CourseEnrollmentRepository extends JpaRepository<CourseEnrollment, Long> {
     List<CourseEnrollment> findByStudentId(Long studentId);
     List<CourseEnrollment> findByCourseId(Long courseId);
+
+    @Query("select e.courseId as courseId, count(e) as count from CourseEnrollment e "
+        + "where e.courseId in :courseIds group by e.courseId")
+    List<CourseCount> countByCourseIdInGroupByCourseId(@Param("courseIds") Collection<Long> courseIds);
+
+    // Validation and the duplicate check in one pass: only students come back,
+    // and enrollmentId is null for those not yet in the course.
+    @Query("select u.id as studentId, e.id as enrollmentId from User u "
+        + "left join CourseEnrollment e on e.studentId = u.id and e.courseId = :courseId "
+        + "where u.id in :studentIds and u.role = :role")
+    List<StudentEnrollmentState> findEnrollmentStates(@Param("courseId") Long courseId,
+                                                      @Param("studentIds") Collection<Long> studentIds,
+                                                      @Param("role") User.UserRole role);
+
+    @Query("select u.id as studentId, e.id as enrollmentId from User u "
+        + "left join CourseEnrollment e on e.studentId = u.id and e.courseId = :courseId "
+        + "where u.department = :department and u.role = :role")
+    List<StudentEnrollmentState> findEnrollmentStatesByDepartment(@Param("courseId") Long courseId,
+                                                                  @Param("department") String department,
+                                                                  @Param("role") User.UserRole role);
+
+    interface StudentEnrollmentState {
+        Long getStudentId();
+        Long getEnrollmentId();
+    }
+
+    interface CourseCount {
+        Long getCourseId();
+        long getCount();
+    }
 }
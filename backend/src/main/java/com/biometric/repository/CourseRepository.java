@@ -1,14 +1,33 @@
 package com.biometric.repository;
 
+import com.biometric.dto.CourseSearchResult;
 import com.biometric.model.Course;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Course> findByCode(String code);
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Course> findByLecturerId(Long lecturerId);
     List<Course> findByDepartment(String department);
+
+    @Query("select new com.biometric.dto.CourseSearchResult(c.id, c.code, c.name, c.department, c.lecturerId) "
+        + "from Course c")
+    List<CourseSearchResult> findAllSearchResults();
+
+    @Query("select c.department as department, count(c) as count from Course c group by c.department")
+    List<DepartmentCount> countByDepartment();
+
+    interface DepartmentCount {
+        String getDepartment();
+        long getCount();
+    }
 }
@@ -0,0 +1,9 @@
+package com.biometric.repository;
+
+import com.biometric.model.KioskDevice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface KioskDeviceRepository extends JpaRepository<KioskDevice, String> {
+}
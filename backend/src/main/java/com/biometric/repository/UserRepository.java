@@ -1,20 +1,39 @@
 package com.biometric.repository;
 
+import com.biometric.dto.UserSearchResult;
 import com.biometric.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 import java.util.List;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
     List<User> findByRole(User.UserRole role);
     Optional<User> findByStudentId(String studentId);
     Optional<User> findByStaffId(String staffId);
     boolean existsByStudentId(String studentId);
     boolean existsByStaffId(String staffId);
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByFingerprintId(String fingerprintId);
     Optional<User> findByFaceId(String faceId);
     boolean existsByFingerprintId(String fingerprintId);
+
+    @Query("select new com.biometric.dto.UserSearchResult(u.id, u.name, u.email, u.role, u.department, "
+        + "u.studentId, u.staffId) from User u")
+    List<UserSearchResult> findAllSearchResults();
+
+    @Query("select u.role as role, count(u) as count from User u group by u.role")
+    List<RoleCount> countByRole();
+
+    interface RoleCount {
+        User.UserRole getRole();
+        long getCount();
+    }
 }
@@ -0,0 +1,162 @@
+package com.biometric.service;
+
+import com.biometric.config.TenantContext;
+import com.biometric.dto.AdminSummary;
+import com.biometric.model.AttendanceRecord;
+import com.biometric.model.AttendanceSession;
+import com.biometric.model.User;
+import com.biometric.repository.ArchivedAttendanceRecordRepository;
+import com.biometric.repository.AttendanceRecordRepository;
+import com.biometric.repository.AttendanceSessionRepository;
+import com.biometric.repository.CourseRepository;
+import com.biometric.repository.UserRepository;
+import com.biometric.service.TableVersionService.Table;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Admin totals from grouped COUNT queries, held in a refresh-ahead cache:
+ * once an entry is older than the refresh interval, or the table versions it
+ * was counted at have moved, the next read still gets it immediately while a
+ * background reload replaces it, so no admin request waits on the queries
+ * after the first one.
+ */
+@Service
+public class AdminSummaryService {
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private AttendanceSessionRepository sessionRepository;
+    @Autowired
+    private AttendanceRecordRepository recordRepository;
+    @Autowired
+    private ArchivedAttendanceRecordRepository archiveRepository;
+    @Autowired
+    private TableVersionService tableVersionService;
+
+    private final LoadingCache<RecordRange, Versioned> summaries;
+
+    public AdminSummaryService(@Value("${app.admin.summary.refresh-seconds:30}") long refreshSeconds,
+                               @Value("${app.admin.summary.expire-minutes:10}") long expireMinutes) {
+        this.summaries = Caffeine.newBuilder()
+            .maximumSize(100)
+            .refreshAfterWrite(Duration.ofSeconds(refreshSeconds))
+            .expireAfterWrite(Duration.ofMinutes(expireMinutes))
+            .build(this::load);
+    }
+
+    public AdminSummary getSummary(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new RuntimeException("'from' must not be after 'to'");
+        }
+        RecordRange range = new RecordRange(TenantContext.current(), from, to);
+        Versioned cached = summaries.getIfPresent(range);
+        if (cached == null) {
+            return summaries.get(range).summary();
+        }
+        // Written since it was counted, possibly on another instance: reload now
+        // rather than at the next refresh interval.
+        if (!cached.version().equals(currentVersion())) {
+            summaries.refresh(range);
+        }
+        return cached.summary();
+    }
+
+    // Refreshes run on a pool thread, so the campus comes from the key.
+    private Versioned load(RecordRange range) {
+        return TenantContext.supplyAs(range.tenant(), () -> {
+            // Read first, so a write landing during the counts moves the version past this one.
+            String version = currentVersion();
+            return new Versioned(version, summarize(range));
+        });
+    }
+
+    private String currentVersion() {
+        return tableVersionService.versionOf(
+            Table.USERS, Table.COURSES, Table.SESSIONS, Table.ATTENDANCE, Table.ATTENDANCE_ARCHIVE);
+    }
+
+    private AdminSummary summarize(RecordRange range) {
+        Map<User.UserRole, Long> usersByRole = new EnumMap<>(User.UserRole.class);
+        for (User.UserRole role : User.UserRole.values()) {
+            usersByRole.put(role, 0L);
+        }
+        for (UserRepository.RoleCount count : userRepository.countByRole()) {
+            usersByRole.put(count.getRole(), count.getCount());
+        }
+
+        Map<String, Long> coursesByDepartment = new TreeMap<>();
+        long totalCourses = 0;
+        for (CourseRepository.DepartmentCount count : courseRepository.countByDepartment()) {
+            coursesByDepartment.put(count.getDepartment(), count.getCount());
+            totalCourses += count.getCount();
+        }
+
+        Map<AttendanceSession.SessionStatus, Long> sessionsByStatus = sessionCounts(sessionRepository.countByStatus());
+        Map<AttendanceSession.SessionStatus, Long> sessionsTodayByStatus =
+            sessionCounts(sessionRepository.countByDateGroupByStatus(LocalDate.now()));
+        long sessionsToday = sessionsTodayByStatus.values().stream().mapToLong(Long::longValue).sum();
+
+        Map<AttendanceRecord.AttendanceStatus, Long> recordsByStatus = new EnumMap<>(AttendanceRecord.AttendanceStatus.class);
+        for (AttendanceRecord.AttendanceStatus status : AttendanceRecord.AttendanceStatus.values()) {
+            recordsByStatus.put(status, 0L);
+        }
+        List<AttendanceRecordRepository.StatusCount> live;
+        List<AttendanceRecordRepository.StatusCount> archived;
+        if (range.from() == null && range.to() == null) {
+            live = recordRepository.countByStatus();
+            archived = archiveRepository.countByStatus();
+        } else {
+            LocalDateTime from = range.from() != null ? range.from().atStartOfDay() : LocalDateTime.of(1970, 1, 1, 0, 0);
+            LocalDateTime to = range.to() != null ? range.to().plusDays(1).atStartOfDay() : LocalDateTime.of(9999, 1, 1, 0, 0);
+            live = recordRepository.countByTimestampRangeGroupByStatus(from, to);
+            archived = archiveRepository.countByTimestampRangeGroupByStatus(from, to);
+        }
+        for (AttendanceRecordRepository.StatusCount count : live) {
+            recordsByStatus.merge(count.getStatus(), count.getCount(), Long::sum);
+        }
+        for (AttendanceRecordRepository.StatusCount count : archived) {
+            recordsByStatus.merge(count.getStatus(), count.getCount(), Long::sum);
+        }
+
+        long totalRecords = recordsByStatus.values().stream().mapToLong(Long::longValue).sum();
+        long attended = recordsByStatus.get(AttendanceRecord.AttendanceStatus.PRESENT)
+            + recordsByStatus.get(AttendanceRecord.AttendanceStatus.LATE);
+        double attendanceRate = totalRecords == 0 ? 0.0 : Math.round(attended * 1000.0 / totalRecords) / 10.0;
+
+        return new AdminSummary(usersByRole, totalCourses, coursesByDepartment, sessionsByStatus,
+            sessionsToday, sessionsTodayByStatus, range.from(), range.to(), recordsByStatus, attendanceRate,
+            LocalDateTime.now());
+    }
+
+    private static Map<AttendanceSession.SessionStatus, Long> sessionCounts(
+            List<AttendanceSessionRepository.StatusCount> counts) {
+        Map<AttendanceSession.SessionStatus, Long> byStatus = new EnumMap<>(AttendanceSession.SessionStatus.class);
+        for (AttendanceSession.SessionStatus status : AttendanceSession.SessionStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+        for (AttendanceSessionRepository.StatusCount count : counts) {
+            byStatus.put(count.getStatus(), count.getCount());
+        }
+        return byStatus;
+    }
+
+    private record RecordRange(String tenant, LocalDate from, LocalDate to) {
+    }
+
+    private record Versioned(String version, AdminSummary summary) {
+    }
+}
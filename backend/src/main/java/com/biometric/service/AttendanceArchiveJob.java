@@ -0,0 +1,37 @@
+package com.biometric.service;
+
+import com.biometric.util.AcademicTerm;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Component
+@ConditionalOnProperty(name = "app.attendance.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class AttendanceArchiveJob {
+    private static final Logger log = LoggerFactory.getLogger(AttendanceArchiveJob.class);
+
+    @Autowired
+    private AttendanceArchiveService archiveService;
+
+    @Scheduled(cron = "${app.attendance.archive.cron:0 30 2 * * *}")
+    public void archiveClosedTerms() {
+        LocalDate today = LocalDate.now();
+        for (AcademicTerm term : archiveService.findClosedTermsWithLiveRecords(today)) {
+            long moved = 0;
+            try {
+                for (LocalDate day = term.getStart(); day.isBefore(term.getEnd()); day = day.plusDays(1)) {
+                    moved += archiveService.archiveDay(term, day);
+                }
+            } catch (RuntimeException ex) {
+                log.error("Archiving term {} stopped after {} records", term, moved, ex);
+                return;
+            }
+            archiveService.logTermArchived(term, moved);
+        }
+    }
+}
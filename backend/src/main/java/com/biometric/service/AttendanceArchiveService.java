@@ -0,0 +1,89 @@
+package com.biometric.service;
+
+import com.biometric.repository.ArchivedAttendanceRecordRepository;
+import com.biometric.repository.AttendanceRecordRepository;
+import com.biometric.service.TableVersionService.Table;
+import com.biometric.util.AcademicTerm;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class AttendanceArchiveService {
+    private static final Logger log = LoggerFactory.getLogger(AttendanceArchiveService.class);
+
+    @Autowired
+    private AttendanceRecordRepository attendanceRecordRepository;
+    @Autowired
+    private ArchivedAttendanceRecordRepository archivedRecordRepository;
+    @Autowired
+    private TableVersionService tableVersionService;
+
+    @Value("${app.attendance.term-start-months:1,7}")
+    private List<Integer> termStartMonths;
+
+    @Value("${app.attendance.archive.grace-days:30}")
+    private long graceDays;
+
+    public AcademicTerm termOf(LocalDate date) {
+        return AcademicTerm.containing(date, termStartMonths);
+    }
+
+    /**
+     * Terms whose end (plus the grace period for late corrections) has passed
+     * and that still have rows in attendance_records, oldest first.
+     */
+    public List<AcademicTerm> findClosedTermsWithLiveRecords(LocalDate today) {
+        List<AcademicTerm> terms = new ArrayList<>();
+        LocalDateTime oldest = attendanceRecordRepository.findOldestTimestamp();
+        if (oldest == null) {
+            return terms;
+        }
+        AcademicTerm term = termOf(oldest.toLocalDate());
+        while (!term.getEnd().plusDays(graceDays).isAfter(today)) {
+            if (attendanceRecordRepository.countByTimestampGreaterThanEqualAndTimestampLessThan(
+                    term.getStartTime(), term.getEndTime()) > 0) {
+                terms.add(term);
+            }
+            term = termOf(term.getEnd());
+        }
+        return terms;
+    }
+
+    /**
+     * Moves one day of a closed term from attendance_records into the archive.
+     * Each day is its own transaction so live marking never waits on a whole term.
+     */
+    @Transactional
+    public int archiveDay(AcademicTerm term, LocalDate day) {
+        LocalDateTime from = day.atStartOfDay();
+        LocalDateTime to = day.plusDays(1).atStartOfDay();
+        int copied = archivedRecordRepository.copyFromLive(term.getId(), from, to);
+        if (copied == 0) {
+            return 0;
+        }
+        int deleted = attendanceRecordRepository.deleteByTimestampRange(from, to);
+        if (deleted != copied) {
+            throw new IllegalStateException(
+                "Archive of " + day + " copied " + copied + " records but removed " + deleted);
+        }
+        tableVersionService.bump(Table.ATTENDANCE, Table.ATTENDANCE_ARCHIVE);
+        return copied;
+    }
+
+    public long countArchived(AcademicTerm term) {
+        return archivedRecordRepository.countByTerm(term.getId());
+    }
+
+    public void logTermArchived(AcademicTerm term, long moved) {
+        log.info("Archived {} attendance records for term {} ({} in archive)", moved, term, countArchived(term));
+    }
+}
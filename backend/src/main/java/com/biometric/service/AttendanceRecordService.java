@@ -2,11 +2,15 @@ package com.biometric.service;
 
 import com.biometric.model.AttendanceRecord;
 import com.biometric.model.AttendanceSession;
+import com.biometric.model.OutboxEvent;
 import com.biometric.model.User;
-import com.biometric.repository.AttendanceRecordRepository;
+import com.biometric.repository.AttendanceRecordRoutingRepository;
 import com.biometric.repository.AttendanceSessionRepository;
 import com.biometric.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
@@ -16,13 +20,24 @@ import java.util.Optional;
 @Service
 public class AttendanceRecordService {
     @Autowired
-    private AttendanceRecordRepository attendanceRecordRepository;
+    private AttendanceRecordRoutingRepository attendanceRecordRepository;
     @Autowired
     private AttendanceSessionRepository attendanceSessionRepository;
     @Autowired
     private UserRepository userRepository;
     @Autowired
     private BiometricEnrollmentService biometricEnrollmentService;
+    @Autowired
+    private CourseAttendanceMatrixService matrixService;
+    @Autowired
+    private StudentDashboardService dashboardService;
+    @Autowired
+    private AttendanceSessionService attendanceSessionService;
+    @Autowired
+    private OutboxService outboxService;
+    // Present only when app.attendance.ingest.mode=journal.
+    @Autowired(required = false)
+    private CheckInJournalService checkInJournal;
 
     @Transactional
     public AttendanceRecord createRecord(AttendanceRecord record) {
@@ -43,7 +58,8 @@ public class AttendanceRecordService {
             throw new RuntimeException("Invalid course for selected session");
         }
 
-        if (attendanceRecordRepository.existsByStudentIdAndSessionId(record.getStudentId(), record.getSessionId())) {
+        if (attendanceRecordRepository.existsLiveByStudentIdAndSessionId(record.getStudentId(), record.getSessionId())
+                || (checkInJournal != null && checkInJournal.isPending(record.getStudentId(), record.getSessionId()))) {
             throw new RuntimeException("Attendance already marked for this student in this session");
         }
 
@@ -52,6 +68,13 @@ public class AttendanceRecordService {
         }
 
         LocalDateTime now = LocalDateTime.now();
+        if (!attendanceSessionService.isSessionOpenForAttendance(session, now)) {
+            if (attendanceSessionService.hasNotStarted(session, now)) {
+                // Prepared ahead of its timetable slot; the same mark succeeds once the slot starts.
+                throw new RetryLaterException("This session does not accept marks yet");
+            }
+            throw new RuntimeException("This session is not open for attendance");
+        }
         record.setTimestamp(now);
         if (record.getMethod() == null) {
             record.setMethod(AttendanceRecord.MarkingMethod.FINGERPRINT);
@@ -64,42 +87,84 @@ public class AttendanceRecordService {
             ? AttendanceRecord.AttendanceStatus.LATE
             : AttendanceRecord.AttendanceStatus.PRESENT);
 
-        return attendanceRecordRepository.save(record);
+        if (checkInJournal != null) {
+            // Acknowledged once journaled; the id is assigned when the drain stores it.
+            return checkInJournal.submit(record);
+        }
+
+        AttendanceRecord saved = attendanceRecordRepository.save(record);
+        outboxService.record(OutboxEvent.EventType.RECORD_CREATED, saved.getCourseId(), saved.getId(), saved);
+        matrixService.evict(saved.getCourseId());
+        dashboardService.evict(saved.getStudentId());
+        return saved;
     }
 
     public Optional<AttendanceRecord> getRecordById(Long id) {
         return attendanceRecordRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
     public List<AttendanceRecord> getRecordsByStudentId(Long studentId) {
         return attendanceRecordRepository.findByStudentId(studentId);
     }
 
+    @Transactional(readOnly = true)
     public List<AttendanceRecord> getRecordsByCourseId(Long courseId) {
         return attendanceRecordRepository.findByCourseId(courseId);
     }
 
+    @Transactional(readOnly = true)
     public List<AttendanceRecord> getRecordsBySessionId(Long sessionId) {
         return attendanceRecordRepository.findBySessionId(sessionId);
     }
 
+    @Transactional(readOnly = true)
     public List<AttendanceRecord> getStudentCourseAttendance(Long studentId, Long courseId) {
         return attendanceRecordRepository.findByStudentIdAndCourseId(studentId, courseId);
     }
 
-    public List<AttendanceRecord> getAllRecords() {
-        return attendanceRecordRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<AttendanceRecord> getAllRecords(boolean includeArchived) {
+        return includeArchived ? attendanceRecordRepository.findAll() : attendanceRecordRepository.findAllLive();
     }
 
+    @Transactional(readOnly = true)
+    public List<AttendanceRecord> getArchivedRecords(String term) {
+        return attendanceRecordRepository.findArchivedByTerm(term);
+    }
+
+    @Retryable(
+        retryFor = OptimisticLockingFailureException.class,
+        maxAttemptsExpression = "${app.concurrency.optimistic-retry.max-attempts:4}",
+        backoff = @Backoff(delayExpression = "${app.concurrency.optimistic-retry.initial-delay-ms:20}",
+            multiplier = 2, maxDelay = 500, random = true))
+    @Transactional
     public AttendanceRecord updateRecord(Long id, AttendanceRecord recordDetails) {
-        return attendanceRecordRepository.findById(id).map(record -> {
+        if (attendanceRecordRepository.isArchived(id)) {
+            throw new RuntimeException("Record belongs to an archived term and can no longer be changed");
+        }
+        return attendanceRecordRepository.findLiveById(id).map(record -> {
             record.setStatus(recordDetails.getStatus());
             record.setVerificationScore(recordDetails.getVerificationScore());
-            return attendanceRecordRepository.save(record);
+            AttendanceRecord saved = attendanceRecordRepository.save(record);
+            outboxService.record(OutboxEvent.EventType.RECORD_UPDATED, saved.getCourseId(), saved.getId(), saved);
+            matrixService.evict(saved.getCourseId());
+            dashboardService.evict(saved.getStudentId());
+            return saved;
         }).orElseThrow(() -> new RuntimeException("Record not found"));
     }
 
+    @Transactional
     public void deleteRecord(Long id) {
-        attendanceRecordRepository.deleteById(id);
+        if (attendanceRecordRepository.isArchived(id)) {
+            throw new RuntimeException("Record belongs to an archived term and can no longer be changed");
+        }
+        Optional<AttendanceRecord> record = attendanceRecordRepository.findLiveById(id);
+        attendanceRecordRepository.deleteLiveById(id);
+        record.ifPresent(deleted -> {
+            outboxService.record(OutboxEvent.EventType.RECORD_DELETED, deleted.getCourseId(), deleted.getId(), deleted);
+            matrixService.evict(deleted.getCourseId());
+            dashboardService.evict(deleted.getStudentId());
+        });
     }
 }
@@ -2,29 +2,54 @@ package com.biometric.service;
 
 import com.biometric.model.AttendanceSession;
 import com.biometric.model.Course;
+import com.biometric.model.OutboxEvent;
 import com.biometric.model.User;
 import com.biometric.repository.AttendanceSessionRepository;
 import com.biometric.repository.CourseRepository;
 import com.biometric.repository.UserRepository;
+import com.biometric.service.TableVersionService.Table;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class AttendanceSessionService {
+    // Open-ended range bounds; both fit a MySQL DATE column.
+    private static final LocalDate MIN_DATE = LocalDate.of(1000, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
     @Autowired
     private AttendanceSessionRepository attendanceSessionRepository;
     @Autowired
     private UserRepository userRepository;
     @Autowired
     private CourseRepository courseRepository;
+    @Autowired
+    private CourseAttendanceMatrixService matrixService;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private TableVersionService tableVersionService;
+
+    @Value("${app.sessions.auto-close.enabled:true}")
+    private boolean autoCloseEnabled;
+    @Value("${app.sessions.auto-close.max-duration-minutes:180}")
+    private long maxDurationMinutes;
 
     @Transactional
     public AttendanceSession createSession(AttendanceSession session) {
@@ -41,48 +66,109 @@ public class AttendanceSessionService {
         }
 
         LocalDateTime now = LocalDateTime.now();
+        // A timetable session prepared ahead of its slot is started early
+        // instead of opening a second session for the same class.
+        Optional<AttendanceSession> prepared = attendanceSessionRepository
+            .findFirstByCourseIdAndStatusAndStartedAtAfterOrderByStartedAtAsc(
+                session.getCourseId(), AttendanceSession.SessionStatus.ACTIVE, now);
+        if (prepared.isPresent()) {
+            AttendanceSession early = prepared.get();
+            early.setStartedAt(now);
+            early.setDate(now.toLocalDate());
+            early.setStartTime(now.toLocalTime().truncatedTo(ChronoUnit.MINUTES));
+            if (session.getBiometricEnabled() != null) {
+                early.setBiometricEnabled(session.getBiometricEnabled());
+            }
+            if (session.getAttendanceType() != null) {
+                early.setAttendanceType(session.getAttendanceType());
+            }
+            AttendanceSession saved = attendanceSessionRepository.save(early);
+            matrixService.evict(saved.getCourseId());
+            return saved;
+        }
+
         session.setStartedAt(now);
-        session.setDate(now.toLocalDate().toString());
-        session.setStartTime(now.toLocalTime().format(DateTimeFormatter.ofPattern("HH:mm")));
+        session.setDate(now.toLocalDate());
+        session.setStartTime(now.toLocalTime().truncatedTo(ChronoUnit.MINUTES));
         session.setStatus(AttendanceSession.SessionStatus.ACTIVE);
         session.setEndTime(null);
         session.setEndedAt(null);
 
-        return attendanceSessionRepository.save(session);
+        AttendanceSession saved = attendanceSessionRepository.save(session);
+        outboxService.record(OutboxEvent.EventType.SESSION_OPENED, saved.getCourseId(), saved.getId(), saved);
+        matrixService.evict(saved.getCourseId());
+        return saved;
     }
 
     public Optional<AttendanceSession> getSessionById(Long id) {
         return attendanceSessionRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
     public List<AttendanceSession> getSessionsByCourseId(Long courseId) {
         return attendanceSessionRepository.findByCourseId(courseId);
     }
 
+    @Transactional(readOnly = true)
     public List<AttendanceSession> getSessionsByLecturerId(Long lecturerId) {
         return attendanceSessionRepository.findByLecturerId(lecturerId);
     }
 
-    public List<AttendanceSession> getSessionsByDate(String date) {
+    @Transactional(readOnly = true)
+    public List<AttendanceSession> getSessionsByCourseId(Long courseId, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return attendanceSessionRepository.findByCourseIdAndDateBetweenOrderByDateAscStartTimeAsc(
+            courseId, from != null ? from : MIN_DATE, to != null ? to : MAX_DATE);
+    }
+
+    @Transactional(readOnly = true)
+    public List<AttendanceSession> getSessionsByLecturerId(Long lecturerId, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return attendanceSessionRepository.findByLecturerIdAndDateBetweenOrderByDateAscStartTimeAsc(
+            lecturerId, from != null ? from : MIN_DATE, to != null ? to : MAX_DATE);
+    }
+
+    @Transactional(readOnly = true)
+    public List<AttendanceSession> getSessionsByDate(LocalDate date) {
         return attendanceSessionRepository.findByDate(date);
     }
 
+    /** For ACTIVE, only sessions that have started: prepared timetable sessions wait for their slot. */
+    @Transactional(readOnly = true)
     public List<AttendanceSession> getSessionsByStatus(AttendanceSession.SessionStatus status) {
+        if (status == AttendanceSession.SessionStatus.ACTIVE) {
+            return attendanceSessionRepository.findByStatusAndStartedAtLessThanEqual(status, LocalDateTime.now());
+        }
         return attendanceSessionRepository.findByStatus(status);
     }
 
+    /** When the next prepared session starts, or empty when none is waiting. */
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> getNextPreparedStart() {
+        return attendanceSessionRepository.findFirstByStatusAndStartedAtAfterOrderByStartedAtAsc(
+                AttendanceSession.SessionStatus.ACTIVE, LocalDateTime.now())
+            .map(AttendanceSession::getStartedAt);
+    }
+
+    @Transactional(readOnly = true)
     public List<AttendanceSession> getAllSessions() {
         return attendanceSessionRepository.findAll();
     }
 
+    @Retryable(
+        retryFor = OptimisticLockingFailureException.class,
+        maxAttemptsExpression = "${app.concurrency.optimistic-retry.max-attempts:4}",
+        backoff = @Backoff(delayExpression = "${app.concurrency.optimistic-retry.initial-delay-ms:20}",
+            multiplier = 2, maxDelay = 500, random = true))
     @Transactional
     public AttendanceSession updateSession(Long id, AttendanceSession sessionDetails) {
         return attendanceSessionRepository.findById(id).map(session -> {
-            if (sessionDetails.getStatus() == AttendanceSession.SessionStatus.CLOSED
-                && session.getStatus() != AttendanceSession.SessionStatus.CLOSED) {
+            boolean closing = sessionDetails.getStatus() == AttendanceSession.SessionStatus.CLOSED
+                && session.getStatus() != AttendanceSession.SessionStatus.CLOSED;
+            if (closing) {
                 LocalDateTime endedAt = LocalDateTime.now();
                 session.setEndedAt(endedAt);
-                session.setEndTime(endedAt.toLocalTime().format(DateTimeFormatter.ofPattern("HH:mm")));
+                session.setEndTime(endedAt.toLocalTime().truncatedTo(ChronoUnit.MINUTES));
                 session.setStatus(AttendanceSession.SessionStatus.CLOSED);
             }
 
@@ -92,7 +178,12 @@ public class AttendanceSessionService {
             if (sessionDetails.getAttendanceType() != null) {
                 session.setAttendanceType(sessionDetails.getAttendanceType());
             }
-            return attendanceSessionRepository.save(session);
+            AttendanceSession saved = attendanceSessionRepository.save(session);
+            if (closing) {
+                outboxService.record(OutboxEvent.EventType.SESSION_CLOSED, saved.getCourseId(), saved.getId(), saved);
+            }
+            matrixService.evict(saved.getCourseId());
+            return saved;
         }).orElseThrow(() -> new RuntimeException("Session not found"));
     }
 
@@ -101,13 +192,88 @@ public class AttendanceSessionService {
             return false;
         }
 
-        LocalDate sessionDate = LocalDate.parse(session.getDate());
-        LocalTime startTime = LocalTime.parse(session.getStartTime());
-        LocalDateTime startedAt = LocalDateTime.of(sessionDate, startTime);
+        LocalDateTime startedAt = LocalDateTime.of(session.getDate(), session.getStartTime());
+        if (autoCloseEnabled && !attemptTime.isBefore(startedAt.plusMinutes(maxDurationMinutes))) {
+            // Past its maximum duration but not yet closed by the auto-close job.
+            return false;
+        }
         return !attemptTime.isBefore(startedAt);
     }
 
+    public boolean hasNotStarted(AttendanceSession session, LocalDateTime attemptTime) {
+        return attemptTime.isBefore(LocalDateTime.of(session.getDate(), session.getStartTime()));
+    }
+
+    /**
+     * Creates the session for a timetable slot ahead of time. It is ACTIVE but
+     * accepts marks only from the slot start, and until then it is left out of
+     * the active-session lists (see {@link #getSessionsByStatus}). Does nothing when the course
+     * already has a session in the slot (or started shortly before it).
+     */
+    @Transactional
+    public Optional<AttendanceSession> openScheduledSession(Long courseId, Long lecturerId, LocalDateTime start,
+                                                            LocalDateTime end, long leadMinutes) {
+        // The window is clamped to the slot's day; minusMinutes alone would wrap slots just after midnight.
+        LocalDateTime from = start.minusMinutes(leadMinutes);
+        LocalTime fromTime = from.toLocalDate().isBefore(start.toLocalDate()) ? LocalTime.MIN : from.toLocalTime();
+        if (attendanceSessionRepository.existsByCourseIdAndDateAndStartTimeBetween(courseId, start.toLocalDate(),
+                fromTime, end.toLocalTime())) {
+            return Optional.empty();
+        }
+        AttendanceSession session = new AttendanceSession();
+        session.setCourseId(courseId);
+        session.setLecturerId(lecturerId);
+        session.setDate(start.toLocalDate());
+        session.setStartTime(start.toLocalTime());
+        session.setStartedAt(start);
+        session.setStatus(AttendanceSession.SessionStatus.ACTIVE);
+        session.setBiometricEnabled(true);
+        session.setAttendanceType(AttendanceSession.BiometricType.FINGERPRINT);
+        AttendanceSession saved = attendanceSessionRepository.save(session);
+        outboxService.record(OutboxEvent.EventType.SESSION_OPENED, saved.getCourseId(), saved.getId(), saved);
+        matrixService.evict(saved.getCourseId());
+        return Optional.of(saved);
+    }
+
+    /** Closes the given sessions that are still ACTIVE with one UPDATE. */
+    @Transactional
+    public int closeSessions(Collection<Long> ids) {
+        // Sessions closed by someone else meanwhile are not locked here, so they get no second event.
+        List<Long> active = attendanceSessionRepository.lockIdsByIdInAndStatus(
+            ids, AttendanceSession.SessionStatus.ACTIVE.name());
+        if (active.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime endedAt = LocalDateTime.now();
+        int closed = attendanceSessionRepository.closeSessions(active, endedAt,
+            endedAt.toLocalTime().truncatedTo(ChronoUnit.MINUTES),
+            AttendanceSession.SessionStatus.ACTIVE, AttendanceSession.SessionStatus.CLOSED);
+        tableVersionService.bump(Table.SESSIONS);
+        List<OutboxService.Event> events = new ArrayList<>(closed);
+        Set<Long> courseIds = new HashSet<>();
+        for (AttendanceSession session : attendanceSessionRepository.findAllById(active)) {
+            events.add(new OutboxService.Event(session.getCourseId(), session.getId(), session));
+            courseIds.add(session.getCourseId());
+        }
+        outboxService.recordAll(OutboxEvent.EventType.SESSION_CLOSED, events);
+        courseIds.forEach(matrixService::evict);
+        return closed;
+    }
+
+    @Transactional(readOnly = true)
+    public List<AttendanceSessionRepository.SessionStart> getActiveSessionStarts() {
+        return attendanceSessionRepository.findStartsByStatus(AttendanceSession.SessionStatus.ACTIVE);
+    }
+
     public void deleteSession(Long id) {
+        Optional<AttendanceSession> session = attendanceSessionRepository.findById(id);
         attendanceSessionRepository.deleteById(id);
+        session.ifPresent(deleted -> matrixService.evict(deleted.getCourseId()));
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new RuntimeException("'from' must not be after 'to'");
+        }
     }
 }
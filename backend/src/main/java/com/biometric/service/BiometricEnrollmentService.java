@@ -5,6 +5,9 @@ import com.biometric.model.User;
 import com.biometric.repository.BiometricEnrollmentRepository;
 import com.biometric.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.Optional;
@@ -15,6 +18,8 @@ public class BiometricEnrollmentService {
     private BiometricEnrollmentRepository biometricEnrollmentRepository;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private StudentDashboardService dashboardService;
 
     @Transactional
     public BiometricEnrollment enrollBiometric(BiometricEnrollment enrollment) {
@@ -37,6 +42,7 @@ public class BiometricEnrollmentService {
             user.setFingerprintId(null);
         }
         userRepository.save(user);
+        dashboardService.evict(user.getId());
 
         return biometricEnrollmentRepository.save(enrollment);
     }
@@ -45,6 +51,11 @@ public class BiometricEnrollmentService {
         return biometricEnrollmentRepository.findByUserId(userId);
     }
 
+    @Retryable(
+        retryFor = OptimisticLockingFailureException.class,
+        maxAttemptsExpression = "${app.concurrency.optimistic-retry.max-attempts:4}",
+        backoff = @Backoff(delayExpression = "${app.concurrency.optimistic-retry.initial-delay-ms:20}",
+            multiplier = 2, maxDelay = 500, random = true))
     @Transactional
     public BiometricEnrollment updateEnrollment(Long userId, BiometricEnrollment enrollmentDetails) {
         User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
@@ -62,6 +73,7 @@ public class BiometricEnrollmentService {
             user.setFingerprintId(null);
         }
         userRepository.save(user);
+        dashboardService.evict(userId);
 
         return biometricEnrollmentRepository.findByUserId(userId).map(enrollment -> {
             enrollment.setFingerprintEnrolled(enrollmentDetails.getFingerprintEnrolled());
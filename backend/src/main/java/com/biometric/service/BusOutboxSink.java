@@ -0,0 +1,22 @@
+package com.biometric.service;
+
+import com.biometric.model.OutboxEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/** Publishes outbox events as application events for in-process {@code @EventListener}s. */
+@Component
+@ConditionalOnProperty(name = "app.outbox.sink", havingValue = "bus", matchIfMissing = true)
+public class BusOutboxSink implements OutboxSink {
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(Long courseId, List<OutboxEvent> events) {
+        events.forEach(eventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,289 @@
+package com.biometric.service;
+
+import com.biometric.config.CheckInJournal;
+import com.biometric.config.TenantContext;
+import com.biometric.model.AttendanceRecord;
+import com.biometric.model.OutboxEvent;
+import com.biometric.service.TableVersionService.Table;
+import com.biometric.util.TenantLocal;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Journal ingest mode for attendance marks. A validated mark is appended to
+ * the local {@link CheckInJournal} and acknowledged once the journal has been
+ * forced to disk; a background drain copies journaled marks into
+ * attendance_records in batches and only then moves the journal checkpoint.
+ * After a crash the drain starts again from the checkpoint, so a mark is
+ * either in the table already (and skipped) or still in the journal. Each
+ * campus journals to its own directory, next to the default one.
+ * <p>
+ * Journal mode is for a single instance. Marks that are acknowledged but not
+ * yet drained are only known to the process that took them, so two replicas
+ * could both acknowledge the same student and session; the unique key then
+ * keeps the first one drained and the other is dropped.
+ */
+@Service
+@ConditionalOnProperty(name = "app.attendance.ingest.mode", havingValue = "journal")
+public class CheckInJournalService {
+    private static final Logger log = LoggerFactory.getLogger(CheckInJournalService.class);
+    private static final int ENTRY_SIZE = 46;
+    private static final String INSERT_SQL = "INSERT INTO attendance_records "
+        + "(student_id, course_id, session_id, timestamp, method, status, verification_score, version, created_at, updated_at) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private CourseAttendanceMatrixService matrixService;
+    @Autowired
+    private StudentDashboardService dashboardService;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private TableVersionService tableVersionService;
+
+    @Value("${app.attendance.ingest.journal-dir:${user.home}/.biometric-attendance/checkin-journal}")
+    private String journalDir;
+    @Value("${app.attendance.ingest.segment-size-mb:64}")
+    private int segmentSizeMb;
+    @Value("${app.attendance.ingest.drain-batch-size:2000}")
+    private int drainBatchSize;
+
+    private final TenantLocal<Ingest> ingest = TenantLocal.withInitial(() -> {
+        try {
+            return open(TenantContext.current());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    });
+
+    // The default journal opens with the application, so a broken one stops startup.
+    @PostConstruct
+    public void open() throws IOException {
+        ingest.set(open(TenantContext.DEFAULT));
+    }
+
+    private Ingest open(String tenant) throws IOException {
+        Path dir = Path.of(TenantContext.DEFAULT.equals(tenant) ? journalDir : journalDir + "-" + tenant);
+        Ingest opened = new Ingest(CheckInJournal.open(dir, segmentSizeMb * 1024 * 1024));
+        CheckInJournal.Position position = opened.journal.getCheckpoint();
+        int replayed = 0;
+        List<CheckInJournal.Entry> entries;
+        while (!(entries = opened.journal.read(position, drainBatchSize)).isEmpty()) {
+            for (CheckInJournal.Entry entry : entries) {
+                AttendanceRecord record = decode(entry.payload());
+                opened.pending.add(new Pair(record.getStudentId(), record.getSessionId()));
+            }
+            replayed += entries.size();
+            position = entries.get(entries.size() - 1).next();
+        }
+        if (replayed > 0) {
+            log.info("Check-in journal at {} holds {} marks not yet stored; draining them now", dir, replayed);
+        }
+        return opened;
+    }
+
+    public boolean isPending(Long studentId, Long sessionId) {
+        return ingest.get().pending.contains(new Pair(studentId, sessionId));
+    }
+
+    /** Journals a validated mark and returns once it is on disk. */
+    public AttendanceRecord submit(AttendanceRecord record) {
+        Ingest current = ingest.get();
+        Set<Pair> pending = current.pending;
+        CheckInJournal journal = current.journal;
+        Pair pair = new Pair(record.getStudentId(), record.getSessionId());
+        if (!pending.add(pair)) {
+            throw new RuntimeException("Attendance already marked for this student in this session");
+        }
+        try {
+            journal.awaitDurable(journal.append(encode(record)));
+        } catch (IOException ex) {
+            pending.remove(pair);
+            throw new UncheckedIOException("Could not journal the attendance mark", ex);
+        } catch (RuntimeException ex) {
+            pending.remove(pair);
+            throw ex;
+        }
+        return record;
+    }
+
+    @Scheduled(fixedDelayString = "${app.attendance.ingest.drain-interval-ms:200}")
+    public void drain() {
+        Ingest current;
+        try {
+            current = ingest.get();
+        } catch (UncheckedIOException ex) {
+            log.error("Could not open the check-in journal of campus {}", TenantContext.current(), ex);
+            return;
+        }
+        CheckInJournal journal = current.journal;
+        try {
+            List<CheckInJournal.Entry> entries;
+            do {
+                entries = journal.read(journal.getCheckpoint(), drainBatchSize);
+                if (entries.isEmpty()) {
+                    return;
+                }
+                List<AttendanceRecord> records = new ArrayList<>(entries.size());
+                for (CheckInJournal.Entry entry : entries) {
+                    records.add(decode(entry.payload()));
+                }
+                transactionTemplate.executeWithoutResult(status -> insertMissing(records));
+                journal.commit(entries.get(entries.size() - 1).next());
+
+                Set<Long> courseIds = new HashSet<>();
+                for (AttendanceRecord record : records) {
+                    current.pending.remove(new Pair(record.getStudentId(), record.getSessionId()));
+                    courseIds.add(record.getCourseId());
+                    dashboardService.evict(record.getStudentId());
+                }
+                courseIds.forEach(matrixService::evict);
+            } while (entries.size() == drainBatchSize);
+        } catch (IOException | RuntimeException ex) {
+            // The checkpoint has not moved, so the same entries are retried next time.
+            log.error("Draining the check-in journal failed ({} bytes waiting)", journal.backlogBytes(), ex);
+        }
+    }
+
+    // Entries between a committed insert and the checkpoint write are replayed
+    // after a crash, so pairs already in the table are skipped instead of failing the batch.
+    private void insertMissing(List<AttendanceRecord> records) {
+        Set<Long> sessionIds = new HashSet<>();
+        for (AttendanceRecord record : records) {
+            sessionIds.add(record.getSessionId());
+        }
+        Map<Pair, Long> stored = storedIds(sessionIds);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<AttendanceRecord> inserted = new ArrayList<>(records.size());
+        List<Object[]> rows = new ArrayList<>(records.size());
+        for (AttendanceRecord record : records) {
+            if (stored.putIfAbsent(new Pair(record.getStudentId(), record.getSessionId()), 0L) != null) {
+                continue;
+            }
+            inserted.add(record);
+            rows.add(new Object[]{
+                record.getStudentId(),
+                record.getCourseId(),
+                record.getSessionId(),
+                Timestamp.valueOf(record.getTimestamp()),
+                record.getMethod().name(),
+                record.getStatus().name(),
+                record.getVerificationScore(),
+                Timestamp.valueOf(now),
+                Timestamp.valueOf(now)
+            });
+        }
+        if (rows.size() < records.size()) {
+            log.info("Skipped {} journaled marks that were already stored", records.size() - rows.size());
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        int[] types = {Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.TIMESTAMP, Types.VARCHAR, Types.VARCHAR,
+            Types.DOUBLE, Types.TIMESTAMP, Types.TIMESTAMP};
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, types);
+        tableVersionService.bump(Table.ATTENDANCE);
+
+        // Batch inserts do not return keys, so read them back for the outbox events.
+        Map<Pair, Long> ids = storedIds(sessionIds);
+        List<OutboxService.Event> events = new ArrayList<>(inserted.size());
+        for (AttendanceRecord record : inserted) {
+            record.setId(ids.get(new Pair(record.getStudentId(), record.getSessionId())));
+            record.setVersion(0L);
+            record.setCreatedAt(now);
+            record.setUpdatedAt(now);
+            events.add(new OutboxService.Event(record.getCourseId(), record.getId(), record));
+        }
+        outboxService.recordAll(OutboxEvent.EventType.RECORD_CREATED, events);
+    }
+
+    private Map<Pair, Long> storedIds(Set<Long> sessionIds) {
+        Map<Pair, Long> ids = new HashMap<>();
+        String placeholders = String.join(",", Collections.nCopies(sessionIds.size(), "?"));
+        jdbcTemplate.query("SELECT id, student_id, session_id FROM attendance_records WHERE session_id IN ("
+                + placeholders + ")",
+            rs -> {
+                ids.put(new Pair(rs.getLong(2), rs.getLong(3)), rs.getLong(1));
+            }, sessionIds.toArray());
+        return ids;
+    }
+
+    @PreDestroy
+    public void close() {
+        ingest.forEach((tenant, opened) -> opened.journal.close());
+    }
+
+    // Enums are stored by ordinal; only append new constants while a journal may hold entries.
+    private static byte[] encode(AttendanceRecord record) {
+        LocalDateTime timestamp = record.getTimestamp();
+        Double score = record.getVerificationScore();
+        return ByteBuffer.allocate(ENTRY_SIZE)
+            .putLong(record.getStudentId())
+            .putLong(record.getCourseId())
+            .putLong(record.getSessionId())
+            .putLong(timestamp.toEpochSecond(ZoneOffset.UTC))
+            .putInt(timestamp.getNano())
+            .put((byte) record.getMethod().ordinal())
+            .put((byte) record.getStatus().ordinal())
+            .putDouble(score != null ? score : Double.NaN)
+            .array();
+    }
+
+    private static AttendanceRecord decode(byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        AttendanceRecord record = new AttendanceRecord();
+        record.setStudentId(buffer.getLong());
+        record.setCourseId(buffer.getLong());
+        record.setSessionId(buffer.getLong());
+        record.setTimestamp(LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC));
+        record.setMethod(AttendanceRecord.MarkingMethod.values()[buffer.get()]);
+        record.setStatus(AttendanceRecord.AttendanceStatus.values()[buffer.get()]);
+        double score = buffer.getDouble();
+        record.setVerificationScore(Double.isNaN(score) ? null : score);
+        return record;
+    }
+
+    private record Pair(Long studentId, Long sessionId) {
+    }
+
+    private static final class Ingest {
+        private final CheckInJournal journal;
+        // (student, session) pairs acknowledged but not drained yet, for the duplicate check. Per process only.
+        private final Set<Pair> pending = ConcurrentHashMap.newKeySet();
+
+        private Ingest(CheckInJournal journal) {
+            this.journal = journal;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.biometric.service;
+
+import com.biometric.config.CacheConfig;
+import com.biometric.dto.CourseAttendanceMatrix;
+import com.biometric.model.AttendanceRecord;
+import com.biometric.model.AttendanceSession;
+import com.biometric.model.CourseEnrollment;
+import com.biometric.repository.AttendanceRecordRoutingRepository;
+import com.biometric.repository.AttendanceSessionRepository;
+import com.biometric.repository.CourseEnrollmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+@Service
+public class CourseAttendanceMatrixService {
+    @Autowired
+    private AttendanceSessionRepository sessionRepository;
+    @Autowired
+    private CourseEnrollmentRepository enrollmentRepository;
+    @Autowired
+    private AttendanceRecordRoutingRepository recordRepository;
+
+    @Value("${app.reports.matrix.parallel-threshold:500}")
+    private int parallelThreshold;
+
+    @Cacheable(cacheNames = CacheConfig.COURSE_ATTENDANCE_MATRIX, key = "#courseId")
+    @Transactional(readOnly = true)
+    public CourseAttendanceMatrix getMatrix(Long courseId) {
+        List<AttendanceSession> sessions = sessionRepository.findByCourseIdOrderByDateAscStartTimeAsc(courseId);
+        List<CourseEnrollment> enrollments = enrollmentRepository.findByCourseId(courseId);
+        List<AttendanceRecord> records = recordRepository.findByCourseId(courseId);
+
+        Map<Long, Integer> columnBySession = new HashMap<>();
+        BitSet closedColumns = new BitSet(sessions.size());
+        List<CourseAttendanceMatrix.SessionColumn> columns = new ArrayList<>(sessions.size());
+        for (int i = 0; i < sessions.size(); i++) {
+            AttendanceSession session = sessions.get(i);
+            columnBySession.put(session.getId(), i);
+            if (session.getStatus() == AttendanceSession.SessionStatus.CLOSED) {
+                closedColumns.set(i);
+            }
+            columns.add(new CourseAttendanceMatrix.SessionColumn(
+                session.getId(), session.getDate(), session.getStartTime(), session.getStatus()));
+        }
+
+        Map<Long, Row> rows = new LinkedHashMap<>();
+        for (CourseEnrollment enrollment : enrollments) {
+            rows.computeIfAbsent(enrollment.getStudentId(), Row::new).enrolled = true;
+        }
+        for (AttendanceRecord record : records) {
+            Integer column = columnBySession.get(record.getSessionId());
+            if (column == null) {
+                continue;
+            }
+            Row row = rows.computeIfAbsent(record.getStudentId(), Row::new);
+            switch (record.getStatus()) {
+                case PRESENT -> row.present.set(column);
+                case LATE -> row.late.set(column);
+                case ABSENT -> row.absent.set(column);
+            }
+        }
+
+        List<Row> rowList = new ArrayList<>(rows.values());
+        CourseAttendanceMatrix.StudentRow[] built = new CourseAttendanceMatrix.StudentRow[rowList.size()];
+        IntStream indexes = IntStream.range(0, rowList.size());
+        if (rowList.size() >= parallelThreshold) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(i -> built[i] = rowList.get(i).build(closedColumns, sessions.size()));
+
+        return new CourseAttendanceMatrix(courseId, columns, List.of(built), LocalDateTime.now());
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.COURSE_ATTENDANCE_MATRIX, key = "#courseId")
+    public void evict(Long courseId) {
+    }
+
+    private static final class Row {
+        private final Long studentId;
+        private final BitSet present = new BitSet();
+        private final BitSet late = new BitSet();
+        private final BitSet absent = new BitSet();
+        private boolean enrolled;
+
+        private Row(Long studentId) {
+            this.studentId = studentId;
+        }
+
+        private CourseAttendanceMatrix.StudentRow build(BitSet closedColumns, int columnCount) {
+            // Closed sessions without any mark count as absent.
+            BitSet unmarkedClosed = (BitSet) closedColumns.clone();
+            unmarkedClosed.andNot(present);
+            unmarkedClosed.andNot(late);
+            absent.or(unmarkedClosed);
+
+            char[] cells = new char[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                cells[i] = present.get(i) ? 'P' : late.get(i) ? 'L' : absent.get(i) ? 'A' : '-';
+            }
+
+            int presentCount = present.cardinality();
+            int lateCount = late.cardinality();
+            int absentCount = absent.cardinality();
+            int counted = presentCount + lateCount + absentCount;
+            double percentage = counted == 0
+                ? 0.0
+                : Math.round((presentCount + lateCount) * 1000.0 / counted) / 10.0;
+            return new CourseAttendanceMatrix.StudentRow(
+                studentId, enrolled, new String(cells), presentCount, lateCount, absentCount, percentage);
+        }
+    }
+}
@@ -1,39 +1,158 @@
 package com.biometric.service;
 
+import com.biometric.dto.BulkEnrollmentRequest;
+import com.biometric.dto.BulkEnrollmentResult;
 import com.biometric.model.CourseEnrollment;
+import com.biometric.model.OutboxEvent;
+import com.biometric.model.User;
 import com.biometric.repository.CourseEnrollmentRepository;
+import com.biometric.repository.CourseRepository;
+import com.biometric.service.TableVersionService.Table;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class CourseEnrollmentService {
     @Autowired
     private CourseEnrollmentRepository enrollmentRepository;
+    @Autowired
+    private CourseAttendanceMatrixService matrixService;
+    @Autowired
+    private StudentDashboardService dashboardService;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private TableVersionService tableVersionService;
+
+    @Value("${app.enrollments.bulk.batch-size:500}")
+    private int bulkBatchSize;
 
+    // Keeps IN lists well below driver and optimizer limits.
+    private static final int ID_CHUNK = 1000;
+
+    @Transactional
     public CourseEnrollment createEnrollment(CourseEnrollment enrollment) {
-        return enrollmentRepository.save(enrollment);
+        CourseEnrollment saved = enrollmentRepository.save(enrollment);
+        outboxService.record(OutboxEvent.EventType.ENROLLMENT_CREATED, saved.getCourseId(), saved.getId(), saved);
+        matrixService.evict(saved.getCourseId());
+        dashboardService.evict(saved.getStudentId());
+        return saved;
     }
 
     public Optional<CourseEnrollment> getEnrollmentById(Long id) {
         return enrollmentRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
     public List<CourseEnrollment> getAllEnrollments() {
         return enrollmentRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public List<CourseEnrollment> getEnrollmentsByStudentId(Long studentId) {
         return enrollmentRepository.findByStudentId(studentId);
     }
 
+    @Transactional(readOnly = true)
     public List<CourseEnrollment> getEnrollmentsByCourseId(Long courseId) {
         return enrollmentRepository.findByCourseId(courseId);
     }
 
+    @Transactional
     public void deleteEnrollment(Long id) {
+        Optional<CourseEnrollment> enrollment = enrollmentRepository.findById(id);
         enrollmentRepository.deleteById(id);
+        enrollment.ifPresent(deleted -> {
+            outboxService.record(OutboxEvent.EventType.ENROLLMENT_DELETED, deleted.getCourseId(), deleted.getId(), deleted);
+            matrixService.evict(deleted.getCourseId());
+            dashboardService.evict(deleted.getStudentId());
+        });
+    }
+
+    /**
+     * Enrolls many students at once. Candidates are classified with one
+     * left-join query per ID chunk (invalid / already enrolled / new) and only
+     * the new pairs are inserted, in JDBC batches.
+     */
+    @Transactional
+    public BulkEnrollmentResult bulkEnroll(BulkEnrollmentRequest request) {
+        Long courseId = request.getCourseId();
+        if (courseId == null || !courseRepository.existsById(courseId)) {
+            throw new RuntimeException("Course not found");
+        }
+
+        List<CourseEnrollmentRepository.StudentEnrollmentState> states = new ArrayList<>();
+        Set<Long> requested = new LinkedHashSet<>();
+        if (request.getStudentIds() != null && !request.getStudentIds().isEmpty()) {
+            for (Long id : request.getStudentIds()) {
+                if (id != null) {
+                    requested.add(id);
+                }
+            }
+            List<Long> ids = new ArrayList<>(requested);
+            for (int i = 0; i < ids.size(); i += ID_CHUNK) {
+                states.addAll(enrollmentRepository.findEnrollmentStates(
+                    courseId, ids.subList(i, Math.min(i + ID_CHUNK, ids.size())), User.UserRole.STUDENT));
+            }
+        } else if (request.getDepartment() != null && !request.getDepartment().isBlank()) {
+            states.addAll(enrollmentRepository.findEnrollmentStatesByDepartment(
+                courseId, request.getDepartment().trim(), User.UserRole.STUDENT));
+        } else {
+            throw new RuntimeException("Either studentIds or department is required");
+        }
+
+        List<Long> added = new ArrayList<>();
+        List<Long> skipped = new ArrayList<>();
+        Set<Long> valid = new LinkedHashSet<>();
+        for (CourseEnrollmentRepository.StudentEnrollmentState state : states) {
+            valid.add(state.getStudentId());
+            if (state.getEnrollmentId() == null) {
+                added.add(state.getStudentId());
+            } else {
+                skipped.add(state.getStudentId());
+            }
+        }
+        List<Long> invalid = new ArrayList<>(requested);
+        invalid.removeAll(valid);
+
+        if (!added.isEmpty()) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate(
+                "insert into course_enrollments (student_id, course_id, enrolled_at, created_at) values (?, ?, ?, ?)",
+                added, bulkBatchSize, (ps, studentId) -> {
+                    ps.setLong(1, studentId);
+                    ps.setLong(2, courseId);
+                    ps.setTimestamp(3, now);
+                    ps.setTimestamp(4, now);
+                });
+            tableVersionService.bump(Table.ENROLLMENTS);
+            Set<Long> addedIds = new HashSet<>(added);
+            List<OutboxService.Event> events = new ArrayList<>(added.size());
+            for (CourseEnrollment enrollment : enrollmentRepository.findByCourseId(courseId)) {
+                if (addedIds.contains(enrollment.getStudentId())) {
+                    events.add(new OutboxService.Event(courseId, enrollment.getId(), enrollment));
+                }
+            }
+            outboxService.recordAll(OutboxEvent.EventType.ENROLLMENT_CREATED, events);
+            matrixService.evict(courseId);
+            added.forEach(dashboardService::evict);
+        }
+        return new BulkEnrollmentResult(courseId, added, skipped, invalid);
     }
 }
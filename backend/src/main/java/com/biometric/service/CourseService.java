@@ -2,20 +2,31 @@ package com.biometric.service;
 
 import com.biometric.model.Course;
 import com.biometric.repository.CourseRepository;
+import com.biometric.util.WeeklySchedule;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 public class CourseService {
     @Autowired
     private CourseRepository courseRepository;
+    @Autowired
+    private TimetableService timetableService;
+    @Autowired
+    private SearchIndexService searchIndexService;
 
     public Course createCourse(Course course) {
-        return courseRepository.save(course);
+        timetableService.checkClashes(course);
+        Course saved = courseRepository.save(course);
+        timetableService.put(saved);
+        searchIndexService.put(saved);
+        return saved;
     }
 
     public Optional<Course> getCourseById(Long id) {
@@ -26,35 +37,51 @@ public class CourseService {
         return courseRepository.findByCode(code);
     }
 
+    @Transactional(readOnly = true)
     public List<Course> getCoursesByLecturerId(Long lecturerId) {
         return courseRepository.findByLecturerId(lecturerId);
     }
 
+    @Transactional(readOnly = true)
     public List<Course> getCoursesByDepartment(String department) {
         return courseRepository.findByDepartment(department);
     }
 
+    @Transactional(readOnly = true)
     public List<Course> getAllCourses() {
         return courseRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Page<Course> getCoursesPage(Pageable pageable) {
         return courseRepository.findAll(pageable);
     }
 
     public Course updateCourse(Long id, Course courseDetails) {
         return courseRepository.findById(id).map(course -> {
+            // Older courses hold free-text schedules the timetable cannot read; they can still
+            // be edited as long as the schedule itself is left alone.
+            boolean scheduleChanged = !Objects.equals(course.getSchedule(), courseDetails.getSchedule());
+            boolean roomChanged = !Objects.equals(course.getRoom(), courseDetails.getRoom());
             course.setName(courseDetails.getName());
             course.setCode(courseDetails.getCode());
             course.setDepartment(courseDetails.getDepartment());
             course.setCredits(courseDetails.getCredits());
             course.setSchedule(courseDetails.getSchedule());
             course.setRoom(courseDetails.getRoom());
-            return courseRepository.save(course);
+            if (scheduleChanged || (roomChanged && WeeklySchedule.isReadable(course.getSchedule()))) {
+                timetableService.checkClashes(course);
+            }
+            Course saved = courseRepository.save(course);
+            timetableService.put(saved);
+            searchIndexService.put(saved);
+            return saved;
         }).orElseThrow(() -> new RuntimeException("Course not found"));
     }
 
     public void deleteCourse(Long id) {
         courseRepository.deleteById(id);
+        timetableService.remove(id);
+        searchIndexService.removeCourse(id);
     }
 }
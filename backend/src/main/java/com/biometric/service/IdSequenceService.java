@@ -0,0 +1,41 @@
+package com.biometric.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Hands out student and staff numbers from a row per sequence in
+ * id_sequences. Incrementing the row locks it until the caller's transaction
+ * ends, so concurrent creates on any replica get distinct numbers; each
+ * campus database keeps its own rows. A sequence without a row is seeded from
+ * the highest number in use, found by the caller.
+ */
+@Service
+public class IdSequenceService {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public long next(String name, LongSupplier highestInUse) {
+        if (increment(name) == 0) {
+            long first = highestInUse.getAsLong() + 1;
+            try {
+                jdbcTemplate.update("insert into id_sequences (name, next_value) values (?, ?)", name, first + 1);
+                return first;
+            } catch (DuplicateKeyException ex) {
+                // Seeded by a concurrent create in the meantime.
+                increment(name);
+            }
+        }
+        return jdbcTemplate.queryForObject("select next_value from id_sequences where name = ?", Long.class, name) - 1;
+    }
+
+    private int increment(String name) {
+        return jdbcTemplate.update("update id_sequences set next_value = next_value + 1 where name = ?", name);
+    }
+}
@@ -0,0 +1,127 @@
+package com.biometric.service;
+
+import com.biometric.config.TenantContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the response of a write per Idempotency-Key so client retries get
+ * the original answer instead of running the write again. A duplicate that
+ * arrives while the first request is still running waits for its result.
+ * Only final answers are kept: if the action throws, or answers 409, 429 or
+ * 5xx, the key is released so a retry runs the write again. Keys live in
+ * memory, bounded by count and TTL.
+ */
+@Service
+public class IdempotencyService {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final Cache<String, Entry> entries;
+    private final long inFlightWaitMs;
+
+    public IdempotencyService(@Value("${app.idempotency.ttl-minutes:10}") long ttlMinutes,
+                              @Value("${app.idempotency.max-keys:10000}") long maxKeys,
+                              @Value("${app.idempotency.in-flight-wait-ms:10000}") long inFlightWaitMs) {
+        this.entries = Caffeine.newBuilder()
+            .maximumSize(maxKeys)
+            .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+            .build();
+        this.inFlightWaitMs = inFlightWaitMs;
+    }
+
+    /**
+     * Runs the action once per (scope, key). The fingerprint identifies the
+     * request payload; reusing a key with a different payload is rejected with 422.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> execute(String key, String scope, String fingerprint,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+
+        String cacheKey = TenantContext.current() + ":" + scope + ":" + key.trim();
+        Entry mine = new Entry(fingerprint, new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(cacheKey, mine);
+        if (existing != null) {
+            if (!Objects.equals(existing.fingerprint(), fingerprint)) {
+                return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
+            }
+            return (ResponseEntity<T>) replay(existing);
+        }
+
+        try {
+            ResponseEntity<T> response = action.get();
+            mine.response().complete(response);
+            if (!isFinal(response)) {
+                entries.asMap().remove(cacheKey, mine);
+            }
+            return response;
+        } catch (RuntimeException ex) {
+            entries.asMap().remove(cacheKey, mine);
+            mine.response().completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Failures that say nothing about the request itself (database or
+     * transaction trouble, a journal that cannot be written, a session that is
+     * not open yet): the action should let them propagate instead of turning
+     * them into a 4xx, so the key is released and a retry runs the write again.
+     */
+    public static boolean isRetryable(RuntimeException ex) {
+        return ex instanceof RetryLaterException
+            || ex instanceof TransientDataAccessException
+            || ex instanceof RecoverableDataAccessException
+            || ex instanceof DataAccessResourceFailureException
+            || ex instanceof TransactionException
+            || ex instanceof UncheckedIOException;
+    }
+
+    private static boolean isFinal(ResponseEntity<?> response) {
+        int status = response.getStatusCode().value();
+        return status != HttpStatus.CONFLICT.value()
+            && status != HttpStatus.TOO_MANY_REQUESTS.value()
+            && status < 500;
+    }
+
+    private ResponseEntity<?> replay(Entry entry) {
+        ResponseEntity<?> original;
+        try {
+            original = entry.response().get(inFlightWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(original.getHeaders());
+        headers.set(REPLAYED_HEADER, "true");
+        return new ResponseEntity<>(original.getBody(), headers, original.getStatusCode());
+    }
+
+    private record Entry(String fingerprint, CompletableFuture<ResponseEntity<?>> response) {
+    }
+}
@@ -0,0 +1,261 @@
+package com.biometric.service;
+
+import com.biometric.config.TenantContext;
+import com.biometric.dto.KioskMessage;
+import com.biometric.model.AttendanceSession;
+import com.biometric.service.TableVersionService.Table;
+import com.biometric.util.TenantLocal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The kiosks connected to this instance over the check-in WebSocket. Session
+ * changes are pushed to them instead of each kiosk polling: every poll
+ * interval one version query per campus (skipped when no kiosk of the campus
+ * is connected) tells whether sessions changed, and only then are the active
+ * sessions read and the difference sent. Changes made on other replicas are
+ * picked up the same way. Kiosks are pinged and dropped when they stop answering.
+ */
+@Service
+@ConditionalOnProperty(name = "app.kiosk.enabled", havingValue = "true", matchIfMissing = true)
+public class KioskChannelService {
+    private static final Logger log = LoggerFactory.getLogger(KioskChannelService.class);
+
+    @Autowired
+    private AttendanceSessionService sessionService;
+    @Autowired
+    private TableVersionService tableVersionService;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.kiosk.window:32}")
+    private int window;
+    @Value("${app.kiosk.ping-seconds:20}")
+    private long pingSeconds;
+
+    private final Map<String, Connection> connections = new ConcurrentHashMap<>();
+    private final TenantLocal<Feed> feeds = TenantLocal.withInitial(Feed::new);
+
+    /** Registers a kiosk of the current campus and greets it with the active sessions. */
+    public Connection open(WebSocketSession session, String deviceId) {
+        Connection connection = new Connection(session, deviceId, TenantContext.current(), objectMapper);
+        Feed feed = feeds.get();
+        // Under the feed lock, so the kiosk gets every change after its snapshot exactly once.
+        synchronized (feed) {
+            if (feed.version == null) {
+                refresh(feed);
+            }
+            connections.put(session.getId(), connection);
+            connection.send(KioskMessage.hello(window, new ArrayList<>(feed.active.values())));
+        }
+        log.info("Kiosk {} connected ({} kiosks on this instance)", deviceId, connections.size());
+        return connection;
+    }
+
+    public Connection get(String sessionId) {
+        return connections.get(sessionId);
+    }
+
+    public void closed(String sessionId) {
+        Connection connection = connections.remove(sessionId);
+        if (connection != null) {
+            log.info("Kiosk {} disconnected", connection.deviceId);
+        }
+    }
+
+    /** Drops the live connections of a kiosk of the current campus, e.g. after it is deleted. */
+    public void disconnect(String deviceId) {
+        String tenant = TenantContext.current();
+        for (Connection connection : connections.values()) {
+            if (connection.tenant.equals(tenant) && connection.deviceId.equals(deviceId)) {
+                connection.close(CloseStatus.POLICY_VIOLATION.withReason("Device removed"));
+            }
+        }
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    @Scheduled(fixedDelayString = "${app.kiosk.session-poll-ms:1000}")
+    public void pushSessionChanges() {
+        List<Connection> kiosks = connectionsOfCurrentTenant();
+        Feed feed = feeds.get();
+        synchronized (feed) {
+            if (kiosks.isEmpty()) {
+                // Nobody to tell; the next kiosk to connect reads the sessions afresh.
+                feed.version = null;
+                feed.active = Map.of();
+                feed.nextStart = null;
+                return;
+            }
+            Map<Long, AttendanceSession> before = feed.active;
+            if (!refresh(feed)) {
+                return;
+            }
+            List<KioskMessage> changes = new ArrayList<>();
+            feed.active.forEach((id, session) -> {
+                AttendanceSession previous = before.get(id);
+                if (previous == null) {
+                    changes.add(KioskMessage.session("session-opened", session));
+                } else if (!Objects.equals(previous.getVersion(), session.getVersion())) {
+                    changes.add(KioskMessage.session("session-updated", session));
+                }
+            });
+            before.forEach((id, session) -> {
+                if (!feed.active.containsKey(id)) {
+                    changes.add(KioskMessage.session("session-closed", Map.of("id", id, "courseId", session.getCourseId())));
+                }
+            });
+            for (Connection kiosk : connectionsOfCurrentTenant()) {
+                changes.forEach(kiosk::send);
+            }
+        }
+    }
+
+    // Pings keep intermediaries from dropping idle connections; a kiosk that
+    // answers neither pings nor anything else for three intervals is closed.
+    @Scheduled(fixedDelayString = "${app.kiosk.ping-seconds:20}", timeUnit = TimeUnit.SECONDS)
+    public void ping() {
+        long staleNanos = Duration.ofSeconds(pingSeconds * 3).toNanos();
+        for (Connection connection : connectionsOfCurrentTenant()) {
+            if (System.nanoTime() - connection.lastSeenNanos > staleNanos) {
+                log.info("Kiosk {} stopped answering; closing its connection", connection.deviceId);
+                connection.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } else {
+                connection.ping();
+            }
+        }
+    }
+
+    // Reads the active sessions when the sessions table changed or a prepared session has
+    // reached its start (which changes no row); false when neither happened.
+    private boolean refresh(Feed feed) {
+        String version = tableVersionService.versionOf(Table.SESSIONS);
+        boolean started = feed.nextStart != null && !LocalDateTime.now().isBefore(feed.nextStart);
+        if (version.equals(feed.version) && !started) {
+            return false;
+        }
+        Map<Long, AttendanceSession> active = new LinkedHashMap<>();
+        for (AttendanceSession session : sessionService.getSessionsByStatus(AttendanceSession.SessionStatus.ACTIVE)) {
+            active.put(session.getId(), session);
+        }
+        feed.version = version;
+        feed.active = active;
+        feed.nextStart = sessionService.getNextPreparedStart().orElse(null);
+        return true;
+    }
+
+    private List<Connection> connectionsOfCurrentTenant() {
+        String tenant = TenantContext.current();
+        List<Connection> matching = new ArrayList<>();
+        for (Connection connection : connections.values()) {
+            if (connection.tenant.equals(tenant)) {
+                matching.add(connection);
+            }
+        }
+        return matching;
+    }
+
+    private static final class Feed {
+        private String version;
+        private Map<Long, AttendanceSession> active = Map.of();
+        private LocalDateTime nextStart;
+    }
+
+    /**
+     * One kiosk connection. Sends go through a concurrent session decorator,
+     * so acks from worker threads and pushes from the scheduler may interleave.
+     */
+    public static final class Connection {
+        private final WebSocketSession session;
+        private final String deviceId;
+        private final String tenant;
+        private final ObjectMapper objectMapper;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile long lastSeenNanos = System.nanoTime();
+
+        private Connection(WebSocketSession session, String deviceId, String tenant, ObjectMapper objectMapper) {
+            this.session = session;
+            this.deviceId = deviceId;
+            this.tenant = tenant;
+            this.objectMapper = objectMapper;
+        }
+
+        public String getDeviceId() {
+            return deviceId;
+        }
+
+        public String getTenant() {
+            return tenant;
+        }
+
+        /** Takes a slot of the kiosk's window; false when the kiosk already has a full window outstanding. */
+        public boolean tryAcquire(int window) {
+            if (inFlight.incrementAndGet() > window) {
+                inFlight.decrementAndGet();
+                return false;
+            }
+            return true;
+        }
+
+        public void release() {
+            inFlight.decrementAndGet();
+        }
+
+        public void seen() {
+            lastSeenNanos = System.nanoTime();
+        }
+
+        public void send(KioskMessage message) {
+            if (!session.isOpen()) {
+                return;
+            }
+            try {
+                session.sendMessage(new TextMessage(objectMapper.writeValueAsString(message)));
+            } catch (IOException | RuntimeException ex) {
+                // A kiosk that cannot keep up exceeds the send limits and is closed by the decorator.
+                log.debug("Could not send to kiosk {}", deviceId, ex);
+            }
+        }
+
+        private void ping() {
+            try {
+                session.sendMessage(new PingMessage(ByteBuffer.allocate(0)));
+            } catch (IOException | RuntimeException ex) {
+                log.debug("Could not ping kiosk {}", deviceId, ex);
+            }
+        }
+
+        private void close(CloseStatus status) {
+            try {
+                session.close(status);
+            } catch (IOException ex) {
+                log.debug("Could not close the connection of kiosk {}", deviceId, ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.biometric.service;
+
+import com.biometric.dto.KioskRegistration;
+import com.biometric.model.KioskDevice;
+import com.biometric.repository.KioskDeviceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Registered kiosks and their tokens. A token is 32 random bytes, handed out
+ * once at registration and stored as its SHA-256 digest.
+ */
+@Service
+public class KioskDeviceService {
+    private static final Pattern DEVICE_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Autowired
+    private KioskDeviceRepository kioskDeviceRepository;
+
+    @Transactional
+    public KioskRegistration register(KioskDevice device) {
+        if (device.getId() == null || !DEVICE_ID.matcher(device.getId()).matches()) {
+            throw new RuntimeException("Device id must be 1-64 letters, digits, dots, dashes or underscores");
+        }
+        if (device.getName() == null || device.getName().isBlank()) {
+            throw new RuntimeException("Name is required");
+        }
+        if (kioskDeviceRepository.existsById(device.getId())) {
+            throw new RuntimeException("Device already registered");
+        }
+        byte[] secret = new byte[32];
+        RANDOM.nextBytes(secret);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+
+        KioskDevice registered = new KioskDevice();
+        registered.setId(device.getId());
+        registered.setName(device.getName().trim());
+        registered.setTokenHash(hash(token));
+        return new KioskRegistration(kioskDeviceRepository.save(registered), token);
+    }
+
+    /** The kiosk when the token is its current one; records the connection time. */
+    @Transactional
+    public Optional<KioskDevice> authenticate(String deviceId, String token) {
+        if (deviceId == null || token == null) {
+            return Optional.empty();
+        }
+        return kioskDeviceRepository.findById(deviceId)
+            .filter(device -> MessageDigest.isEqual(
+                device.getTokenHash().getBytes(StandardCharsets.US_ASCII),
+                hash(token).getBytes(StandardCharsets.US_ASCII)))
+            .map(device -> {
+                device.setLastConnectedAt(LocalDateTime.now());
+                return device;
+            });
+    }
+
+    @Transactional(readOnly = true)
+    public List<KioskDevice> getAllDevices() {
+        return kioskDeviceRepository.findAll();
+    }
+
+    @Transactional
+    public void deleteDevice(String deviceId) {
+        kioskDeviceRepository.deleteById(deviceId);
+    }
+
+    private static String hash(String token) {
+        try {
+            return HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.biometric.service;
+
+import com.biometric.config.CacheConfig;
+import com.biometric.dto.LecturerDashboard;
+import com.biometric.model.AttendanceRecord;
+import com.biometric.model.AttendanceSession;
+import com.biometric.model.Course;
+import com.biometric.model.User;
+import com.biometric.repository.AttendanceRecordRepository;
+import com.biometric.repository.AttendanceSessionRepository;
+import com.biometric.repository.CourseEnrollmentRepository;
+import com.biometric.repository.CourseRepository;
+import com.biometric.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+public class LecturerDashboardService {
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private AttendanceSessionRepository sessionRepository;
+    @Autowired
+    private CourseEnrollmentRepository enrollmentRepository;
+    // Open sessions belong to open terms, so their records are always in the
+    // live table and the archive never has to be consulted here.
+    @Autowired
+    private AttendanceRecordRepository recordRepository;
+
+    @Value("${app.dashboard.lecturer.latest-marks:20}")
+    private int latestMarks;
+
+    @Cacheable(cacheNames = CacheConfig.LECTURER_DASHBOARD, key = "#lecturerId")
+    @Transactional(readOnly = true)
+    public Optional<LecturerDashboard> getDashboard(Long lecturerId) {
+        Optional<User> lecturer = userRepository.findById(lecturerId)
+            .filter(user -> user.getRole() == User.UserRole.LECTURER);
+        if (lecturer.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<Course> courses = courseRepository.findByLecturerId(lecturerId);
+        // Prepared timetable sessions show up once their slot starts.
+        List<AttendanceSession> sessions = sessionRepository
+            .findByLecturerIdAndStatusAndStartedAtLessThanEqualOrderByStartTimeAsc(
+                lecturerId, AttendanceSession.SessionStatus.ACTIVE, LocalDateTime.now());
+        if (sessions.isEmpty()) {
+            return Optional.of(new LecturerDashboard(lecturerId, courses, List.of(), List.of(), LocalDateTime.now()));
+        }
+
+        Set<Long> courseIds = new LinkedHashSet<>();
+        Set<Long> sessionIds = new LinkedHashSet<>();
+        for (AttendanceSession session : sessions) {
+            courseIds.add(session.getCourseId());
+            sessionIds.add(session.getId());
+        }
+
+        Map<Long, Long> enrolledByCourse = new HashMap<>();
+        for (CourseEnrollmentRepository.CourseCount count : enrollmentRepository.countByCourseIdInGroupByCourseId(courseIds)) {
+            enrolledByCourse.put(count.getCourseId(), count.getCount());
+        }
+        Map<Long, Map<AttendanceRecord.AttendanceStatus, Long>> marksBySession = new HashMap<>();
+        for (AttendanceRecordRepository.SessionStatusCount count : recordRepository.countBySessionIdInGroupByStatus(sessionIds)) {
+            marksBySession
+                .computeIfAbsent(count.getSessionId(), id -> new EnumMap<>(AttendanceRecord.AttendanceStatus.class))
+                .put(count.getStatus(), count.getCount());
+        }
+
+        List<LecturerDashboard.LiveSession> live = new ArrayList<>(sessions.size());
+        for (AttendanceSession session : sessions) {
+            Map<AttendanceRecord.AttendanceStatus, Long> marks = marksBySession.getOrDefault(session.getId(), Map.of());
+            live.add(new LecturerDashboard.LiveSession(
+                session,
+                enrolledByCourse.getOrDefault(session.getCourseId(), 0L),
+                marks.getOrDefault(AttendanceRecord.AttendanceStatus.PRESENT, 0L),
+                marks.getOrDefault(AttendanceRecord.AttendanceStatus.LATE, 0L),
+                marks.getOrDefault(AttendanceRecord.AttendanceStatus.ABSENT, 0L)));
+        }
+
+        List<AttendanceRecord> latest = recordRepository.findBySessionIdInOrderByTimestampDesc(
+            sessionIds, Limit.of(latestMarks));
+        return Optional.of(new LecturerDashboard(lecturerId, courses, live, latest, LocalDateTime.now()));
+    }
+}
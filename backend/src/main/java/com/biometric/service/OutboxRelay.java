@@ -0,0 +1,141 @@
+package com.biometric.service;
+
+import com.biometric.config.TenantContext;
+import com.biometric.config.TenantRegistry;
+import com.biometric.model.OutboxEvent;
+import com.biometric.util.TenantLocal;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Publishes outbox events to the configured {@link OutboxSink} in batches,
+ * oldest first. A batch is split by course; when a course's group fails, the
+ * group stays unpublished and that course is left out of the following
+ * batches of the run, so its events never overtake each other while other
+ * courses carry on, however large its backlog. Only
+ * the replica holding the outbox lease publishes; with campuses enabled each
+ * campus database has its own outbox and lease, and events carry the campus.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final String LEASE = "outbox-relay";
+
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private OutboxSink sink;
+    @Autowired
+    private SchedulerLeaseService leaseService;
+    @Autowired(required = false)
+    private TenantRegistry tenantRegistry;
+
+    @Value("${app.outbox.relay.batch-size:500}")
+    private int batchSize;
+    @Value("${app.outbox.relay.lease-seconds:30}")
+    private long leaseSeconds;
+    @Value("${app.outbox.retention-hours:72}")
+    private long retentionHours;
+
+    private final TenantLocal<Lease> lease = TenantLocal.withInitial(Lease::new);
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay.interval-ms:500}")
+    public void relay() {
+        if (!renewLease()) {
+            return;
+        }
+        Set<Long> failedCourses = new HashSet<>();
+        List<OutboxEvent> batch;
+        do {
+            batch = outboxService.nextBatch(batchSize, failedCourses);
+            Map<Long, List<OutboxEvent>> byCourse = new LinkedHashMap<>();
+            for (OutboxEvent event : batch) {
+                if (tenantRegistry != null) {
+                    event.setTenant(TenantContext.current());
+                }
+                byCourse.computeIfAbsent(event.getCourseId(), courseId -> new ArrayList<>()).add(event);
+            }
+            List<Long> published = new ArrayList<>(batch.size());
+            for (Map.Entry<Long, List<OutboxEvent>> group : byCourse.entrySet()) {
+                try {
+                    sink.publish(group.getKey(), group.getValue());
+                    group.getValue().forEach(event -> published.add(event.getId()));
+                } catch (Exception ex) {
+                    failedCourses.add(group.getKey());
+                    // Without the stack trace: a sink that is down fails on every run.
+                    log.warn("Publishing {} outbox events of course {} failed ({}); retrying on the next run",
+                        group.getValue().size(), group.getKey(), ex.toString());
+                }
+            }
+            if (!published.isEmpty()) {
+                outboxService.markPublished(published);
+            } else if (byCourse.size() > 1) {
+                // Every course of the batch failed: the sink is down, so wait for the next run.
+                break;
+            }
+            // A batch of one failing course is skipped; the next batch goes on to the others.
+        } while (batch.size() == batchSize);
+    }
+
+    @Scheduled(cron = "${app.outbox.cleanup-cron:0 15 * * * *}")
+    public void purgePublished() {
+        if (!lease.get().leader) {
+            return;
+        }
+        int deleted = outboxService.purgePublished(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            log.info("Deleted {} outbox events published more than {} hours ago", deleted, retentionHours);
+        }
+    }
+
+    // Renewing on every run would cost an UPDATE per interval, so renew at a third of the lease.
+    private boolean renewLease() {
+        Lease current = lease.get();
+        long now = System.nanoTime();
+        if (current.leader && now - current.renewedAt < Duration.ofSeconds(leaseSeconds).toNanos() / 3) {
+            return true;
+        }
+        try {
+            current.leader = leaseService.tryAcquire(LEASE, Duration.ofSeconds(leaseSeconds));
+        } catch (RuntimeException ex) {
+            log.warn("Could not renew the outbox relay lease", ex);
+            current.leader = false;
+        }
+        current.renewedAt = now;
+        return current.leader;
+    }
+
+    @PreDestroy
+    public void releaseLease() {
+        lease.forEach((tenant, held) -> {
+            if (held.leader) {
+                try {
+                    TenantContext.runAs(tenant, () -> leaseService.release(LEASE));
+                } catch (RuntimeException ex) {
+                    log.debug("Could not release the outbox relay lease", ex);
+                }
+            }
+        });
+    }
+
+    private static final class Lease {
+        private volatile boolean leader;
+        private long renewedAt;
+    }
+}
@@ -0,0 +1,97 @@
+package com.biometric.service;
+
+import com.biometric.model.OutboxEvent;
+import com.biometric.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes attendance change events to the outbox table and serves them to the
+ * relay. Callers of {@link #record} must already be in a transaction, so an
+ * event is stored if and only if its change is.
+ */
+@Service
+public class OutboxService {
+    private static final String INSERT_SQL = "INSERT INTO outbox_events "
+        + "(event_type, course_id, aggregate_id, payload, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(OutboxEvent.EventType type, Long courseId, Long aggregateId, Object payload) {
+        // Write pending changes first so the payload carries the new version and timestamps
+        // (through the repository, so a version conflict surfaces as OptimisticLockingFailureException).
+        outboxRepository.flush();
+        outboxRepository.save(event(type, courseId, aggregateId, payload));
+    }
+
+    /** Records one event per entry with a JDBC batch insert, for changes made in bulk. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(OutboxEvent.EventType type, List<Event> events) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (Event event : events) {
+            rows.add(new Object[]{type.name(), event.courseId(), event.aggregateId(), toJson(type, event.body()), now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows,
+            new int[]{Types.VARCHAR, Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.TIMESTAMP});
+    }
+
+    /** The oldest unpublished events, leaving out the given courses (those the relay is skipping). */
+    // Not read-only: a lagging replica could hand out events that were already published.
+    @Transactional
+    public List<OutboxEvent> nextBatch(int size, Collection<Long> excludedCourses) {
+        if (excludedCourses.isEmpty()) {
+            return outboxRepository.findByPublishedAtIsNullOrderByIdAsc(Limit.of(size));
+        }
+        return outboxRepository.findUnpublishedExcludingCourses(excludedCourses, Limit.of(size));
+    }
+
+    @Transactional
+    public void markPublished(Collection<Long> ids) {
+        outboxRepository.markPublished(ids, LocalDateTime.now());
+    }
+
+    @Transactional
+    public int purgePublished(LocalDateTime before) {
+        return outboxRepository.deletePublishedBefore(before);
+    }
+
+    private OutboxEvent event(OutboxEvent.EventType type, Long courseId, Long aggregateId, Object payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setType(type);
+        event.setCourseId(courseId);
+        event.setAggregateId(aggregateId);
+        event.setPayload(toJson(type, payload));
+        return event;
+    }
+
+    private String toJson(OutboxEvent.EventType type, Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize " + type + " event", ex);
+        }
+    }
+
+    public record Event(Long courseId, Long aggregateId, Object body) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.biometric.service;
+
+import com.biometric.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination of the outbox relay, chosen with app.outbox.sink. Events arrive
+ * grouped by course and in the order they were written; a sink throws to
+ * have the group retried, so consumers must tolerate seeing an event twice
+ * (the event id identifies it).
+ */
+public interface OutboxSink {
+    void publish(Long courseId, List<OutboxEvent> events) throws Exception;
+}
@@ -5,7 +5,7 @@ import com.biometric.model.User;
 import com.biometric.repository.PasswordResetTokenRepository;
 import com.biometric.repository.UserRepository;
 import com.resend.Resend;
-import com.resend.services.emails.model.SendEmailRequest;
+import com.resend.services.emails.model.CreateEmailOptions;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -88,7 +88,7 @@ public class PasswordResetService {
 
         try {
             Resend resend = new Resend(resendApiKey);
-            SendEmailRequest request = SendEmailRequest.builder()
+            CreateEmailOptions request = CreateEmailOptions.builder()
                 .from(fromEmail)
                 .to(to)
                 .subject("Biometric Attendance Password Reset")
@@ -0,0 +1,16 @@
+package com.biometric.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A rejection that depends on timing rather than on the request, so the same
+ * request may succeed when sent again later (for example a mark for a session
+ * that has not started yet). Idempotent writes do not keep it under their key.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class RetryLaterException extends RuntimeException {
+    public RetryLaterException(String message) {
+        super(message);
+    }
+}
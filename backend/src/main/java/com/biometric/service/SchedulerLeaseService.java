@@ -0,0 +1,57 @@
+package com.biometric.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Leader election for jobs that must run on one replica only. Each job owns a
+ * row in scheduler_leases; a replica holds the lease while it keeps renewing
+ * it and another replica takes over once it lapses. Both steps are the same
+ * conditional UPDATE, so no extra lock service is needed.
+ */
+@Service
+public class SchedulerLeaseService {
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName()
+        + "/" + UUID.randomUUID().toString().substring(0, 8);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /** Acquires or renews the lease; true while this replica is the leader. */
+    public boolean tryAcquire(String name, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp expiresAt = Timestamp.valueOf(now.plus(lease));
+        int updated = jdbcTemplate.update(
+            "update scheduler_leases set owner = ?, expires_at = ? "
+                + "where name = ? and (owner = ? or owner is null or expires_at < ?)",
+            owner, expiresAt, name, owner, Timestamp.valueOf(now));
+        if (updated == 1) {
+            return true;
+        }
+        // First use of this lease name: whoever inserts the row holds it.
+        try {
+            return jdbcTemplate.update("insert into scheduler_leases (name, owner, expires_at) values (?, ?, ?)",
+                name, owner, expiresAt) == 1;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    /** Gives the lease up so another replica can take over without waiting for it to expire. */
+    public void release(String name) {
+        jdbcTemplate.update("update scheduler_leases set owner = null, expires_at = null where name = ? and owner = ?",
+            name, owner);
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+}
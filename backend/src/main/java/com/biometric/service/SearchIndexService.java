@@ -0,0 +1,174 @@
+package com.biometric.service;
+
+import com.biometric.dto.CourseSearchResult;
+import com.biometric.dto.UserSearchResult;
+import com.biometric.model.Course;
+import com.biometric.model.User;
+import com.biometric.repository.CourseRepository;
+import com.biometric.repository.UserRepository;
+import com.biometric.util.NgramIndex;
+import com.biometric.util.TenantLocal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * In-memory n-gram indexes behind GET /users/search and GET /courses/search.
+ * Users match on name, email, student id and staff id; courses on code and
+ * name. The indexes are built from the database at startup, kept current by
+ * UserService and CourseService writes once their transaction commits, and
+ * rebuilt periodically to pick up changes made on other replicas. Each
+ * campus has its own indexes, built on its first search or write.
+ */
+@Service
+public class SearchIndexService {
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexService.class);
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Value("${app.search.max-results:100}")
+    private int maxResults;
+
+    private final TenantLocal<State> states = TenantLocal.withInitial(() -> new State(load()));
+
+    // Loads outside the lock so writes are not held up; writes that land meanwhile are
+    // replayed onto the new indexes before they replace the old ones.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.search.refresh-minutes:10}",
+        initialDelayString = "${app.search.refresh-minutes:10}", timeUnit = TimeUnit.MINUTES)
+    public void rebuild() {
+        long started = System.nanoTime();
+        State state = states.get();
+        synchronized (this) {
+            // Nothing to do when this call just built the campus's first indexes, or another rebuild is running.
+            if (state.builtAt >= started || state.replay != null) {
+                return;
+            }
+            state.replay = new ArrayList<>();
+        }
+        Indexes rebuilt;
+        try {
+            rebuilt = load();
+        } catch (RuntimeException ex) {
+            synchronized (this) {
+                state.replay = null;
+            }
+            throw ex;
+        }
+        synchronized (this) {
+            for (Consumer<Indexes> write : state.replay) {
+                write.accept(rebuilt);
+            }
+            state.replay = null;
+            state.indexes = rebuilt;
+            state.builtAt = System.nanoTime();
+        }
+        log.debug("Search indexes rebuilt with {} users and {} courses in {} ms", rebuilt.users().size(),
+            rebuilt.courses().size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    public void put(User user) {
+        UserSearchResult result = UserSearchResult.of(user);
+        afterCommit(indexes -> indexes.users().put(result));
+    }
+
+    public void removeUser(Long id) {
+        afterCommit(indexes -> indexes.users().remove(id));
+    }
+
+    public void put(Course course) {
+        CourseSearchResult result = CourseSearchResult.of(course);
+        afterCommit(indexes -> indexes.courses().put(result));
+    }
+
+    public void removeCourse(Long id) {
+        afterCommit(indexes -> indexes.courses().remove(id));
+    }
+
+    public List<UserSearchResult> searchUsers(String query, User.UserRole role, String department, int limit) {
+        return states.get().indexes.users().search(query,
+            user -> (role == null || user.getRole() == role)
+                && (department == null || department.equalsIgnoreCase(user.getDepartment())),
+            Comparator.comparing(UserSearchResult::getName, String.CASE_INSENSITIVE_ORDER),
+            Math.min(limit, maxResults));
+    }
+
+    public List<CourseSearchResult> searchCourses(String query, String department, int limit) {
+        return states.get().indexes.courses().search(query,
+            course -> department == null || department.equalsIgnoreCase(course.getDepartment()),
+            Comparator.comparing(CourseSearchResult::getCode, String.CASE_INSENSITIVE_ORDER),
+            Math.min(limit, maxResults));
+    }
+
+    // A write made inside a transaction is indexed once it commits, so searches never
+    // return rows that are rolled back or not visible to other requests yet.
+    private void afterCommit(Consumer<Indexes> write) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(write);
+                }
+            });
+        } else {
+            apply(write);
+        }
+    }
+
+    private void apply(Consumer<Indexes> write) {
+        State state = states.get();
+        synchronized (this) {
+            write.accept(state.indexes);
+            if (state.replay != null) {
+                state.replay.add(write);
+            }
+        }
+    }
+
+    private Indexes load() {
+        return new Indexes(userIndex(userRepository.findAllSearchResults()),
+            courseIndex(courseRepository.findAllSearchResults()));
+    }
+
+    private static NgramIndex<UserSearchResult> userIndex(List<UserSearchResult> values) {
+        return NgramIndex.of(values, UserSearchResult::getId,
+            user -> Arrays.asList(user.getName(), user.getEmail(), user.getStudentId(), user.getStaffId()));
+    }
+
+    private static NgramIndex<CourseSearchResult> courseIndex(List<CourseSearchResult> values) {
+        return NgramIndex.of(values, CourseSearchResult::getId,
+            course -> Arrays.asList(course.getCode(), course.getName()));
+    }
+
+    private record Indexes(NgramIndex<UserSearchResult> users, NgramIndex<CourseSearchResult> courses) {
+    }
+
+    // Writes are serialized on the service; searches read the current indexes without locking.
+    private static final class State {
+        private volatile Indexes indexes;
+        private long builtAt = System.nanoTime();
+        // Writes made while a rebuild is loading; null when none is running.
+        private List<Consumer<Indexes>> replay;
+
+        private State(Indexes indexes) {
+            this.indexes = indexes;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.biometric.service;
+
+import com.biometric.config.HashedWheelTimer;
+import com.biometric.config.TenantContext;
+import com.biometric.repository.AttendanceSessionRepository;
+import com.biometric.util.TenantLocal;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closes sessions that stay ACTIVE past the maximum duration. Every active
+ * session gets a timer on a hashed wheel, armed from the database on startup
+ * and on each sync (so sessions started on other replicas are picked up too);
+ * expired sessions are closed in batches with a single UPDATE. Only the
+ * replica holding the scheduler lease keeps the wheel and closes sessions.
+ * Each campus has its own wheel and lease.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sessions.auto-close.enabled", havingValue = "true", matchIfMissing = true)
+public class SessionAutoCloseJob {
+    private static final Logger log = LoggerFactory.getLogger(SessionAutoCloseJob.class);
+    private static final String LEASE = "session-auto-close";
+
+    @Autowired
+    private AttendanceSessionService sessionService;
+    @Autowired
+    private SchedulerLeaseService leaseService;
+
+    @Value("${app.sessions.auto-close.max-duration-minutes:180}")
+    private long maxDurationMinutes;
+    @Value("${app.sessions.auto-close.batch-size:500}")
+    private int batchSize;
+    @Value("${app.sessions.auto-close.lease-seconds:30}")
+    private long leaseSeconds;
+
+    private final TenantLocal<State> state;
+
+    public SessionAutoCloseJob(@Value("${app.sessions.auto-close.tick-ms:1000}") long tickMs,
+                               @Value("${app.sessions.auto-close.wheel-size:512}") int wheelSize) {
+        this.state = TenantLocal.withInitial(() -> new State(new HashedWheelTimer<>(Duration.ofMillis(tickMs), wheelSize)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        sync();
+    }
+
+    // Renews the lease and arms timers for active sessions not on the wheel yet.
+    @Scheduled(fixedDelayString = "${app.sessions.auto-close.sync-seconds:10}",
+        initialDelayString = "${app.sessions.auto-close.sync-seconds:10}", timeUnit = TimeUnit.SECONDS)
+    public void sync() {
+        State state = this.state.get();
+        boolean wasLeader = state.leader;
+        try {
+            state.leader = leaseService.tryAcquire(LEASE, Duration.ofSeconds(leaseSeconds));
+        } catch (RuntimeException ex) {
+            log.warn("Could not renew the session auto-close lease", ex);
+            state.leader = false;
+        }
+        if (!state.leader) {
+            if (wasLeader) {
+                log.info("Lost the session auto-close lease; another replica closes expired sessions now");
+            }
+            state.armed.values().forEach(HashedWheelTimer.Timeout::cancel);
+            state.armed.clear();
+            return;
+        }
+        if (!wasLeader) {
+            log.info("Holding the session auto-close lease as {}", leaseService.getOwner());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int added = 0;
+        for (AttendanceSessionRepository.SessionStart start : sessionService.getActiveSessionStarts()) {
+            if (state.armed.containsKey(start.getId())) {
+                continue;
+            }
+            LocalDateTime startedAt = start.getStartedAt() != null
+                ? start.getStartedAt()
+                : LocalDateTime.of(start.getDate(), start.getStartTime());
+            state.armed.put(start.getId(), state.wheel.schedule(start.getId(),
+                Duration.between(now, startedAt.plusMinutes(maxDurationMinutes))));
+            added++;
+        }
+        if (added > 0) {
+            log.debug("Armed auto-close timers for {} sessions ({} on the wheel)", added, state.armed.size());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.sessions.auto-close.tick-ms:1000}")
+    public void tick() {
+        State state = this.state.get();
+        List<Long> expired = state.wheel.advance();
+        if (expired.isEmpty() || !state.leader) {
+            return;
+        }
+        // A session closed by hand or on another replica still fires here; the
+        // UPDATE only matches rows that are ACTIVE, so that is a no-op.
+        expired.removeIf(id -> state.armed.remove(id) == null);
+        for (int i = 0; i < expired.size(); i += batchSize) {
+            List<Long> batch = expired.subList(i, Math.min(i + batchSize, expired.size()));
+            try {
+                int closed = sessionService.closeSessions(batch);
+                if (closed > 0) {
+                    log.info("Auto-closed {} sessions after {} minutes", closed, maxDurationMinutes);
+                }
+            } catch (RuntimeException ex) {
+                // Still ACTIVE, so the next sync arms them again.
+                log.error("Auto-closing {} sessions failed", batch.size(), ex);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void releaseLease() {
+        state.forEach((tenant, held) -> {
+            if (held.leader) {
+                try {
+                    TenantContext.runAs(tenant, () -> leaseService.release(LEASE));
+                } catch (RuntimeException ex) {
+                    log.debug("Could not release the session auto-close lease", ex);
+                }
+            }
+        });
+    }
+
+    private static final class State {
+        private final HashedWheelTimer<Long> wheel;
+        private final Map<Long, HashedWheelTimer.Timeout<Long>> armed = new ConcurrentHashMap<>();
+        private volatile boolean leader;
+
+        private State(HashedWheelTimer<Long> wheel) {
+            this.wheel = wheel;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.biometric.service;
+
+import com.biometric.config.CacheConfig;
+import com.biometric.dto.StudentDashboard;
+import com.biometric.model.AttendanceRecord;
+import com.biometric.model.AttendanceSession;
+import com.biometric.model.BiometricEnrollment;
+import com.biometric.model.Course;
+import com.biometric.model.CourseEnrollment;
+import com.biometric.model.User;
+import com.biometric.repository.AttendanceRecordRoutingRepository;
+import com.biometric.repository.AttendanceSessionRepository;
+import com.biometric.repository.BiometricEnrollmentRepository;
+import com.biometric.repository.CourseEnrollmentRepository;
+import com.biometric.repository.CourseRepository;
+import com.biometric.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+public class StudentDashboardService {
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CourseEnrollmentRepository enrollmentRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private AttendanceSessionRepository sessionRepository;
+    @Autowired
+    private AttendanceRecordRoutingRepository recordRepository;
+    @Autowired
+    private BiometricEnrollmentRepository biometricEnrollmentRepository;
+
+    @Cacheable(cacheNames = CacheConfig.STUDENT_DASHBOARD, key = "#studentId")
+    @Transactional(readOnly = true)
+    public Optional<StudentDashboard> getDashboard(Long studentId) {
+        Optional<User> student = userRepository.findById(studentId)
+            .filter(user -> user.getRole() == User.UserRole.STUDENT);
+        if (student.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Set<Long> courseIds = new LinkedHashSet<>();
+        for (CourseEnrollment enrollment : enrollmentRepository.findByStudentId(studentId)) {
+            courseIds.add(enrollment.getCourseId());
+        }
+
+        List<Course> courses = courseIds.isEmpty() ? List.of() : courseRepository.findAllById(courseIds);
+        List<AttendanceSession> sessions = courseIds.isEmpty() ? List.of() : sessionRepository.findByCourseIdIn(courseIds);
+        List<AttendanceRecord> records = recordRepository.findByStudentId(studentId);
+
+        Map<Long, Summary> summaries = new HashMap<>();
+        for (Long courseId : courseIds) {
+            summaries.put(courseId, new Summary());
+        }
+        Map<Long, AttendanceRecord.AttendanceStatus> marks = new HashMap<>();
+        for (AttendanceRecord record : records) {
+            marks.put(record.getSessionId(), record.getStatus());
+        }
+
+        List<AttendanceSession> activeSessions = new ArrayList<>();
+        for (AttendanceSession session : sessions) {
+            if (session.getStatus() == AttendanceSession.SessionStatus.ACTIVE) {
+                activeSessions.add(session);
+            }
+            Summary summary = summaries.get(session.getCourseId());
+            summary.total++;
+            AttendanceRecord.AttendanceStatus mark = marks.get(session.getId());
+            if (mark == null) {
+                // Closed sessions without any mark count as absent.
+                if (session.getStatus() == AttendanceSession.SessionStatus.CLOSED) {
+                    summary.absent++;
+                }
+                continue;
+            }
+            switch (mark) {
+                case PRESENT -> summary.present++;
+                case LATE -> summary.late++;
+                case ABSENT -> summary.absent++;
+            }
+        }
+        activeSessions.sort(Comparator.comparing(AttendanceSession::getStartTime,
+            Comparator.nullsLast(Comparator.naturalOrder())));
+
+        List<StudentDashboard.CourseSummary> attendance = new ArrayList<>(courseIds.size());
+        for (Long courseId : courseIds) {
+            attendance.add(summaries.get(courseId).build(courseId));
+        }
+
+        Optional<BiometricEnrollment> biometric = biometricEnrollmentRepository.findByUserId(studentId);
+        return Optional.of(new StudentDashboard(
+            studentId,
+            courses,
+            activeSessions,
+            biometric.map(b -> Boolean.TRUE.equals(b.getFingerprintEnrolled())).orElse(false),
+            biometric.map(b -> Boolean.TRUE.equals(b.getFaceEnrolled())).orElse(false),
+            attendance,
+            LocalDateTime.now()));
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.STUDENT_DASHBOARD, key = "#studentId")
+    public void evict(Long studentId) {
+    }
+
+    private static final class Summary {
+        private int total;
+        private int present;
+        private int late;
+        private int absent;
+
+        private StudentDashboard.CourseSummary build(Long courseId) {
+            int counted = present + late + absent;
+            double percentage = counted == 0
+                ? 0.0
+                : Math.round((present + late) * 1000.0 / counted) / 10.0;
+            return new StudentDashboard.CourseSummary(courseId, total, present, late, absent, percentage);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.biometric.service;
+
+import com.biometric.model.ArchivedAttendanceRecord;
+import com.biometric.model.AttendanceRecord;
+import com.biometric.model.AttendanceSession;
+import com.biometric.model.Course;
+import com.biometric.model.CourseEnrollment;
+import com.biometric.model.User;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Change counters for whole tables, used as ETags of the polled list
+ * endpoints. Every committed insert, update or delete bumps its table's row in
+ * table_versions in the same transaction: entity writes through
+ * {@link EntityWriteListener}, bulk JPQL and JDBC writes through
+ * {@link #bump}. Bumps run just before commit, so the counter row is only
+ * locked for the commit itself.
+ */
+@Service
+public class TableVersionService {
+    static final String BUMP_SQL = "update table_versions set version = version + 1 where name = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public enum Table {
+        USERS(User.class),
+        COURSES(Course.class),
+        SESSIONS(AttendanceSession.class),
+        ENROLLMENTS(CourseEnrollment.class),
+        ATTENDANCE(AttendanceRecord.class),
+        ATTENDANCE_ARCHIVE(ArchivedAttendanceRecord.class);
+
+        private final Class<?> entity;
+
+        Table(Class<?> entity) {
+            this.entity = entity;
+        }
+
+        String key() {
+            return name().toLowerCase();
+        }
+
+        static Table of(Class<?> entity) {
+            for (Table table : values()) {
+                if (table.entity == entity) {
+                    return table;
+                }
+            }
+            return null;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public String versionOf(Table... tables) {
+        Map<String, Long> versions = new HashMap<>();
+        jdbcTemplate.query("select name, version from table_versions",
+            row -> { versions.put(row.getString(1), row.getLong(2)); });
+        StringBuilder tag = new StringBuilder();
+        for (Table table : tables) {
+            if (!tag.isEmpty()) {
+                tag.append('.');
+            }
+            tag.append(table.key()).append('-').append(versions.getOrDefault(table.key(), 0L));
+        }
+        return tag.toString();
+    }
+
+    /**
+     * For writes Hibernate does not see as entity changes: bulk JPQL updates
+     * and deletes, and JDBC batches. Inside a transaction the bump waits for
+     * its commit and is dropped on rollback.
+     */
+    public void bump(Table... tables) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment(tables);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                increment(tables);
+            }
+        });
+    }
+
+    private void increment(Table... tables) {
+        for (Table table : tables) {
+            jdbcTemplate.update(BUMP_SQL, table.key());
+        }
+    }
+
+    /**
+     * Registered with Hibernate at bootstrap (see TableVersionConfig), so it is
+     * active even when this service is created lazily. Hibernate flushes before
+     * running its before-completion processes, so every write of the
+     * transaction is seen before the bump.
+     */
+    public static class EntityWriteListener
+            implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+        private final Map<SessionImplementor, Set<Table>> pending = new ConcurrentHashMap<>();
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            touched(event.getSession(), event.getPersister());
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            touched(event.getSession(), event.getPersister());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            touched(event.getSession(), event.getPersister());
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return false;
+        }
+
+        private void touched(EventSource session, EntityPersister persister) {
+            Table table = Table.of(persister.getMappedClass());
+            if (table == null) {
+                return;
+            }
+            pending.computeIfAbsent(session, key -> {
+                session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) this::bump);
+                session.getActionQueue().registerProcess(
+                    (AfterTransactionCompletionProcess) (success, completed) -> pending.remove(completed));
+                return EnumSet.noneOf(Table.class);
+            }).add(table);
+        }
+
+        private void bump(SessionImplementor session) {
+            Set<Table> tables = pending.remove(session);
+            if (tables == null) {
+                return;
+            }
+            // Plain JDBC: a native query would make Hibernate drop the whole second-level cache.
+            session.doWork(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(BUMP_SQL)) {
+                    for (Table table : tables) {
+                        statement.setString(1, table.key());
+                        statement.executeUpdate();
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.biometric.service;
+
+import com.biometric.model.Course;
+import com.biometric.repository.CourseRepository;
+import com.biometric.util.IntervalTree;
+import com.biometric.util.TenantLocal;
+import com.biometric.util.WeeklySchedule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Weekly timetable built from Course.schedule. Slots are kept in interval
+ * trees per (room, weekday) and (lecturer, weekday), so a course's clashes are
+ * a handful of tree lookups instead of a scan over every course. The index is
+ * replaced as a whole on each change and rebuilt from the database on startup
+ * and periodically, which also picks up courses changed on other replicas.
+ * Each campus has its own index, built on first use.
+ */
+@Service
+public class TimetableService {
+    private static final Logger log = LoggerFactory.getLogger(TimetableService.class);
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private final TenantLocal<Index> index = TenantLocal.withInitial(this::load);
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.timetable.refresh-minutes:5}",
+        initialDelayString = "${app.timetable.refresh-minutes:5}", timeUnit = TimeUnit.MINUTES)
+    public synchronized void rebuild() {
+        index.set(load());
+    }
+
+    private Index load() {
+        Map<Long, List<CourseSlot>> slotsByCourse = new HashMap<>();
+        for (Course course : courseRepository.findAll()) {
+            try {
+                slotsByCourse.put(course.getId(), slotsOf(course));
+            } catch (IllegalArgumentException ex) {
+                log.warn("Course {} has a schedule the timetable cannot read: {}", course.getCode(), ex.getMessage());
+            }
+        }
+        return Index.build(slotsByCourse);
+    }
+
+    /**
+     * Parses the course's schedule and rejects it when a slot overlaps another
+     * course in the same room or taught by the same lecturer.
+     */
+    public void checkClashes(Course course) {
+        List<String> clashes = new ArrayList<>();
+        Index current = index.get();
+        for (CourseSlot slot : slotsOf(course)) {
+            List<IntervalTree.Interval<CourseSlot>> found = new ArrayList<>();
+            if (slot.room() != null) {
+                found.addAll(current.byRoom.getOrDefault(new TreeKey(slot.room(), slot.slot().day()), IntervalTree.empty())
+                    .overlapping(slot.slot().startMinute(), slot.slot().endMinute()));
+            }
+            found.addAll(current.byLecturer.getOrDefault(new TreeKey(String.valueOf(slot.lecturerId()), slot.slot().day()),
+                IntervalTree.empty()).overlapping(slot.slot().startMinute(), slot.slot().endMinute()));
+            for (IntervalTree.Interval<CourseSlot> interval : found) {
+                CourseSlot other = interval.value();
+                if (other.courseId().equals(course.getId())) {
+                    continue;
+                }
+                String reason = slot.room() != null && slot.room().equals(other.room()) ? "room " + other.room() : "lecturer";
+                clashes.add(slot.slot() + " clashes with course " + other.courseId() + " (" + reason + " " + other.slot() + ")");
+            }
+        }
+        if (!clashes.isEmpty()) {
+            throw new RuntimeException("Schedule clash: " + String.join("; ", clashes));
+        }
+    }
+
+    public synchronized void put(Course course) {
+        Map<Long, List<CourseSlot>> slotsByCourse = new HashMap<>(index.get().slotsByCourse);
+        try {
+            slotsByCourse.put(course.getId(), slotsOf(course));
+        } catch (IllegalArgumentException ex) {
+            slotsByCourse.remove(course.getId());
+        }
+        index.set(Index.build(slotsByCourse));
+    }
+
+    public synchronized void remove(Long courseId) {
+        Map<Long, List<CourseSlot>> slotsByCourse = new HashMap<>(index.get().slotsByCourse);
+        slotsByCourse.remove(courseId);
+        index.set(Index.build(slotsByCourse));
+    }
+
+    public List<CourseSlot> slotsOn(DayOfWeek day) {
+        List<CourseSlot> slots = new ArrayList<>();
+        for (List<CourseSlot> courseSlots : index.get().slotsByCourse.values()) {
+            for (CourseSlot slot : courseSlots) {
+                if (slot.slot().day() == day) {
+                    slots.add(slot);
+                }
+            }
+        }
+        return slots;
+    }
+
+    public List<CourseSlot> slotsOf(Course course) {
+        String room = course.getRoom() == null || course.getRoom().isBlank()
+            ? null
+            : course.getRoom().trim().toUpperCase(Locale.ROOT);
+        List<CourseSlot> slots = new ArrayList<>();
+        for (WeeklySchedule.Slot slot : WeeklySchedule.parse(course.getSchedule())) {
+            slots.add(new CourseSlot(course.getId(), course.getLecturerId(), room, slot));
+        }
+        return slots;
+    }
+
+    public record CourseSlot(Long courseId, Long lecturerId, String room, WeeklySchedule.Slot slot) {
+    }
+
+    private record TreeKey(String owner, DayOfWeek day) {
+    }
+
+    // Immutable snapshot; readers never see a half-applied change. Course
+    // writes are rare, so each one simply builds a new snapshot.
+    private static final class Index {
+        private final Map<TreeKey, IntervalTree<CourseSlot>> byRoom;
+        private final Map<TreeKey, IntervalTree<CourseSlot>> byLecturer;
+        private final Map<Long, List<CourseSlot>> slotsByCourse;
+
+        private Index(Map<TreeKey, IntervalTree<CourseSlot>> byRoom, Map<TreeKey, IntervalTree<CourseSlot>> byLecturer,
+                      Map<Long, List<CourseSlot>> slotsByCourse) {
+            this.byRoom = byRoom;
+            this.byLecturer = byLecturer;
+            this.slotsByCourse = slotsByCourse;
+        }
+
+        private static Index build(Map<Long, List<CourseSlot>> slotsByCourse) {
+            Map<TreeKey, List<IntervalTree.Interval<CourseSlot>>> rooms = new HashMap<>();
+            Map<TreeKey, List<IntervalTree.Interval<CourseSlot>>> lecturers = new HashMap<>();
+            for (List<CourseSlot> slots : slotsByCourse.values()) {
+                for (CourseSlot slot : slots) {
+                    IntervalTree.Interval<CourseSlot> interval =
+                        new IntervalTree.Interval<>(slot.slot().startMinute(), slot.slot().endMinute(), slot);
+                    if (slot.room() != null) {
+                        rooms.computeIfAbsent(new TreeKey(slot.room(), slot.slot().day()), key -> new ArrayList<>())
+                            .add(interval);
+                    }
+                    lecturers.computeIfAbsent(new TreeKey(String.valueOf(slot.lecturerId()), slot.slot().day()),
+                        key -> new ArrayList<>()).add(interval);
+                }
+            }
+            return new Index(trees(rooms), trees(lecturers), Map.copyOf(slotsByCourse));
+        }
+
+        private static Map<TreeKey, IntervalTree<CourseSlot>> trees(
+                Map<TreeKey, List<IntervalTree.Interval<CourseSlot>>> intervals) {
+            Map<TreeKey, IntervalTree<CourseSlot>> trees = new HashMap<>();
+            intervals.forEach((key, list) -> trees.put(key, IntervalTree.of(list)));
+            return trees;
+        }
+    }
+}
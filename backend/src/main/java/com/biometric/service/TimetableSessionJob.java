@@ -0,0 +1,75 @@
+package com.biometric.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prepares sessions for today's timetable slots lead-minutes before they
+ * start, so lecturers do not have to open them by hand and the top of the hour
+ * no longer brings a burst of session creation. Runs on the replica holding
+ * the timetable lease only.
+ */
+@Component
+@ConditionalOnProperty(name = "app.timetable.auto-open.enabled", havingValue = "true", matchIfMissing = true)
+public class TimetableSessionJob {
+    private static final Logger log = LoggerFactory.getLogger(TimetableSessionJob.class);
+    private static final String LEASE = "timetable-auto-open";
+
+    @Autowired
+    private TimetableService timetableService;
+    @Autowired
+    private AttendanceSessionService sessionService;
+    @Autowired
+    private SchedulerLeaseService leaseService;
+
+    @Value("${app.timetable.auto-open.lead-minutes:10}")
+    private long leadMinutes;
+    @Value("${app.timetable.auto-open.check-seconds:60}")
+    private long checkSeconds;
+
+    @Scheduled(fixedDelayString = "${app.timetable.auto-open.check-seconds:60}",
+        initialDelayString = "${app.timetable.auto-open.check-seconds:60}", timeUnit = TimeUnit.SECONDS)
+    public void openUpcomingSessions() {
+        try {
+            if (!leaseService.tryAcquire(LEASE, Duration.ofSeconds(checkSeconds * 3))) {
+                return;
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not renew the timetable lease", ex);
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        int opened = 0;
+        for (TimetableService.CourseSlot slot : timetableService.slotsOn(today.getDayOfWeek())) {
+            LocalDateTime start = today.atTime(slot.slot().start());
+            LocalDateTime end = today.atTime(slot.slot().end());
+            // Also catches up on slots that are already running, e.g. after a restart.
+            if (now.isBefore(start.minusMinutes(leadMinutes)) || !now.isBefore(end)) {
+                continue;
+            }
+            try {
+                if (sessionService.openScheduledSession(slot.courseId(), slot.lecturerId(), start, end, leadMinutes)
+                        .isPresent()) {
+                    opened++;
+                }
+            } catch (RuntimeException ex) {
+                log.error("Could not prepare the session of course {} at {}", slot.courseId(), start, ex);
+            }
+        }
+        if (opened > 0) {
+            log.info("Prepared {} timetable sessions", opened);
+        }
+    }
+}
@@ -18,6 +18,10 @@ public class UserService {
     private UserRepository userRepository;
     @Autowired
     private BCryptPasswordEncoder passwordEncoder;
+    @Autowired
+    private SearchIndexService searchIndexService;
+    @Autowired
+    private IdSequenceService idSequenceService;
 
     @Transactional
     public User createUser(User user) {
@@ -43,7 +47,9 @@ public class UserService {
 
         normalizeRoleSpecificIds(user);
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        searchIndexService.put(saved);
+        return saved;
     }
 
     public Optional<User> getUserById(Long id) {
@@ -54,6 +60,7 @@ public class UserService {
         return userRepository.findByEmail(email);
     }
 
+    @Transactional(readOnly = true)
     public List<User> getUsersByRole(User.UserRole role) {
         return userRepository.findByRole(role);
     }
@@ -67,22 +74,32 @@ public class UserService {
             if (isBlank(userDetails.getEmail())) {
                 throw new RuntimeException("Email is required");
             }
+            // Check before changing the user: a query on a dirty user would flush it, and the
+            // commit would then write it a second time. Unchanged values need no lookup.
             String normalizedEmail = userDetails.getEmail().trim().toLowerCase();
-            userRepository.findByEmail(normalizedEmail).ifPresent(existing -> {
-                if (!existing.getId().equals(user.getId())) {
-                    throw new RuntimeException("Email already exists");
-                }
-            });
+            if (!normalizedEmail.equals(user.getEmail())) {
+                userRepository.findByEmail(normalizedEmail).ifPresent(existing -> {
+                    if (!existing.getId().equals(user.getId())) {
+                        throw new RuntimeException("Email already exists");
+                    }
+                });
+            }
+            boolean fingerprintChanged = !isBlank(userDetails.getFingerprintId())
+                && !userDetails.getFingerprintId().equals(user.getFingerprintId());
+            if (fingerprintChanged) {
+                ensureFingerprintUnique(userDetails.getFingerprintId(), user.getId());
+            }
 
             user.setName(userDetails.getName().trim());
             user.setEmail(normalizedEmail);
             user.setDepartment(userDetails.getDepartment());
             user.setAvatar(userDetails.getAvatar());
-            if (!isBlank(userDetails.getFingerprintId())) {
-                ensureFingerprintUnique(userDetails.getFingerprintId(), user.getId());
+            if (fingerprintChanged) {
                 user.setFingerprintId(userDetails.getFingerprintId());
             }
-            return userRepository.save(user);
+            User saved = userRepository.save(user);
+            searchIndexService.put(saved);
+            return saved;
         }).orElseThrow(() -> new RuntimeException("User not found"));
     }
 
@@ -105,12 +122,15 @@ public class UserService {
 
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        searchIndexService.removeUser(id);
     }
 
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Page<User> getUsersPage(Pageable pageable) {
         return userRepository.findAll(pageable);
     }
@@ -133,13 +153,13 @@ public class UserService {
 
     private void normalizeRoleSpecificIds(User user) {
         if (user.getRole() == User.UserRole.STUDENT) {
-            long next = getNextStudentSequence();
+            long next = idSequenceService.next("student", this::highestStudentSequence);
             user.setStudentSequence(next);
             user.setStudentId(formatStudentId(next));
             user.setStaffId(null);
             user.setStaffSequence(null);
         } else if (user.getRole() == User.UserRole.LECTURER) {
-            long next = getNextLecturerSequence();
+            long next = idSequenceService.next("staff", this::highestLecturerSequence);
             user.setStaffSequence(next);
             user.setStaffId(formatLecturerId(next));
             user.setStudentId(null);
@@ -156,7 +176,8 @@ public class UserService {
         }
     }
 
-    private long getNextStudentSequence() {
+    // Seeds the sequence on first use, also covering users created before sequences were stored.
+    private long highestStudentSequence() {
         Long maxSequence = userRepository.findByRole(User.UserRole.STUDENT).stream()
             .map(user -> {
                 if (user.getStudentSequence() != null) return user.getStudentSequence();
@@ -166,10 +187,10 @@ public class UserService {
             .mapToLong(Long::longValue)
             .max()
             .orElse(0L);
-        return maxSequence + 1L;
+        return maxSequence;
     }
 
-    private long getNextLecturerSequence() {
+    private long highestLecturerSequence() {
         Long maxSequence = userRepository.findByRole(User.UserRole.LECTURER).stream()
             .map(user -> {
                 if (user.getStaffSequence() != null) return user.getStaffSequence();
@@ -179,7 +200,7 @@ public class UserService {
             .mapToLong(Long::longValue)
             .max()
             .orElse(0L);
-        return maxSequence + 1L;
+        return maxSequence;
     }
 
     private String formatStudentId(long sequence) {
@@ -0,0 +1,58 @@
+package com.biometric.service;
+
+import com.biometric.model.OutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * POSTs each course's events as {"courseId": ..., "events": [...]} to
+ * app.outbox.webhook.url; any status other than 2xx has the group retried.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.sink", havingValue = "webhook")
+public class WebhookOutboxSink implements OutboxSink {
+    private final HttpClient httpClient;
+    private final Duration timeout;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.outbox.webhook.url}")
+    private String url;
+
+    public WebhookOutboxSink(@Value("${app.outbox.webhook.timeout-ms:5000}") long timeoutMs) {
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.httpClient = HttpClient.newBuilder()
+            .connectTimeout(timeout)
+            .build();
+    }
+
+    @Override
+    public void publish(Long courseId, List<OutboxEvent> events) throws IOException, InterruptedException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("courseId", courseId);
+        body.put("events", events);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+            .timeout(timeout)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+            .build();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Webhook " + url + " answered " + response.statusCode());
+        }
+    }
+}
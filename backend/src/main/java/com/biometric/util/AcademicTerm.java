@@ -0,0 +1,79 @@
+package com.biometric.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Half-open date range between two configured term start months. The id is the
+ * start month ("yyyy-MM") and is also the archive partition key.
+ */
+public final class AcademicTerm {
+    private static final DateTimeFormatter ID_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final LocalDate start;
+    private final LocalDate end;
+
+    private AcademicTerm(LocalDate start, LocalDate end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    public static AcademicTerm containing(LocalDate date, List<Integer> startMonths) {
+        if (startMonths == null || startMonths.isEmpty()) {
+            throw new IllegalArgumentException("At least one term start month is required");
+        }
+        List<Integer> months = startMonths.stream().sorted().distinct().toList();
+
+        LocalDate start = null;
+        for (int i = months.size() - 1; i >= 0 && start == null; i--) {
+            LocalDate candidate = LocalDate.of(date.getYear(), months.get(i), 1);
+            if (!candidate.isAfter(date)) {
+                start = candidate;
+            }
+        }
+        if (start == null) {
+            start = LocalDate.of(date.getYear() - 1, months.get(months.size() - 1), 1);
+        }
+
+        LocalDate end = null;
+        for (int month : months) {
+            LocalDate candidate = LocalDate.of(start.getYear(), month, 1);
+            if (candidate.isAfter(start)) {
+                end = candidate;
+                break;
+            }
+        }
+        if (end == null) {
+            end = LocalDate.of(start.getYear() + 1, months.get(0), 1);
+        }
+        return new AcademicTerm(start, end);
+    }
+
+    public String getId() {
+        return start.format(ID_FORMATTER);
+    }
+
+    public LocalDate getStart() {
+        return start;
+    }
+
+    /** Exclusive end date (the first day of the next term). */
+    public LocalDate getEnd() {
+        return end;
+    }
+
+    public LocalDateTime getStartTime() {
+        return start.atStartOfDay();
+    }
+
+    public LocalDateTime getEndTime() {
+        return end.atStartOfDay();
+    }
+
+    @Override
+    public String toString() {
+        return getId() + " [" + start + ", " + end + ")";
+    }
+}
@@ -0,0 +1,35 @@
+package com.biometric.util;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class ConditionalGet {
+    private ConditionalGet() {
+    }
+
+    /**
+     * Answers 304 when the client's If-None-Match matches, without calling the
+     * body supplier; otherwise returns the body with its ETag. The tag is weak
+     * so the servlet container may still gzip the response.
+     */
+    public static <T> ResponseEntity<T> respond(WebRequest request, String version, CacheControl cacheControl,
+                                                Supplier<T> body) {
+        String etag = "W/\"" + version + "\"";
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(304).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(body.get());
+    }
+
+    // 0 means "revalidate on every poll"; a positive value lets the browser reuse the list for that long.
+    public static CacheControl listCacheControl(long maxAgeSeconds) {
+        if (maxAgeSeconds <= 0) {
+            return CacheControl.noCache().cachePrivate();
+        }
+        return CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePrivate().mustRevalidate();
+    }
+}
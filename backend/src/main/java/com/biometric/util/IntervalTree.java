@@ -0,0 +1,77 @@
+package com.biometric.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable interval tree over half-open [start, end) integer intervals: a
+ * balanced BST ordered by start where each node also keeps the largest end in
+ * its subtree, so an overlap query skips every subtree that ends too early.
+ * Built once from a list and never modified.
+ */
+public final class IntervalTree<T> {
+    private static final IntervalTree<?> EMPTY = new IntervalTree<>(List.of());
+
+    private final Node<T> root;
+
+    private IntervalTree(List<Interval<T>> intervals) {
+        List<Interval<T>> sorted = new ArrayList<>(intervals);
+        sorted.sort(Comparator.comparingInt(Interval::start));
+        this.root = build(sorted, 0, sorted.size() - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> IntervalTree<T> empty() {
+        return (IntervalTree<T>) EMPTY;
+    }
+
+    public static <T> IntervalTree<T> of(List<Interval<T>> intervals) {
+        return intervals.isEmpty() ? empty() : new IntervalTree<>(intervals);
+    }
+
+    /** All intervals that overlap [start, end). */
+    public List<Interval<T>> overlapping(int start, int end) {
+        List<Interval<T>> result = new ArrayList<>();
+        collect(root, start, end, result);
+        return result;
+    }
+
+    private static <T> Node<T> build(List<Interval<T>> sorted, int lo, int hi) {
+        if (lo > hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        Node<T> left = build(sorted, lo, mid - 1);
+        Node<T> right = build(sorted, mid + 1, hi);
+        Interval<T> interval = sorted.get(mid);
+        int maxEnd = interval.end();
+        if (left != null) {
+            maxEnd = Math.max(maxEnd, left.maxEnd);
+        }
+        if (right != null) {
+            maxEnd = Math.max(maxEnd, right.maxEnd);
+        }
+        return new Node<>(interval, left, right, maxEnd);
+    }
+
+    private static <T> void collect(Node<T> node, int start, int end, List<Interval<T>> result) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        collect(node.left, start, end, result);
+        if (node.interval.start() < end) {
+            if (node.interval.end() > start) {
+                result.add(node.interval);
+            }
+            // Right subtree starts no earlier than this node, so it can only overlap if this node starts before end.
+            collect(node.right, start, end, result);
+        }
+    }
+
+    public record Interval<T>(int start, int end, T value) {
+    }
+
+    private record Node<T>(Interval<T> interval, Node<T> left, Node<T> right, int maxEnd) {
+    }
+}
@@ -0,0 +1,275 @@
+package com.biometric.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Substring search over a few text fields per value. Every value is indexed
+ * under the trigrams of its fields and under the one- and two-letter prefixes
+ * of their words; each key maps to a sorted array of ids. A query token of
+ * three letters or more looks up its rarest trigram, a shorter one the word
+ * prefix, and the candidates from the smallest list are checked against the
+ * full text, so the work is bounded by the most selective part of the query.
+ * <p>
+ * Matches are ranked by how many tokens hit the start of a word and whether
+ * the first field starts with the query. Queries with more than
+ * {@value #RANK_LIMIT} candidates (a very common trigram only) return the
+ * first matches by id instead of ranking them all.
+ * <p>
+ * Reads are lock-free and may run alongside one writer; writers must be
+ * serialized by the caller.
+ */
+public class NgramIndex<T> {
+    public static final int RANK_LIMIT = 5_000;
+    private static final String PREFIX = "\u0001";
+    private static final long[] NONE = new long[0];
+
+    private final ToLongFunction<T> idOf;
+    private final Function<T, List<String>> fieldsOf;
+    private final Map<String, long[]> postings = new ConcurrentHashMap<>();
+    private final Map<Long, Doc<T>> docs = new ConcurrentHashMap<>();
+
+    public NgramIndex(ToLongFunction<T> idOf, Function<T, List<String>> fieldsOf) {
+        this.idOf = idOf;
+        this.fieldsOf = fieldsOf;
+    }
+
+    /** Builds an index over all values at once, sorting each posting list a single time. */
+    public static <T> NgramIndex<T> of(Collection<T> values, ToLongFunction<T> idOf, Function<T, List<String>> fieldsOf) {
+        NgramIndex<T> index = new NgramIndex<>(idOf, fieldsOf);
+        Map<String, LongList> lists = new HashMap<>();
+        for (T value : values) {
+            long id = idOf.applyAsLong(value);
+            Doc<T> doc = index.doc(value);
+            index.docs.put(id, doc);
+            for (String key : keys(doc.text())) {
+                lists.computeIfAbsent(key, k -> new LongList()).add(id);
+            }
+        }
+        lists.forEach((key, list) -> index.postings.put(key, list.sorted()));
+        return index;
+    }
+
+    public void put(T value) {
+        long id = idOf.applyAsLong(value);
+        Doc<T> doc = doc(value);
+        Doc<T> previous = docs.get(id);
+        Set<String> keys = keys(doc.text());
+        Set<String> oldKeys = previous != null ? keys(previous.text()) : Set.of();
+        for (String key : keys) {
+            if (!oldKeys.contains(key)) {
+                postings.compute(key, (k, ids) -> insert(ids != null ? ids : NONE, id));
+            }
+        }
+        docs.put(id, doc);
+        for (String key : oldKeys) {
+            if (!keys.contains(key)) {
+                removeFrom(key, id);
+            }
+        }
+    }
+
+    public void remove(long id) {
+        Doc<T> previous = docs.remove(id);
+        if (previous != null) {
+            for (String key : keys(previous.text())) {
+                removeFrom(key, id);
+            }
+        }
+    }
+
+    public int size() {
+        return docs.size();
+    }
+
+    /**
+     * Values whose fields contain every whitespace-separated token of the
+     * query (case-insensitive; tokens under three letters must start a word),
+     * best matches first, ties broken by the given order.
+     */
+    public List<T> search(String query, Predicate<T> filter, Comparator<T> order, int limit) {
+        String[] tokens = normalize(query).split("\\s+");
+        long[] candidates = null;
+        for (String token : tokens) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            for (String key : queryKeys(token)) {
+                long[] ids = postings.getOrDefault(key, NONE);
+                if (candidates == null || ids.length < candidates.length) {
+                    candidates = ids;
+                }
+            }
+        }
+        if (candidates == null || candidates.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        boolean rankAll = candidates.length <= RANK_LIMIT;
+        List<Hit<T>> hits = new ArrayList<>();
+        for (long id : candidates) {
+            Doc<T> doc = docs.get(id);
+            if (doc == null) {
+                continue;
+            }
+            int score = score(doc, tokens);
+            if (score < 0 || !filter.test(doc.value())) {
+                continue;
+            }
+            hits.add(new Hit<>(doc.value(), score));
+            if (!rankAll && hits.size() >= limit) {
+                break;
+            }
+        }
+        hits.sort(Comparator.<Hit<T>>comparingInt(Hit::score).reversed()
+            .thenComparing(Hit::value, order));
+        List<T> results = new ArrayList<>(Math.min(limit, hits.size()));
+        for (int i = 0; i < hits.size() && i < limit; i++) {
+            results.add(hits.get(i).value());
+        }
+        return results;
+    }
+
+    private Doc<T> doc(T value) {
+        List<String> fields = new ArrayList<>();
+        for (String field : fieldsOf.apply(value)) {
+            if (field != null && !field.isBlank()) {
+                fields.add(normalize(field));
+            }
+        }
+        return new Doc<>(value, String.join("\n", fields), fields.isEmpty() ? "" : fields.get(0));
+    }
+
+    private void removeFrom(String key, long id) {
+        postings.computeIfPresent(key, (k, ids) -> {
+            long[] remaining = delete(ids, id);
+            return remaining.length == 0 ? null : remaining;
+        });
+    }
+
+    // -1 when a token does not match; otherwise one point per token at a word
+    // start plus one when the first field starts with the first token.
+    private static int score(Doc<?> doc, String[] tokens) {
+        int score = 0;
+        String first = null;
+        for (String token : tokens) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            if (first == null) {
+                first = token;
+            }
+            int at = doc.text().indexOf(token);
+            if (at < 0) {
+                return -1;
+            }
+            boolean wordStart = false;
+            for (; at >= 0; at = doc.text().indexOf(token, at + 1)) {
+                if (at == 0 || !Character.isLetterOrDigit(doc.text().charAt(at - 1))) {
+                    wordStart = true;
+                    break;
+                }
+            }
+            if (wordStart) {
+                score++;
+            } else if (token.length() < 3) {
+                return -1;
+            }
+        }
+        return first != null && doc.primary().startsWith(first) ? score + 1 : score;
+    }
+
+    private static Set<String> keys(String text) {
+        Set<String> keys = new HashSet<>();
+        for (String field : text.split("\n")) {
+            for (int i = 0; i + 3 <= field.length(); i++) {
+                keys.add(field.substring(i, i + 3));
+            }
+            for (int i = 0; i < field.length(); i++) {
+                if (Character.isLetterOrDigit(field.charAt(i))
+                        && (i == 0 || !Character.isLetterOrDigit(field.charAt(i - 1)))) {
+                    keys.add(PREFIX + field.charAt(i));
+                    if (i + 1 < field.length()) {
+                        keys.add(PREFIX + field.substring(i, i + 2));
+                    }
+                }
+            }
+        }
+        return keys;
+    }
+
+    private static List<String> queryKeys(String token) {
+        if (token.length() < 3) {
+            return List.of(PREFIX + token);
+        }
+        List<String> keys = new ArrayList<>(token.length() - 2);
+        for (int i = 0; i + 3 <= token.length(); i++) {
+            keys.add(token.substring(i, i + 3));
+        }
+        return keys;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long[] insert(long[] ids, long id) {
+        int at = Arrays.binarySearch(ids, id);
+        if (at >= 0) {
+            return ids;
+        }
+        int position = -at - 1;
+        long[] copy = new long[ids.length + 1];
+        System.arraycopy(ids, 0, copy, 0, position);
+        copy[position] = id;
+        System.arraycopy(ids, position, copy, position + 1, ids.length - position);
+        return copy;
+    }
+
+    private static long[] delete(long[] ids, long id) {
+        int at = Arrays.binarySearch(ids, id);
+        if (at < 0) {
+            return ids;
+        }
+        long[] copy = new long[ids.length - 1];
+        System.arraycopy(ids, 0, copy, 0, at);
+        System.arraycopy(ids, at + 1, copy, at, ids.length - at - 1);
+        return copy;
+    }
+
+    private record Doc<T>(T value, String text, String primary) {
+    }
+
+    private record Hit<T>(T value, int score) {
+    }
+
+    private static final class LongList {
+        private long[] values = new long[4];
+        private int size;
+
+        private void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private long[] sorted() {
+            long[] result = Arrays.copyOf(values, size);
+            Arrays.sort(result);
+            return result;
+        }
+    }
+}
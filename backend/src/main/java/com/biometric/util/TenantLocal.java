@@ -0,0 +1,78 @@
+package com.biometric.util;
+
+import com.biometric.config.TenantContext;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * One value per tenant, the way a ThreadLocal holds one per thread: in-memory
+ * state of a singleton (an index, a lease flag, a timer wheel) that must not
+ * be shared between campuses. The initial value is created once per tenant,
+ * on first use by that tenant, so it may read that tenant's database. Other
+ * threads of the same tenant wait for it; other tenants do not.
+ */
+public class TenantLocal<T> {
+    private final Map<String, Slot<T>> slots = new ConcurrentHashMap<>();
+    private final Supplier<T> initial;
+
+    private TenantLocal(Supplier<T> initial) {
+        this.initial = initial;
+    }
+
+    public static <T> TenantLocal<T> withInitial(Supplier<T> initial) {
+        return new TenantLocal<>(initial);
+    }
+
+    public T get() {
+        return slot().get(initial);
+    }
+
+    public void set(T value) {
+        slot().set(value);
+    }
+
+    /** Visits every tenant that has a value, e.g. to release them all on shutdown. */
+    public void forEach(BiConsumer<String, T> action) {
+        slots.forEach((tenant, slot) -> {
+            T value = slot.peek();
+            if (value != null) {
+                action.accept(tenant, value);
+            }
+        });
+    }
+
+    private Slot<T> slot() {
+        return slots.computeIfAbsent(TenantContext.current(), tenant -> new Slot<>());
+    }
+
+    // Creating the slot is cheap and atomic; the value is built under the slot's own lock,
+    // so a slow initial value (a journal, an index load) never blocks other tenants.
+    private static final class Slot<T> {
+        private volatile T value;
+
+        T get(Supplier<T> initial) {
+            T current = value;
+            if (current == null) {
+                synchronized (this) {
+                    current = value;
+                    if (current == null) {
+                        current = initial.get();
+                        value = current;
+                    }
+                }
+            }
+            return current;
+        }
+
+        synchronized void set(T value) {
+            this.value = value;
+        }
+
+        T peek() {
+            return value;
+        }
+    }
+}
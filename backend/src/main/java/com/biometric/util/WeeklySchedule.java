@@ -0,0 +1,99 @@
+package com.biometric.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses the free-text Course.schedule into weekly slots. A schedule is one or
+ * more groups separated by ';' or ',', each a list of days and a time range,
+ * e.g. "Mon/Wed/Fri 08:00-09:00" or "Tue 10:00-11:30; Thu 14:00-15:30".
+ */
+public final class WeeklySchedule {
+    private static final Pattern GROUP = Pattern.compile(
+        "^\\s*([A-Za-z/ &]+?)\\s+(\\d{1,2}:\\d{2})\\s*-\\s*(\\d{1,2}:\\d{2})\\s*$");
+    private static final Map<String, DayOfWeek> DAYS = Map.ofEntries(
+        Map.entry("mon", DayOfWeek.MONDAY), Map.entry("monday", DayOfWeek.MONDAY),
+        Map.entry("tue", DayOfWeek.TUESDAY), Map.entry("tues", DayOfWeek.TUESDAY),
+        Map.entry("tuesday", DayOfWeek.TUESDAY),
+        Map.entry("wed", DayOfWeek.WEDNESDAY), Map.entry("wednesday", DayOfWeek.WEDNESDAY),
+        Map.entry("thu", DayOfWeek.THURSDAY), Map.entry("thur", DayOfWeek.THURSDAY),
+        Map.entry("thurs", DayOfWeek.THURSDAY), Map.entry("thursday", DayOfWeek.THURSDAY),
+        Map.entry("fri", DayOfWeek.FRIDAY), Map.entry("friday", DayOfWeek.FRIDAY),
+        Map.entry("sat", DayOfWeek.SATURDAY), Map.entry("saturday", DayOfWeek.SATURDAY),
+        Map.entry("sun", DayOfWeek.SUNDAY), Map.entry("sunday", DayOfWeek.SUNDAY));
+
+    private WeeklySchedule() {
+    }
+
+    /** @return the slots, empty for a blank schedule */
+    public static List<Slot> parse(String schedule) {
+        List<Slot> slots = new ArrayList<>();
+        if (schedule == null || schedule.isBlank()) {
+            return slots;
+        }
+        for (String group : schedule.split("[;,]")) {
+            if (group.isBlank()) {
+                continue;
+            }
+            Matcher matcher = GROUP.matcher(group);
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Unrecognised schedule '" + group.trim()
+                    + "', expected e.g. 'Mon/Wed 10:00-11:30'");
+            }
+            LocalTime start = time(matcher.group(2));
+            LocalTime end = time(matcher.group(3));
+            if (!end.isAfter(start)) {
+                throw new IllegalArgumentException("Schedule '" + group.trim() + "' ends before it starts");
+            }
+            for (String day : matcher.group(1).split("[/ &]+")) {
+                DayOfWeek dayOfWeek = DAYS.get(day.toLowerCase(Locale.ROOT));
+                if (dayOfWeek == null) {
+                    throw new IllegalArgumentException("Unknown day '" + day + "' in schedule '" + group.trim() + "'");
+                }
+                slots.add(new Slot(dayOfWeek, start, end));
+            }
+        }
+        return slots;
+    }
+
+    /** Whether {@link #parse} accepts the schedule. */
+    public static boolean isReadable(String schedule) {
+        try {
+            parse(schedule);
+            return true;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    private static LocalTime time(String value) {
+        try {
+            return LocalTime.parse(value.length() == 4 ? "0" + value : value);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid time '" + value + "' in schedule");
+        }
+    }
+
+    public record Slot(DayOfWeek day, LocalTime start, LocalTime end) {
+        public int startMinute() {
+            return start.getHour() * 60 + start.getMinute();
+        }
+
+        public int endMinute() {
+            return end.getHour() * 60 + end.getMinute();
+        }
+
+        @Override
+        public String toString() {
+            return day.getDisplayName(TextStyle.SHORT, Locale.ENGLISH) + " " + start + "-" + end;
+        }
+    }
+}
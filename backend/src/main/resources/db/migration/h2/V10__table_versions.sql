@@ -0,0 +1,9 @@
+-- Change counters behind the ETags of the list endpoints (see TableVersionService).
+create table table_versions (
+    name varchar(32) not null,
+    version bigint not null,
+    primary key (name)
+);
+
+insert into table_versions (name, version) values
+    ('users', 0), ('courses', 0), ('sessions', 0), ('enrollments', 0), ('attendance', 0), ('attendance_archive', 0);
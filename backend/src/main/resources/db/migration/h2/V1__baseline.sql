@@ -0,0 +1,162 @@
+-- Baseline schema for H2: what Hibernate created from the JPA mappings before schema
+-- changes were versioned. Databases created before Flyway was introduced already have
+-- exactly this schema, are baselined at this version and start from V2.
+
+create table attendance_records (
+    verification_score float(53),
+    course_id bigint not null,
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    session_id bigint not null,
+    student_id bigint not null,
+    timestamp timestamp(6) not null,
+    updated_at timestamp(6),
+    method varchar(255) not null check (method in ('FINGERPRINT','FACE','MANUAL')),
+    status varchar(255) not null check (status in ('PRESENT','LATE','ABSENT')),
+    primary key (id),
+    constraint uk_record_student_session unique (student_id, session_id)
+);
+
+create table attendance_sessions (
+    biometric_enabled boolean not null,
+    course_id bigint not null,
+    created_at timestamp(6),
+    ended_at timestamp(6),
+    id bigint generated by default as identity,
+    lecturer_id bigint not null,
+    started_at timestamp(6),
+    updated_at timestamp(6),
+    attendance_type varchar(255) not null check (attendance_type in ('FINGERPRINT','FACE','BOTH')),
+    date varchar(255) not null,
+    end_time varchar(255),
+    start_time varchar(255) not null,
+    status varchar(255) not null check (status in ('ACTIVE','CLOSED')),
+    primary key (id)
+);
+
+create table biometric_enrollments (
+    face_enrolled boolean not null,
+    fingerprint_enrolled boolean not null,
+    created_at timestamp(6),
+    enrolled_at timestamp(6),
+    id bigint generated by default as identity,
+    updated_at timestamp(6),
+    user_id bigint not null unique,
+    primary key (id)
+);
+
+create table course_enrollments (
+    course_id bigint not null,
+    created_at timestamp(6),
+    enrolled_at timestamp(6),
+    id bigint generated by default as identity,
+    student_id bigint not null,
+    primary key (id),
+    constraint uk_student_course unique (student_id, course_id)
+);
+
+create table courses (
+    credits integer not null,
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    lecturer_id bigint not null,
+    updated_at timestamp(6),
+    code varchar(255) not null unique,
+    department varchar(255) not null,
+    name varchar(255) not null,
+    room varchar(255),
+    schedule varchar(255),
+    primary key (id)
+);
+
+create table password_reset_tokens (
+    created_at timestamp(6),
+    expires_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    used_at timestamp(6),
+    user_id bigint not null,
+    token varchar(120) not null unique,
+    primary key (id)
+);
+
+create table users (
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    staff_sequence bigint,
+    student_sequence bigint,
+    updated_at timestamp(6),
+    avatar varchar(255),
+    department varchar(255),
+    email varchar(255) not null unique,
+    face_id varchar(255),
+    fingerprint_id varchar(255),
+    name varchar(255) not null,
+    password varchar(255) not null,
+    role varchar(255) not null check (role in ('ADMIN','LECTURER','STUDENT')),
+    staff_id varchar(255),
+    student_id varchar(255),
+    primary key (id),
+    constraint uk_user_student_id unique (student_id),
+    constraint uk_user_staff_id unique (staff_id),
+    constraint uk_user_fingerprint_id unique (fingerprint_id)
+);
+
+create index idx_record_student_id
+   on attendance_records (student_id);
+
+create index idx_record_course_id
+   on attendance_records (course_id);
+
+create index idx_record_session_id
+   on attendance_records (session_id);
+
+create index idx_record_timestamp
+   on attendance_records (timestamp);
+
+create index idx_session_course_id
+   on attendance_sessions (course_id);
+
+create index idx_session_lecturer_id
+   on attendance_sessions (lecturer_id);
+
+create index idx_session_date
+   on attendance_sessions (date);
+
+create index idx_session_status
+   on attendance_sessions (status);
+
+create index idx_biometric_user_id
+   on biometric_enrollments (user_id);
+
+create index idx_enrollment_student_id
+   on course_enrollments (student_id);
+
+create index idx_enrollment_course_id
+   on course_enrollments (course_id);
+
+create index idx_course_code
+   on courses (code);
+
+create index idx_course_lecturer_id
+   on courses (lecturer_id);
+
+create index idx_course_department
+   on courses (department);
+
+create index idx_password_reset_user_id
+   on password_reset_tokens (user_id);
+
+create index idx_password_reset_expires_at
+   on password_reset_tokens (expires_at);
+
+create index idx_user_email
+   on users (email);
+
+create index idx_user_role
+   on users (role);
+
+create index idx_user_student_id
+   on users (student_id);
+
+create index idx_user_staff_id
+   on users (staff_id);
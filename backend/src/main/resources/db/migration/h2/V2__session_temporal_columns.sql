@@ -0,0 +1,19 @@
+-- Session date/start/end were strings ("yyyy-MM-dd", "HH:mm"); store them as DATE/TIME.
+-- The single-column course and lecturer indexes become (course_id, date) and
+-- (lecturer_id, date) so date-range lookups are served by one index.
+alter table attendance_sessions alter column date set data type date;
+alter table attendance_sessions alter column start_time set data type time(6);
+alter table attendance_sessions alter column end_time set data type time(6);
+
+-- Named idx_session_* where Hibernate created the table and idx_course_id/idx_lecturer_id where
+-- it came from the old schema script; drop whichever exist.
+drop index if exists idx_session_course_id;
+drop index if exists idx_session_lecturer_id;
+drop index if exists idx_course_id;
+drop index if exists idx_lecturer_id;
+
+create index idx_session_course_date
+   on attendance_sessions (course_id, date);
+
+create index idx_session_lecturer_date
+   on attendance_sessions (lecturer_id, date);
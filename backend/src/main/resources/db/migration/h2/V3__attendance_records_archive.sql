@@ -0,0 +1,27 @@
+-- Marks of closed terms, moved out of attendance_records by the archive job.
+create table attendance_records_archive (
+    verification_score float(53),
+    course_id bigint not null,
+    created_at timestamp(6),
+    id bigint not null,
+    session_id bigint not null,
+    student_id bigint not null,
+    timestamp timestamp(6) not null,
+    updated_at timestamp(6),
+    term varchar(16) not null,
+    method varchar(255) not null check (method in ('FINGERPRINT','FACE','MANUAL')),
+    status varchar(255) not null check (status in ('PRESENT','LATE','ABSENT')),
+    primary key (id)
+);
+
+create index idx_archive_term
+   on attendance_records_archive (term);
+
+create index idx_archive_student_id
+   on attendance_records_archive (student_id);
+
+create index idx_archive_course_id
+   on attendance_records_archive (course_id);
+
+create index idx_archive_session_id
+   on attendance_records_archive (session_id);
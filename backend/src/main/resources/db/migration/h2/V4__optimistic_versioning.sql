@@ -0,0 +1,7 @@
+-- Optimistic-locking version column on the mutable tables.
+alter table users add column version bigint default 0 not null;
+alter table courses add column version bigint default 0 not null;
+alter table attendance_sessions add column version bigint default 0 not null;
+alter table attendance_records add column version bigint default 0 not null;
+alter table biometric_enrollments add column version bigint default 0 not null;
+alter table password_reset_tokens add column version bigint default 0 not null;
@@ -0,0 +1,28 @@
+-- One-time backfill of student/staff sequence numbers and IDs for users created
+-- before they were assigned on registration. Missing sequences continue after the
+-- highest existing one, in id order.
+MERGE INTO users u
+USING (
+    SELECT id,
+           (SELECT COALESCE(MAX(student_sequence), 0) FROM users WHERE role = 'STUDENT')
+               + ROW_NUMBER() OVER (ORDER BY id) AS seq
+    FROM users
+    WHERE role = 'STUDENT' AND student_sequence IS NULL
+) n ON u.id = n.id
+WHEN MATCHED THEN UPDATE SET u.student_sequence = n.seq;
+
+MERGE INTO users u
+USING (
+    SELECT id,
+           (SELECT COALESCE(MAX(staff_sequence), 0) FROM users WHERE role = 'LECTURER')
+               + ROW_NUMBER() OVER (ORDER BY id) AS seq
+    FROM users
+    WHERE role = 'LECTURER' AND staff_sequence IS NULL
+) n ON u.id = n.id
+WHEN MATCHED THEN UPDATE SET u.staff_sequence = n.seq;
+
+UPDATE users SET student_id = CONCAT('STU-', LPAD(CAST(student_sequence AS VARCHAR), 5, '0'))
+WHERE role = 'STUDENT' AND (student_id IS NULL OR TRIM(student_id) = '');
+
+UPDATE users SET staff_id = CONCAT('LEC-', LPAD(CAST(staff_sequence AS VARCHAR), 5, '0'))
+WHERE role = 'LECTURER' AND (staff_id IS NULL OR TRIM(staff_id) = '');
@@ -0,0 +1,9 @@
+-- Leader lease for jobs that must run on one replica only (see SchedulerLeaseService).
+create table scheduler_leases (
+    name varchar(64) not null,
+    owner varchar(128),
+    expires_at timestamp(6),
+    primary key (name)
+);
+
+insert into scheduler_leases (name) values ('session-auto-close');
@@ -0,0 +1,13 @@
+-- Transactional outbox: attendance changes waiting for (or kept after) publication by OutboxRelay.
+create table outbox_events (
+    id bigint generated by default as identity,
+    event_type varchar(32) not null,
+    course_id bigint,
+    aggregate_id bigint,
+    payload varchar(4000) not null,
+    created_at timestamp(6) not null,
+    published_at timestamp(6),
+    primary key (id)
+);
+
+create index idx_outbox_published on outbox_events (published_at, id);
@@ -0,0 +1,18 @@
+-- Campus databases registered through POST /api/admin/tenants; read from the default campus's database only.
+-- Passwords are encrypted with app.tenancy.credentials-key (see TenantRegistry).
+create table tenant_shards (
+    tenant_id varchar(32) not null,
+    jdbc_url varchar(500) not null,
+    username varchar(100),
+    password_encrypted varchar(512),
+    hostnames varchar(500),
+    created_at timestamp(6) not null,
+    primary key (tenant_id)
+);
+
+-- Next value of each id sequence (student and staff numbers); one row per sequence, locked while allocating.
+create table id_sequences (
+    name varchar(64) not null,
+    next_value bigint not null,
+    primary key (name)
+);
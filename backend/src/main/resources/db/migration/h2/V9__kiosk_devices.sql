@@ -0,0 +1,9 @@
+-- Kiosks allowed to open the check-in WebSocket; the token is stored as its SHA-256 hex digest.
+create table kiosk_devices (
+    id varchar(64) not null,
+    name varchar(100) not null,
+    token_hash varchar(64) not null,
+    created_at timestamp(6) not null,
+    last_connected_at timestamp(6),
+    primary key (id)
+);
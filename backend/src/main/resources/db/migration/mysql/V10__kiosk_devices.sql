@@ -0,0 +1,8 @@
+-- Kiosks allowed to open the check-in WebSocket; the token is stored as its SHA-256 hex digest.
+CREATE TABLE IF NOT EXISTS kiosk_devices (
+    id VARCHAR(64) PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    token_hash VARCHAR(64) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    last_connected_at DATETIME(6)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,8 @@
+-- Change counters behind the ETags of the list endpoints (see TableVersionService).
+CREATE TABLE IF NOT EXISTS table_versions (
+    name VARCHAR(32) PRIMARY KEY,
+    version BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO table_versions (name, version) VALUES
+    ('users', 0), ('courses', 0), ('sessions', 0), ('enrollments', 0), ('attendance', 0), ('attendance_archive', 0);
@@ -0,0 +1,27 @@
+-- Session date/start/end were strings ("yyyy-MM-dd", "HH:mm"); store them as DATE/TIME.
+-- The single-column course and lecturer indexes become (course_id, date) and
+-- (lecturer_id, date) so date-range lookups are served by one index.
+ALTER TABLE attendance_sessions
+    MODIFY COLUMN date DATE NOT NULL,
+    MODIFY COLUMN start_time TIME NOT NULL,
+    MODIFY COLUMN end_time TIME NULL;
+
+-- The composite indexes also back the foreign keys, so they are added first.
+ALTER TABLE attendance_sessions
+    ADD INDEX idx_session_course_date (course_id, date),
+    ADD INDEX idx_session_lecturer_date (lecturer_id, date);
+
+-- The single-column indexes are idx_course_id/idx_lecturer_id in databases created from the old
+-- schema.sql and idx_session_course_id/idx_session_lecturer_id in ones Hibernate created, so
+-- drop whichever of them exist.
+SET @drop_single_column_indexes = (
+    SELECT CONCAT('ALTER TABLE attendance_sessions ',
+                  GROUP_CONCAT(DISTINCT CONCAT('DROP INDEX ', index_name) SEPARATOR ', '))
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE()
+      AND table_name = 'attendance_sessions'
+      AND index_name IN ('idx_course_id', 'idx_lecturer_id', 'idx_session_course_id', 'idx_session_lecturer_id'));
+SET @drop_single_column_indexes = COALESCE(@drop_single_column_indexes, 'DO 0');
+PREPARE drop_single_column_indexes FROM @drop_single_column_indexes;
+EXECUTE drop_single_column_indexes;
+DEALLOCATE PREPARE drop_single_column_indexes;
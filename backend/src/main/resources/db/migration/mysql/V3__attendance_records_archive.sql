@@ -0,0 +1,31 @@
+-- Attendance Records Archive (closed terms, moved out of attendance_records by the archive job)
+-- Partitioned by term id ("yyyy-MM" of the term start). The primary key must include the
+-- partition column and partitioned InnoDB tables cannot carry foreign keys.
+-- Add a partition ahead of each new term with:
+--   ALTER TABLE attendance_records_archive REORGANIZE PARTITION p_future INTO (
+--       PARTITION p_2027_01 VALUES LESS THAN ('2027-07'),
+--       PARTITION p_future VALUES LESS THAN (MAXVALUE));
+CREATE TABLE IF NOT EXISTS attendance_records_archive (
+    id BIGINT NOT NULL,
+    term VARCHAR(16) NOT NULL,
+    student_id BIGINT NOT NULL,
+    course_id BIGINT NOT NULL,
+    session_id BIGINT NOT NULL,
+    timestamp TIMESTAMP NOT NULL,
+    method ENUM('FINGERPRINT', 'FACE', 'MANUAL') NOT NULL,
+    status ENUM('PRESENT', 'LATE', 'ABSENT') NOT NULL,
+    verification_score DOUBLE,
+    created_at TIMESTAMP NULL,
+    updated_at TIMESTAMP NULL,
+    PRIMARY KEY (id, term),
+    INDEX idx_archive_term (term),
+    INDEX idx_archive_student_id (student_id),
+    INDEX idx_archive_course_id (course_id),
+    INDEX idx_archive_session_id (session_id)
+) ENGINE=InnoDB ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+PARTITION BY RANGE COLUMNS (term) (
+    PARTITION p_2025_07 VALUES LESS THAN ('2026-01'),
+    PARTITION p_2026_01 VALUES LESS THAN ('2026-07'),
+    PARTITION p_2026_07 VALUES LESS THAN ('2027-01'),
+    PARTITION p_future VALUES LESS THAN (MAXVALUE)
+);
@@ -0,0 +1,7 @@
+-- Optimistic-locking version column on the mutable tables.
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE courses ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE attendance_sessions ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE attendance_records ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE biometric_enrollments ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE password_reset_tokens ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
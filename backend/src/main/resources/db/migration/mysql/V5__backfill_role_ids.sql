@@ -0,0 +1,31 @@
+-- One-time backfill of student/staff sequence numbers and IDs for users created
+-- before they were assigned on registration. Missing sequences continue after the
+-- highest existing one, in id order.
+UPDATE users u
+JOIN (
+    SELECT id, ROW_NUMBER() OVER (ORDER BY id) AS rn
+    FROM users
+    WHERE role = 'STUDENT' AND student_sequence IS NULL
+) n ON u.id = n.id
+CROSS JOIN (
+    SELECT COALESCE(MAX(student_sequence), 0) AS max_seq FROM users WHERE role = 'STUDENT'
+) b
+SET u.student_sequence = b.max_seq + n.rn;
+
+UPDATE users u
+JOIN (
+    SELECT id, ROW_NUMBER() OVER (ORDER BY id) AS rn
+    FROM users
+    WHERE role = 'LECTURER' AND staff_sequence IS NULL
+) n ON u.id = n.id
+CROSS JOIN (
+    SELECT COALESCE(MAX(staff_sequence), 0) AS max_seq FROM users WHERE role = 'LECTURER'
+) b
+SET u.staff_sequence = b.max_seq + n.rn;
+
+UPDATE users SET student_id = CONCAT('STU-', LPAD(student_sequence, 5, '0'))
+WHERE role = 'STUDENT' AND (student_id IS NULL OR TRIM(student_id) = '');
+
+UPDATE users SET staff_id = CONCAT('LEC-', LPAD(staff_sequence, 5, '0'))
+WHERE role = 'LECTURER' AND (staff_id IS NULL OR TRIM(staff_id) = '');
+
@@ -0,0 +1,3 @@
+-- The baseline schema stored verification_score as DECIMAL, which schema validation rejects
+-- for the Double mapping. The archive table (V3) was created with DOUBLE.
+ALTER TABLE attendance_records MODIFY verification_score DOUBLE;
@@ -0,0 +1,8 @@
+-- Leader lease for jobs that must run on one replica only (see SchedulerLeaseService).
+CREATE TABLE IF NOT EXISTS scheduler_leases (
+    name VARCHAR(64) PRIMARY KEY,
+    owner VARCHAR(128),
+    expires_at DATETIME(6)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO scheduler_leases (name) VALUES ('session-auto-close');
@@ -0,0 +1,11 @@
+-- Transactional outbox: attendance changes waiting for (or kept after) publication by OutboxRelay.
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    event_type VARCHAR(32) NOT NULL,
+    course_id BIGINT,
+    aggregate_id BIGINT,
+    payload VARCHAR(4000) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    published_at DATETIME(6),
+    INDEX idx_outbox_published (published_at, id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
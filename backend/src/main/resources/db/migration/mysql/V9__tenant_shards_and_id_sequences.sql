@@ -0,0 +1,16 @@
+-- Campus databases registered through POST /api/admin/tenants; read from the default campus's database only.
+-- Passwords are encrypted with app.tenancy.credentials-key (see TenantRegistry).
+CREATE TABLE IF NOT EXISTS tenant_shards (
+    tenant_id VARCHAR(32) PRIMARY KEY,
+    jdbc_url VARCHAR(500) NOT NULL,
+    username VARCHAR(100),
+    password_encrypted VARCHAR(512),
+    hostnames VARCHAR(500),
+    created_at DATETIME(6) NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Next value of each id sequence (student and staff numbers); one row per sequence, locked while allocating.
+CREATE TABLE IF NOT EXISTS id_sequences (
+    name VARCHAR(64) PRIMARY KEY,
+    next_value BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -1,3 +1,5 @@
+-- Current schema for reference. The backend builds and upgrades its database with the Flyway
+-- migrations in db/migration/mysql; do not load this into a database the backend runs against.
 -- Create Database
 CREATE DATABASE IF NOT EXISTS biometric_attendance;
 USE biometric_attendance;
@@ -17,6 +19,7 @@ CREATE TABLE IF NOT EXISTS users (
     fingerprint_id VARCHAR(255) UNIQUE,
     face_id VARCHAR(255),
     avatar VARCHAR(500),
+    version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     INDEX idx_email (email),
@@ -35,6 +38,7 @@ CREATE TABLE IF NOT EXISTS courses (
     credits INT NOT NULL,
     schedule VARCHAR(255),
     room VARCHAR(100),
+    version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (lecturer_id) REFERENCES users(id) ON DELETE CASCADE,
@@ -62,20 +66,21 @@ CREATE TABLE IF NOT EXISTS attendance_sessions (
     id BIGINT PRIMARY KEY AUTO_INCREMENT,
     course_id BIGINT NOT NULL,
     lecturer_id BIGINT NOT NULL,
-    date VARCHAR(20) NOT NULL,
-    start_time VARCHAR(10) NOT NULL,
-    end_time VARCHAR(10),
+    date DATE NOT NULL,
+    start_time TIME NOT NULL,
+    end_time TIME,
     started_at TIMESTAMP,
     ended_at TIMESTAMP,
     status ENUM('ACTIVE', 'CLOSED') NOT NULL DEFAULT 'ACTIVE',
     biometric_enabled BOOLEAN NOT NULL DEFAULT TRUE,
     attendance_type ENUM('FINGERPRINT', 'FACE', 'BOTH') NOT NULL DEFAULT 'BOTH',
+    version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (course_id) REFERENCES courses(id) ON DELETE CASCADE,
     FOREIGN KEY (lecturer_id) REFERENCES users(id) ON DELETE CASCADE,
-    INDEX idx_course_id (course_id),
-    INDEX idx_lecturer_id (lecturer_id),
+    INDEX idx_session_course_date (course_id, date),
+    INDEX idx_session_lecturer_date (lecturer_id, date),
     INDEX idx_date (date),
     INDEX idx_status (status)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -87,6 +92,7 @@ CREATE TABLE IF NOT EXISTS password_reset_tokens (
     token VARCHAR(120) NOT NULL UNIQUE,
     expires_at TIMESTAMP NOT NULL,
     used_at TIMESTAMP NULL,
+    version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
     INDEX idx_password_reset_user_id (user_id),
@@ -102,7 +108,8 @@ CREATE TABLE IF NOT EXISTS attendance_records (
     timestamp TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     method ENUM('FINGERPRINT', 'FACE', 'MANUAL') NOT NULL,
     status ENUM('PRESENT', 'LATE', 'ABSENT') NOT NULL DEFAULT 'PRESENT',
-    verification_score DECIMAL(5, 2),
+    verification_score DOUBLE,
+    version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (student_id) REFERENCES users(id) ON DELETE CASCADE,
@@ -114,6 +121,38 @@ CREATE TABLE IF NOT EXISTS attendance_records (
     INDEX idx_timestamp (timestamp)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- Attendance Records Archive (closed terms, moved out of attendance_records by the archive job)
+-- Partitioned by term id ("yyyy-MM" of the term start). The primary key must include the
+-- partition column and partitioned InnoDB tables cannot carry foreign keys.
+-- Add a partition ahead of each new term with:
+--   ALTER TABLE attendance_records_archive REORGANIZE PARTITION p_future INTO (
+--       PARTITION p_2027_01 VALUES LESS THAN ('2027-07'),
+--       PARTITION p_future VALUES LESS THAN (MAXVALUE));
+CREATE TABLE IF NOT EXISTS attendance_records_archive (
+    id BIGINT NOT NULL,
+    term VARCHAR(16) NOT NULL,
+    student_id BIGINT NOT NULL,
+    course_id BIGINT NOT NULL,
+    session_id BIGINT NOT NULL,
+    timestamp TIMESTAMP NOT NULL,
+    method ENUM('FINGERPRINT', 'FACE', 'MANUAL') NOT NULL,
+    status ENUM('PRESENT', 'LATE', 'ABSENT') NOT NULL,
+    verification_score DOUBLE,
+    created_at TIMESTAMP NULL,
+    updated_at TIMESTAMP NULL,
+    PRIMARY KEY (id, term),
+    INDEX idx_archive_term (term),
+    INDEX idx_archive_student_id (student_id),
+    INDEX idx_archive_course_id (course_id),
+    INDEX idx_archive_session_id (session_id)
+) ENGINE=InnoDB ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+PARTITION BY RANGE COLUMNS (term) (
+    PARTITION p_2025_07 VALUES LESS THAN ('2026-01'),
+    PARTITION p_2026_01 VALUES LESS THAN ('2026-07'),
+    PARTITION p_2026_07 VALUES LESS THAN ('2027-01'),
+    PARTITION p_future VALUES LESS THAN (MAXVALUE)
+);
+
 -- Biometric Enrollments Table
 CREATE TABLE IF NOT EXISTS biometric_enrollments (
     id BIGINT PRIMARY KEY AUTO_INCREMENT,
@@ -121,12 +160,68 @@ CREATE TABLE IF NOT EXISTS biometric_enrollments (
     fingerprint_enrolled BOOLEAN NOT NULL DEFAULT FALSE,
     face_enrolled BOOLEAN NOT NULL DEFAULT FALSE,
     enrolled_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
     INDEX idx_user_id (user_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- Scheduler Leases Table (leader election for single-replica jobs)
+CREATE TABLE IF NOT EXISTS scheduler_leases (
+    name VARCHAR(64) PRIMARY KEY,
+    owner VARCHAR(128),
+    expires_at DATETIME(6)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO scheduler_leases (name) VALUES ('session-auto-close');
+
+-- Outbox Events Table (attendance changes published by the outbox relay)
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    event_type VARCHAR(32) NOT NULL,
+    course_id BIGINT,
+    aggregate_id BIGINT,
+    payload VARCHAR(4000) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    published_at DATETIME(6),
+    INDEX idx_outbox_published (published_at, id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Tenant Shards Table (campus databases; used in the default campus's database only)
+CREATE TABLE IF NOT EXISTS tenant_shards (
+    tenant_id VARCHAR(32) PRIMARY KEY,
+    jdbc_url VARCHAR(500) NOT NULL,
+    username VARCHAR(100),
+    password_encrypted VARCHAR(512),
+    hostnames VARCHAR(500),
+    created_at DATETIME(6) NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Id Sequences Table (next student and staff numbers)
+CREATE TABLE IF NOT EXISTS id_sequences (
+    name VARCHAR(64) PRIMARY KEY,
+    next_value BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Kiosk Devices Table (kiosks allowed to open the check-in WebSocket)
+CREATE TABLE IF NOT EXISTS kiosk_devices (
+    id VARCHAR(64) PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    token_hash VARCHAR(64) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    last_connected_at DATETIME(6)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Change counters behind the ETags of the list endpoints
+CREATE TABLE IF NOT EXISTS table_versions (
+    name VARCHAR(32) PRIMARY KEY,
+    version BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO table_versions (name, version) VALUES
+    ('users', 0), ('courses', 0), ('sessions', 0), ('enrollments', 0), ('attendance', 0), ('attendance_archive', 0);
+
 -- Sample Data for testing
 INSERT INTO users (email, password, name, role, department, created_at) VALUES
 ('admin@biometric.com', '$2a$10$slYQmyNdGzin7olVN3p5Be7DlH.PKZbv5H8KnzzVgXXbVxFP2MVRA', 'Administrator', 'ADMIN', 'Administration', NOW()),
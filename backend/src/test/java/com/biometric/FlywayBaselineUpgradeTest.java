@@ -0,0 +1,105 @@
+package com.biometric;
+
+import com.biometric.model.AttendanceSession;
+import com.biometric.model.User;
+import com.biometric.repository.AttendanceSessionRepository;
+import com.biometric.repository.UserRepository;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A database created before Flyway is baselined at V1 and upgraded by the later
+ * migrations, whichever names its session indexes were created with, after
+ * which Hibernate validates it against the mappings.
+ */
+class FlywayBaselineUpgradeTest {
+    @TempDir
+    Path databaseDir;
+
+    @Test
+    void preFlywayDatabaseIsBaselinedAndMigrated() {
+        String url = legacyDatabaseUrl("legacy");
+        JdbcTemplate jdbc = legacyDatabase(url);
+        jdbc.update("INSERT INTO users (id, email, password, name, role) VALUES "
+            + "(10, 'legacy.lecturer@example.com', 'x', 'Legacy Lecturer', 'LECTURER'), "
+            + "(11, 'legacy.student@example.com', 'x', 'Legacy Student', 'STUDENT')");
+        jdbc.update("INSERT INTO courses (id, code, name, lecturer_id, department, credits) "
+            + "VALUES (20, 'LEG101', 'Legacy', 10, 'History', 3)");
+        // Dates and times were stored as strings
+        jdbc.update("INSERT INTO attendance_sessions (id, course_id, lecturer_id, date, start_time, end_time, "
+            + "status, biometric_enabled, attendance_type) "
+            + "VALUES (30, 20, 10, '2026-03-02', '09:00', '10:30', 'CLOSED', TRUE, 'BOTH')");
+
+        try (ConfigurableApplicationContext context = migrate(url)) {
+            List<Map<String, Object>> history = jdbc.queryForList(
+                "SELECT \"version\", \"type\", \"success\" FROM \"flyway_schema_history\" "
+                    + "WHERE \"version\" IS NOT NULL ORDER BY \"installed_rank\"");
+            assertThat(history.get(0)).containsEntry("version", "1").containsEntry("type", "BASELINE");
+            assertThat(history.subList(1, history.size()))
+                .isNotEmpty()
+                .allSatisfy(row -> assertThat(row).containsEntry("type", "SQL").containsEntry("success", true));
+
+            AttendanceSession session = context.getBean(AttendanceSessionRepository.class).findById(30L).orElseThrow();
+            assertThat(session.getDate()).isEqualTo(LocalDate.of(2026, 3, 2));
+            assertThat(session.getStartTime()).isEqualTo(LocalTime.of(9, 0));
+            assertThat(session.getEndTime()).isEqualTo(LocalTime.of(10, 30));
+            assertThat(session.getVersion()).isZero();
+
+            User student = context.getBean(UserRepository.class).findById(11L).orElseThrow();
+            assertThat(student.getStudentId()).isNotBlank();
+            assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM attendance_records_archive", Integer.class)).isZero();
+            assertThat(sessionIndexes(jdbc)).contains("IDX_SESSION_COURSE_DATE", "IDX_SESSION_LECTURER_DATE")
+                .doesNotContain("IDX_SESSION_COURSE_ID", "IDX_SESSION_LECTURER_ID");
+        }
+    }
+
+    @Test
+    void schemaScriptIndexNamesAreReplacedToo() {
+        // Databases created from the old schema script named the session indexes after their columns.
+        String url = legacyDatabaseUrl("schema-script");
+        JdbcTemplate jdbc = legacyDatabase(url);
+        jdbc.execute("ALTER INDEX idx_session_course_id RENAME TO idx_course_id");
+        jdbc.execute("ALTER INDEX idx_session_lecturer_id RENAME TO idx_lecturer_id");
+
+        try (ConfigurableApplicationContext context = migrate(url)) {
+            assertThat(sessionIndexes(jdbc)).contains("IDX_SESSION_COURSE_DATE", "IDX_SESSION_LECTURER_DATE")
+                .doesNotContain("IDX_COURSE_ID", "IDX_LECTURER_ID");
+        }
+    }
+
+    private String legacyDatabaseUrl(String name) {
+        return "jdbc:h2:file:" + databaseDir.resolve(name) + ";DB_CLOSE_DELAY=-1";
+    }
+
+    private static JdbcTemplate legacyDatabase(String url) {
+        JdbcDataSource legacy = new JdbcDataSource();
+        legacy.setURL(url);
+        legacy.setUser("sa");
+        JdbcTemplate jdbc = new JdbcTemplate(legacy);
+        jdbc.execute("RUNSCRIPT FROM 'classpath:db/pre-flyway-schema-h2.sql'");
+        return jdbc;
+    }
+
+    private static ConfigurableApplicationContext migrate(String url) {
+        return new SpringApplicationBuilder(BiometricAttendanceApplication.class)
+            .profiles("test")
+            .run("--spring.datasource.url=" + url);
+    }
+
+    private static List<String> sessionIndexes(JdbcTemplate jdbc) {
+        return jdbc.queryForList("SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES "
+            + "WHERE TABLE_NAME = 'ATTENDANCE_SESSIONS'", String.class);
+    }
+}
@@ -0,0 +1,103 @@
+package com.biometric;
+
+import com.biometric.model.Course;
+import com.biometric.model.User;
+import com.biometric.repository.CourseRepository;
+import com.biometric.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Repeated findById calls for cached reference data are answered from the
+ * second-level cache: one SELECT for the first load, none afterwards.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void clearCacheAndStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @Test
+    void repeatedUserFindByIdSkipsTheDatabase() {
+        User user = new User();
+        user.setEmail("cached.student@example.com");
+        user.setPassword("secret");
+        user.setName("Cached Student");
+        user.setRole(User.UserRole.STUDENT);
+        Long id = userRepository.save(user).getId();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        // Each call runs in its own transaction and persistence context.
+        for (int i = 0; i < 5; i++) {
+            assertThat(userRepository.findById(id)).isPresent();
+        }
+
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics("users");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(region.getMissCount()).isEqualTo(1);
+        assertThat(region.getHitCount()).isEqualTo(4);
+    }
+
+    @Test
+    void repeatedCourseFindByIdSkipsTheDatabase() {
+        Course course = new Course();
+        course.setCode("CACHE101");
+        course.setName("Caching");
+        course.setLecturerId(1L);
+        course.setDepartment("Computer Science");
+        course.setCredits(3);
+        Long id = courseRepository.save(course).getId();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(courseRepository.findById(id)).isPresent();
+        }
+
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics("courses");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(region.getMissCount()).isEqualTo(1);
+        assertThat(region.getHitCount()).isEqualTo(4);
+    }
+
+    @Test
+    void updateRefreshesTheCachedEntry() {
+        User user = new User();
+        user.setEmail("renamed.student@example.com");
+        user.setPassword("secret");
+        user.setName("Before");
+        user.setRole(User.UserRole.STUDENT);
+        Long id = userRepository.save(user).getId();
+
+        User loaded = userRepository.findById(id).orElseThrow();
+        loaded.setName("After");
+        userRepository.save(loaded);
+        statistics.clear();
+
+        assertThat(userRepository.findById(id).orElseThrow().getName()).isEqualTo("After");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+}
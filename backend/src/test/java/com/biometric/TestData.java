@@ -0,0 +1,106 @@
+package com.biometric;
+
+import com.biometric.model.AttendanceRecord;
+import com.biometric.model.AttendanceSession;
+import com.biometric.model.BiometricEnrollment;
+import com.biometric.model.Course;
+import com.biometric.model.User;
+import com.biometric.repository.AttendanceSessionRepository;
+import com.biometric.repository.BiometricEnrollmentRepository;
+import com.biometric.repository.CourseRepository;
+import com.biometric.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Fixtures shared by the integration tests. Every user, course and session
+ * gets fresh unique values, so tests in one application context never collide.
+ */
+@Component
+public class TestData {
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BiometricEnrollmentRepository biometricEnrollmentRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private AttendanceSessionRepository sessionRepository;
+
+    /** Not saved, for tests that create users through the service. */
+    public static User newUser(String prefix, User.UserRole role) {
+        User user = new User();
+        user.setEmail(prefix + "." + UUID.randomUUID() + "@example.edu");
+        user.setPassword("secret");
+        user.setName("Test " + role.name().toLowerCase());
+        user.setRole(role);
+        return user;
+    }
+
+    public User user(String prefix, User.UserRole role) {
+        return userRepository.save(newUser(prefix, role));
+    }
+
+    /** A student with a fingerprint on record, so check-ins pass the biometric check. */
+    public User enrolledStudent(String prefix) {
+        User student = newUser(prefix, User.UserRole.STUDENT);
+        student.setFingerprintId("fp-" + UUID.randomUUID());
+        student = userRepository.save(student);
+        BiometricEnrollment enrollment = new BiometricEnrollment();
+        enrollment.setUserId(student.getId());
+        enrollment.setFingerprintEnrolled(true);
+        enrollment.setFaceEnrolled(false);
+        enrollment.setEnrolledAt(LocalDateTime.now());
+        biometricEnrollmentRepository.save(enrollment);
+        return student;
+    }
+
+    public Course course(long lecturerId) {
+        Course course = new Course();
+        course.setCode("T-" + UUID.randomUUID());
+        course.setName("Test Course");
+        course.setLecturerId(lecturerId);
+        course.setDepartment("Testing");
+        course.setCredits(3);
+        return courseRepository.save(course);
+    }
+
+    public AttendanceSession activeSession(long courseId) {
+        return activeSession(courseId, LocalDate.now());
+    }
+
+    public AttendanceSession activeSession(long courseId, LocalDate date) {
+        return sessionRepository.save(newSession(courseId, date));
+    }
+
+    /**
+     * Not saved. Active and open for marks from midnight on {@code date}; it was
+     * started just now, so marks taken right away count as present.
+     */
+    public static AttendanceSession newSession(long courseId, LocalDate date) {
+        AttendanceSession session = new AttendanceSession();
+        session.setCourseId(courseId);
+        session.setLecturerId(1L);
+        session.setDate(date);
+        session.setStartTime(LocalTime.MIDNIGHT);
+        session.setStartedAt(LocalDateTime.now());
+        session.setStatus(AttendanceSession.SessionStatus.ACTIVE);
+        session.setBiometricEnabled(true);
+        session.setAttendanceType(AttendanceSession.BiometricType.FINGERPRINT);
+        return session;
+    }
+
+    public static AttendanceRecord mark(User student, AttendanceSession session) {
+        AttendanceRecord record = new AttendanceRecord();
+        record.setStudentId(student.getId());
+        record.setCourseId(session.getCourseId());
+        record.setSessionId(session.getId());
+        record.setMethod(AttendanceRecord.MarkingMethod.FINGERPRINT);
+        return record;
+    }
+}
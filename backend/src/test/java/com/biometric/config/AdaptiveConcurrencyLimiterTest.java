@@ -0,0 +1,81 @@
+package com.biometric.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The limiter under synthetic load: each window fills every slot it is given
+ * and then completes the requests with the same round-trip time.
+ */
+class AdaptiveConcurrencyLimiterTest {
+    private static final long MILLIS = 1_000_000;
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 8, 200);
+
+    @Test
+    void steadyLatencyNeverLowersTheLimit() {
+        double previous = limiter.getLimit();
+        // Well past several baseline re-measurements
+        for (int window = 0; window < 3000; window++) {
+            runWindow(10 * MILLIS);
+            assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(previous);
+            previous = limiter.getLimit();
+        }
+        assertThat(limiter.getLimit()).isEqualTo(200);
+    }
+
+    @Test
+    void queueingLowersTheLimit() {
+        for (int window = 0; window < 100; window++) {
+            runWindow(10 * MILLIS);
+        }
+        double unloaded = limiter.getLimit();
+
+        for (int window = 0; window < 50; window++) {
+            runWindow(40 * MILLIS);
+        }
+        assertThat(limiter.getLimit()).isLessThan(unloaded / 2);
+    }
+
+    @Test
+    void lastingLatencyShiftIsLearnedAsTheNewBaseline() {
+        for (int window = 0; window < 100; window++) {
+            runWindow(10 * MILLIS);
+        }
+        for (int window = 0; window < 100; window++) {
+            runWindow(20 * MILLIS);
+        }
+        assertThat(limiter.getLimit()).isLessThan(50);
+
+        // After the next re-measurement the slower round trip counts as no-load
+        for (int window = 0; window < 1200; window++) {
+            runWindow(20 * MILLIS);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(200);
+    }
+
+    @Test
+    void lowerLanesGetTheirShareOfTheLimit() {
+        int admitted = 0;
+        while (limiter.tryAcquire(0.4)) {
+            admitted++;
+        }
+        assertThat(admitted).isEqualTo(8);
+        assertThat(limiter.tryAcquire(1.0)).isTrue();
+    }
+
+    private void runWindow(long rttNanos) {
+        int acquired = 0;
+        while (limiter.tryAcquire(1.0)) {
+            acquired++;
+        }
+        // Complete at least a full window of samples
+        for (int i = 0; i < Math.max(acquired, 10); i++) {
+            if (i >= acquired) {
+                limiter.tryAcquire(1.0);
+            }
+            limiter.release(rttNanos);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.biometric.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reopening a journal resumes from its checkpoint, and a torn or corrupt
+ * entry at the end of the newest segment ends the journal there and is
+ * overwritten by the next append.
+ */
+class CheckInJournalTest {
+    private static final int SEGMENT_SIZE = 4096;
+    // [length][CRC32C] before every payload
+    private static final int HEADER = 8;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void reopenedJournalReadsFromItsCheckpoint() throws IOException {
+        CheckInJournal journal = CheckInJournal.open(dir, SEGMENT_SIZE);
+        CheckInJournal.Position first = journal.append(payload("mark-1"));
+        journal.append(payload("mark-2"));
+        journal.awaitDurable(journal.append(payload("mark-3")));
+        journal.commit(first);
+        // Crash: the process dies without another commit.
+        journal.close();
+
+        CheckInJournal reopened = CheckInJournal.open(dir, SEGMENT_SIZE);
+
+        assertThat(reopened.getCheckpoint()).isEqualTo(first);
+        assertThat(texts(reopened.read(reopened.getCheckpoint(), 10))).containsExactly("mark-2", "mark-3");
+    }
+
+    @Test
+    void tornTailIsDiscardedOnOpen() throws IOException {
+        CheckInJournal journal = CheckInJournal.open(dir, SEGMENT_SIZE);
+        journal.append(payload("mark-1"));
+        CheckInJournal.Position end = journal.append(payload("mark-2"));
+        journal.awaitDurable(end);
+        journal.close();
+        // A length was written for a third entry, but neither its checksum nor its payload.
+        write(end.offset(), ByteBuffer.allocate(4).putInt(6).array());
+
+        CheckInJournal reopened = CheckInJournal.open(dir, SEGMENT_SIZE);
+        reopened.awaitDurable(reopened.append(payload("mark-3")));
+
+        assertThat(texts(reopened.read(reopened.getCheckpoint(), 10))).containsExactly("mark-1", "mark-2", "mark-3");
+    }
+
+    @Test
+    void entryWithABadChecksumEndsTheJournal() throws IOException {
+        CheckInJournal journal = CheckInJournal.open(dir, SEGMENT_SIZE);
+        CheckInJournal.Position second = journal.append(payload("mark-1"));
+        journal.append(payload("mark-2"));
+        journal.awaitDurable(journal.append(payload("mark-3")));
+        journal.close();
+        // Flip one payload byte of the middle entry.
+        write(second.offset() + HEADER, "X".getBytes(StandardCharsets.UTF_8));
+
+        CheckInJournal reopened = CheckInJournal.open(dir, SEGMENT_SIZE);
+
+        // mark-3 follows the corrupt entry, so it was never acknowledged either.
+        assertThat(texts(reopened.read(reopened.getCheckpoint(), 10))).containsExactly("mark-1");
+        reopened.awaitDurable(reopened.append(payload("mark-4")));
+        assertThat(texts(reopened.read(reopened.getCheckpoint(), 10))).containsExactly("mark-1", "mark-4");
+    }
+
+    private static byte[] payload(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> texts(List<CheckInJournal.Entry> entries) {
+        return entries.stream().map(entry -> new String(entry.payload(), StandardCharsets.UTF_8)).toList();
+    }
+
+    private void write(int offset, byte[] bytes) throws IOException {
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.filter(path -> path.toString().endsWith(".seg")).findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes), offset);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.biometric.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Timeouts fire on the first tick at or after their deadline, also when the
+ * deadline is several turns of the wheel away or the advance comes late, and
+ * cancelled timeouts never fire.
+ */
+class HashedWheelTimerTest {
+    private static final Duration TICK = Duration.ofMillis(10);
+    // Eight buckets of 10 ms: one turn of the wheel is 80 ms.
+    private static final int WHEEL_SIZE = 8;
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private final HashedWheelTimer<String> wheel = new HashedWheelTimer<>(TICK, WHEEL_SIZE, now::get);
+
+    @Test
+    void timeoutFiresOnTheFirstTickAtOrAfterItsDeadline() {
+        wheel.schedule("on-tick", Duration.ofMillis(20));
+        wheel.schedule("between-ticks", Duration.ofMillis(25));
+
+        at(19);
+        assertThat(wheel.advance()).isEmpty();
+        at(20);
+        assertThat(wheel.advance()).containsExactly("on-tick");
+        at(29);
+        assertThat(wheel.advance()).isEmpty();
+        at(30);
+        assertThat(wheel.advance()).containsExactly("between-ticks");
+    }
+
+    @Test
+    void zeroOrNegativeDelayFiresOnTheNextTick() {
+        at(5);
+        wheel.schedule("now", Duration.ZERO);
+        wheel.schedule("overdue", Duration.ofMillis(-500));
+
+        at(10);
+        assertThat(wheel.advance()).containsExactlyInAnyOrder("now", "overdue");
+    }
+
+    @Test
+    void deadlinesPastOneTurnWaitForTheirRound() {
+        // Ticks 1 and 25 share a bucket; the second is three turns further on.
+        wheel.schedule("first-turn", Duration.ofMillis(10));
+        wheel.schedule("fourth-turn", Duration.ofMillis(250));
+
+        at(10);
+        assertThat(wheel.advance()).containsExactly("first-turn");
+        for (long millis = 20; millis < 250; millis += 10) {
+            at(millis);
+            assertThat(wheel.advance()).as("advance at %d ms", millis).isEmpty();
+        }
+        at(250);
+        assertThat(wheel.advance()).containsExactly("fourth-turn");
+    }
+
+    @Test
+    void timeoutScheduledAfterTheWheelMovedCountsFromNow() {
+        at(170);
+        wheel.advance();
+        // Deadline tick 26 shares bucket 2 with the next tick, 18, so it waits one round.
+        wheel.schedule("later", Duration.ofMillis(90));
+
+        at(250);
+        assertThat(wheel.advance()).isEmpty();
+        at(260);
+        assertThat(wheel.advance()).containsExactly("later");
+    }
+
+    @Test
+    void lateAdvanceCatchesUpOnEveryElapsedTick() {
+        wheel.schedule("a", Duration.ofMillis(30));
+        wheel.schedule("b", Duration.ofMillis(120));
+        wheel.schedule("c", Duration.ofMillis(500));
+
+        at(400);
+        assertThat(wheel.advance()).containsExactly("a", "b");
+        at(500);
+        assertThat(wheel.advance()).containsExactly("c");
+    }
+
+    @Test
+    void cancelledTimeoutsNeverFire() {
+        HashedWheelTimer.Timeout<String> beforePlacement = wheel.schedule("cancelled-while-queued", Duration.ofMillis(20));
+        wheel.schedule("kept", Duration.ofMillis(20));
+        HashedWheelTimer.Timeout<String> afterPlacement = wheel.schedule("cancelled-on-wheel", Duration.ofMillis(100));
+
+        beforePlacement.cancel();
+        at(10);
+        wheel.advance();
+        afterPlacement.cancel();
+
+        at(20);
+        assertThat(wheel.advance()).containsExactly("kept");
+        at(200);
+        assertThat(wheel.advance()).isEmpty();
+    }
+
+    private void at(long millis) {
+        now.set(1_000_000_000L + Duration.ofMillis(millis).toNanos());
+    }
+}
@@ -0,0 +1,248 @@
+package com.biometric.config;
+
+import com.biometric.TestData;
+import com.biometric.model.AttendanceRecord;
+import com.biometric.model.AttendanceSession;
+import com.biometric.model.KioskDevice;
+import com.biometric.model.User;
+import com.biometric.service.AttendanceRecordService;
+import com.biometric.service.KioskDeviceService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.net.URI;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+
+/**
+ * The kiosk WebSocket end to end: only the operator registers kiosks, the
+ * handshake needs the token in the Authorization header, check-ins beyond the
+ * window or the worker queue are answered right away, and every frame gets its
+ * ack or error frame.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "app.kiosk.enabled=true",
+    "app.kiosk.window=2",
+    "app.kiosk.worker-threads=1",
+    "app.kiosk.queue-capacity=1",
+    "app.admin.password=operator-secret"
+})
+@ActiveProfiles("test")
+class KioskWebSocketTest {
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private KioskDeviceService kioskDeviceService;
+    @Autowired
+    private TestData testData;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private TestRestTemplate restTemplate;
+    @SpyBean
+    private AttendanceRecordService recordService;
+
+    private final StandardWebSocketClient client = new StandardWebSocketClient();
+    private String deviceId;
+    private String token;
+
+    @BeforeEach
+    void registerKiosk() {
+        KioskDevice device = new KioskDevice();
+        device.setId("kiosk-" + UUID.randomUUID().toString().substring(0, 8));
+        device.setName("Test kiosk");
+        deviceId = device.getId();
+        token = kioskDeviceService.register(device).getToken();
+    }
+
+    @AfterEach
+    void unblockCheckIns() {
+        Mockito.reset(recordService);
+    }
+
+    @Test
+    void onlyTheOperatorManagesKiosks() {
+        KioskDevice device = new KioskDevice();
+        device.setId("kiosk-" + UUID.randomUUID().toString().substring(0, 8));
+        device.setName("Unregistered kiosk");
+
+        assertThat(restTemplate.postForEntity("/admin/kiosks", device, String.class).getStatusCode())
+            .isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(restTemplate.getForEntity("/admin/kiosks", String.class).getStatusCode())
+            .isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(restTemplate.exchange("/admin/kiosks/" + deviceId, HttpMethod.DELETE, null, Void.class)
+            .getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(kioskDeviceService.getAllDevices()).extracting(KioskDevice::getId)
+            .contains(deviceId)
+            .doesNotContain(device.getId());
+
+        ResponseEntity<JsonNode> registered = restTemplate.withBasicAuth("admin", "operator-secret")
+            .postForEntity("/admin/kiosks", device, JsonNode.class);
+        assertThat(registered.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(registered.getBody().path("token").asText()).isNotBlank();
+    }
+
+    @Test
+    void handshakeNeedsTheTokenInTheAuthorizationHeader() throws Exception {
+        assertThatThrownBy(() -> connect(null, null)).hasStackTraceContaining("401");
+        assertThatThrownBy(() -> connect("Bearer wrong-token", null)).hasStackTraceContaining("401");
+        // The token in the URL would end up in access logs, so it is refused there.
+        assertThatThrownBy(() -> connect(null, "token=" + token)).hasStackTraceContaining("401");
+
+        Kiosk kiosk = connect("Bearer " + token, null);
+
+        JsonNode hello = kiosk.next();
+        assertThat(hello.path("type").asText()).isEqualTo("hello");
+        assertThat(hello.path("window").asInt()).isEqualTo(2);
+        kiosk.session.close();
+    }
+
+    @Test
+    void everyFrameIsAnsweredWithAnAckOrAnError() throws Exception {
+        User student = testData.enrolledStudent("kiosk");
+        AttendanceSession session = testData.activeSession(1L);
+        Kiosk kiosk = connect("Bearer " + token, null);
+        kiosk.next();
+
+        kiosk.send("not json");
+        JsonNode error = kiosk.next();
+        assertThat(error.path("type").asText()).isEqualTo("error");
+        assertThat(error.path("message").asText()).isEqualTo("Unreadable frame");
+        kiosk.send("{\"type\":\"check-in\",\"studentId\":1}");
+        assertThat(kiosk.next().path("message").asText()).isEqualTo("Expected a check-in frame with an id");
+
+        kiosk.send(checkIn("k-missing", -1L, session));
+        JsonNode missing = kiosk.next();
+        assertThat(missing.path("type").asText()).isEqualTo("ack");
+        assertThat(missing.path("id").asText()).isEqualTo("k-missing");
+        assertThat(missing.path("status").asInt()).isEqualTo(400);
+        assertThat(missing.path("message").asText()).isEqualTo("Student not found");
+
+        kiosk.send(checkIn("k-ok", student.getId(), session));
+        JsonNode ack = kiosk.next();
+        assertThat(ack.path("status").asInt()).isEqualTo(200);
+        assertThat(ack.path("data").path("studentId").asLong()).isEqualTo(student.getId());
+
+        // The same frame resent gets the original ack, not a duplicate error.
+        kiosk.send(checkIn("k-ok", student.getId(), session));
+        JsonNode resent = kiosk.next();
+        assertThat(resent.path("status").asInt()).isEqualTo(200);
+        assertThat(resent.path("data").path("id").asLong()).isEqualTo(ack.path("data").path("id").asLong());
+        kiosk.session.close();
+    }
+
+    @Test
+    void checkInsBeyondTheWindowOrTheQueueAreAnsweredRightAway() throws Exception {
+        AttendanceSession session = testData.activeSession(1L);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            started.countDown();
+            release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(recordService).createRecord(any(AttendanceRecord.class));
+
+        Kiosk first = connect("Bearer " + token, null);
+        first.next();
+        first.send(checkIn("a-1", -1L, session));
+        // a-1 holds the only worker; a-2 takes the only queue slot.
+        assertThat(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        first.send(checkIn("a-2", -2L, session));
+        first.send(checkIn("a-3", -3L, session));
+        JsonNode rejected = first.next();
+        assertThat(rejected.path("id").asText()).isEqualTo("a-3");
+        assertThat(rejected.path("status").asInt()).isEqualTo(429);
+
+        // A second kiosk has room in its window, but the shared queue is full.
+        registerKiosk();
+        Kiosk second = connect("Bearer " + token, null);
+        second.next();
+        second.send(checkIn("b-1", -4L, session));
+        JsonNode busy = second.next();
+        assertThat(busy.path("id").asText()).isEqualTo("b-1");
+        assertThat(busy.path("status").asInt()).isEqualTo(503);
+        assertThat(busy.path("message").asText()).isEqualTo("Server busy; send it again");
+
+        release.countDown();
+        assertThat(first.next().path("id").asText()).isEqualTo("a-1");
+        assertThat(first.next().path("id").asText()).isEqualTo("a-2");
+        // Nothing was recorded for the rejected frame, so the same one goes through now.
+        second.send(checkIn("b-1", -4L, session));
+        JsonNode retried = second.next();
+        assertThat(retried.path("id").asText()).isEqualTo("b-1");
+        assertThat(retried.path("status").asInt()).isEqualTo(400);
+        first.session.close();
+        second.session.close();
+    }
+
+    private Kiosk connect(String authorization, String query) throws Exception {
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        headers.add(KioskWebSocketConfig.DEVICE_HEADER, deviceId);
+        if (authorization != null) {
+            headers.add(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        Kiosk kiosk = new Kiosk();
+        URI uri = URI.create("ws://localhost:" + port + "/api/ws/kiosk" + (query != null ? "?" + query : ""));
+        kiosk.session = client.execute(kiosk, headers, uri).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        return kiosk;
+    }
+
+    private String checkIn(String id, long studentId, AttendanceSession session) {
+        return """
+            {"type":"check-in","id":"%s","studentId":%d,"courseId":%d,"sessionId":%d,"method":"FINGERPRINT"}
+            """.formatted(id, studentId, session.getCourseId(), session.getId());
+    }
+
+    private class Kiosk extends TextWebSocketHandler {
+        private final BlockingQueue<JsonNode> frames = new LinkedBlockingQueue<>();
+        private WebSocketSession session;
+
+        @Override
+        protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+            frames.add(objectMapper.readTree(message.getPayload()));
+        }
+
+        void send(String frame) throws Exception {
+            session.sendMessage(new TextMessage(frame.strip()));
+        }
+
+        // Session pushes depend on when the feed notices new sessions, so they are skipped.
+        JsonNode next() throws InterruptedException {
+            while (true) {
+                JsonNode frame = frames.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                assertThat(frame).as("frame within %d s", TIMEOUT_SECONDS).isNotNull();
+                if (!frame.path("type").asText().startsWith("session-")) {
+                    return frame;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.biometric.config;
+
+import com.biometric.model.AttendanceRecord;
+import com.biometric.model.AttendanceSession;
+import com.biometric.model.Course;
+import com.biometric.model.CourseEnrollment;
+import com.biometric.model.User;
+import com.biometric.repository.AttendanceRecordRepository;
+import com.biometric.repository.AttendanceSessionRepository;
+import com.biometric.repository.CourseEnrollmentRepository;
+import com.biometric.repository.CourseRepository;
+import com.biometric.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The hot read endpoints stay within their statement budgets with cold caches
+ * and more rows than one statement per row would allow, and with
+ * enforce-budgets on (the test profile) a request that goes over fails.
+ */
+@SpringBootTest(properties = {
+    // An endpoint with a budget no request can meet, to see enforcement fail the request.
+    "app.db.instrumentation.budgets.get[/sessions/{id}]=0"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetTest {
+    private static final int STUDENTS = 12;
+    private static final int SESSIONS = 12;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private QueryInstrumentationProperties properties;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private CourseEnrollmentRepository enrollmentRepository;
+    @Autowired
+    private AttendanceSessionRepository sessionRepository;
+    @Autowired
+    private AttendanceRecordRepository recordRepository;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User lecturer;
+    private User student;
+    private Course course;
+    private AttendanceSession firstSession;
+
+    @BeforeAll
+    void seed() {
+        lecturer = userRepository.save(user("budget.lecturer@example.edu", User.UserRole.LECTURER));
+        course = new Course();
+        course.setCode("BUDGET101");
+        course.setName("Query Budgets");
+        course.setLecturerId(lecturer.getId());
+        course.setDepartment("Computer Science");
+        course.setCredits(3);
+        course = courseRepository.save(course);
+
+        List<User> students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(userRepository.save(user("budget.student" + i + "@example.edu", User.UserRole.STUDENT)));
+        }
+        student = students.get(0);
+        List<AttendanceSession> sessions = new ArrayList<>();
+        for (int i = 0; i < SESSIONS; i++) {
+            sessions.add(sessionRepository.save(session(i)));
+        }
+        firstSession = sessions.get(0);
+        for (User enrolled : students) {
+            CourseEnrollment enrollment = new CourseEnrollment();
+            enrollment.setStudentId(enrolled.getId());
+            enrollment.setCourseId(course.getId());
+            enrollmentRepository.save(enrollment);
+            for (AttendanceSession session : sessions) {
+                recordRepository.save(record(enrolled, session));
+            }
+        }
+    }
+
+    @BeforeEach
+    void clearCaches() {
+        // Every request below starts cold: nothing answered from the result caches or the second-level cache.
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void studentDashboardStaysWithinBudget() throws Exception {
+        assertWithinBudget("/dashboard/student/{id}", "/dashboard/student/" + student.getId());
+    }
+
+    @Test
+    void lecturerDashboardStaysWithinBudget() throws Exception {
+        assertWithinBudget("/dashboard/lecturer/{id}", "/dashboard/lecturer/" + lecturer.getId());
+    }
+
+    @Test
+    void adminSummaryStaysWithinBudget() throws Exception {
+        assertWithinBudget("/admin/summary", "/admin/summary");
+    }
+
+    @Test
+    void courseMatrixStaysWithinBudget() throws Exception {
+        assertWithinBudget("/reports/course/{courseId}/matrix", "/reports/course/" + course.getId() + "/matrix");
+    }
+
+    @Test
+    void sessionListStaysWithinBudget() throws Exception {
+        assertWithinBudget("/sessions", "/sessions");
+        assertWithinBudget("/sessions/course/{courseId}", "/sessions/course/" + course.getId());
+    }
+
+    @Test
+    void requestOverItsBudgetFails() {
+        assertThatThrownBy(() -> mockMvc.perform(get("/sessions/" + firstSession.getId())))
+            .hasStackTraceContaining("Query budget exceeded: GET /sessions/{id}");
+    }
+
+    // MockMvc runs the request on this thread, so the thread's counters see its statements.
+    private void assertWithinBudget(String pattern, String uri) throws Exception {
+        Integer budget = properties.budgetFor("GET", pattern);
+        assertThat(budget).as("budget for GET " + pattern).isNotNull();
+
+        QueryInstrumentation.Snapshot before = QueryInstrumentation.snapshot();
+        mockMvc.perform(get(uri)).andExpect(status().isOk());
+        QueryInstrumentation.Snapshot used = QueryInstrumentation.snapshot().since(before);
+
+        assertThat(used.statements()).as("statements of GET " + uri).isPositive();
+        used.assertStatementsAtMost(budget, "GET " + uri);
+    }
+
+    private static User user(String email, User.UserRole role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("secret");
+        user.setName(email.substring(0, email.indexOf('@')));
+        user.setRole(role);
+        return user;
+    }
+
+    private AttendanceSession session(int day) {
+        AttendanceSession session = new AttendanceSession();
+        session.setCourseId(course.getId());
+        session.setLecturerId(lecturer.getId());
+        session.setDate(LocalDate.now().minusDays(SESSIONS - day));
+        session.setStartTime(LocalTime.of(9, 0));
+        session.setStartedAt(LocalDateTime.now().minusDays(SESSIONS - day));
+        session.setStatus(day == SESSIONS - 1 ? AttendanceSession.SessionStatus.ACTIVE
+            : AttendanceSession.SessionStatus.CLOSED);
+        session.setBiometricEnabled(true);
+        session.setAttendanceType(AttendanceSession.BiometricType.FINGERPRINT);
+        return session;
+    }
+
+    private static AttendanceRecord record(User student, AttendanceSession session) {
+        AttendanceRecord record = new AttendanceRecord();
+        record.setStudentId(student.getId());
+        record.setCourseId(session.getCourseId());
+        record.setSessionId(session.getId());
+        record.setTimestamp(session.getStartedAt().plusMinutes(5));
+        record.setMethod(AttendanceRecord.MarkingMethod.FINGERPRINT);
+        record.setStatus(AttendanceRecord.AttendanceStatus.PRESENT);
+        return record;
+    }
+}
@@ -0,0 +1,114 @@
+package com.biometric.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Buckets are keyed on the client address or the authenticated user, never on
+ * headers the client picks, and the shipped defaults limit only the auth lane.
+ */
+class RateLimitConfigTest {
+    private OncePerRequestFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Lane attendance = new RateLimitProperties.Lane();
+        attendance.setPathPrefix("/attendance");
+        attendance.setCapacity(2);
+        attendance.setRefillPerSecond(0.001);
+        attendance.setKeyBy(RateLimitProperties.KeyBy.USER);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setLanes(Map.of("attendance", attendance));
+
+        filter = new RateLimitConfig().rateLimitFilter(properties,
+            new TokenBucketRateLimiter(Duration.ofMinutes(10), 1000), new SimpleMeterRegistry(), new ObjectMapper());
+    }
+
+    @Test
+    void changingTheDeviceHeaderDoesNotBuyANewBucket() throws Exception {
+        assertThat(post("10.0.0.1", "kiosk-1", null)).isEqualTo(HttpStatus.OK.value());
+        assertThat(post("10.0.0.1", "kiosk-2", null)).isEqualTo(HttpStatus.OK.value());
+        assertThat(post("10.0.0.1", "kiosk-3", null)).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+
+        assertThat(post("10.0.0.2", "kiosk-3", null)).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void signedInUsersBehindOneAddressGetTheirOwnBuckets() throws Exception {
+        assertThat(post("10.0.0.1", null, "alice")).isEqualTo(HttpStatus.OK.value());
+        assertThat(post("10.0.0.1", null, "alice")).isEqualTo(HttpStatus.OK.value());
+        assertThat(post("10.0.0.1", null, "alice")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+
+        assertThat(post("10.0.0.1", null, "bob")).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void limiterIsOffUnlessEnabled() {
+        ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class))
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withUserConfiguration(RateLimitConfig.class);
+
+        runner.run(context -> assertThat(context).doesNotHaveBean(TokenBucketRateLimiter.class));
+        runner.withPropertyValues("app.rate-limit.enabled=true")
+            .run(context -> assertThat(context).hasSingleBean(TokenBucketRateLimiter.class));
+    }
+
+    @Test
+    void shippedDefaultsLimitOnlyLoginsPerAddress() {
+        new ApplicationContextRunner()
+            .withInitializer(new ConfigDataApplicationContextInitializer())
+            .withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class))
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withUserConfiguration(RateLimitConfig.class)
+            .run(context -> {
+                OncePerRequestFilter defaults = context.getBean("rateLimitFilter", OncePerRequestFilter.class);
+                String login = "/api/auth/login";
+                String attendance = "/api/attendance";
+                for (int i = 0; i < 10; i++) {
+                    assertThat(send(defaults, login, "10.0.0.1", null, null)).isEqualTo(HttpStatus.OK.value());
+                    assertThat(send(defaults, attendance, "10.0.0.1", null, null)).isEqualTo(HttpStatus.OK.value());
+                }
+                assertThat(send(defaults, login, "10.0.0.1", null, null)).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+                assertThat(send(defaults, login, "10.0.0.2", null, null)).isEqualTo(HttpStatus.OK.value());
+                assertThat(send(defaults, attendance, "10.0.0.1", null, null)).isEqualTo(HttpStatus.OK.value());
+            });
+    }
+
+    private int post(String remoteAddr, String deviceId, String user) throws Exception {
+        return send(filter, "/api/attendance", remoteAddr, deviceId, user);
+    }
+
+    private static int send(OncePerRequestFilter filter, String uri, String remoteAddr, String deviceId, String user)
+        throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setContextPath("/api");
+        request.setRemoteAddr(remoteAddr);
+        if (deviceId != null) {
+            request.addHeader("X-Device-Id", deviceId);
+        }
+        if (user != null) {
+            request.setUserPrincipal(() -> user);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
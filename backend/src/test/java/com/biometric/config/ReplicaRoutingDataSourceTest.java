@@ -0,0 +1,200 @@
+package com.biometric.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Routing between a primary and a replica, two in-memory H2 databases that
+ * each say which one they are. Wired like ReadReplicaConfig: a lazy proxy over
+ * the routing data source, with Spring transactions on top. Reads follow
+ * their own writes to the primary only within a unit of work.
+ */
+class ReplicaRoutingDataSourceTest {
+    private DataSource primary;
+    private SwitchableDataSource replica;
+    private ReplicaHealthMonitor healthMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = new SwitchableDataSource(database("replica"));
+        new JdbcTemplate(replica).execute("CREATE TABLE replica_lag (seconds BIGINT)");
+        new JdbcTemplate(replica).update("INSERT INTO replica_lag VALUES (0)");
+
+        ReadReplicaProperties properties = new ReadReplicaProperties();
+        properties.setMaxLagSeconds(5);
+        properties.setLagQuery("SELECT seconds FROM replica_lag");
+        healthMonitor = new ReplicaHealthMonitor(Map.of("replica-0", replica), properties, new SimpleMeterRegistry());
+        healthMonitor.checkReplicas();
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(healthMonitor);
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReplicaRoutingDataSource.PRIMARY, primary);
+        targets.put("replica-0", replica);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void clearPin() {
+        ReplicaRoutingDataSource.endUnitOfWork();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        assertThat(answerReadOnly()).isEqualTo("replica");
+    }
+
+    @Test
+    void writeTransactionsAndNonTransactionalCallsGoToThePrimary() {
+        assertThat(answerInWriteTransaction()).isEqualTo("primary");
+        ReplicaRoutingDataSource.clearPin();
+        assertThat(whoAnswers()).isEqualTo("primary");
+    }
+
+    @Test
+    void readsAfterAWriteInTheSameUnitOfWorkStayOnThePrimary() {
+        List<String> answers = new ArrayList<>();
+        ReplicaRoutingDataSource.runAsUnitOfWork(() -> {
+            write();
+            answers.add(answerReadOnly());
+        });
+
+        assertThat(answers).containsExactly("primary");
+        assertThat(answerReadOnly()).isEqualTo("replica");
+    }
+
+    @Test
+    void writeOutsideAUnitOfWorkPinsOnlyUntilItsTransactionEnds() {
+        write();
+
+        assertThat(answerReadOnly()).isEqualTo("replica");
+    }
+
+    @Test
+    void failedUnitOfWorkLeavesNoPinBehind() {
+        assertThatThrownBy(() -> ReplicaRoutingDataSource.runAsUnitOfWork(() -> {
+            write();
+            throw new IllegalStateException("job failed");
+        })).hasMessage("job failed");
+
+        assertThat(answerReadOnly()).isEqualTo("replica");
+    }
+
+    @Test
+    void eachScheduledRunIsItsOwnUnitOfWork() throws Exception {
+        ReplicaAwareTaskScheduler scheduler = new ReplicaAwareTaskScheduler();
+        // One thread, so both runs share it.
+        scheduler.setPoolSize(1);
+        scheduler.initialize();
+        try {
+            List<String> answers = new ArrayList<>();
+            scheduler.schedule(() -> {
+                write();
+                answers.add(answerReadOnly());
+            }, Instant.now()).get(10, TimeUnit.SECONDS);
+            scheduler.schedule(() -> answers.add(answerReadOnly()), Instant.now()).get(10, TimeUnit.SECONDS);
+
+            assertThat(answers).containsExactly("primary", "replica");
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void replicaThatGoesDownIsTakenOutOfRotationAndComesBack() {
+        replica.down = true;
+        healthMonitor.checkReplicas();
+        assertThat(answerReadOnly()).isEqualTo("primary");
+
+        replica.down = false;
+        healthMonitor.checkReplicas();
+        assertThat(answerReadOnly()).isEqualTo("replica");
+    }
+
+    @Test
+    void replicaLaggingBeyondTheLimitIsTakenOutOfRotation() {
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 30");
+        healthMonitor.checkReplicas();
+        assertThat(answerReadOnly()).isEqualTo("primary");
+
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 1");
+        healthMonitor.checkReplicas();
+        assertThat(answerReadOnly()).isEqualTo("replica");
+    }
+
+    private void write() {
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.update("UPDATE whoami SET name = name"));
+    }
+
+    private String answerReadOnly() {
+        return readOnlyTransaction.execute(status -> whoAnswers());
+    }
+
+    private String answerInWriteTransaction() {
+        return writeTransaction.execute(status -> whoAnswers());
+    }
+
+    private String whoAnswers() {
+        return jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class);
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE whoami (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO whoami VALUES (?)", name);
+        return dataSource;
+    }
+
+    /** A replica that can be taken down: new connections fail while it is down. */
+    private static final class SwitchableDataSource extends DelegatingDataSource {
+        private volatile boolean down;
+
+        private SwitchableDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("Connection refused");
+            }
+            return super.getConnection();
+        }
+    }
+}
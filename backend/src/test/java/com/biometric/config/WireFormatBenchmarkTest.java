@@ -0,0 +1,171 @@
+package com.biometric.config;
+
+import com.biometric.model.AttendanceRecord;
+import com.biometric.model.AttendanceSession;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Payload size and serialization CPU of the JSON and CBOR encodings, using the
+ * application's own mappers. The size checks always run; the timed benchmark
+ * runs on request:
+ *
+ *   mvn test -Dtest=WireFormatBenchmarkTest -Dbenchmark=true [-Dbenchmark.iterations=20000]
+ *
+ * It logs one table with, per payload, the encoded size (plain and gzip) and the
+ * CPU time per serialize and deserialize, measured as thread CPU time after a
+ * warm-up.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class WireFormatBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(WireFormatBenchmarkTest.class);
+
+    @Autowired
+    private ObjectMapper jsonMapper;
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Test
+    void cborIsSmallerThanJsonAndRoundTrips() throws IOException {
+        ObjectMapper cborMapper = cborConverter.getObjectMapper();
+        for (Payload payload : payloads()) {
+            byte[] json = jsonMapper.writeValueAsBytes(payload.value);
+            byte[] cbor = cborMapper.writeValueAsBytes(payload.value);
+            assertThat(cbor.length).as(payload.name).isLessThan(json.length);
+
+            Object fromJson = jsonMapper.readValue(json, payload.type(jsonMapper));
+            Object fromCbor = cborMapper.readValue(cbor, payload.type(cborMapper));
+            assertThat(cborMapper.writeValueAsBytes(fromCbor)).as(payload.name).isEqualTo(cbor);
+            assertThat(jsonMapper.writeValueAsBytes(fromJson)).as(payload.name).isEqualTo(json);
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmark() throws IOException {
+        int iterations = Integer.getInteger("benchmark.iterations", 20000);
+        ObjectMapper cborMapper = cborConverter.getObjectMapper();
+        StringBuilder table = new StringBuilder(String.format("%n%-22s %-5s %9s %9s %14s %14s",
+            "payload", "format", "bytes", "gzip", "write us/op", "read us/op"));
+        for (Payload payload : payloads()) {
+            // Large lists get fewer iterations so every row takes a similar time.
+            int rounds = Math.max(50, iterations / payload.count);
+            for (String format : List.of("json", "cbor")) {
+                ObjectMapper mapper = format.equals("json") ? jsonMapper : cborMapper;
+                byte[] encoded = mapper.writeValueAsBytes(payload.value);
+                JavaType type = payload.type(mapper);
+                double writeMicros = cpuMicrosPerOp(rounds, () -> mapper.writeValueAsBytes(payload.value));
+                double readMicros = cpuMicrosPerOp(rounds, () -> mapper.readValue(encoded, type));
+                assertThat(writeMicros).as("%s %s write", payload.name, format).isPositive();
+                assertThat(readMicros).as("%s %s read", payload.name, format).isPositive();
+                table.append(String.format("%n%-22s %-5s %9d %9d %14.2f %14.2f",
+                    payload.name, format, encoded.length, gzip(encoded).length, writeMicros, readMicros));
+            }
+        }
+        log.info("Wire format benchmark, {} iterations:{}", iterations, table);
+    }
+
+    private static double cpuMicrosPerOp(int rounds, IoAction action) throws IOException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < rounds; i++) {
+            action.run();
+        }
+        long start = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < rounds; i++) {
+            action.run();
+        }
+        return (threads.getCurrentThreadCpuTime() - start) / 1000.0 / rounds;
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    // What kiosks send and receive: one mark, a session's marks and the active sessions.
+    private static List<Payload> payloads() {
+        List<AttendanceRecord> records = new ArrayList<>();
+        for (long i = 1; i <= 500; i++) {
+            records.add(record(i));
+        }
+        List<AttendanceSession> sessions = new ArrayList<>();
+        for (long i = 1; i <= 50; i++) {
+            sessions.add(session(i));
+        }
+        return List.of(
+            new Payload("record", record(1), 1),
+            new Payload("records x500", records, 500),
+            new Payload("active sessions x50", sessions, 50));
+    }
+
+    private static AttendanceRecord record(long id) {
+        LocalDateTime time = LocalDateTime.of(2026, 3, 2, 9, 0).plusSeconds(id * 7);
+        AttendanceRecord record = new AttendanceRecord();
+        record.setId(id);
+        record.setStudentId(1000 + id);
+        record.setCourseId(12L);
+        record.setSessionId(340L);
+        record.setTimestamp(time);
+        record.setMethod(AttendanceRecord.MarkingMethod.FINGERPRINT);
+        record.setStatus(id % 10 == 0 ? AttendanceRecord.AttendanceStatus.LATE : AttendanceRecord.AttendanceStatus.PRESENT);
+        record.setVerificationScore(0.9 + (id % 10) / 100.0);
+        record.setVersion(0L);
+        record.setCreatedAt(time);
+        record.setUpdatedAt(time);
+        return record;
+    }
+
+    private static AttendanceSession session(long id) {
+        AttendanceSession session = new AttendanceSession();
+        session.setId(id);
+        session.setCourseId(id);
+        session.setLecturerId(2L);
+        session.setDate(LocalDate.of(2026, 3, 2));
+        session.setStartTime(LocalTime.of(9, 0));
+        session.setStartedAt(LocalDateTime.of(2026, 3, 2, 9, 0));
+        session.setStatus(AttendanceSession.SessionStatus.ACTIVE);
+        session.setBiometricEnabled(true);
+        session.setAttendanceType(AttendanceSession.BiometricType.FINGERPRINT);
+        session.setVersion(0L);
+        return session;
+    }
+
+    private record Payload(String name, Object value, int count) {
+        JavaType type(ObjectMapper mapper) {
+            if (value instanceof List<?> list) {
+                return mapper.getTypeFactory().constructCollectionType(List.class, list.get(0).getClass());
+            }
+            return mapper.constructType(value.getClass());
+        }
+    }
+
+    @FunctionalInterface
+    private interface IoAction {
+        void run() throws IOException;
+    }
+}
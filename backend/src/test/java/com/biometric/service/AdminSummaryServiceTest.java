@@ -0,0 +1,75 @@
+package com.biometric.service;
+
+import com.biometric.TestData;
+import com.biometric.dto.AdminSummary;
+import com.biometric.model.AttendanceSession;
+import com.biometric.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The admin summary is served from its cache while nothing has been written,
+ * and a write, including a bulk one, makes the next read start a background
+ * reload instead of waiting out the refresh interval.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AdminSummaryServiceTest {
+    private static final Duration RELOAD_TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private AdminSummaryService summaryService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private AttendanceSessionService sessionService;
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void writesTriggerAReloadOfTheCachedSummary() throws InterruptedException {
+        AdminSummary before = summaryService.getSummary(null, null);
+        assertThat(summaryService.getSummary(null, null)).isSameAs(before);
+        long students = before.getUsersByRole().get(User.UserRole.STUDENT);
+
+        userService.createUser(TestData.newUser("summary", User.UserRole.STUDENT));
+
+        AdminSummary reloaded = awaitSummary(s -> s.getUsersByRole().get(User.UserRole.STUDENT) == students + 1);
+        assertThat(summaryService.getSummary(null, null)).isSameAs(reloaded);
+
+        // Bulk UPDATE, so the version moves through an explicit bump rather than an entity event.
+        AttendanceSession session = testData.activeSession(1L);
+        long closed = awaitSummary(s -> s != reloaded).getSessionsByStatus().get(AttendanceSession.SessionStatus.CLOSED);
+        sessionService.closeSessions(List.of(session.getId()));
+
+        awaitSummary(s -> s.getSessionsByStatus().get(AttendanceSession.SessionStatus.CLOSED) == closed + 1);
+    }
+
+    @Test
+    void rangeEndingBeforeItStartsIsRejected() {
+        assertThatThrownBy(() -> summaryService.getSummary(LocalDate.of(2026, 3, 4), LocalDate.of(2026, 3, 2)))
+            .hasMessage("'from' must not be after 'to'");
+    }
+
+    // The read that notices the write still gets the old summary; the reload replaces it shortly after.
+    private AdminSummary awaitSummary(Predicate<AdminSummary> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + RELOAD_TIMEOUT.toNanos();
+        AdminSummary summary = summaryService.getSummary(null, null);
+        while (!condition.test(summary)) {
+            assertThat(System.nanoTime()).as("summary reloaded within " + RELOAD_TIMEOUT).isLessThan(deadline);
+            Thread.sleep(20);
+            summary = summaryService.getSummary(null, null);
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,99 @@
+package com.biometric.service;
+
+import com.biometric.TestData;
+import com.biometric.model.ArchivedAttendanceRecord;
+import com.biometric.model.AttendanceRecord;
+import com.biometric.model.AttendanceSession;
+import com.biometric.model.User;
+import com.biometric.repository.ArchivedAttendanceRecordRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static com.biometric.TestData.mark;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Check-ins and the unfiltered record list stay on the live table; archived
+ * terms are read only through lookups by student, course or session, the
+ * per-term archive list and the list that asks for the archive, and are never
+ * deleted.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AttendanceArchiveReadTest {
+    private static final String CLOSED_TERM = "2020-01";
+
+    @Autowired
+    private AttendanceRecordService recordService;
+    @Autowired
+    private TestData testData;
+    @SpyBean
+    private ArchivedAttendanceRecordRepository archiveRepository;
+
+    @Test
+    void checkInNeverReadsTheArchive() {
+        User student = testData.enrolledStudent("archive");
+        AttendanceSession session = testData.activeSession(1L);
+        Mockito.clearInvocations(archiveRepository);
+
+        AttendanceRecord saved = recordService.createRecord(mark(student, session));
+        assertThatThrownBy(() -> recordService.createRecord(mark(student, session)))
+            .hasMessage("Attendance already marked for this student in this session");
+
+        assertThat(saved.getId()).isNotNull();
+        Mockito.verifyNoInteractions(archiveRepository);
+    }
+
+    @Test
+    void archivedRecordsAreListedOnlyWhenAskedFor() {
+        User student = testData.enrolledStudent("archive");
+        ArchivedAttendanceRecord archived = archiveRepository.save(archived(student));
+        Mockito.clearInvocations(archiveRepository);
+
+        assertThat(recordService.getAllRecords(false)).extracting(AttendanceRecord::getId)
+            .doesNotContain(archived.getId());
+        Mockito.verifyNoInteractions(archiveRepository);
+
+        assertThat(recordService.getAllRecords(true)).extracting(AttendanceRecord::getId)
+            .contains(archived.getId());
+
+        assertThat(recordService.getArchivedRecords(CLOSED_TERM)).extracting(AttendanceRecord::getId)
+            .contains(archived.getId());
+        assertThat(recordService.getArchivedRecords("2020-07")).isEmpty();
+        // Lookups for one student still cover closed terms.
+        assertThat(recordService.getRecordsByStudentId(student.getId())).extracting(AttendanceRecord::getId)
+            .containsExactly(archived.getId());
+    }
+
+    @Test
+    void archivedRecordsCannotBeDeleted() {
+        User student = testData.enrolledStudent("archive");
+        ArchivedAttendanceRecord archived = archiveRepository.save(archived(student));
+
+        assertThatThrownBy(() -> recordService.deleteRecord(archived.getId()))
+            .hasMessage("Record belongs to an archived term and can no longer be changed");
+
+        assertThat(archiveRepository.existsById(archived.getId())).isTrue();
+    }
+
+    private static ArchivedAttendanceRecord archived(User student) {
+        ArchivedAttendanceRecord record = new ArchivedAttendanceRecord();
+        // Archived rows keep their live id; this one is far above anything the test inserts.
+        record.setId(1_000_000L + student.getId());
+        record.setTerm(CLOSED_TERM);
+        record.setStudentId(student.getId());
+        record.setCourseId(1L);
+        record.setSessionId(-1L);
+        record.setTimestamp(LocalDateTime.of(2020, 3, 2, 9, 0));
+        record.setMethod(AttendanceRecord.MarkingMethod.FINGERPRINT);
+        record.setStatus(AttendanceRecord.AttendanceStatus.PRESENT);
+        return record;
+    }
+}
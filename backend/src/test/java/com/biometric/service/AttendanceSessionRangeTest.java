@@ -0,0 +1,126 @@
+package com.biometric.service;
+
+import com.biometric.model.AttendanceSession;
+import com.biometric.repository.AttendanceSessionRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sessions stored with typed date and start time: the course and lecturer
+ * range endpoints return one ordered calendar for a date range, and the open
+ * window is computed from the typed columns.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AttendanceSessionRangeTest {
+    private static final long COURSE = 27_001L;
+    private static final long OTHER_COURSE = 27_002L;
+    private static final long LECTURER = 27_101L;
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 2);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private AttendanceSessionRepository sessionRepository;
+    @Autowired
+    private AttendanceSessionService sessionService;
+
+    @BeforeAll
+    void seed() {
+        // Saved out of order; the range queries sort by date, then start time. Closed, so
+        // they stay out of the active-session lists other tests read.
+        sessionRepository.save(session(COURSE, MONDAY.plusDays(2), LocalTime.of(9, 0)));
+        sessionRepository.save(session(COURSE, MONDAY, LocalTime.of(14, 0)));
+        sessionRepository.save(session(COURSE, MONDAY, LocalTime.of(8, 30)));
+        sessionRepository.save(session(COURSE, MONDAY.minusDays(1), LocalTime.of(10, 0)));
+        sessionRepository.save(session(COURSE, MONDAY.plusDays(7), LocalTime.of(9, 0)));
+        sessionRepository.save(session(OTHER_COURSE, MONDAY.plusDays(1), LocalTime.of(11, 0)));
+    }
+
+    @Test
+    void courseRangeIsInclusiveAndOrderedByDateAndStartTime() throws Exception {
+        assertThat(slots("/sessions/course/" + COURSE + "?from=2026-03-02&to=2026-03-04"))
+            .containsExactly("2026-03-02 08:30", "2026-03-02 14:00", "2026-03-04 09:00");
+    }
+
+    @Test
+    void openEndedRangesRunToTheFirstOrLastSession() throws Exception {
+        assertThat(slots("/sessions/course/" + COURSE + "?from=2026-03-04"))
+            .containsExactly("2026-03-04 09:00", "2026-03-09 09:00");
+        assertThat(slots("/sessions/course/" + COURSE + "?to=2026-03-01"))
+            .containsExactly("2026-03-01 10:00");
+    }
+
+    @Test
+    void lecturerRangeCoversAllTheirCourses() throws Exception {
+        assertThat(slots("/sessions/lecturer/" + LECTURER + "?from=2026-03-02&to=2026-03-03"))
+            .containsExactly("2026-03-02 08:30", "2026-03-02 14:00", "2026-03-03 11:00");
+    }
+
+    @Test
+    void rangeEndingBeforeItStartsIsRejected() throws Exception {
+        mockMvc.perform(get("/sessions/course/" + COURSE).param("from", "2026-03-04").param("to", "2026-03-02"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/sessions/lecturer/" + LECTURER).param("from", "2026-03-04").param("to", "2026-03-02"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void sessionIsOpenFromItsTypedStart() {
+        AttendanceSession session = session(COURSE, MONDAY, LocalTime.of(9, 0));
+        session.setStatus(AttendanceSession.SessionStatus.ACTIVE);
+        LocalDateTime start = MONDAY.atTime(9, 0);
+
+        assertThat(sessionService.hasNotStarted(session, start.minusSeconds(1))).isTrue();
+        assertThat(sessionService.isSessionOpenForAttendance(session, start.minusSeconds(1))).isFalse();
+        assertThat(sessionService.hasNotStarted(session, start)).isFalse();
+        assertThat(sessionService.isSessionOpenForAttendance(session, start)).isTrue();
+
+        session.setStatus(AttendanceSession.SessionStatus.CLOSED);
+        assertThat(sessionService.isSessionOpenForAttendance(session, start)).isFalse();
+    }
+
+    private List<String> slots(String uri) throws Exception {
+        String body = mockMvc.perform(get(uri)).andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        List<String> slots = new ArrayList<>();
+        for (JsonNode session : objectMapper.readTree(body)) {
+            slots.add(session.path("date").asText() + " " + session.path("startTime").asText());
+        }
+        return slots;
+    }
+
+    private static AttendanceSession session(long courseId, LocalDate date, LocalTime startTime) {
+        AttendanceSession session = new AttendanceSession();
+        session.setCourseId(courseId);
+        session.setLecturerId(LECTURER);
+        session.setDate(date);
+        session.setStartTime(startTime);
+        session.setStatus(AttendanceSession.SessionStatus.CLOSED);
+        session.setBiometricEnabled(true);
+        session.setAttendanceType(AttendanceSession.BiometricType.FINGERPRINT);
+        return session;
+    }
+}
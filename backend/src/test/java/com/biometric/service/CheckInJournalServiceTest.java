@@ -0,0 +1,121 @@
+package com.biometric.service;
+
+import com.biometric.model.AttendanceRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Marks acknowledged from the journal survive a restart: the reopened journal
+ * replays them from its checkpoint, and marks that were stored before the
+ * checkpoint moved are skipped instead of failing the drain.
+ */
+@SpringBootTest(properties = {
+    "app.attendance.ingest.mode=journal",
+    // No scheduled drains during the test; drain() is called directly.
+    "app.attendance.ingest.drain-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class CheckInJournalServiceTest {
+    private static final Path JOURNAL_DIR;
+
+    static {
+        try {
+            JOURNAL_DIR = Files.createTempDirectory("checkin-journal");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @DynamicPropertySource
+    static void journalDir(DynamicPropertyRegistry registry) {
+        registry.add("app.attendance.ingest.journal-dir", JOURNAL_DIR::toString);
+    }
+
+    @Autowired
+    private CheckInJournalService journalService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void marksJournaledBeforeACrashAreDrainedAfterRestart() throws IOException {
+        long sessionId = 101;
+        for (long student = 1; student <= 3; student++) {
+            journalService.submit(mark(student, sessionId));
+        }
+
+        restart();
+
+        assertThat(journalService.isPending(2L, sessionId)).isTrue();
+        journalService.drain();
+        assertThat(storedMarks(sessionId)).isEqualTo(3);
+        assertThat(journalService.isPending(2L, sessionId)).isFalse();
+    }
+
+    @Test
+    void replayAfterACrashBeforeTheCheckpointSkipsStoredMarks() throws IOException {
+        long sessionId = 202;
+        journalService.submit(mark(1L, sessionId));
+        journalService.submit(mark(2L, sessionId));
+        Path checkpoint = JOURNAL_DIR.resolve("checkpoint");
+        byte[] checkpointBefore = Files.exists(checkpoint) ? Files.readAllBytes(checkpoint) : null;
+
+        journalService.drain();
+        long eventsAfterFirstDrain = outboxEvents();
+        assertThat(storedMarks(sessionId)).isEqualTo(2);
+
+        // Crash after the insert committed but before the checkpoint file was replaced.
+        if (checkpointBefore != null) {
+            Files.write(checkpoint, checkpointBefore);
+        } else {
+            Files.delete(checkpoint);
+        }
+        restart();
+        assertThat(journalService.isPending(1L, sessionId)).isTrue();
+
+        journalService.drain();
+
+        assertThat(storedMarks(sessionId)).isEqualTo(2);
+        assertThat(outboxEvents()).isEqualTo(eventsAfterFirstDrain);
+        assertThat(journalService.isPending(1L, sessionId)).isFalse();
+    }
+
+    // Reopens the journal from disk, as a fresh process would.
+    private void restart() throws IOException {
+        journalService.close();
+        journalService.open();
+    }
+
+    private long storedMarks(long sessionId) {
+        return jdbcTemplate.queryForObject("select count(*) from attendance_records where session_id = ?",
+            Long.class, sessionId);
+    }
+
+    private long outboxEvents() {
+        return jdbcTemplate.queryForObject("select count(*) from outbox_events", Long.class);
+    }
+
+    private static AttendanceRecord mark(long studentId, long sessionId) {
+        AttendanceRecord record = new AttendanceRecord();
+        record.setStudentId(studentId);
+        record.setCourseId(1L);
+        record.setSessionId(sessionId);
+        record.setTimestamp(LocalDateTime.now());
+        record.setMethod(AttendanceRecord.MarkingMethod.FINGERPRINT);
+        record.setStatus(AttendanceRecord.AttendanceStatus.PRESENT);
+        record.setVerificationScore(0.97);
+        return record;
+    }
+}
@@ -0,0 +1,103 @@
+package com.biometric.service;
+
+import com.biometric.TestData;
+import com.biometric.dto.CourseAttendanceMatrix;
+import com.biometric.model.AttendanceRecord;
+import com.biometric.model.AttendanceSession;
+import com.biometric.model.CourseEnrollment;
+import com.biometric.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.biometric.TestData.mark;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * The course matrix has one cell per session for every enrolled or marked
+ * student, counts closed unmarked sessions as absent, and is served from the
+ * cache until a record, session or enrollment write for the course evicts it.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CourseAttendanceMatrixServiceTest {
+    private static final long COURSE = 29_001L;
+
+    @Autowired
+    private CourseAttendanceMatrixService matrixService;
+    @Autowired
+    private AttendanceRecordService recordService;
+    @Autowired
+    private AttendanceSessionService sessionService;
+    @Autowired
+    private CourseEnrollmentService enrollmentService;
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void writesForTheCourseEvictTheCachedMatrix() {
+        User marked = testData.enrolledStudent("matrix");
+        User absent = testData.enrolledStudent("matrix");
+        enroll(marked);
+        enroll(absent);
+        AttendanceSession yesterday = testData.activeSession(COURSE, LocalDate.now().minusDays(1));
+        AttendanceRecord mark = recordService.createRecord(mark(marked, yesterday));
+        sessionService.closeSessions(List.of(yesterday.getId()));
+        AttendanceSession today = testData.activeSession(COURSE);
+
+        CourseAttendanceMatrix matrix = matrixService.getMatrix(COURSE);
+        assertThat(matrix.getSessions()).extracting(CourseAttendanceMatrix.SessionColumn::getSessionId)
+            .containsExactly(yesterday.getId(), today.getId());
+        assertThat(matrix.getStudents())
+            .extracting(CourseAttendanceMatrix.StudentRow::getStudentId, CourseAttendanceMatrix.StudentRow::getCells,
+                CourseAttendanceMatrix.StudentRow::getAttendancePercentage)
+            .containsExactly(tuple(marked.getId(), "P-", 100.0), tuple(absent.getId(), "A-", 0.0));
+        assertThat(matrixService.getMatrix(COURSE)).isSameAs(matrix);
+
+        // Check-in.
+        recordService.createRecord(mark(absent, today));
+        matrix = matrixService.getMatrix(COURSE);
+        assertThat(row(matrix, absent).getCells()).isEqualTo("AP");
+        assertThat(row(matrix, absent).getAttendancePercentage()).isEqualTo(50.0);
+
+        // Record correction.
+        AttendanceRecord late = new AttendanceRecord();
+        late.setStatus(AttendanceRecord.AttendanceStatus.LATE);
+        recordService.updateRecord(mark.getId(), late);
+        matrix = matrixService.getMatrix(COURSE);
+        assertThat(row(matrix, marked).getCells()).isEqualTo("L-");
+        assertThat(row(matrix, marked).getLate()).isEqualTo(1);
+
+        // Session close.
+        sessionService.closeSessions(List.of(today.getId()));
+        matrix = matrixService.getMatrix(COURSE);
+        assertThat(row(matrix, marked).getCells()).isEqualTo("LA");
+        assertThat(row(matrix, marked).getAttendancePercentage()).isEqualTo(50.0);
+
+        // Enrollment.
+        User joined = testData.enrolledStudent("matrix");
+        enroll(joined);
+        matrix = matrixService.getMatrix(COURSE);
+        assertThat(row(matrix, joined).getCells()).isEqualTo("AA");
+        assertThat(row(matrix, joined).isEnrolled()).isTrue();
+    }
+
+    private static CourseAttendanceMatrix.StudentRow row(CourseAttendanceMatrix matrix, User student) {
+        return matrix.getStudents().stream()
+            .filter(row -> row.getStudentId().equals(student.getId()))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private void enroll(User student) {
+        CourseEnrollment enrollment = new CourseEnrollment();
+        enrollment.setStudentId(student.getId());
+        enrollment.setCourseId(COURSE);
+        enrollmentService.createEnrollment(enrollment);
+    }
+}
@@ -0,0 +1,101 @@
+package com.biometric.service;
+
+import com.biometric.TestData;
+import com.biometric.dto.BulkEnrollmentRequest;
+import com.biometric.dto.BulkEnrollmentResult;
+import com.biometric.dto.CourseAttendanceMatrix;
+import com.biometric.dto.StudentDashboard;
+import com.biometric.model.Course;
+import com.biometric.model.CourseEnrollment;
+import com.biometric.model.User;
+import com.biometric.repository.CourseEnrollmentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Bulk enrollment inserts only the students that are new to the course,
+ * reports already enrolled and unknown or non-student ids instead of failing
+ * the whole request, is safe to repeat, and evicts the caches it affects.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CourseEnrollmentServiceTest {
+    private static final long MISSING_ID = 42_000_000L;
+
+    @Autowired
+    private CourseEnrollmentService enrollmentService;
+    @Autowired
+    private CourseAttendanceMatrixService matrixService;
+    @Autowired
+    private StudentDashboardService dashboardService;
+    @Autowired
+    private CourseEnrollmentRepository enrollmentRepository;
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void mixedRequestAddsOnlyNewStudentsAndReportsTheRest() {
+        Course course = testData.course(1L);
+        User enrolled = testData.user("bulk", User.UserRole.STUDENT);
+        User first = testData.user("bulk", User.UserRole.STUDENT);
+        User second = testData.user("bulk", User.UserRole.STUDENT);
+        User lecturer = testData.user("bulk", User.UserRole.LECTURER);
+        CourseEnrollment existing = new CourseEnrollment();
+        existing.setStudentId(enrolled.getId());
+        existing.setCourseId(course.getId());
+        enrollmentService.createEnrollment(existing);
+        // Warm both caches so the bulk insert has something to evict.
+        assertThat(matrixService.getMatrix(course.getId()).getStudents()).hasSize(1);
+        assertThat(dashboardService.getDashboard(first.getId()).orElseThrow().getAttendance()).isEmpty();
+
+        BulkEnrollmentRequest request = request(course,
+            enrolled.getId(), first.getId(), first.getId(), null, second.getId(), lecturer.getId(), MISSING_ID);
+        BulkEnrollmentResult result = enrollmentService.bulkEnroll(request);
+
+        assertThat(result.getAdded()).containsExactlyInAnyOrder(first.getId(), second.getId());
+        assertThat(result.getSkipped()).containsExactly(enrolled.getId());
+        assertThat(result.getInvalid()).containsExactlyInAnyOrder(lecturer.getId(), MISSING_ID);
+        assertThat(enrollmentRepository.findByCourseId(course.getId())).extracting(CourseEnrollment::getStudentId)
+            .containsExactlyInAnyOrder(enrolled.getId(), first.getId(), second.getId());
+
+        assertThat(matrixService.getMatrix(course.getId()).getStudents())
+            .extracting(CourseAttendanceMatrix.StudentRow::getStudentId)
+            .containsExactlyInAnyOrder(enrolled.getId(), first.getId(), second.getId());
+        assertThat(dashboardService.getDashboard(first.getId()).orElseThrow().getAttendance())
+            .extracting(StudentDashboard.CourseSummary::getCourseId)
+            .containsExactly(course.getId());
+
+        // Repeating the request changes nothing.
+        BulkEnrollmentResult repeated = enrollmentService.bulkEnroll(request);
+        assertThat(repeated.getAdded()).isEmpty();
+        assertThat(repeated.getSkipped()).containsExactlyInAnyOrder(enrolled.getId(), first.getId(), second.getId());
+        assertThat(repeated.getInvalid()).containsExactlyInAnyOrder(lecturer.getId(), MISSING_ID);
+        assertThat(enrollmentRepository.findByCourseId(course.getId())).hasSize(3);
+    }
+
+    @Test
+    void unknownCourseOrEmptyRequestIsRejected() {
+        User student = testData.user("bulk", User.UserRole.STUDENT);
+        Course missing = new Course();
+        missing.setId(MISSING_ID);
+
+        assertThatThrownBy(() -> enrollmentService.bulkEnroll(request(missing, student.getId())))
+            .hasMessage("Course not found");
+        assertThatThrownBy(() -> enrollmentService.bulkEnroll(request(testData.course(1L))))
+            .hasMessage("Either studentIds or department is required");
+    }
+
+    private static BulkEnrollmentRequest request(Course course, Long... studentIds) {
+        BulkEnrollmentRequest request = new BulkEnrollmentRequest();
+        request.setCourseId(course.getId());
+        request.setStudentIds(Arrays.asList(studentIds));
+        return request;
+    }
+}
@@ -0,0 +1,76 @@
+package com.biometric.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyServiceTest {
+    private final IdempotencyService service = new IdempotencyService(10, 100, 1000);
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @Test
+    void successIsReplayedWithoutRunningTheActionAgain() {
+        ResponseEntity<String> first = service.execute("k1", "POST /attendance", "a", () -> respond(HttpStatus.OK));
+        ResponseEntity<String> second = service.execute("k1", "POST /attendance", "a", () -> respond(HttpStatus.OK));
+
+        assertThat(runs).hasValue(1);
+        assertThat(second.getBody()).isEqualTo(first.getBody());
+        assertThat(second.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void validationErrorIsKept() {
+        service.execute("k2", "POST /attendance", "a", () -> respond(HttpStatus.BAD_REQUEST));
+        ResponseEntity<String> retry = service.execute("k2", "POST /attendance", "a", () -> respond(HttpStatus.OK));
+
+        assertThat(runs).hasValue(1);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void transientFailureReleasesTheKey() {
+        assertThatThrownBy(() -> service.execute("k3", "POST /attendance", "a", () -> {
+            runs.incrementAndGet();
+            throw new CannotAcquireLockException("lock wait timeout");
+        })).isInstanceOf(CannotAcquireLockException.class);
+
+        ResponseEntity<String> retry = service.execute("k3", "POST /attendance", "a", () -> respond(HttpStatus.OK));
+        assertThat(runs).hasValue(2);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void retryableStatusIsNotKept() {
+        service.execute("k4", "POST /attendance", "a", () -> respond(HttpStatus.SERVICE_UNAVAILABLE));
+        ResponseEntity<String> retry = service.execute("k4", "POST /attendance", "a", () -> respond(HttpStatus.OK));
+
+        assertThat(runs).hasValue(2);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void keyReusedWithAnotherPayloadIsRejected() {
+        service.execute("k5", "POST /attendance", "a", () -> respond(HttpStatus.OK));
+        ResponseEntity<String> reused = service.execute("k5", "POST /attendance", "b", () -> respond(HttpStatus.OK));
+
+        assertThat(runs).hasValue(1);
+        assertThat(reused.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @Test
+    void timingAndInfrastructureFailuresAreRetryableButValidationErrorsAreNot() {
+        assertThat(IdempotencyService.isRetryable(new RetryLaterException("This session does not accept marks yet"))).isTrue();
+        assertThat(IdempotencyService.isRetryable(new CannotAcquireLockException("lock"))).isTrue();
+        assertThat(IdempotencyService.isRetryable(new RuntimeException("Student not found"))).isFalse();
+    }
+
+    private ResponseEntity<String> respond(HttpStatus status) {
+        return ResponseEntity.status(status).body("run " + runs.incrementAndGet());
+    }
+}
@@ -0,0 +1,108 @@
+package com.biometric.service;
+
+import com.biometric.TestData;
+import com.biometric.dto.LecturerDashboard;
+import com.biometric.model.AttendanceRecord;
+import com.biometric.model.AttendanceSession;
+import com.biometric.model.Course;
+import com.biometric.model.CourseEnrollment;
+import com.biometric.model.User;
+import com.biometric.repository.AttendanceSessionRepository;
+import com.biometric.repository.CourseEnrollmentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static com.biometric.TestData.mark;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * The lecturer dashboard lists the lecturer's started active sessions with
+ * enrolled and marked counts and the latest marks, leaves prepared and closed
+ * sessions out, and has nothing for users who are not lecturers.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LecturerDashboardServiceTest {
+    @Autowired
+    private LecturerDashboardService dashboardService;
+    @Autowired
+    private AttendanceRecordService recordService;
+    @Autowired
+    private AttendanceSessionRepository sessionRepository;
+    @Autowired
+    private CourseEnrollmentRepository enrollmentRepository;
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void liveSessionsCarryCountsAndLatestMarks() {
+        User lecturer = testData.user("lecturer-dashboard", User.UserRole.LECTURER);
+        Course course = testData.course(lecturer.getId());
+        User present = student(course);
+        User late = student(course);
+        student(course);
+        AttendanceSession live = session(lecturer, course, AttendanceSession.SessionStatus.ACTIVE,
+            LocalDateTime.now().minusMinutes(1));
+        // Prepared ahead of its slot, and one already over: neither is on the dashboard.
+        session(lecturer, course, AttendanceSession.SessionStatus.ACTIVE, LocalDateTime.now().plusHours(1));
+        session(lecturer, course, AttendanceSession.SessionStatus.CLOSED, LocalDateTime.now().minusHours(2));
+
+        AttendanceRecord first = recordService.createRecord(mark(present, live));
+        AttendanceRecord second = recordService.createRecord(mark(late, live));
+        AttendanceRecord correction = new AttendanceRecord();
+        correction.setStatus(AttendanceRecord.AttendanceStatus.LATE);
+        recordService.updateRecord(second.getId(), correction);
+
+        LecturerDashboard dashboard = dashboardService.getDashboard(lecturer.getId()).orElseThrow();
+        assertThat(dashboard.getCourses()).extracting(Course::getId).containsExactly(course.getId());
+        assertThat(dashboard.getActiveSessions())
+            .extracting(s -> s.getSession().getId(), LecturerDashboard.LiveSession::getEnrolled,
+                LecturerDashboard.LiveSession::getMarked, LecturerDashboard.LiveSession::getPresent,
+                LecturerDashboard.LiveSession::getLate, LecturerDashboard.LiveSession::getAbsent)
+            .containsExactly(tuple(live.getId(), 3L, 2L, 1L, 1L, 0L));
+        assertThat(dashboard.getLatestMarks()).extracting(AttendanceRecord::getId)
+            .containsExactlyInAnyOrder(first.getId(), second.getId());
+        // Short-lived cache: repeated polls within the TTL reuse the same snapshot.
+        assertThat(dashboardService.getDashboard(lecturer.getId())).containsSame(dashboard);
+    }
+
+    @Test
+    void lecturerWithoutLiveSessionsGetsAnEmptyList() {
+        User lecturer = testData.user("lecturer-dashboard", User.UserRole.LECTURER);
+        testData.course(lecturer.getId());
+
+        LecturerDashboard dashboard = dashboardService.getDashboard(lecturer.getId()).orElseThrow();
+        assertThat(dashboard.getCourses()).hasSize(1);
+        assertThat(dashboard.getActiveSessions()).isEmpty();
+        assertThat(dashboard.getLatestMarks()).isEmpty();
+    }
+
+    @Test
+    void nonLecturersHaveNoDashboard() {
+        assertThat(dashboardService.getDashboard(testData.user("lecturer-dashboard", User.UserRole.STUDENT).getId())).isEmpty();
+    }
+
+    private User student(Course course) {
+        User student = testData.enrolledStudent("lecturer-dashboard");
+        CourseEnrollment enrollment = new CourseEnrollment();
+        enrollment.setStudentId(student.getId());
+        enrollment.setCourseId(course.getId());
+        enrollmentRepository.save(enrollment);
+        return student;
+    }
+
+    private AttendanceSession session(User lecturer, Course course, AttendanceSession.SessionStatus status,
+                                      LocalDateTime startedAt) {
+        AttendanceSession session = TestData.newSession(course.getId(), LocalDate.now());
+        session.setLecturerId(lecturer.getId());
+        session.setStartedAt(startedAt);
+        session.setStatus(status);
+        return sessionRepository.save(session);
+    }
+}
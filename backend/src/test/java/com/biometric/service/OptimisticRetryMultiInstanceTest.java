@@ -0,0 +1,122 @@
+package com.biometric.service;
+
+import com.biometric.BiometricAttendanceApplication;
+import com.biometric.model.AttendanceSession;
+import com.biometric.repository.AttendanceSessionRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two application instances on one H2 file database. Instance A reads a
+ * session, instance B closes it and commits before A writes, so A's UPDATE
+ * matches no row at the version it read. The retry re-reads the session and
+ * applies A's change on top of B's, so neither update is lost.
+ */
+class OptimisticRetryMultiInstanceTest {
+    // Runs once, on the thread about to execute the next attendance_sessions UPDATE.
+    private static final AtomicReference<Runnable> BEFORE_SESSION_UPDATE = new AtomicReference<>();
+    private static final AtomicInteger SESSION_UPDATES = new AtomicInteger();
+
+    @TempDir
+    static Path databaseDir;
+
+    private static ConfigurableApplicationContext instanceA;
+    private static ConfigurableApplicationContext instanceB;
+
+    @BeforeAll
+    static void startInstances() {
+        String url = "jdbc:h2:file:" + databaseDir.resolve("shared") + ";DB_CLOSE_DELAY=-1";
+        instanceA = start(url);
+        instanceB = start(url);
+    }
+
+    @AfterAll
+    static void stopInstances() {
+        if (instanceB != null) {
+            instanceB.close();
+        }
+        if (instanceA != null) {
+            instanceA.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String url) {
+        return new SpringApplicationBuilder(BiometricAttendanceApplication.class)
+            .profiles("test")
+            // Arguments, since they override the profile's private in-memory database
+            .run("--spring.datasource.url=" + url,
+                "--spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                    + InterleavingInspector.class.getName());
+    }
+
+    @Test
+    void concurrentSessionUpdateIsRetriedOnTopOfTheOtherInstancesClose() {
+        AttendanceSessionService serviceA = instanceA.getBean(AttendanceSessionService.class);
+        AttendanceSessionService serviceB = instanceB.getBean(AttendanceSessionService.class);
+        Long id = instanceA.getBean(AttendanceSessionRepository.class).save(activeSession()).getId();
+
+        AttendanceSession close = new AttendanceSession();
+        close.setStatus(AttendanceSession.SessionStatus.CLOSED);
+        BEFORE_SESSION_UPDATE.set(() -> CompletableFuture.runAsync(() -> serviceB.updateSession(id, close)).join());
+        SESSION_UPDATES.set(0);
+
+        AttendanceSession disableBiometrics = new AttendanceSession();
+        disableBiometrics.setBiometricEnabled(false);
+        AttendanceSession result = serviceA.updateSession(id, disableBiometrics);
+
+        // A's first UPDATE, B's close, A's retried UPDATE
+        assertThat(SESSION_UPDATES.get()).isEqualTo(3);
+        assertThat(result.getStatus()).isEqualTo(AttendanceSession.SessionStatus.CLOSED);
+        assertThat(result.getBiometricEnabled()).isFalse();
+
+        AttendanceSession stored = instanceB.getBean(AttendanceSessionRepository.class).findById(id).orElseThrow();
+        assertThat(stored.getStatus()).isEqualTo(AttendanceSession.SessionStatus.CLOSED);
+        assertThat(stored.getEndedAt()).isNotNull();
+        assertThat(stored.getBiometricEnabled()).isFalse();
+        assertThat(stored.getVersion()).isEqualTo(2L);
+    }
+
+    private static AttendanceSession activeSession() {
+        AttendanceSession session = new AttendanceSession();
+        session.setCourseId(1L);
+        session.setLecturerId(2L);
+        session.setDate(LocalDate.now());
+        session.setStartTime(LocalTime.now().withSecond(0).withNano(0));
+        session.setStartedAt(LocalDateTime.now());
+        session.setStatus(AttendanceSession.SessionStatus.ACTIVE);
+        session.setBiometricEnabled(true);
+        session.setAttendanceType(AttendanceSession.BiometricType.FINGERPRINT);
+        return session;
+    }
+
+    /** Lets the other instance commit between this instance's read and its write. */
+    public static class InterleavingInspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            // SQL comments are on, so the statement does not start with its verb
+            if (sql.contains("update attendance_sessions set")) {
+                SESSION_UPDATES.incrementAndGet();
+                Runnable hook = BEFORE_SESSION_UPDATE.getAndSet(null);
+                if (hook != null) {
+                    hook.run();
+                }
+            }
+            return sql;
+        }
+    }
+}
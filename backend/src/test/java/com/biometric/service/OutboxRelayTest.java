@@ -0,0 +1,164 @@
+package com.biometric.service;
+
+import com.biometric.model.AttendanceSession;
+import com.biometric.model.OutboxEvent;
+import com.biometric.repository.AttendanceSessionRepository;
+import com.biometric.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Events of a course reach the sink in the order they were written, and a
+ * course whose consumer keeps failing holds back only its own events, even
+ * when its backlog fills whole batches.
+ */
+@SpringBootTest(properties = {
+    "app.outbox.relay.enabled=true",
+    "app.outbox.relay.batch-size=3",
+    // No scheduled runs during the test; relay() is called directly.
+    "app.outbox.relay.interval-ms=3600000",
+    "app.outbox.sink=recording"
+})
+@ActiveProfiles("test")
+class OutboxRelayTest {
+    private static final long FAILING_COURSE = 1L;
+    private static final long HEALTHY_COURSE = 2L;
+
+    @Autowired
+    private OutboxRelay relay;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+    @Autowired
+    private AttendanceSessionService sessionService;
+    @Autowired
+    private AttendanceSessionRepository sessionRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private RecordingSink sink;
+
+    @BeforeEach
+    void clear() {
+        outboxRepository.deleteAll();
+        sink.published.clear();
+        sink.failing.clear();
+    }
+
+    @Test
+    void failingCourseWithAFullBacklogDoesNotStallTheOthers() {
+        sink.failing.add(FAILING_COURSE);
+        // Seven events of the failing course come first: more than two whole batches.
+        write(FAILING_COURSE, 7);
+        write(HEALTHY_COURSE, 4);
+
+        relay.relay();
+
+        assertThat(sink.aggregateIds(HEALTHY_COURSE)).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(sink.aggregateIds(FAILING_COURSE)).isEmpty();
+        assertThat(outboxRepository.countByPublishedAtIsNull()).isEqualTo(7);
+
+        sink.failing.clear();
+        relay.relay();
+
+        assertThat(sink.aggregateIds(FAILING_COURSE)).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+        assertThat(outboxRepository.countByPublishedAtIsNull()).isZero();
+    }
+
+    @Test
+    void sinkThatIsDownEndsTheRunWithoutPublishing() {
+        sink.failing.add(FAILING_COURSE);
+        sink.failing.add(HEALTHY_COURSE);
+        write(FAILING_COURSE, 2);
+        write(HEALTHY_COURSE, 2);
+
+        relay.relay();
+
+        assertThat(sink.published).isEmpty();
+        assertThat(outboxRepository.countByPublishedAtIsNull()).isEqualTo(4);
+    }
+
+    @Test
+    void bulkCloseWritesOneEventPerSessionItClosed() {
+        AttendanceSession open = sessionRepository.save(session(AttendanceSession.SessionStatus.ACTIVE));
+        AttendanceSession closed = sessionRepository.save(session(AttendanceSession.SessionStatus.CLOSED));
+
+        assertThat(sessionService.closeSessions(List.of(open.getId(), closed.getId()))).isEqualTo(1);
+        assertThat(sessionService.closeSessions(List.of(open.getId()))).isZero();
+
+        List<OutboxEvent> events = outboxRepository.findAll();
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.getType()).isEqualTo(OutboxEvent.EventType.SESSION_CLOSED);
+            assertThat(event.getAggregateId()).isEqualTo(open.getId());
+        });
+    }
+
+    private void write(long courseId, int count) {
+        List<OutboxService.Event> events = new ArrayList<>();
+        for (long i = 1; i <= count; i++) {
+            events.add(new OutboxService.Event(courseId, i, Map.of("n", i)));
+        }
+        transactionTemplate.executeWithoutResult(status ->
+            outboxService.recordAll(OutboxEvent.EventType.RECORD_CREATED, events));
+    }
+
+    private AttendanceSession session(AttendanceSession.SessionStatus status) {
+        AttendanceSession session = new AttendanceSession();
+        session.setCourseId(HEALTHY_COURSE);
+        session.setLecturerId(1L);
+        session.setDate(LocalDate.now());
+        session.setStartTime(LocalTime.of(9, 0));
+        session.setStartedAt(LocalDateTime.now().minusHours(1));
+        session.setStatus(status);
+        session.setBiometricEnabled(true);
+        session.setAttendanceType(AttendanceSession.BiometricType.FINGERPRINT);
+        return session;
+    }
+
+    @TestConfiguration
+    static class SinkConfig {
+        @Bean
+        RecordingSink recordingSink() {
+            return new RecordingSink();
+        }
+    }
+
+    static class RecordingSink implements OutboxSink {
+        private final List<OutboxEvent> published = new CopyOnWriteArrayList<>();
+        private final Set<Long> failing = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void publish(Long courseId, List<OutboxEvent> events) throws Exception {
+            if (failing.contains(courseId)) {
+                throw new Exception("consumer of course " + courseId + " is down");
+            }
+            published.addAll(events);
+        }
+
+        List<Long> aggregateIds(long courseId) {
+            return published.stream()
+                .filter(event -> event.getCourseId() == courseId)
+                .map(OutboxEvent::getAggregateId)
+                .toList();
+        }
+    }
+}
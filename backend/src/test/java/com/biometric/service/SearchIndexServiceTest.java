@@ -0,0 +1,70 @@
+package com.biometric.service;
+
+import com.biometric.dto.UserSearchResult;
+import com.biometric.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * User writes reach the search index only when their transaction commits, and
+ * a rebuild reloads every committed user.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SearchIndexServiceTest {
+    @Autowired
+    private SearchIndexService searchIndexService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void userIsSearchableOnlyAfterItsTransactionCommits() {
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.createUser(student("Quentin Committed", "quentin@example.edu"));
+            assertThat(search("quentin")).isEmpty();
+        });
+
+        assertThat(search("quentin")).extracting(UserSearchResult::getEmail).containsExactly("quentin@example.edu");
+    }
+
+    @Test
+    void rolledBackUserIsNeverSearchable() {
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.createUser(student("Rolf Rolledback", "rolf@example.edu"));
+            status.setRollbackOnly();
+        });
+
+        assertThat(search("rolf")).isEmpty();
+    }
+
+    @Test
+    void rebuildPicksUpEveryCommittedUser() {
+        userService.createUser(student("Rebecca Rebuilt", "rebecca@example.edu"));
+
+        searchIndexService.rebuild();
+
+        assertThat(search("rebecca")).hasSize(1);
+    }
+
+    private List<UserSearchResult> search(String query) {
+        return searchIndexService.searchUsers(query, null, null, 10);
+    }
+
+    private static User student(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setPassword("secret");
+        user.setRole(User.UserRole.STUDENT);
+        return user;
+    }
+}
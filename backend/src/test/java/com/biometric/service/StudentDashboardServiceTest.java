@@ -0,0 +1,103 @@
+package com.biometric.service;
+
+import com.biometric.TestData;
+import com.biometric.dto.StudentDashboard;
+import com.biometric.model.AttendanceRecord;
+import com.biometric.model.AttendanceSession;
+import com.biometric.model.BiometricEnrollment;
+import com.biometric.model.CourseEnrollment;
+import com.biometric.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.biometric.TestData.mark;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * The student dashboard summarises attendance per enrolled course and lists
+ * the active sessions, and is served from the cache until a check-in, record
+ * correction, enrollment or biometric update for the student evicts it.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class StudentDashboardServiceTest {
+    private static final long COURSE = 39_001L;
+    private static final long OTHER_COURSE = 39_002L;
+
+    @Autowired
+    private StudentDashboardService dashboardService;
+    @Autowired
+    private AttendanceRecordService recordService;
+    @Autowired
+    private AttendanceSessionService sessionService;
+    @Autowired
+    private CourseEnrollmentService enrollmentService;
+    @Autowired
+    private BiometricEnrollmentService biometricEnrollmentService;
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void studentWritesEvictTheCachedDashboard() {
+        User student = testData.enrolledStudent("dashboard");
+        enroll(student, COURSE);
+        AttendanceSession yesterday = testData.activeSession(COURSE, LocalDate.now().minusDays(1));
+        sessionService.closeSessions(List.of(yesterday.getId()));
+        AttendanceSession today = testData.activeSession(COURSE);
+
+        StudentDashboard dashboard = dashboardService.getDashboard(student.getId()).orElseThrow();
+        assertThat(dashboard.getActiveSessions()).extracting(AttendanceSession::getId).containsExactly(today.getId());
+        assertThat(dashboard.getAttendance())
+            .extracting(StudentDashboard.CourseSummary::getCourseId, StudentDashboard.CourseSummary::getTotalSessions,
+                StudentDashboard.CourseSummary::getAbsent, StudentDashboard.CourseSummary::getAttendancePercentage)
+            .containsExactly(tuple(COURSE, 2, 1, 0.0));
+        assertThat(dashboardService.getDashboard(student.getId())).containsSame(dashboard);
+
+        // Check-in.
+        AttendanceRecord mark = recordService.createRecord(mark(student, today));
+        dashboard = dashboardService.getDashboard(student.getId()).orElseThrow();
+        assertThat(dashboard.getAttendance().get(0).getPresent()).isEqualTo(1);
+        assertThat(dashboard.getAttendance().get(0).getAttendancePercentage()).isEqualTo(50.0);
+
+        // Record correction.
+        AttendanceRecord late = new AttendanceRecord();
+        late.setStatus(AttendanceRecord.AttendanceStatus.LATE);
+        recordService.updateRecord(mark.getId(), late);
+        dashboard = dashboardService.getDashboard(student.getId()).orElseThrow();
+        assertThat(dashboard.getAttendance().get(0).getPresent()).isZero();
+        assertThat(dashboard.getAttendance().get(0).getLate()).isEqualTo(1);
+
+        // Enrollment.
+        enroll(student, OTHER_COURSE);
+        dashboard = dashboardService.getDashboard(student.getId()).orElseThrow();
+        assertThat(dashboard.getAttendance()).extracting(StudentDashboard.CourseSummary::getCourseId)
+            .containsExactly(COURSE, OTHER_COURSE);
+
+        // Biometric update.
+        BiometricEnrollment face = new BiometricEnrollment();
+        face.setFingerprintEnrolled(true);
+        face.setFaceEnrolled(true);
+        biometricEnrollmentService.updateEnrollment(student.getId(), face);
+        assertThat(dashboardService.getDashboard(student.getId()).orElseThrow().isFaceEnrolled()).isTrue();
+    }
+
+    @Test
+    void nonStudentsHaveNoDashboard() {
+        User lecturer = testData.user("dashboard", User.UserRole.LECTURER);
+
+        assertThat(dashboardService.getDashboard(lecturer.getId())).isEmpty();
+    }
+
+    private void enroll(User student, long courseId) {
+        CourseEnrollment enrollment = new CourseEnrollment();
+        enrollment.setStudentId(student.getId());
+        enrollment.setCourseId(courseId);
+        enrollmentService.createEnrollment(enrollment);
+    }
+}
@@ -0,0 +1,97 @@
+package com.biometric.service;
+
+import com.biometric.TestData;
+import com.biometric.model.AttendanceSession;
+import com.biometric.model.User;
+import com.biometric.service.TableVersionService.Table;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * List ETags move on every committed write, including back-to-back in-place
+ * updates and bulk writes, stay put on rollback, and the content-negotiated
+ * lists tell caches that they vary by Accept.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TableVersionServiceTest {
+    @Autowired
+    private TableVersionService tableVersionService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private AttendanceSessionService sessionService;
+    @Autowired
+    private TestData testData;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void everyInPlaceUpdateMovesTheTag() {
+        User user = userService.createUser(TestData.newUser("version", User.UserRole.STUDENT));
+        String created = tableVersionService.versionOf(Table.USERS);
+
+        // Back to back, so updated_at can be equal to the millisecond; the counter still moves.
+        user.setName("Renamed Once");
+        userService.updateUser(user.getId(), user);
+        String renamedOnce = tableVersionService.versionOf(Table.USERS);
+        user.setName("Renamed Twice");
+        userService.updateUser(user.getId(), user);
+        String renamedTwice = tableVersionService.versionOf(Table.USERS);
+
+        assertThat(List.of(created, renamedOnce, renamedTwice)).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void bulkCloseMovesTheSessionsTag() {
+        AttendanceSession session = testData.activeSession(1L);
+        String before = tableVersionService.versionOf(Table.SESSIONS);
+
+        assertThat(sessionService.closeSessions(List.of(session.getId()))).isEqualTo(1);
+
+        assertThat(tableVersionService.versionOf(Table.SESSIONS)).isNotEqualTo(before);
+    }
+
+    @Test
+    void rolledBackWriteLeavesTheTagAlone() {
+        String before = tableVersionService.versionOf(Table.USERS);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.createUser(TestData.newUser("version", User.UserRole.STUDENT));
+            status.setRollbackOnly();
+        });
+
+        assertThat(tableVersionService.versionOf(Table.USERS)).isEqualTo(before);
+    }
+
+    @Test
+    void negotiatedListsVaryByAccept() throws Exception {
+        MvcResult sessions = mockMvc.perform(get("/sessions")).andExpect(status().isOk()).andReturn();
+        String etag = sessions.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(sessions.getResponse().getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+
+        MvcResult notModified = mockMvc.perform(get("/sessions").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified()).andReturn();
+        assertThat(notModified.getResponse().getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+
+        // JSON only, so nothing to vary on.
+        MvcResult users = mockMvc.perform(get("/users")).andExpect(status().isOk()).andReturn();
+        assertThat(users.getResponse().getHeaders(HttpHeaders.VARY)).doesNotContain(HttpHeaders.ACCEPT);
+    }
+}
@@ -0,0 +1,95 @@
+package com.biometric.service;
+
+import com.biometric.model.AttendanceSession;
+import com.biometric.model.Course;
+import com.biometric.repository.CourseRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Clash checks on course writes, older free-text schedules, and the sessions
+ * the timetable prepares ahead of their slots.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TimetableServiceTest {
+    private static final AtomicLong IDS = new AtomicLong(1000);
+
+    @Autowired
+    private CourseService courseService;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private AttendanceSessionService sessionService;
+
+    @Test
+    void overlappingSlotInTheSameRoomOrForTheSameLecturerIsRejected() {
+        long lecturer = IDS.incrementAndGet();
+        courseService.createCourse(course(lecturer, "Mon 09:00-10:00", "Lab 1"));
+
+        assertThatThrownBy(() -> courseService.createCourse(course(IDS.incrementAndGet(), "Mon 09:30-10:30", "lab 1")))
+            .hasMessageContaining("Schedule clash").hasMessageContaining("room LAB 1");
+        assertThatThrownBy(() -> courseService.createCourse(course(lecturer, "Wed/Mon 09:45-10:15", "Lab 2")))
+            .hasMessageContaining("Schedule clash").hasMessageContaining("lecturer");
+        // Back to back is not a clash.
+        courseService.createCourse(course(lecturer, "Mon 10:00-11:00", "Lab 1"));
+    }
+
+    @Test
+    void courseWithAnUnreadableScheduleCanStillBeEdited() {
+        Course legacy = courseRepository.save(course(IDS.incrementAndGet(), "MWF 09:00-10:00", "Room 101"));
+
+        Course renamed = course(legacy.getLecturerId(), legacy.getSchedule(), "Room 102");
+        renamed.setCode(legacy.getCode());
+        renamed.setName("Renamed");
+        assertThat(courseService.updateCourse(legacy.getId(), renamed).getName()).isEqualTo("Renamed");
+
+        renamed.setSchedule("TTh 09:00-10:30");
+        assertThatThrownBy(() -> courseService.updateCourse(legacy.getId(), renamed))
+            .hasMessageContaining("TTh 09:00-10:30");
+    }
+
+    @Test
+    void slotJustAfterMidnightIsPreparedOnce() {
+        LocalDateTime start = LocalDate.now().plusDays(1).atTime(0, 5);
+        Long courseId = IDS.incrementAndGet();
+
+        assertThat(sessionService.openScheduledSession(courseId, 1L, start, start.plusMinutes(50), 10)).isPresent();
+        assertThat(sessionService.openScheduledSession(courseId, 1L, start, start.plusMinutes(50), 10)).isEmpty();
+    }
+
+    @Test
+    void preparedSessionIsNotListedAsActiveBeforeItsSlot() {
+        LocalDateTime start = LocalDateTime.now().plusMinutes(30);
+        AttendanceSession prepared = sessionService
+            .openScheduledSession(IDS.incrementAndGet(), 1L, start, start.plusHours(1), 10)
+            .orElseThrow();
+
+        assertThat(sessionService.getSessionsByStatus(AttendanceSession.SessionStatus.ACTIVE))
+            .extracting(AttendanceSession::getId)
+            .doesNotContain(prepared.getId());
+        assertThat(sessionService.getNextPreparedStart()).isPresent();
+    }
+
+    private static Course course(Long lecturerId, String schedule, String room) {
+        Course course = new Course();
+        long id = IDS.incrementAndGet();
+        course.setCode("TT" + id);
+        course.setName("Timetable " + id);
+        course.setLecturerId(lecturerId);
+        course.setDepartment("Testing");
+        course.setCredits(3);
+        course.setSchedule(schedule);
+        course.setRoom(room);
+        return course;
+    }
+}
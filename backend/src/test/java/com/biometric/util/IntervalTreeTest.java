@@ -0,0 +1,66 @@
+package com.biometric.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntervalTreeTest {
+
+    @Test
+    void intervalsAreHalfOpen() {
+        IntervalTree<String> tree = IntervalTree.of(List.of(
+            new IntervalTree.Interval<>(540, 600, "09:00-10:00"),
+            new IntervalTree.Interval<>(600, 660, "10:00-11:00")));
+
+        assertThat(values(tree.overlapping(600, 630))).containsExactly("10:00-11:00");
+        assertThat(values(tree.overlapping(500, 540))).isEmpty();
+        assertThat(values(tree.overlapping(660, 700))).isEmpty();
+        assertThat(values(tree.overlapping(590, 610))).containsExactlyInAnyOrder("09:00-10:00", "10:00-11:00");
+    }
+
+    @Test
+    void longIntervalIsFoundBehindShortOnes() {
+        // The long interval sits in the left subtree; only maxEnd leads the query there.
+        IntervalTree<String> tree = IntervalTree.of(List.of(
+            new IntervalTree.Interval<>(0, 1440, "all day"),
+            new IntervalTree.Interval<>(60, 70, "a"),
+            new IntervalTree.Interval<>(120, 130, "b"),
+            new IntervalTree.Interval<>(180, 190, "c")));
+
+        assertThat(values(tree.overlapping(1000, 1010))).containsExactly("all day");
+    }
+
+    @Test
+    void emptyTreeFindsNothing() {
+        assertThat(IntervalTree.<String>of(List.of()).overlapping(0, 1440)).isEmpty();
+    }
+
+    @Test
+    void matchesABruteForceScan() {
+        Random random = new Random(42);
+        List<IntervalTree.Interval<Integer>> intervals = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int start = random.nextInt(1400);
+            intervals.add(new IntervalTree.Interval<>(start, start + 1 + random.nextInt(120), i));
+        }
+        IntervalTree<Integer> tree = IntervalTree.of(intervals);
+
+        for (int query = 0; query < 500; query++) {
+            int start = random.nextInt(1440);
+            int end = start + 1 + random.nextInt(90);
+            List<Integer> expected = intervals.stream()
+                .filter(interval -> interval.start() < end && interval.end() > start)
+                .map(IntervalTree.Interval::value)
+                .toList();
+            assertThat(values(tree.overlapping(start, end))).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    private static <T> List<T> values(List<IntervalTree.Interval<T>> intervals) {
+        return intervals.stream().map(IntervalTree.Interval::value).toList();
+    }
+}
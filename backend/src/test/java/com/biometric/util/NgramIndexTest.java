@@ -0,0 +1,104 @@
+package com.biometric.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Short tokens match word prefixes only, longer ones any substring through
+ * their trigrams; matches at word starts rank first, and past RANK_LIMIT
+ * candidates the first matches by id are returned unranked.
+ */
+class NgramIndexTest {
+    private static final Comparator<Person> BY_NAME = Comparator.comparing(Person::name);
+
+    @Test
+    void shortTokensMatchOnlyTheStartOfAWord() {
+        NgramIndex<Person> index = index(
+            new Person(1, "John Smith", "john@example.edu"),
+            new Person(2, "Mary Jones", "mary@example.edu"),
+            new Person(3, "Bjorn Berg", "bjorn@example.edu"));
+
+        assertThat(ids(index.search("jo", p -> true, BY_NAME, 10))).containsExactly(1L, 2L);
+        assertThat(ids(index.search("J", p -> true, BY_NAME, 10))).containsExactly(1L, 2L);
+        assertThat(ids(index.search("or", p -> true, BY_NAME, 10))).isEmpty();
+    }
+
+    @Test
+    void longerTokensMatchAnywhereThroughTrigrams() {
+        NgramIndex<Person> index = index(
+            new Person(1, "John Smith", "jsmith@example.edu"),
+            new Person(2, "Bjorn Berg", "bberg@example.edu"),
+            new Person(3, "Anna Lee", "alee@example.edu"));
+
+        assertThat(ids(index.search("jorn", p -> true, BY_NAME, 10))).containsExactly(2L);
+        assertThat(ids(index.search("SMITH@", p -> true, BY_NAME, 10))).containsExactly(1L);
+        // Every token has to match.
+        assertThat(ids(index.search("john berg", p -> true, BY_NAME, 10))).isEmpty();
+        assertThat(ids(index.search("xyz", p -> true, BY_NAME, 10))).isEmpty();
+    }
+
+    @Test
+    void matchesAtTheStartOfTheFirstFieldRankFirst() {
+        NgramIndex<Person> index = index(
+            new Person(1, "Anna Blacksmith", "anna@example.edu"),
+            new Person(2, "Anna Smith", "asmith@example.edu"),
+            new Person(3, "Smith Anna", "sanna@example.edu"),
+            new Person(4, "Carl Smith", "carl@example.edu"));
+
+        // Name starts with the query, then word starts (ties by name), then the mid-word match.
+        assertThat(ids(index.search("smith", p -> true, BY_NAME, 10))).containsExactly(3L, 2L, 4L, 1L);
+        assertThat(ids(index.search("smith", p -> p.id() != 3, BY_NAME, 2))).containsExactly(2L, 4L);
+    }
+
+    @Test
+    void updatesAndRemovalsMoveValuesBetweenPostings() {
+        NgramIndex<Person> index = index(new Person(1, "John Smith", "john@example.edu"));
+
+        index.put(new Person(1, "John Baker", "john@example.edu"));
+        index.put(new Person(2, "Jane Smith", "jane@example.edu"));
+
+        assertThat(ids(index.search("smith", p -> true, BY_NAME, 10))).containsExactly(2L);
+        assertThat(ids(index.search("baker", p -> true, BY_NAME, 10))).containsExactly(1L);
+        index.remove(2);
+        assertThat(ids(index.search("smith", p -> true, BY_NAME, 10))).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void pastTheRankLimitTheFirstMatchesByIdAreReturnedUnranked() {
+        List<Person> people = new ArrayList<>();
+        LongStream.rangeClosed(1, NgramIndex.RANK_LIMIT).forEach(id ->
+            people.add(new Person(id, "Student " + id, "s" + id + "@example.edu")));
+        // The best match has the highest id.
+        long best = NgramIndex.RANK_LIMIT + 1;
+        people.add(new Person(best, "Example Person", "best@example.edu"));
+        NgramIndex<Person> index = NgramIndex.of(people, Person::id, Person::fields);
+
+        // "exa" is in every email: more candidates than RANK_LIMIT.
+        assertThat(ids(index.search("exa", p -> true, BY_NAME, 3))).containsExactly(1L, 2L, 3L);
+
+        index.remove(1);
+        // At the limit everything is ranked again.
+        assertThat(ids(index.search("exa", p -> true, BY_NAME, 3))).first().isEqualTo(best);
+    }
+
+    private static NgramIndex<Person> index(Person... people) {
+        return NgramIndex.of(List.of(people), Person::id, Person::fields);
+    }
+
+    private static List<Long> ids(List<Person> people) {
+        return people.stream().map(Person::id).toList();
+    }
+
+    private record Person(long id, String name, String email) {
+        List<String> fields() {
+            return List.of(name, email);
+        }
+    }
+}
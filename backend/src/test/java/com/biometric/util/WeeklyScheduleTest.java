@@ -0,0 +1,46 @@
+package com.biometric.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WeeklyScheduleTest {
+
+    @Test
+    void parsesDayListsAndSeveralGroups() {
+        assertThat(WeeklySchedule.parse("Mon/Wed 10:00-11:30; Thursday 8:00-9:00"))
+            .containsExactly(
+                new WeeklySchedule.Slot(DayOfWeek.MONDAY, LocalTime.of(10, 0), LocalTime.of(11, 30)),
+                new WeeklySchedule.Slot(DayOfWeek.WEDNESDAY, LocalTime.of(10, 0), LocalTime.of(11, 30)),
+                new WeeklySchedule.Slot(DayOfWeek.THURSDAY, LocalTime.of(8, 0), LocalTime.of(9, 0)));
+    }
+
+    @Test
+    void blankScheduleHasNoSlots() {
+        assertThat(WeeklySchedule.parse(null)).isEmpty();
+        assertThat(WeeklySchedule.parse("  ")).isEmpty();
+    }
+
+    @Test
+    void slotsReportMinutesOfTheDay() {
+        WeeklySchedule.Slot slot = WeeklySchedule.parse("Fri 13:15-14:45").get(0);
+        assertThat(slot.startMinute()).isEqualTo(795);
+        assertThat(slot.endMinute()).isEqualTo(885);
+    }
+
+    @Test
+    void rejectsWhatItCannotRead() {
+        assertThatThrownBy(() -> WeeklySchedule.parse("MWF 09:00-10:00"))
+            .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("MWF 09:00-10:00");
+        assertThatThrownBy(() -> WeeklySchedule.parse("Mon 11:00-10:00"))
+            .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("ends before it starts");
+        assertThatThrownBy(() -> WeeklySchedule.parse("Mon 25:00-26:00"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(WeeklySchedule.isReadable("TTh 09:00-10:30")).isFalse();
+        assertThat(WeeklySchedule.isReadable("Tue/Thu 09:00-10:30")).isTrue();
+    }
+}
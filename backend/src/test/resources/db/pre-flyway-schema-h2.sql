@@ -0,0 +1,123 @@
+-- Schema of an H2 database created by the application before Flyway (Hibernate ddl-auto=update),
+-- exported with org.h2.tools.Script NODATA. Used to test the upgrade path from V1.
+CREATE CACHED TABLE "PUBLIC"."ATTENDANCE_RECORDS"(
+    "ID" BIGINT GENERATED BY DEFAULT AS IDENTITY(START WITH 1) NOT NULL,
+    "COURSE_ID" BIGINT NOT NULL,
+    "CREATED_AT" TIMESTAMP(6),
+    "METHOD" CHARACTER VARYING(255) NOT NULL,
+    "SESSION_ID" BIGINT NOT NULL,
+    "STATUS" CHARACTER VARYING(255) NOT NULL,
+    "STUDENT_ID" BIGINT NOT NULL,
+    "TIMESTAMP" TIMESTAMP(6) NOT NULL,
+    "UPDATED_AT" TIMESTAMP(6),
+    "VERIFICATION_SCORE" FLOAT(53)
+);
+ALTER TABLE "PUBLIC"."ATTENDANCE_RECORDS" ADD CONSTRAINT "PUBLIC"."CONSTRAINT_F87" PRIMARY KEY("ID");
+CREATE INDEX "PUBLIC"."IDX_RECORD_STUDENT_ID" ON "PUBLIC"."ATTENDANCE_RECORDS"("STUDENT_ID" NULLS FIRST);
+CREATE INDEX "PUBLIC"."IDX_RECORD_COURSE_ID" ON "PUBLIC"."ATTENDANCE_RECORDS"("COURSE_ID" NULLS FIRST);
+CREATE INDEX "PUBLIC"."IDX_RECORD_SESSION_ID" ON "PUBLIC"."ATTENDANCE_RECORDS"("SESSION_ID" NULLS FIRST);
+CREATE INDEX "PUBLIC"."IDX_RECORD_TIMESTAMP" ON "PUBLIC"."ATTENDANCE_RECORDS"("TIMESTAMP" NULLS FIRST);
+CREATE CACHED TABLE "PUBLIC"."ATTENDANCE_SESSIONS"(
+    "ID" BIGINT GENERATED BY DEFAULT AS IDENTITY(START WITH 1) NOT NULL,
+    "ATTENDANCE_TYPE" CHARACTER VARYING(255) NOT NULL,
+    "BIOMETRIC_ENABLED" BOOLEAN NOT NULL,
+    "COURSE_ID" BIGINT NOT NULL,
+    "CREATED_AT" TIMESTAMP(6),
+    "DATE" CHARACTER VARYING(255) NOT NULL,
+    "END_TIME" CHARACTER VARYING(255),
+    "ENDED_AT" TIMESTAMP(6),
+    "LECTURER_ID" BIGINT NOT NULL,
+    "START_TIME" CHARACTER VARYING(255) NOT NULL,
+    "STARTED_AT" TIMESTAMP(6),
+    "STATUS" CHARACTER VARYING(255) NOT NULL,
+    "UPDATED_AT" TIMESTAMP(6)
+);
+ALTER TABLE "PUBLIC"."ATTENDANCE_SESSIONS" ADD CONSTRAINT "PUBLIC"."CONSTRAINT_9AC" PRIMARY KEY("ID");
+CREATE INDEX "PUBLIC"."IDX_SESSION_COURSE_ID" ON "PUBLIC"."ATTENDANCE_SESSIONS"("COURSE_ID" NULLS FIRST);
+CREATE INDEX "PUBLIC"."IDX_SESSION_LECTURER_ID" ON "PUBLIC"."ATTENDANCE_SESSIONS"("LECTURER_ID" NULLS FIRST);
+CREATE INDEX "PUBLIC"."IDX_SESSION_DATE" ON "PUBLIC"."ATTENDANCE_SESSIONS"("DATE" NULLS FIRST);
+CREATE INDEX "PUBLIC"."IDX_SESSION_STATUS" ON "PUBLIC"."ATTENDANCE_SESSIONS"("STATUS" NULLS FIRST);
+CREATE CACHED TABLE "PUBLIC"."BIOMETRIC_ENROLLMENTS"(
+    "ID" BIGINT GENERATED BY DEFAULT AS IDENTITY(START WITH 1) NOT NULL,
+    "CREATED_AT" TIMESTAMP(6),
+    "ENROLLED_AT" TIMESTAMP(6),
+    "FACE_ENROLLED" BOOLEAN NOT NULL,
+    "FINGERPRINT_ENROLLED" BOOLEAN NOT NULL,
+    "UPDATED_AT" TIMESTAMP(6),
+    "USER_ID" BIGINT NOT NULL
+);
+ALTER TABLE "PUBLIC"."BIOMETRIC_ENROLLMENTS" ADD CONSTRAINT "PUBLIC"."CONSTRAINT_7" PRIMARY KEY("ID");
+CREATE INDEX "PUBLIC"."IDX_BIOMETRIC_USER_ID" ON "PUBLIC"."BIOMETRIC_ENROLLMENTS"("USER_ID" NULLS FIRST);
+CREATE CACHED TABLE "PUBLIC"."COURSE_ENROLLMENTS"(
+    "ID" BIGINT GENERATED BY DEFAULT AS IDENTITY(START WITH 1) NOT NULL,
+    "COURSE_ID" BIGINT NOT NULL,
+    "CREATED_AT" TIMESTAMP(6),
+    "ENROLLED_AT" TIMESTAMP(6),
+    "STUDENT_ID" BIGINT NOT NULL
+);
+ALTER TABLE "PUBLIC"."COURSE_ENROLLMENTS" ADD CONSTRAINT "PUBLIC"."CONSTRAINT_B" PRIMARY KEY("ID");
+CREATE INDEX "PUBLIC"."IDX_ENROLLMENT_STUDENT_ID" ON "PUBLIC"."COURSE_ENROLLMENTS"("STUDENT_ID" NULLS FIRST);
+CREATE INDEX "PUBLIC"."IDX_ENROLLMENT_COURSE_ID" ON "PUBLIC"."COURSE_ENROLLMENTS"("COURSE_ID" NULLS FIRST);
+CREATE CACHED TABLE "PUBLIC"."COURSES"(
+    "ID" BIGINT GENERATED BY DEFAULT AS IDENTITY(START WITH 1) NOT NULL,
+    "CODE" CHARACTER VARYING(255) NOT NULL,
+    "CREATED_AT" TIMESTAMP(6),
+    "CREDITS" INTEGER NOT NULL,
+    "DEPARTMENT" CHARACTER VARYING(255) NOT NULL,
+    "LECTURER_ID" BIGINT NOT NULL,
+    "NAME" CHARACTER VARYING(255) NOT NULL,
+    "ROOM" CHARACTER VARYING(255),
+    "SCHEDULE" CHARACTER VARYING(255),
+    "UPDATED_AT" TIMESTAMP(6)
+);
+ALTER TABLE "PUBLIC"."COURSES" ADD CONSTRAINT "PUBLIC"."CONSTRAINT_6" PRIMARY KEY("ID");
+CREATE INDEX "PUBLIC"."IDX_COURSE_CODE" ON "PUBLIC"."COURSES"("CODE" NULLS FIRST);
+CREATE INDEX "PUBLIC"."IDX_COURSE_LECTURER_ID" ON "PUBLIC"."COURSES"("LECTURER_ID" NULLS FIRST);
+CREATE INDEX "PUBLIC"."IDX_COURSE_DEPARTMENT" ON "PUBLIC"."COURSES"("DEPARTMENT" NULLS FIRST);
+CREATE CACHED TABLE "PUBLIC"."PASSWORD_RESET_TOKENS"(
+    "ID" BIGINT GENERATED BY DEFAULT AS IDENTITY(START WITH 1) NOT NULL,
+    "CREATED_AT" TIMESTAMP(6),
+    "EXPIRES_AT" TIMESTAMP(6) NOT NULL,
+    "TOKEN" CHARACTER VARYING(120) NOT NULL,
+    "USED_AT" TIMESTAMP(6),
+    "USER_ID" BIGINT NOT NULL
+);
+ALTER TABLE "PUBLIC"."PASSWORD_RESET_TOKENS" ADD CONSTRAINT "PUBLIC"."CONSTRAINT_8" PRIMARY KEY("ID");
+CREATE INDEX "PUBLIC"."IDX_PASSWORD_RESET_USER_ID" ON "PUBLIC"."PASSWORD_RESET_TOKENS"("USER_ID" NULLS FIRST);
+CREATE INDEX "PUBLIC"."IDX_PASSWORD_RESET_EXPIRES_AT" ON "PUBLIC"."PASSWORD_RESET_TOKENS"("EXPIRES_AT" NULLS FIRST);
+CREATE CACHED TABLE "PUBLIC"."USERS"(
+    "ID" BIGINT GENERATED BY DEFAULT AS IDENTITY(START WITH 1 RESTART WITH 4) NOT NULL,
+    "AVATAR" CHARACTER VARYING(255),
+    "CREATED_AT" TIMESTAMP(6),
+    "DEPARTMENT" CHARACTER VARYING(255),
+    "EMAIL" CHARACTER VARYING(255) NOT NULL,
+    "FACE_ID" CHARACTER VARYING(255),
+    "FINGERPRINT_ID" CHARACTER VARYING(255),
+    "NAME" CHARACTER VARYING(255) NOT NULL,
+    "PASSWORD" CHARACTER VARYING(255) NOT NULL,
+    "ROLE" CHARACTER VARYING(255) NOT NULL,
+    "STAFF_ID" CHARACTER VARYING(255),
+    "STAFF_SEQUENCE" BIGINT,
+    "STUDENT_ID" CHARACTER VARYING(255),
+    "STUDENT_SEQUENCE" BIGINT,
+    "UPDATED_AT" TIMESTAMP(6)
+);
+ALTER TABLE "PUBLIC"."USERS" ADD CONSTRAINT "PUBLIC"."CONSTRAINT_4D" PRIMARY KEY("ID");
+CREATE INDEX "PUBLIC"."IDX_USER_EMAIL" ON "PUBLIC"."USERS"("EMAIL" NULLS FIRST);
+CREATE INDEX "PUBLIC"."IDX_USER_ROLE" ON "PUBLIC"."USERS"("ROLE" NULLS FIRST);
+CREATE INDEX "PUBLIC"."IDX_USER_STUDENT_ID" ON "PUBLIC"."USERS"("STUDENT_ID" NULLS FIRST);
+CREATE INDEX "PUBLIC"."IDX_USER_STAFF_ID" ON "PUBLIC"."USERS"("STAFF_ID" NULLS FIRST);
+ALTER TABLE "PUBLIC"."ATTENDANCE_SESSIONS" ADD CONSTRAINT "PUBLIC"."CONSTRAINT_9A" CHECK("STATUS" IN('ACTIVE', 'CLOSED')) NOCHECK;
+ALTER TABLE "PUBLIC"."USERS" ADD CONSTRAINT "PUBLIC"."CONSTRAINT_4" CHECK("ROLE" IN('ADMIN', 'LECTURER', 'STUDENT')) NOCHECK;
+ALTER TABLE "PUBLIC"."ATTENDANCE_SESSIONS" ADD CONSTRAINT "PUBLIC"."CONSTRAINT_9" CHECK("ATTENDANCE_TYPE" IN('FINGERPRINT', 'FACE', 'BOTH')) NOCHECK;
+ALTER TABLE "PUBLIC"."ATTENDANCE_RECORDS" ADD CONSTRAINT "PUBLIC"."CONSTRAINT_F" CHECK("METHOD" IN('FINGERPRINT', 'FACE', 'MANUAL')) NOCHECK;
+ALTER TABLE "PUBLIC"."ATTENDANCE_RECORDS" ADD CONSTRAINT "PUBLIC"."CONSTRAINT_F8" CHECK("STATUS" IN('PRESENT', 'LATE', 'ABSENT')) NOCHECK;
+ALTER TABLE "PUBLIC"."PASSWORD_RESET_TOKENS" ADD CONSTRAINT "PUBLIC"."UK_71LQWBWTKLMLJK3QLSUGR1MIG" UNIQUE("TOKEN");
+ALTER TABLE "PUBLIC"."BIOMETRIC_ENROLLMENTS" ADD CONSTRAINT "PUBLIC"."UK_7DT76WK8OTBDTBJCPG2084ID6" UNIQUE("USER_ID");
+ALTER TABLE "PUBLIC"."USERS" ADD CONSTRAINT "PUBLIC"."UK_USER_STAFF_ID" UNIQUE("STAFF_ID");
+ALTER TABLE "PUBLIC"."USERS" ADD CONSTRAINT "PUBLIC"."UK_USER_STUDENT_ID" UNIQUE("STUDENT_ID");
+ALTER TABLE "PUBLIC"."COURSES" ADD CONSTRAINT "PUBLIC"."UK_61OG8RBQDD2Y28RX2ET5FDNXD" UNIQUE("CODE");
+ALTER TABLE "PUBLIC"."ATTENDANCE_RECORDS" ADD CONSTRAINT "PUBLIC"."UK_RECORD_STUDENT_SESSION" UNIQUE("STUDENT_ID", "SESSION_ID");
+ALTER TABLE "PUBLIC"."USERS" ADD CONSTRAINT "PUBLIC"."UK_6DOTKOTT2KJSP8VW4D0M25FB7" UNIQUE("EMAIL");
+ALTER TABLE "PUBLIC"."COURSE_ENROLLMENTS" ADD CONSTRAINT "PUBLIC"."UK_STUDENT_COURSE" UNIQUE("STUDENT_ID", "COURSE_ID");
+ALTER TABLE "PUBLIC"."USERS" ADD CONSTRAINT "PUBLIC"."UK_USER_FINGERPRINT_ID" UNIQUE("FINGERPRINT_ID");
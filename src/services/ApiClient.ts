@@ -5,6 +5,7 @@ class ApiClient {
   constructor(baseURL = API_BASE_URL) {
     this.baseURL = baseURL;
     this.token = localStorage.getItem('token');
+    this.tenant = localStorage.getItem('tenant');
   }
 
   setToken(token: string) {
@@ -17,19 +18,35 @@ class ApiClient {
     localStorage.removeItem('token');
   }
 
+  // Campus sent as X-Tenant-Id; without it the backend picks the campus by hostname
+  setTenant(tenant: string) {
+    this.tenant = tenant;
+    localStorage.setItem('tenant', tenant);
+  }
+
+  clearTenant() {
+    this.tenant = null;
+    localStorage.removeItem('tenant');
+  }
+
   private async request<T>(
     endpoint: string,
     method: 'GET' | 'POST' | 'PUT' | 'DELETE' = 'GET',
-    data?: any
+    data?: any,
+    extraHeaders?: Record<string, string>
   ): Promise<T> {
     const url = `${this.baseURL}${endpoint}`;
     const headers: HeadersInit = {
       'Content-Type': 'application/json',
+      ...extraHeaders,
     };
 
     if (this.token) {
       headers['Authorization'] = `Bearer ${this.token}`;
     }
+    if (this.tenant) {
+      headers['X-Tenant-Id'] = this.tenant;
+    }
 
     try {
       const response = await fetch(url, {
@@ -68,6 +85,27 @@ class ApiClient {
     }
   }
 
+  // Pass the same key when retrying a write so the server replays the first response
+  private idempotencyHeaders(idempotencyKey?: string): Record<string, string> | undefined {
+    return idempotencyKey ? { 'Idempotency-Key': idempotencyKey } : undefined;
+  }
+
+  private rangeQuery(from?: string, to?: string): string {
+    const params = new URLSearchParams();
+    if (from) params.set('from', from);
+    if (to) params.set('to', to);
+    const query = params.toString();
+    return query ? `?${query}` : '';
+  }
+
+  private searchQuery(q: string, filters: Record<string, string | number | undefined>): string {
+    const params = new URLSearchParams({ q });
+    for (const [name, value] of Object.entries(filters)) {
+      if (value !== undefined) params.set(name, String(value));
+    }
+    return params.toString();
+  }
+
   // Auth Endpoints
   auth = {
     login: (email: string, password: string) =>
@@ -93,6 +131,8 @@ class ApiClient {
     create: (user: any) => this.request('/users', 'POST', user),
     update: (id: number, data: any) => this.request(`/users/${id}`, 'PUT', data),
     delete: (id: number) => this.request(`/users/${id}`, 'DELETE'),
+    search: (q: string, filters: { role?: string; department?: string; limit?: number } = {}) =>
+      this.request(`/users/search?${this.searchQuery(q, filters)}`),
   };
 
   // Course Endpoints
@@ -107,6 +147,8 @@ class ApiClient {
     create: (course: any) => this.request('/courses', 'POST', course),
     update: (id: number, data: any) => this.request(`/courses/${id}`, 'PUT', data),
     delete: (id: number) => this.request(`/courses/${id}`, 'DELETE'),
+    search: (q: string, filters: { department?: string; limit?: number } = {}) =>
+      this.request(`/courses/search?${this.searchQuery(q, filters)}`),
   };
 
   // Session Endpoints
@@ -115,8 +157,12 @@ class ApiClient {
     getById: (id: number) => this.request(`/sessions/${id}`),
     getByCourseId: (courseId: number) =>
       this.request(`/sessions/course/${courseId}`),
+    getByCourseIdInRange: (courseId: number, from?: string, to?: string) =>
+      this.request(`/sessions/course/${courseId}${this.rangeQuery(from, to)}`),
     getByLecturerId: (lecturerId: number) =>
       this.request(`/sessions/lecturer/${lecturerId}`),
+    getByLecturerIdInRange: (lecturerId: number, from?: string, to?: string) =>
+      this.request(`/sessions/lecturer/${lecturerId}${this.rangeQuery(from, to)}`),
     getByDate: (date: string) => this.request(`/sessions/date/${date}`),
     getByStatus: (status: string) => this.request(`/sessions/status/${status}`),
     create: (session: any) => this.request('/sessions', 'POST', session),
@@ -136,11 +182,37 @@ class ApiClient {
       this.request(`/attendance/session/${sessionId}`),
     getStudentCourseAttendance: (studentId: number, courseId: number) =>
       this.request(`/attendance/student/${studentId}/course/${courseId}`),
-    create: (record: any) => this.request('/attendance', 'POST', record),
+    create: (record: any, idempotencyKey?: string) =>
+      this.request('/attendance', 'POST', record, this.idempotencyHeaders(idempotencyKey)),
     update: (id: number, data: any) => this.request(`/attendance/${id}`, 'PUT', data),
     delete: (id: number) => this.request(`/attendance/${id}`, 'DELETE'),
   };
 
+  // Report Endpoints
+  reports = {
+    getCourseMatrix: (courseId: number) =>
+      this.request(`/reports/course/${courseId}/matrix`),
+  };
+
+  // Dashboard Endpoints
+  dashboard = {
+    student: (studentId: number) =>
+      this.request(`/dashboard/student/${studentId}`),
+    lecturer: (lecturerId: number) =>
+      this.request(`/dashboard/lecturer/${lecturerId}`),
+  };
+
+  // Admin Endpoints
+  admin = {
+    getSummary: (from?: string, to?: string) =>
+      this.request(`/admin/summary${this.rangeQuery(from, to)}`),
+    getTenants: () => this.request('/admin/tenants'),
+    addTenant: (tenant: any) => this.request('/admin/tenants', 'POST', tenant),
+    getKiosks: () => this.request('/admin/kiosks'),
+    registerKiosk: (kiosk: any) => this.request('/admin/kiosks', 'POST', kiosk),
+    deleteKiosk: (id: string) => this.request(`/admin/kiosks/${id}`, 'DELETE'),
+  };
+
   // Biometric Endpoints
   biometric = {
     getEnrollment: (userId: number) =>
@@ -157,7 +229,11 @@ class ApiClient {
     getById: (id: number) => this.request(`/enrollments/${id}`),
     getByStudentId: (studentId: number) => this.request(`/enrollments/student/${studentId}`),
     getByCourseId: (courseId: number) => this.request(`/enrollments/course/${courseId}`),
-    create: (enrollment: any) => this.request('/enrollments', 'POST', enrollment),
+    create: (enrollment: any, idempotencyKey?: string) =>
+      this.request('/enrollments', 'POST', enrollment, this.idempotencyHeaders(idempotencyKey)),
+    // { courseId, studentIds } or { courseId, department }; returns added/skipped/invalid student IDs
+    bulk: (request: { courseId: number; studentIds?: number[]; department?: string }) =>
+      this.request('/enrollments/bulk', 'POST', request),
     delete: (id: number) => this.request(`/enrollments/${id}`, 'DELETE'),
   };
 }